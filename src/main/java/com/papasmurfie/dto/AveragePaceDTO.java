@@ -0,0 +1,22 @@
+package com.papasmurfie.dto;
+
+/**
+ * A Data Transfer Object (DTO) representing the average pace of the finishers of a type of event in a year.
+ * <p>
+ * This record holds the type of event, the year, the number of finishers and their average pace, expressed in
+ * seconds per 1000 units of distance (per kilometre when the distances are in metres).
+ * It is immutable and serves as a lightweight data carrier between application layers.
+ * </p>
+ *
+ * @param eventType the type of the events
+ * @param year the calendar year of the competitions
+ * @param finishers the number of finished participations
+ * @param averagePace the average pace in seconds per 1000 units of distance
+ */
+public record AveragePaceDTO(
+        String eventType,
+        int year,
+        long finishers,
+        double averagePace
+) {
+}
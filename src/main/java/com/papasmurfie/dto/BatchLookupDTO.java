@@ -0,0 +1,36 @@
+package com.papasmurfie.dto;
+
+import java.util.List;
+
+/**
+ * A Data Transfer Object (DTO) representing the outcome of a batch lookup by natural key.
+ * <p>
+ * Every distinct requested key appears exactly once, either in {@code found} together with the matching object, or
+ * in {@code missing}, both in the order in which the keys were requested.
+ * It is immutable and serves as a lightweight data carrier between application layers.
+ * </p>
+ *
+ * @param found the requested keys which matched, each with the matching object
+ * @param missing the requested keys which did not match anything
+ * @param <K> the type of the keys
+ * @param <V> the type of the matching objects
+ */
+public record BatchLookupDTO<K, V>(
+        List<Hit<K, V>> found,
+        List<K> missing
+) {
+
+    /**
+     * A requested key together with the object it matched.
+     *
+     * @param key the requested key, as sent by the client
+     * @param value the matching object
+     * @param <K> the type of the key
+     * @param <V> the type of the matching object
+     */
+    public record Hit<K, V>(
+            K key,
+            V value
+    ) {
+    }
+}
@@ -0,0 +1,24 @@
+package com.papasmurfie.dto;
+
+/**
+ * A Data Transfer Object (DTO) representing the counters of the request coalescing layer.
+ * <p>
+ * This record holds how many read requests were received, how many of them actually reached the database and
+ * how many were served by sharing an execution that was already in flight.
+ * It is immutable and serves as a lightweight data carrier between application layers.
+ * </p>
+ *
+ * @param requests the total number of coalescable requests received
+ * @param executions the number of requests which executed their query against the database
+ * @param coalesced the number of requests which received the result of an identical in-flight execution
+ * @param coalescingRatio the share of requests which were coalesced, between 0 and 1
+ * @param inFlight the number of executions currently in flight
+ */
+public record CoalescingStatsDTO(
+        long requests,
+        long executions,
+        long coalesced,
+        double coalescingRatio,
+        int inFlight
+) {
+}
@@ -0,0 +1,127 @@
+package com.papasmurfie.dto;
+
+import java.util.*;
+
+/**
+ * A Data Transfer Object (DTO) representing a list of participations in the compact (dictionary-encoded) shape.
+ * <p>
+ * Every distinct competitor, competition and event is listed once in its lookup table, and every participation
+ * row refers to them by their index in those tables, so that the names, dates and distances shared by thousands of
+ * participations in a meet are not repeated on every row.
+ * It is immutable and serves as a lightweight data carrier between application layers.
+ * </p>
+ *
+ * @param competitors the distinct competitors, referenced by {@link Row#competitor()}
+ * @param competitions the distinct competitions, referenced by {@link Row#competition()}
+ * @param events the distinct events, referenced by {@link Row#event()}
+ * @param participations the participations, in the order of the classic list
+ */
+public record CompactParticipationsDTO(
+        List<Competitor> competitors,
+        List<CompetitionDTO> competitions,
+        List<EventDTO> events,
+        List<Row> participations
+) {
+
+    /**
+     * Encodes a list of participations in the compact shape.
+     *
+     * @param participations the participations in the classic shape
+     * @return the same participations in the compact shape
+     */
+    public static CompactParticipationsDTO of(Collection<ParticipationDTO> participations) {
+        Map<Competitor, Integer> competitors = new LinkedHashMap<>();
+        Map<CompetitionDTO, Integer> competitions = new LinkedHashMap<>();
+        Map<EventDTO, Integer> events = new LinkedHashMap<>();
+        List<Row> rows = new ArrayList<>(participations.size());
+
+        for (ParticipationDTO participation : participations) {
+            Competitor competitor = new Competitor(
+                    participation.firstName(),
+                    participation.middleName(),
+                    participation.lastName(),
+                    participation.mobilePhone());
+            CompetitionDTO competition = new CompetitionDTO(
+                    participation.competitionName(),
+                    participation.competitionDate());
+            EventDTO event = new EventDTO(participation.distance(), participation.eventType());
+
+            rows.add(new Row(
+                    competitors.computeIfAbsent(competitor, c -> competitors.size()),
+                    competitions.computeIfAbsent(competition, c -> competitions.size()),
+                    events.computeIfAbsent(event, e -> events.size()),
+                    participation.seconds(),
+                    participation.finished(),
+                    participation.place()));
+        }
+
+        return new CompactParticipationsDTO(
+                List.copyOf(competitors.keySet()),
+                List.copyOf(competitions.keySet()),
+                List.copyOf(events.keySet()),
+                rows);
+    }
+
+    /**
+     * Decodes the participations back into the classic shape.
+     *
+     * @return the participations in the classic shape
+     */
+    public List<ParticipationDTO> toParticipations() {
+        List<ParticipationDTO> result = new ArrayList<>(participations.size());
+        for (Row row : participations) {
+            Competitor competitor = competitors.get(row.competitor());
+            CompetitionDTO competition = competitions.get(row.competition());
+            EventDTO event = events.get(row.event());
+            result.add(new ParticipationDTO(
+                    competitor.firstName(),
+                    competitor.middleName(),
+                    competitor.lastName(),
+                    competitor.mobilePhone(),
+                    competition.competitionName(),
+                    competition.competitionDate(),
+                    event.distance(),
+                    event.eventType(),
+                    row.seconds(),
+                    row.finished(),
+                    row.place()));
+        }
+        return result;
+    }
+
+    /**
+     * A competitor as identified in a participation.
+     *
+     * @param firstName the name of the competitor
+     * @param middleName the middle name of the competitor
+     * @param lastName the last name of the competitor
+     * @param mobilePhone the mobile phone of the competitor
+     */
+    public record Competitor(
+            String firstName,
+            String middleName,
+            String lastName,
+            String mobilePhone
+    ) {
+    }
+
+    /**
+     * A participation referring to its competitor, competition and event by index.
+     *
+     * @param competitor the index of the competitor in {@link CompactParticipationsDTO#competitors()}
+     * @param competition the index of the competition in {@link CompactParticipationsDTO#competitions()}
+     * @param event the index of the event in {@link CompactParticipationsDTO#events()}
+     * @param seconds the time in which the competitor achieved the result
+     * @param finished a boolean whether a DNF or a finish took place
+     * @param place the placement result of the competitor
+     */
+    public record Row(
+            int competitor,
+            int competition,
+            int event,
+            float seconds,
+            boolean finished,
+            String place
+    ) {
+    }
+}
@@ -0,0 +1,44 @@
+package com.papasmurfie.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A Data Transfer Object (DTO) representing everything the dashboard of a meet shows about one competition.
+ * <p>
+ * Every part is loaded concurrently and independently of the others. A part which could not be loaded in time is
+ * {@code null} and its name is listed in {@code unavailable}, so that the rest of the dashboard can still be shown.
+ * It is immutable and serves as a lightweight data carrier between application layers.
+ * </p>
+ *
+ * @param competition the competition
+ * @param events the events with at least one participation in the competition
+ * @param participations the participations in the competition
+ * @param standings the participations in each event, finishers first, fastest first
+ * @param nationalities the number of competitors of each nationality taking part in the competition
+ * @param unavailable the names of the parts which could not be loaded in time
+ */
+public record CompetitionDashboardDTO(
+        CompetitionDTO competition,
+        List<EventDTO> events,
+        List<ParticipationDTO> participations,
+        List<Standings> standings,
+        Map<String, Long> nationalities,
+        List<String> unavailable
+) {
+
+    /**
+     * The standings of one event of the competition.
+     *
+     * @param distance the distance of the event
+     * @param eventType the type of the event
+     * @param participations the participations in the event, finishers first, fastest first
+     */
+    public record Standings(
+            BigDecimal distance,
+            String eventType,
+            List<ParticipationDTO> participations
+    ) {
+    }
+}
@@ -0,0 +1,18 @@
+package com.papasmurfie.dto;
+
+/**
+ * A Data Transfer Object (DTO) representing the number of distinct competitors of a nationality.
+ * <p>
+ * This record holds the name of the nationality and the approximate number of distinct competitors of that
+ * nationality who took part, read from a sketch whose error is about 3%.
+ * It is immutable and serves as a lightweight data carrier between application layers.
+ * </p>
+ *
+ * @param nationality the name of the nationality, lower-cased
+ * @param competitors the estimated number of distinct competitors
+ */
+public record DistinctCompetitorsDTO(
+        String nationality,
+        long competitors
+) {
+}
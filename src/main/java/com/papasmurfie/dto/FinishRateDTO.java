@@ -0,0 +1,22 @@
+package com.papasmurfie.dto;
+
+/**
+ * A Data Transfer Object (DTO) representing the finish rate of the competitors of a nationality.
+ * <p>
+ * This record holds the name of the nationality, the number of participations of its competitors, how many of them
+ * finished, and the resulting rate. A competitor of several nationalities counts for each of them.
+ * It is immutable and serves as a lightweight data carrier between application layers.
+ * </p>
+ *
+ * @param nationality the name of the nationality, lower-cased
+ * @param participations the number of participations
+ * @param finishers the number of finished participations
+ * @param finishRate the share of finished participations, between 0 and 1
+ */
+public record FinishRateDTO(
+        String nationality,
+        long participations,
+        long finishers,
+        double finishRate
+) {
+}
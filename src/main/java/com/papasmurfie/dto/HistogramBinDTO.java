@@ -0,0 +1,19 @@
+package com.papasmurfie.dto;
+
+/**
+ * A Data Transfer Object (DTO) representing a bin of a histogram of finishing times.
+ * <p>
+ * This record holds the range of the bin and the number of finishing times within it.
+ * It is immutable and serves as a lightweight data carrier between application layers.
+ * </p>
+ *
+ * @param fromSeconds the start of the range, inclusive
+ * @param toSeconds the end of the range, exclusive
+ * @param count the number of finishing times within the range
+ */
+public record HistogramBinDTO(
+        float fromSeconds,
+        float toSeconds,
+        long count
+) {
+}
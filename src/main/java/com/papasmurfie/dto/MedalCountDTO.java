@@ -0,0 +1,27 @@
+package com.papasmurfie.dto;
+
+/**
+ * A Data Transfer Object (DTO) representing the line of a nationality in a medal table.
+ * <p>
+ * This record holds the medals won by the competitors of a nationality, that is their first, second and third ranks
+ * among the finishers of an event in a competition, together with the number of competitors and participations of
+ * the nationality. A competitor with several nationalities counts for each of them.
+ * It is immutable and serves as a lightweight data carrier between application layers.
+ * </p>
+ *
+ * @param nationality the name of the nationality
+ * @param golds the number of first ranks
+ * @param silvers the number of second ranks
+ * @param bronzes the number of third ranks
+ * @param participants the number of distinct competitors of the nationality
+ * @param participations the number of participations of these competitors
+ */
+public record MedalCountDTO(
+        String nationality,
+        long golds,
+        long silvers,
+        long bronzes,
+        long participants,
+        long participations
+) {
+}
@@ -0,0 +1,20 @@
+package com.papasmurfie.dto;
+
+import java.util.List;
+
+/**
+ * A Data Transfer Object (DTO) representing one page of a participation search.
+ * <p>
+ * The next page is requested by sending {@code nextCursor} back with the same criteria and order; it is
+ * {@code null} on the last page.
+ * It is immutable and serves as a lightweight data carrier between application layers.
+ * </p>
+ *
+ * @param participations the participations of the page, in the requested order
+ * @param nextCursor the opaque cursor of the next page, or {@code null} if there is none
+ */
+public record ParticipationPageDTO(
+        List<ParticipationDTO> participations,
+        String nextCursor
+) {
+}
@@ -0,0 +1,50 @@
+package com.papasmurfie.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * A Data Transfer Object (DTO) representing the criteria of a participation search.
+ * <p>
+ * Every criterion is optional; a {@code null} criterion does not restrict the search, and the given ones are
+ * combined with AND. The dates are kept as sent by the client and validated by the service.
+ * It is immutable and serves as a lightweight data carrier between application layers.
+ * </p>
+ *
+ * @param firstName a part of the first name of the competitor, case-insensitive
+ * @param middleName a part of the middle name of the competitor, case-insensitive
+ * @param lastName a part of the last name of the competitor, case-insensitive
+ * @param nationality the name of one of the nationalities of the competitor, case-insensitive
+ * @param competitionName a part of the name of the competition, case-insensitive
+ * @param dateFrom the earliest competition date, inclusive, formatted as yyyy-MM-dd
+ * @param dateTo the latest competition date, inclusive, formatted as yyyy-MM-dd
+ * @param distance the distance of the event
+ * @param minSeconds the shortest time in seconds, inclusive
+ * @param maxSeconds the longest time in seconds, inclusive
+ * @param finished whether the competitor finished or not
+ * @param place the placement of the competitor, case-insensitive
+ * @param maxRank the worst rank among the finishers of the event in the competition, inclusive
+ * @param sort the field to order by: id, seconds, competitionDate or distance
+ * @param direction the direction of the order: asc or desc
+ * @param limit the maximum number of participations of the page
+ * @param after the cursor returned with the previous page, or {@code null} for the first page
+ */
+public record ParticipationSearchDTO(
+        String firstName,
+        String middleName,
+        String lastName,
+        String nationality,
+        String competitionName,
+        String dateFrom,
+        String dateTo,
+        BigDecimal distance,
+        Float minSeconds,
+        Float maxSeconds,
+        Boolean finished,
+        String place,
+        Integer maxRank,
+        String sort,
+        String direction,
+        int limit,
+        String after
+) {
+}
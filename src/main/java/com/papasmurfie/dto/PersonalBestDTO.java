@@ -0,0 +1,34 @@
+package com.papasmurfie.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * A Data Transfer Object (DTO) representing the personal best of a competitor in an event.
+ * <p>
+ * This record holds the competitor, the event, the best time and the competition in which it was run.
+ * It is immutable and serves as a lightweight data carrier between application layers.
+ * </p>
+ *
+ * @param firstName the name of the competitor
+ * @param middleName the middle name of the competitor
+ * @param lastName the last name of the competitor
+ * @param mobilePhone the mobile phone of the competitor
+ * @param distance the distance of the event
+ * @param eventType the type of distance - sprint, dash, long etc.
+ * @param seconds the best time of the competitor in the event
+ * @param competitionName the name of the competition in which the best time was run
+ * @param competitionDate the date of the competition in which the best time was run
+ */
+public record PersonalBestDTO(
+        String firstName,
+        String middleName,
+        String lastName,
+        String mobilePhone,
+        BigDecimal distance,
+        String eventType,
+        float seconds,
+        String competitionName,
+        LocalDate competitionDate
+) {
+}
@@ -0,0 +1,23 @@
+package com.papasmurfie.dto;
+
+/**
+ * A Data Transfer Object (DTO) representing the place a finishing time would have taken.
+ * <p>
+ * This record holds the time asked about, the place it would have taken among the actual finishers of a race or
+ * of a season, and the share of those finishers it would have beaten. A time equal to an actual one shares its
+ * place.
+ * It is immutable and serves as a lightweight data carrier between application layers.
+ * </p>
+ *
+ * @param seconds the hypothetical time in seconds
+ * @param place the place the time would have taken
+ * @param finishers the number of actual finishers
+ * @param percentile the percentage of the actual finishers slower than the time, 100 if there are none
+ */
+public record PlacePredictionDTO(
+        float seconds,
+        int place,
+        int finishers,
+        double percentile
+) {
+}
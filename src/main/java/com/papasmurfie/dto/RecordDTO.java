@@ -0,0 +1,35 @@
+package com.papasmurfie.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A Data Transfer Object (DTO) representing a record of an event.
+ * <p>
+ * This record holds the kind of record, the event, the record time and the participation holding it. When it
+ * describes a record being broken, it also holds the time it replaced and the moment it was broken.
+ * It is immutable and serves as a lightweight data carrier between application layers.
+ * </p>
+ *
+ * @param scope the kind of record: ALL_TIME, NATIONAL or MEET
+ * @param nationality the nationality of a national record, {@code null} otherwise
+ * @param meet the competition of a meet record, {@code null} otherwise
+ * @param distance the distance of the event
+ * @param eventType the type of distance - sprint, dash, long etc.
+ * @param seconds the record time
+ * @param previousSeconds the time of the broken record, {@code null} for a current record
+ * @param brokenAt the moment the record was broken, {@code null} for a current record
+ * @param participation the participation holding the record
+ */
+public record RecordDTO(
+        String scope,
+        String nationality,
+        String meet,
+        BigDecimal distance,
+        String eventType,
+        float seconds,
+        Float previousSeconds,
+        LocalDateTime brokenAt,
+        ParticipationDTO participation
+) {
+}
@@ -0,0 +1,32 @@
+package com.papasmurfie.dto;
+
+import java.time.LocalDate;
+
+/**
+ * A Data Transfer Object (DTO) representing the place of a competitor in the season ranking of an event.
+ * <p>
+ * This record holds the rank, the competitor, and their best time of the season together with the competition in
+ * which it was run. Competitors with the same best time share the same rank.
+ * It is immutable and serves as a lightweight data carrier between application layers.
+ * </p>
+ *
+ * @param rank the rank of the competitor in the season
+ * @param firstName the name of the competitor
+ * @param middleName the middle name of the competitor
+ * @param lastName the last name of the competitor
+ * @param mobilePhone the mobile phone of the competitor
+ * @param seconds the best time of the competitor in the season
+ * @param competitionName the name of the competition in which the best time was run
+ * @param competitionDate the date of the competition in which the best time was run
+ */
+public record SeasonRankingDTO(
+        int rank,
+        String firstName,
+        String middleName,
+        String lastName,
+        String mobilePhone,
+        float seconds,
+        String competitionName,
+        LocalDate competitionDate
+) {
+}
@@ -0,0 +1,20 @@
+package com.papasmurfie.dto;
+
+/**
+ * A Data Transfer Object (DTO) representing a type-ahead suggestion.
+ * <p>
+ * This record holds the kind of the suggested item, the text to display and the natural key which identifies the
+ * item in the other endpoints.
+ * It is immutable and serves as a lightweight data carrier between application layers.
+ * </p>
+ *
+ * @param type the kind of the suggested item - "competitor" or "competition"
+ * @param label the text to display, e.g. the full name of the competitor or the name of the competition
+ * @param key the natural key of the item - the mobile phone of a competitor or the date of a competition
+ */
+public record SuggestionDTO(
+        String type,
+        String label,
+        String key
+) {
+}
@@ -0,0 +1,26 @@
+package com.papasmurfie.dto;
+
+import java.util.List;
+
+/**
+ * A Data Transfer Object (DTO) representing the distribution of the finishing times of an event.
+ * <p>
+ * This record holds the number of finishers, approximate percentiles of their times and a histogram of the times.
+ * The percentiles and bins are read from a sketch, and are accurate within about 2% of the time.
+ * It is immutable and serves as a lightweight data carrier between application layers.
+ * </p>
+ *
+ * @param finishers the number of finished participations
+ * @param median the median time, or {@code null} if there are no finishers
+ * @param p90 the time below which 90% of the finishers lie, or {@code null} if there are no finishers
+ * @param p99 the time below which 99% of the finishers lie, or {@code null} if there are no finishers
+ * @param bins the histogram of the times, fastest first
+ */
+public record TimeDistributionDTO(
+        long finishers,
+        Float median,
+        Float p90,
+        Float p99,
+        List<HistogramBinDTO> bins
+) {
+}
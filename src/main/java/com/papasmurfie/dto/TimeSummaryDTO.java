@@ -0,0 +1,22 @@
+package com.papasmurfie.dto;
+
+/**
+ * A Data Transfer Object (DTO) summarizing the finishing times of an event.
+ * <p>
+ * This record holds the number of finishers of the event, the fastest and the average of their times, and how many
+ * of them finished under a given time.
+ * It is immutable and serves as a lightweight data carrier between application layers.
+ * </p>
+ *
+ * @param finishers the number of finished participations
+ * @param fastest the fastest time in seconds, or {@code null} if nobody finished
+ * @param average the average time in seconds, or {@code null} if nobody finished
+ * @param below the number of finishing times strictly under the given time
+ */
+public record TimeSummaryDTO(
+        long finishers,
+        Float fastest,
+        Double average,
+        long below
+) {
+}
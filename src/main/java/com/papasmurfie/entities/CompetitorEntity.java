@@ -2,6 +2,7 @@ package com.papasmurfie.entities;
 
 import io.quarkus.hibernate.orm.panache.PanacheEntity;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -13,10 +14,24 @@ import java.util.List;
  * the competitor's name, contact information, and associated nationalities. It extends {@link PanacheEntity} to
  * leverage Quarkus' Panache ORM capabilities, providing convenient methods for database operations.
  * </p>
+ * <p>
+ * The {@value #GRAPH_WITH_NATIONALITIES} fetch plan loads competitors together with their nationalities in a single
+ * query. When the nationalities are loaded lazily instead, they are fetched in batches for many competitors at once.
+ * </p>
  */
 @Entity(name = "Competitors")
+@NamedEntityGraph(
+        name = CompetitorEntity.GRAPH_WITH_NATIONALITIES,
+        attributeNodes = @NamedAttributeNode("nationalities")
+)
+@BatchSize(size = 64)
 public class CompetitorEntity extends PanacheEntity {
 
+    /**
+     * Name of the fetch plan loading a competitor together with its nationalities.
+     */
+    public static final String GRAPH_WITH_NATIONALITIES = "Competitors.withNationalities";
+
     @Column(length = 50, nullable = false)
     private String competitorFirstName;
     @Column(length = 50, nullable = false)
@@ -29,6 +44,7 @@ public class CompetitorEntity extends PanacheEntity {
     private String email;
 
     @ManyToMany
+    @BatchSize(size = 64)
     @JoinTable(
             name = "competitor_nationality",
             joinColumns = @JoinColumn(name = "competitor_id"),
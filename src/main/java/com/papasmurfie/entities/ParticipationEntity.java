@@ -11,16 +11,55 @@ import jakarta.persistence.*;
  * in a specific competition event, including the associated competitor, competition, event, and result.
  * It extends {@link PanacheEntity} to leverage Quarkus' Panache ORM capabilities, simplifying database interactions.
  * </p>
+ * <p>
+ * All associations are lazy; each use case chooses what to load through a named fetch plan:
+ * <ul>
+ *     <li>{@value #GRAPH_SUMMARY} - competitor, competition, event and result, everything a participation row needs.
+ *     Used by list reads which hydrate entities; the REST list endpoints select straight into DTOs instead.</li>
+ *     <li>{@value #GRAPH_DETAIL} - the summary plus the nationalities of the competitor. Used by the update and
+ *     delete of a single participation, which map all of it and index it by the nationalities of its competitor.</li>
+ * </ul>
+ * </p>
  */
 @Entity(name = "Participations")
+@NamedEntityGraph(
+        name = ParticipationEntity.GRAPH_SUMMARY,
+        attributeNodes = {
+                @NamedAttributeNode("competitor"),
+                @NamedAttributeNode("competition"),
+                @NamedAttributeNode("event"),
+                @NamedAttributeNode("result")
+        }
+)
+@NamedEntityGraph(
+        name = ParticipationEntity.GRAPH_DETAIL,
+        attributeNodes = {
+                @NamedAttributeNode(value = "competitor", subgraph = "competitor"),
+                @NamedAttributeNode("competition"),
+                @NamedAttributeNode("event"),
+                @NamedAttributeNode("result")
+        },
+        subgraphs = @NamedSubgraph(name = "competitor", attributeNodes = @NamedAttributeNode("nationalities"))
+)
 public class ParticipationEntity extends PanacheEntity {
-    @ManyToOne
+
+    /**
+     * Name of the fetch plan loading the competitor, competition, event and result of a participation.
+     */
+    public static final String GRAPH_SUMMARY = "Participations.summary";
+
+    /**
+     * Name of the fetch plan loading the summary plus the nationalities of the competitor.
+     */
+    public static final String GRAPH_DETAIL = "Participations.detail";
+
+    @ManyToOne(fetch = FetchType.LAZY)
     private CompetitorEntity competitor;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private CompetitionEntity competition;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private EventEntity event;
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     private ResultEntity result;
 
     /**
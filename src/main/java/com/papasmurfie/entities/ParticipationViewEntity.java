@@ -0,0 +1,392 @@
+package com.papasmurfie.entities;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+
+/**
+ * Represents the denormalized read model of a participation, stored in the database.
+ * <p>
+ * This class maps to the "participation_view" table, which holds one row per participation with everything a
+ * participation read needs: the fields of the competitor, competition, event and result, the names of the
+ * nationalities of the competitor, and the rank of the participation among the finishers of its event in its
+ * competition. Reads select from this single table instead of joining five. The rows are kept in sync by
+ * {@code ParticipationViewService}, in the same transaction as every write to the tables they are built from, which
+ * also creates the covering indexes of the reads by competitor, competition, event and time.
+ * It extends {@link PanacheEntityBase}, its id being the id of the participation it represents.
+ * </p>
+ */
+@Entity(name = "ParticipationView")
+@Table(
+        name = "participation_view",
+        indexes = {
+                @Index(name = "idx_participation_view_competition_event", columnList = "competitionId, eventId"),
+                @Index(name = "idx_participation_view_result", columnList = "resultId")
+        }
+)
+public class ParticipationViewEntity extends PanacheEntityBase {
+
+    @Id
+    private Long id;
+    @Column(nullable = false)
+    private Long competitorId;
+    @Column(nullable = false)
+    private Long competitionId;
+    @Column(nullable = false)
+    private Long eventId;
+    @Column(nullable = false)
+    private Long resultId;
+    @Column(length = 50, nullable = false)
+    private String firstName;
+    @Column(length = 50, nullable = false)
+    private String middleName;
+    @Column(length = 50, nullable = false)
+    private String lastName;
+    @Column(length = 20, nullable = false)
+    private String mobilePhone;
+    @Column(nullable = false)
+    private String nationalities;
+    @Column(length = 50, nullable = false)
+    private String competitionName;
+    @Column(nullable = false)
+    private LocalDate competitionDate;
+    @Column(nullable = false)
+    private BigDecimal distance;
+    @Column(nullable = false)
+    private String eventType;
+    @Column(nullable = false)
+    private float seconds;
+    @Column(nullable = false)
+    private boolean finished;
+    @Column(nullable = false)
+    private String place;
+    @Column(name = "participation_rank")
+    private Integer rank;
+
+    /**
+     * Gets id.
+     *
+     * @return the id of the participation
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Sets id.
+     *
+     * @param id the id of the participation
+     */
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    /**
+     * Gets competitor id.
+     *
+     * @return the id of the competitor
+     */
+    public Long getCompetitorId() {
+        return competitorId;
+    }
+
+    /**
+     * Sets competitor id.
+     *
+     * @param competitorId the id of the competitor
+     */
+    public void setCompetitorId(Long competitorId) {
+        this.competitorId = competitorId;
+    }
+
+    /**
+     * Gets competition id.
+     *
+     * @return the id of the competition
+     */
+    public Long getCompetitionId() {
+        return competitionId;
+    }
+
+    /**
+     * Sets competition id.
+     *
+     * @param competitionId the id of the competition
+     */
+    public void setCompetitionId(Long competitionId) {
+        this.competitionId = competitionId;
+    }
+
+    /**
+     * Gets event id.
+     *
+     * @return the id of the event
+     */
+    public Long getEventId() {
+        return eventId;
+    }
+
+    /**
+     * Sets event id.
+     *
+     * @param eventId the id of the event
+     */
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    /**
+     * Gets result id.
+     *
+     * @return the id of the result
+     */
+    public Long getResultId() {
+        return resultId;
+    }
+
+    /**
+     * Sets result id.
+     *
+     * @param resultId the id of the result
+     */
+    public void setResultId(Long resultId) {
+        this.resultId = resultId;
+    }
+
+    /**
+     * Gets first name.
+     *
+     * @return the first name of the competitor
+     */
+    public String getFirstName() {
+        return firstName;
+    }
+
+    /**
+     * Sets first name.
+     *
+     * @param firstName the first name of the competitor
+     */
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+
+    /**
+     * Gets middle name.
+     *
+     * @return the middle name of the competitor
+     */
+    public String getMiddleName() {
+        return middleName;
+    }
+
+    /**
+     * Sets middle name.
+     *
+     * @param middleName the middle name of the competitor
+     */
+    public void setMiddleName(String middleName) {
+        this.middleName = middleName;
+    }
+
+    /**
+     * Gets last name.
+     *
+     * @return the last name of the competitor
+     */
+    public String getLastName() {
+        return lastName;
+    }
+
+    /**
+     * Sets last name.
+     *
+     * @param lastName the last name of the competitor
+     */
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+
+    /**
+     * Gets mobile phone.
+     *
+     * @return the mobile phone of the competitor
+     */
+    public String getMobilePhone() {
+        return mobilePhone;
+    }
+
+    /**
+     * Sets mobile phone.
+     *
+     * @param mobilePhone the mobile phone of the competitor
+     */
+    public void setMobilePhone(String mobilePhone) {
+        this.mobilePhone = mobilePhone;
+    }
+
+    /**
+     * Gets nationalities.
+     *
+     * @return the nationality names of the competitor, lower-cased and enclosed in commas, e.g. {@code ",bulgaria,germany,"}
+     */
+    public String getNationalities() {
+        return nationalities;
+    }
+
+    /**
+     * Sets nationalities.
+     *
+     * @param nationalities the nationality names of the competitor, lower-cased and enclosed in commas, e.g. {@code ",bulgaria,germany,"}
+     */
+    public void setNationalities(String nationalities) {
+        this.nationalities = nationalities;
+    }
+
+    /**
+     * Gets competition name.
+     *
+     * @return the name of the competition
+     */
+    public String getCompetitionName() {
+        return competitionName;
+    }
+
+    /**
+     * Sets competition name.
+     *
+     * @param competitionName the name of the competition
+     */
+    public void setCompetitionName(String competitionName) {
+        this.competitionName = competitionName;
+    }
+
+    /**
+     * Gets competition date.
+     *
+     * @return the date of the competition
+     */
+    public LocalDate getCompetitionDate() {
+        return competitionDate;
+    }
+
+    /**
+     * Sets competition date.
+     *
+     * @param competitionDate the date of the competition
+     */
+    public void setCompetitionDate(LocalDate competitionDate) {
+        this.competitionDate = competitionDate;
+    }
+
+    /**
+     * Gets distance.
+     *
+     * @return the distance of the event
+     */
+    public BigDecimal getDistance() {
+        return distance;
+    }
+
+    /**
+     * Sets distance.
+     *
+     * @param distance the distance of the event
+     */
+    public void setDistance(BigDecimal distance) {
+        this.distance = distance;
+    }
+
+    /**
+     * Gets event type.
+     *
+     * @return the event type
+     */
+    public String getEventType() {
+        return eventType;
+    }
+
+    /**
+     * Sets event type.
+     *
+     * @param eventType the event type
+     */
+    public void setEventType(String eventType) {
+        this.eventType = eventType;
+    }
+
+    /**
+     * Gets seconds.
+     *
+     * @return the seconds
+     */
+    public float getSeconds() {
+        return seconds;
+    }
+
+    /**
+     * Sets seconds.
+     *
+     * @param seconds the seconds
+     */
+    public void setSeconds(float seconds) {
+        this.seconds = seconds;
+    }
+
+    /**
+     * Is finished.
+     *
+     * @return the finished
+     */
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * Sets finished.
+     *
+     * @param finished the finished
+     */
+    public void setFinished(boolean finished) {
+        this.finished = finished;
+    }
+
+    /**
+     * Gets place.
+     *
+     * @return the place
+     */
+    public String getPlace() {
+        return place;
+    }
+
+    /**
+     * Sets place.
+     *
+     * @param place the place
+     */
+    public void setPlace(String place) {
+        this.place = place;
+    }
+
+    /**
+     * Gets rank.
+     *
+     * @return the rank among the finishers of the event in the competition, {@code null} if not finished
+     */
+    public Integer getRank() {
+        return rank;
+    }
+
+    /**
+     * Sets rank.
+     *
+     * @param rank the rank among the finishers of the event in the competition, {@code null} if not finished
+     */
+    public void setRank(Integer rank) {
+        this.rank = rank;
+    }
+}
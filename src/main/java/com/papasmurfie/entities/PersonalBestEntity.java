@@ -0,0 +1,104 @@
+package com.papasmurfie.entities;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntity;
+import jakarta.persistence.*;
+
+
+/**
+ * Represents the personal best of a competitor in an event, stored in the database.
+ * <p>
+ * This class maps to the "PersonalBests" table, which holds at most one row per competitor and event: the fastest
+ * finished participation of the competitor in that event, together with its time. The table is maintained by
+ * {@code PersonalBestsService} in the same transaction as the participations, so a competitor's personal bests and
+ * the best times of an event are read without aggregating the results.
+ * It extends {@link PanacheEntity} to leverage Quarkus' Panache ORM capabilities, simplifying database interactions.
+ * </p>
+ */
+@Entity(name = "PersonalBests")
+@Table(
+        uniqueConstraints = @UniqueConstraint(columnNames = {"competitor_id", "event_id"}),
+        indexes = @Index(name = "idx_personal_bests_event_seconds", columnList = "event_id, seconds")
+)
+public class PersonalBestEntity extends PanacheEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    private CompetitorEntity competitor;
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    private EventEntity event;
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    private ParticipationEntity participation;
+    @Column(nullable = false)
+    private float seconds;
+
+    /**
+     * Gets competitor.
+     *
+     * @return the competitor
+     */
+    public CompetitorEntity getCompetitor() {
+        return competitor;
+    }
+
+    /**
+     * Sets competitor.
+     *
+     * @param competitor the competitor
+     */
+    public void setCompetitor(CompetitorEntity competitor) {
+        this.competitor = competitor;
+    }
+
+    /**
+     * Gets event.
+     *
+     * @return the event
+     */
+    public EventEntity getEvent() {
+        return event;
+    }
+
+    /**
+     * Sets event.
+     *
+     * @param event the event
+     */
+    public void setEvent(EventEntity event) {
+        this.event = event;
+    }
+
+    /**
+     * Gets the participation in which the personal best was set.
+     *
+     * @return the participation
+     */
+    public ParticipationEntity getParticipation() {
+        return participation;
+    }
+
+    /**
+     * Sets the participation in which the personal best was set.
+     *
+     * @param participation the participation
+     */
+    public void setParticipation(ParticipationEntity participation) {
+        this.participation = participation;
+    }
+
+    /**
+     * Gets seconds.
+     *
+     * @return the seconds
+     */
+    public float getSeconds() {
+        return seconds;
+    }
+
+    /**
+     * Sets seconds.
+     *
+     * @param seconds the seconds
+     */
+    public void setSeconds(float seconds) {
+        this.seconds = seconds;
+    }
+}
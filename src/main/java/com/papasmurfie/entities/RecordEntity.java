@@ -0,0 +1,305 @@
+package com.papasmurfie.entities;
+
+import com.papasmurfie.indexes.RecordKey;
+import io.quarkus.hibernate.orm.panache.PanacheEntity;
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+
+/**
+ * Represents a broken record stored in the database.
+ * <p>
+ * This class maps to the "Records" table, the history of the all-time, national and meet records broken in every
+ * event. Each row is a snapshot of the participation which broke the record, so the history does not depend on the
+ * participation, competitor or event still existing.
+ * It extends {@link PanacheEntity} to leverage Quarkus' Panache ORM capabilities, simplifying database interactions.
+ * </p>
+ */
+@Entity(name = "Records")
+@Table(indexes = @Index(name = "idx_records_distance", columnList = "distance"))
+public class RecordEntity extends PanacheEntity {
+    @Enumerated(EnumType.STRING)
+    @Column(length = 10, nullable = false)
+    private RecordKey.Scope scope;
+    @Column(length = 50)
+    private String qualifier;
+    @Column(nullable = false)
+    private BigDecimal distance;
+    @Column(nullable = false)
+    private String eventType;
+    @Column(nullable = false)
+    private float seconds;
+    @Column(nullable = false)
+    private float previousSeconds;
+    @Column(nullable = false)
+    private LocalDateTime brokenAt;
+    @Column(length = 50, nullable = false)
+    private String firstName;
+    @Column(length = 50, nullable = false)
+    private String middleName;
+    @Column(length = 50, nullable = false)
+    private String lastName;
+    @Column(length = 20, nullable = false)
+    private String mobilePhone;
+    @Column(length = 50, nullable = false)
+    private String competitionName;
+    @Column(nullable = false)
+    private LocalDate competitionDate;
+    @Column(nullable = false)
+    private String place;
+
+    /**
+     * Gets scope.
+     *
+     * @return the scope
+     */
+    public RecordKey.Scope getScope() {
+        return scope;
+    }
+
+    /**
+     * Sets scope.
+     *
+     * @param scope the scope
+     */
+    public void setScope(RecordKey.Scope scope) {
+        this.scope = scope;
+    }
+
+    /**
+     * Gets qualifier.
+     *
+     * @return the nationality or meet of the record, {@code null} for an all-time record
+     */
+    public String getQualifier() {
+        return qualifier;
+    }
+
+    /**
+     * Sets qualifier.
+     *
+     * @param qualifier the nationality or meet of the record, {@code null} for an all-time record
+     */
+    public void setQualifier(String qualifier) {
+        this.qualifier = qualifier;
+    }
+
+    /**
+     * Gets distance.
+     *
+     * @return the distance of the event
+     */
+    public BigDecimal getDistance() {
+        return distance;
+    }
+
+    /**
+     * Sets distance.
+     *
+     * @param distance the distance of the event
+     */
+    public void setDistance(BigDecimal distance) {
+        this.distance = distance;
+    }
+
+    /**
+     * Gets event type.
+     *
+     * @return the event type
+     */
+    public String getEventType() {
+        return eventType;
+    }
+
+    /**
+     * Sets event type.
+     *
+     * @param eventType the event type
+     */
+    public void setEventType(String eventType) {
+        this.eventType = eventType;
+    }
+
+    /**
+     * Gets seconds.
+     *
+     * @return the new record time
+     */
+    public float getSeconds() {
+        return seconds;
+    }
+
+    /**
+     * Sets seconds.
+     *
+     * @param seconds the new record time
+     */
+    public void setSeconds(float seconds) {
+        this.seconds = seconds;
+    }
+
+    /**
+     * Gets previous seconds.
+     *
+     * @return the time of the broken record
+     */
+    public float getPreviousSeconds() {
+        return previousSeconds;
+    }
+
+    /**
+     * Sets previous seconds.
+     *
+     * @param previousSeconds the time of the broken record
+     */
+    public void setPreviousSeconds(float previousSeconds) {
+        this.previousSeconds = previousSeconds;
+    }
+
+    /**
+     * Gets broken at.
+     *
+     * @return the moment the record was broken
+     */
+    public LocalDateTime getBrokenAt() {
+        return brokenAt;
+    }
+
+    /**
+     * Sets broken at.
+     *
+     * @param brokenAt the moment the record was broken
+     */
+    public void setBrokenAt(LocalDateTime brokenAt) {
+        this.brokenAt = brokenAt;
+    }
+
+    /**
+     * Gets first name.
+     *
+     * @return the first name of the record holder
+     */
+    public String getFirstName() {
+        return firstName;
+    }
+
+    /**
+     * Sets first name.
+     *
+     * @param firstName the first name of the record holder
+     */
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+
+    /**
+     * Gets middle name.
+     *
+     * @return the middle name of the record holder
+     */
+    public String getMiddleName() {
+        return middleName;
+    }
+
+    /**
+     * Sets middle name.
+     *
+     * @param middleName the middle name of the record holder
+     */
+    public void setMiddleName(String middleName) {
+        this.middleName = middleName;
+    }
+
+    /**
+     * Gets last name.
+     *
+     * @return the last name of the record holder
+     */
+    public String getLastName() {
+        return lastName;
+    }
+
+    /**
+     * Sets last name.
+     *
+     * @param lastName the last name of the record holder
+     */
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+
+    /**
+     * Gets mobile phone.
+     *
+     * @return the mobile phone of the record holder
+     */
+    public String getMobilePhone() {
+        return mobilePhone;
+    }
+
+    /**
+     * Sets mobile phone.
+     *
+     * @param mobilePhone the mobile phone of the record holder
+     */
+    public void setMobilePhone(String mobilePhone) {
+        this.mobilePhone = mobilePhone;
+    }
+
+    /**
+     * Gets competition name.
+     *
+     * @return the name of the competition in which the record was broken
+     */
+    public String getCompetitionName() {
+        return competitionName;
+    }
+
+    /**
+     * Sets competition name.
+     *
+     * @param competitionName the name of the competition in which the record was broken
+     */
+    public void setCompetitionName(String competitionName) {
+        this.competitionName = competitionName;
+    }
+
+    /**
+     * Gets competition date.
+     *
+     * @return the date of the competition in which the record was broken
+     */
+    public LocalDate getCompetitionDate() {
+        return competitionDate;
+    }
+
+    /**
+     * Sets competition date.
+     *
+     * @param competitionDate the date of the competition in which the record was broken
+     */
+    public void setCompetitionDate(LocalDate competitionDate) {
+        this.competitionDate = competitionDate;
+    }
+
+    /**
+     * Gets place.
+     *
+     * @return the place of the record holder in the competition
+     */
+    public String getPlace() {
+        return place;
+    }
+
+    /**
+     * Sets place.
+     *
+     * @param place the place of the record holder in the competition
+     */
+    public void setPlace(String place) {
+        this.place = place;
+    }
+}
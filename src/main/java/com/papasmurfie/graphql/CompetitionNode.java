@@ -0,0 +1,24 @@
+package com.papasmurfie.graphql;
+
+import org.eclipse.microprofile.graphql.Type;
+
+import java.time.LocalDate;
+
+/**
+ * The {@code Competition} type of the GraphQL schema.
+ * <p>
+ * Its events and participations are resolved by {@link PnuGraphQLApi} for all the competitions of a response
+ * at once.
+ * </p>
+ *
+ * @param id the id of the competition
+ * @param competitionName the name of the competition
+ * @param competitionDate the date of the competition
+ */
+@Type("Competition")
+public record CompetitionNode(
+        Long id,
+        String competitionName,
+        LocalDate competitionDate
+) {
+}
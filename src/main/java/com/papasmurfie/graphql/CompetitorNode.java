@@ -0,0 +1,27 @@
+package com.papasmurfie.graphql;
+
+import org.eclipse.microprofile.graphql.Type;
+
+/**
+ * The {@code Competitor} type of the GraphQL schema.
+ * <p>
+ * Its nationalities are resolved by {@link PnuGraphQLApi} for all the competitors of a response at once.
+ * </p>
+ *
+ * @param id the id of the competitor
+ * @param firstName the first name of the competitor
+ * @param middleName the middle name of the competitor
+ * @param lastName the last name of the competitor
+ * @param mobilePhone the mobile phone of the competitor
+ * @param email the email of the competitor
+ */
+@Type("Competitor")
+public record CompetitorNode(
+        Long id,
+        String firstName,
+        String middleName,
+        String lastName,
+        String mobilePhone,
+        String email
+) {
+}
@@ -0,0 +1,20 @@
+package com.papasmurfie.graphql;
+
+import org.eclipse.microprofile.graphql.Type;
+
+import java.math.BigDecimal;
+
+/**
+ * The {@code Event} type of the GraphQL schema.
+ *
+ * @param id the id of the event
+ * @param distance the distance ran
+ * @param eventType the type of distance - sprint, dash, long etc.
+ */
+@Type("Event")
+public record EventNode(
+        Long id,
+        BigDecimal distance,
+        String eventType
+) {
+}
@@ -0,0 +1,32 @@
+package com.papasmurfie.graphql;
+
+import org.eclipse.microprofile.graphql.Ignore;
+import org.eclipse.microprofile.graphql.Type;
+
+/**
+ * The {@code Participation} type of the GraphQL schema.
+ * <p>
+ * It only holds the ids of its competitor, competition and event, which are not part of the schema; the
+ * competitors, competitions and events themselves are resolved by {@link PnuGraphQLApi} for all the participations
+ * of a response at once.
+ * </p>
+ *
+ * @param id the id of the participation
+ * @param competitorId the id of the competitor
+ * @param competitionId the id of the competition
+ * @param eventId the id of the event
+ * @param seconds the time in which the competitor achieved the result
+ * @param finished a boolean whether a DNF or a finish took place
+ * @param place the placement result of the competitor
+ */
+@Type("Participation")
+public record ParticipationNode(
+        Long id,
+        @Ignore Long competitorId,
+        @Ignore Long competitionId,
+        @Ignore Long eventId,
+        float seconds,
+        boolean finished,
+        String place
+) {
+}
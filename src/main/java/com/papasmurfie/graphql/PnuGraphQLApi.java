@@ -0,0 +1,136 @@
+package com.papasmurfie.graphql;
+
+import com.papasmurfie.services.GraphLoaderService;
+import org.eclipse.microprofile.graphql.Description;
+import org.eclipse.microprofile.graphql.GraphQLApi;
+import org.eclipse.microprofile.graphql.Name;
+import org.eclipse.microprofile.graphql.Query;
+import org.eclipse.microprofile.graphql.Source;
+
+import java.util.List;
+
+/**
+ * GraphQL API over the competitions, events, participations and competitors, served at {@code /graphql}.
+ * <p>
+ * It lets a client fetch e.g. competition → events, or competition → participations → competitor → nationalities
+ * in a single request. Every nested field is resolved in batch: its resolver receives the list of all the parent
+ * objects of the response and loads their children with a single query through {@link GraphLoaderService}.
+ * </p>
+ * <p>
+ * The depth and the complexity (number of fields) of a query are limited by
+ * {@code quarkus.smallrye-graphql.instrumentation-query-depth} and
+ * {@code quarkus.smallrye-graphql.instrumentation-query-complexity}; larger queries are rejected before they reach
+ * the database.
+ * </p>
+ */
+@GraphQLApi
+public class PnuGraphQLApi {
+
+    private final GraphLoaderService graphLoaderService;
+
+    /**
+     * Constructor used for injecting dependencies.
+     *
+     * @param graphLoaderService the service that loads the nodes of the schema, injected by the DI container
+     */
+    public PnuGraphQLApi(GraphLoaderService graphLoaderService) {
+        this.graphLoaderService = graphLoaderService;
+    }
+
+    /**
+     * Retrieves the competitions, optionally filtered by name.
+     *
+     * @param name a part of the competition name (optional)
+     * @return the matching competitions
+     */
+    @Query("competitions")
+    @Description("The competitions whose name contains the given text, or all competitions.")
+    public List<CompetitionNode> competitions(@Name("name") String name) {
+        return graphLoaderService.getCompetitions(name);
+    }
+
+    /**
+     * Retrieves all events.
+     *
+     * @return all events
+     */
+    @Query("events")
+    @Description("All events.")
+    public List<EventNode> events() {
+        return graphLoaderService.getEvents();
+    }
+
+    /**
+     * Retrieves all competitors.
+     *
+     * @return all competitors
+     */
+    @Query("competitors")
+    @Description("All competitors.")
+    public List<CompetitorNode> competitors() {
+        return graphLoaderService.getCompetitors();
+    }
+
+    /**
+     * Resolves the events of every competition of the response.
+     *
+     * @param competitions the competitions of the response
+     * @return the events of each competition
+     */
+    @Description("The events with at least one participation in the competition.")
+    public List<List<EventNode>> events(@Source List<CompetitionNode> competitions) {
+        return graphLoaderService.loadCompetitionEvents(competitions);
+    }
+
+    /**
+     * Resolves the participations of every competition of the response.
+     *
+     * @param competitions the competitions of the response
+     * @return the participations in each competition
+     */
+    @Description("The participations in the competition.")
+    public List<List<ParticipationNode>> participations(@Source List<CompetitionNode> competitions) {
+        return graphLoaderService.loadCompetitionParticipations(competitions);
+    }
+
+    /**
+     * Resolves the competitor of every participation of the response.
+     *
+     * @param participations the participations of the response
+     * @return the competitor of each participation
+     */
+    public List<CompetitorNode> competitor(@Source List<ParticipationNode> participations) {
+        return graphLoaderService.loadParticipationCompetitors(participations);
+    }
+
+    /**
+     * Resolves the competition of every participation of the response.
+     *
+     * @param participations the participations of the response
+     * @return the competition of each participation
+     */
+    public List<CompetitionNode> competition(@Source List<ParticipationNode> participations) {
+        return graphLoaderService.loadParticipationCompetitions(participations);
+    }
+
+    /**
+     * Resolves the event of every participation of the response.
+     *
+     * @param participations the participations of the response
+     * @return the event of each participation
+     */
+    public List<EventNode> event(@Source List<ParticipationNode> participations) {
+        return graphLoaderService.loadParticipationEvents(participations);
+    }
+
+    /**
+     * Resolves the nationalities of every competitor of the response.
+     *
+     * @param competitors the competitors of the response
+     * @return the names of the nationalities of each competitor
+     */
+    @Description("The names of the nationalities of the competitor.")
+    public List<List<String>> nationalities(@Source List<CompetitorNode> competitors) {
+        return graphLoaderService.loadCompetitorNationalities(competitors);
+    }
+}
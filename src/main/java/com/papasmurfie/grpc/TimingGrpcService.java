@@ -0,0 +1,199 @@
+package com.papasmurfie.grpc;
+
+import com.papasmurfie.dto.EditParticipationDTO;
+import com.papasmurfie.dto.ParticipationDTO;
+import com.papasmurfie.services.ParticipationsService;
+import com.papasmurfie.services.SeasonRankingsService;
+import com.papasmurfie.utility.BackgroundExecutor;
+import com.papasmurfie.utility.ErrorResponse;
+import io.grpc.Status;
+import io.quarkus.grpc.GrpcService;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import jakarta.ws.rs.WebApplicationException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+
+/**
+ * gRPC implementation of the {@code TimingService} of {@code timing.proto}, used by the timing systems to push
+ * participations and results in bulk and to follow the results of a competition live.
+ * <p>
+ * The submissions go through {@link ParticipationsService}, so they are validated exactly like the REST requests.
+ * Every submitted message is saved in its own transaction, on a {@link BackgroundExecutor} thread, as soon as it is
+ * received: a rejected message does not undo the ones before it, and is reported with its position in the
+ * {@link SubmissionSummary} sent once the client completes the stream. This includes the messages whose transaction
+ * fails to commit, e.g. when two timing systems race to save the same participation. A completed submission also
+ * asks for the season rankings to be refreshed.
+ * </p>
+ */
+@GrpcService
+public class TimingGrpcService implements TimingService {
+
+    private final ParticipationsService participationsService;
+    private final BackgroundExecutor backgroundExecutor;
+    private final SeasonRankingsService seasonRankingsService;
+
+    /**
+     * Constructor used for injecting dependencies.
+     *
+     * @param participationsService the service that handles business logic for participations, injected by the DI container
+     * @param backgroundExecutor the executor running the blocking submissions off the gRPC event loop, injected by the DI container
+     * @param seasonRankingsService the service whose precomputed rankings are refreshed after each submission, injected by the DI container
+     */
+    public TimingGrpcService(ParticipationsService participationsService,
+                             BackgroundExecutor backgroundExecutor,
+                             SeasonRankingsService seasonRankingsService) {
+        this.participationsService = participationsService;
+        this.backgroundExecutor = backgroundExecutor;
+        this.seasonRankingsService = seasonRankingsService;
+    }
+
+    /**
+     * Saves a stream of participations, each with its result.
+     *
+     * @param request the participations sent by the timing system
+     * @return the number of saved participations and the reasons the others were rejected
+     */
+    @Override
+    public Uni<SubmissionSummary> submitParticipations(Multi<TimedParticipation> request) {
+        return submit(request, participation -> participationsService.save(toDTO(participation)));
+    }
+
+    /**
+     * Replaces the results of a stream of existing participations.
+     *
+     * @param request the current participations and their new results sent by the timing system
+     * @return the number of updated participations and the reasons the others were rejected
+     */
+    @Override
+    public Uni<SubmissionSummary> submitResults(Multi<ResultUpdate> request) {
+        return submit(request, update -> {
+            ParticipationDTO current = toDTO(update.getParticipation());
+            participationsService.update(new EditParticipationDTO(
+                    current.firstName(),
+                    current.middleName(),
+                    current.lastName(),
+                    current.mobilePhone(),
+                    current.competitionName(),
+                    current.competitionDate(),
+                    current.distance(),
+                    current.eventType(),
+                    current.seconds(),
+                    current.finished(),
+                    current.place(),
+                    current.distance(),
+                    current.eventType(),
+                    update.getNewSeconds(),
+                    update.getNewFinished(),
+                    update.getNewPlace()));
+        });
+    }
+
+    /**
+     * Streams the participations of a competition which are saved or updated from now on.
+     *
+     * @param request the competition to follow
+     * @return the saved and updated participations, until the client cancels the call
+     */
+    @Override
+    public Multi<TimedParticipation> subscribeResults(CompetitionRef request) {
+        try {
+            return participationsService
+                    .subscribeResults(request.getCompetitionName(), request.getCompetitionDate())
+                    .map(TimingGrpcService::toMessage);
+        } catch (WebApplicationException e) {
+            return Multi.createFrom().failure(Status.INVALID_ARGUMENT
+                    .withDescription(reason(e))
+                    .asRuntimeException());
+        }
+    }
+
+    private <T> Uni<SubmissionSummary> submit(Multi<T> request, Submission<T> submission) {
+        return request
+                .emitOn(backgroundExecutor::execute)
+                .map(message -> {
+                    try {
+                        submission.submit(message);
+                        return Optional.<String>empty();
+                    } catch (RuntimeException e) {
+                        return Optional.of(reason(e));
+                    }
+                })
+                .collect().in(SubmissionSummary::newBuilder, (summary, rejection) -> {
+                    int index = summary.getAccepted() + summary.getRejectedCount();
+                    rejection.ifPresentOrElse(
+                            reason -> summary.addRejected(Rejection.newBuilder().setIndex(index).setReason(reason)),
+                            () -> summary.setAccepted(summary.getAccepted() + 1));
+                })
+                .map(SubmissionSummary.Builder::build)
+                .invoke(seasonRankingsService::requestRefresh);
+    }
+
+    private static String reason(RuntimeException e) {
+        if (e instanceof WebApplicationException webApplicationException
+                && webApplicationException.getResponse().getEntity() instanceof ErrorResponse errorResponse) {
+            return errorResponse.getDetails();
+        }
+        if (e instanceof IllegalArgumentException) {
+            return e.getMessage();
+        }
+
+        Throwable cause = e;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return "Could not be saved: " + cause.getMessage();
+    }
+
+    private static ParticipationDTO toDTO(TimedParticipation participation) {
+        LocalDate competitionDate;
+        BigDecimal distance;
+        try {
+            competitionDate = LocalDate.parse(participation.getCompetitionDate());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date format. Expected format is yyyy-MM-dd.");
+        }
+        try {
+            distance = new BigDecimal(participation.getDistance());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid distance '" + participation.getDistance() + "'.");
+        }
+
+        return new ParticipationDTO(
+                participation.getFirstName(),
+                participation.getMiddleName(),
+                participation.getLastName(),
+                participation.getMobilePhone(),
+                participation.getCompetitionName(),
+                competitionDate,
+                distance,
+                participation.getEventType(),
+                participation.getSeconds(),
+                participation.getFinished(),
+                participation.getPlace());
+    }
+
+    private static TimedParticipation toMessage(ParticipationDTO participation) {
+        TimedParticipation.Builder message = TimedParticipation.newBuilder()
+                .setSeconds(participation.seconds())
+                .setFinished(participation.finished());
+        Optional.ofNullable(participation.firstName()).ifPresent(message::setFirstName);
+        Optional.ofNullable(participation.middleName()).ifPresent(message::setMiddleName);
+        Optional.ofNullable(participation.lastName()).ifPresent(message::setLastName);
+        Optional.ofNullable(participation.mobilePhone()).ifPresent(message::setMobilePhone);
+        Optional.ofNullable(participation.competitionName()).ifPresent(message::setCompetitionName);
+        Optional.ofNullable(participation.competitionDate()).map(LocalDate::toString).ifPresent(message::setCompetitionDate);
+        Optional.ofNullable(participation.distance()).map(BigDecimal::toPlainString).ifPresent(message::setDistance);
+        Optional.ofNullable(participation.eventType()).ifPresent(message::setEventType);
+        Optional.ofNullable(participation.place()).ifPresent(message::setPlace);
+        return message.build();
+    }
+
+    @FunctionalInterface
+    private interface Submission<T> {
+        void submit(T message);
+    }
+}
@@ -0,0 +1,136 @@
+package com.papasmurfie.indexes;
+
+import com.papasmurfie.dto.SuggestionDTO;
+import com.papasmurfie.entities.CompetitionEntity;
+import com.papasmurfie.entities.CompetitorEntity;
+import com.papasmurfie.uow.IUnitOfWork;
+import io.quarkus.runtime.Startup;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.spi.ObserverMethod;
+import jakarta.transaction.Transactional;
+
+import java.util.List;
+
+/**
+ * The {@code AutocompleteIndex} class holds the in-memory {@link PrefixIndex}es used for type-ahead suggestions of
+ * competitors and competitions.
+ * <p>
+ * Competitors are ranked by popularity (their number of participations) and competitions by recency (their date).
+ * The indexes are loaded on application startup, after {@code DataInitializer} has populated the tables, and are
+ * kept in sync by {@code CompetitorsService}, {@code CompetitionsService} and {@code ParticipationsService}.
+ * </p>
+ */
+@Startup(ObserverMethod.DEFAULT_PRIORITY + 1)
+@ApplicationScoped
+public class AutocompleteIndex {
+
+    private final IUnitOfWork unitOfWork;
+    private final PrefixIndex competitors = new PrefixIndex("competitor");
+    private final PrefixIndex competitions = new PrefixIndex("competition");
+
+    /**
+     * Constructs an {@link AutocompleteIndex} with the provided unit of work.
+     *
+     * @param unitOfWork The unit of work used to load the indexed entities on startup.
+     */
+    public AutocompleteIndex(IUnitOfWork unitOfWork) {
+        this.unitOfWork = unitOfWork;
+    }
+
+    @PostConstruct
+    public void init() {
+        rebuild();
+    }
+
+    /**
+     * Reloads both indexes from the database.
+     */
+    @Transactional
+    public void rebuild() {
+        competitors.clear();
+        competitions.clear();
+
+        unitOfWork.getCompetitorsRepository().listAll().forEach(this::putCompetitor);
+        unitOfWork.getCompetitionsRepository().listAll().forEach(this::putCompetition);
+
+        List<Object[]> participationCounts = unitOfWork.getParticipationsRepository().getEntityManager()
+                .createQuery("SELECT p.competitor.id, COUNT(p) FROM Participations p GROUP BY p.competitor.id", Object[].class)
+                .getResultList();
+        for (Object[] row : participationCounts) {
+            competitors.setScore((Long) row[0], (Long) row[1]);
+        }
+    }
+
+    /**
+     * Suggests competitors whose names start with the typed words, most active competitors first.
+     *
+     * @param query The text typed so far.
+     * @param limit The maximum number of suggestions.
+     * @return The suggestions.
+     */
+    public List<SuggestionDTO> suggestCompetitors(String query, int limit) {
+        return competitors.suggest(query, limit);
+    }
+
+    /**
+     * Suggests competitions whose names start with the typed words, most recent competitions first.
+     *
+     * @param query The text typed so far.
+     * @param limit The maximum number of suggestions.
+     * @return The suggestions.
+     */
+    public List<SuggestionDTO> suggestCompetitions(String query, int limit) {
+        return competitions.suggest(query, limit);
+    }
+
+    /**
+     * Adds or refreshes a competitor.
+     *
+     * @param competitor The persisted competitor.
+     */
+    public void putCompetitor(CompetitorEntity competitor) {
+        competitors.put(
+                competitor.id,
+                competitor.getCompetitorFirstName() + " " + competitor.getCompetitorMiddleName() + " " + competitor.getCompetitorLastName(),
+                competitor.getPhone());
+    }
+
+    /**
+     * Removes a competitor.
+     *
+     * @param competitorId The id of the competitor.
+     */
+    public void removeCompetitor(Long competitorId) {
+        competitors.remove(competitorId);
+    }
+
+    /**
+     * Adds or refreshes a competition.
+     *
+     * @param competition The persisted competition.
+     */
+    public void putCompetition(CompetitionEntity competition) {
+        competitions.put(competition.id, competition.getCompetitionName(), competition.getCompetitionDate().toString());
+        competitions.setScore(competition.id, competition.getCompetitionDate().toEpochDay());
+    }
+
+    /**
+     * Removes a competition.
+     *
+     * @param competitionId The id of the competition.
+     */
+    public void removeCompetition(Long competitionId) {
+        competitions.remove(competitionId);
+    }
+
+    /**
+     * Updates the popularity of a competitor after one of its participations was added or removed.
+     *
+     * @param competitorId The id of the competitor.
+     * @param delta        {@code 1} for an added participation, {@code -1} for a removed one.
+     */
+    public void countParticipation(Long competitorId, int delta) {
+        competitors.addScore(competitorId, delta);
+    }
+}
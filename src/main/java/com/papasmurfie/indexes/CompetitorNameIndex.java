@@ -0,0 +1,217 @@
+package com.papasmurfie.indexes;
+
+import com.papasmurfie.entities.CompetitorEntity;
+import com.papasmurfie.uow.IUnitOfWork;
+import io.quarkus.runtime.Startup;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.spi.ObserverMethod;
+import jakarta.transaction.Transactional;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * The {@code CompetitorNameIndex} class is an in-memory trigram index over the first, middle and last names of
+ * all competitors.
+ * <p>
+ * It answers "name contains" searches (the equivalent of {@code LOWER(name) LIKE '%x%'}) without touching the
+ * database: the trigrams of the searched term select candidate competitors from the posting lists of the
+ * corresponding name field, and the candidates are verified against the stored lower-cased name. Terms shorter
+ * than three characters fall back to a scan of the stored names.
+ * </p>
+ * <p>
+ * The index is built on application startup, after {@code DataInitializer} has populated the tables, and is kept
+ * up to date by {@code CompetitorsService} on every save, update and delete.
+ * </p>
+ */
+@Startup(ObserverMethod.DEFAULT_PRIORITY + 1)
+@ApplicationScoped
+public class CompetitorNameIndex {
+
+    private static final int FIRST_NAME = 0;
+    private static final int MIDDLE_NAME = 1;
+    private static final int LAST_NAME = 2;
+    private static final int GRAM = 3;
+
+    private final IUnitOfWork unitOfWork;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, String[]> names = new HashMap<>();
+    private final List<Map<String, Set<Long>>> postings = List.of(new HashMap<>(), new HashMap<>(), new HashMap<>());
+
+    /**
+     * Constructs a {@link CompetitorNameIndex} with the provided unit of work.
+     *
+     * @param unitOfWork The unit of work used to load the competitors on startup.
+     */
+    public CompetitorNameIndex(IUnitOfWork unitOfWork) {
+        this.unitOfWork = unitOfWork;
+    }
+
+    @PostConstruct
+    public void init() {
+        rebuild();
+    }
+
+    /**
+     * Rebuilds the whole index from the "Competitors" table.
+     */
+    @Transactional
+    public void rebuild() {
+        List<CompetitorEntity> competitors = unitOfWork.getCompetitorsRepository().listAll();
+
+        lock.writeLock().lock();
+        try {
+            names.clear();
+            postings.forEach(Map::clear);
+            for (CompetitorEntity competitor : competitors) {
+                add(competitor);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a competitor to the index, replacing the names previously indexed for it.
+     *
+     * @param competitor The persisted competitor.
+     */
+    public void put(CompetitorEntity competitor) {
+        lock.writeLock().lock();
+        try {
+            removeById(competitor.id);
+            add(competitor);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a competitor from the index.
+     *
+     * @param competitorId The id of the competitor.
+     */
+    public void remove(Long competitorId) {
+        lock.writeLock().lock();
+        try {
+            removeById(competitorId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the competitors whose first name contains {@code firstName}, or whose middle name contains
+     * {@code middleName}, or whose last name contains {@code lastName}, ignoring case.
+     * <p>
+     * A {@code null} term matches nothing, an empty term matches every competitor.
+     *
+     * @param firstName  Part of the first name.
+     * @param middleName Part of the middle name.
+     * @param lastName   Part of the last name.
+     * @return The ids of the matching competitors, in ascending order.
+     */
+    public SortedSet<Long> search(String firstName, String middleName, String lastName) {
+        SortedSet<Long> result = new TreeSet<>();
+
+        lock.readLock().lock();
+        try {
+            result.addAll(matches(FIRST_NAME, firstName));
+            result.addAll(matches(MIDDLE_NAME, middleName));
+            result.addAll(matches(LAST_NAME, lastName));
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return result;
+    }
+
+    private Collection<Long> matches(int field, String term) {
+        if (term == null) {
+            return List.of();
+        }
+
+        String needle = normalize(term);
+        if (needle.length() < GRAM) {
+            return scan(field, needle);
+        }
+
+        List<Set<Long>> lists = new ArrayList<>();
+        for (String gram : trigrams(needle)) {
+            Set<Long> ids = postings.get(field).get(gram);
+            if (ids == null) {
+                return List.of();
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        List<Long> candidates = new ArrayList<>();
+        for (Long id : lists.getFirst()) {
+            boolean inAll = true;
+            for (int i = 1; i < lists.size() && inAll; i++) {
+                inAll = lists.get(i).contains(id);
+            }
+            if (inAll && names.get(id)[field].contains(needle)) {
+                candidates.add(id);
+            }
+        }
+        return candidates;
+    }
+
+    private Collection<Long> scan(int field, String needle) {
+        List<Long> found = new ArrayList<>();
+        for (Map.Entry<Long, String[]> entry : names.entrySet()) {
+            if (entry.getValue()[field].contains(needle)) {
+                found.add(entry.getKey());
+            }
+        }
+        return found;
+    }
+
+    private void add(CompetitorEntity competitor) {
+        String[] fields = {
+                normalize(competitor.getCompetitorFirstName()),
+                normalize(competitor.getCompetitorMiddleName()),
+                normalize(competitor.getCompetitorLastName())
+        };
+        names.put(competitor.id, fields);
+
+        for (int field = 0; field < fields.length; field++) {
+            for (String gram : trigrams(fields[field])) {
+                postings.get(field).computeIfAbsent(gram, g -> new HashSet<>()).add(competitor.id);
+            }
+        }
+    }
+
+    private void removeById(Long competitorId) {
+        String[] fields = names.remove(competitorId);
+        if (fields == null) {
+            return;
+        }
+
+        for (int field = 0; field < fields.length; field++) {
+            Map<String, Set<Long>> fieldPostings = postings.get(field);
+            for (String gram : trigrams(fields[field])) {
+                Set<Long> ids = fieldPostings.get(gram);
+                if (ids != null && ids.remove(competitorId) && ids.isEmpty()) {
+                    fieldPostings.remove(gram);
+                }
+            }
+        }
+    }
+
+    private static Set<String> trigrams(String value) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= value.length(); i++) {
+            grams.add(value.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,193 @@
+package com.papasmurfie.indexes;
+
+import com.papasmurfie.uow.IUnitOfWork;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.jpa.HibernateHints;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The {@code FinishTimesIndex} class holds the finishing times of every event in every competition and in every
+ * season, each in a {@link SortedTimes}, to tell the place a given time would have taken.
+ * <p>
+ * The index is built from the finished participations of the participation view by
+ * {@code ParticipationViewService}, reading them fastest first so that every time is appended, and receives every
+ * committed write from it. The writes received while a rebuild scans the view are buffered, and replayed over what the
+ * scan read of their participations before the rebuilt times replace the current ones. A lookup is a hash lookup
+ * followed by two binary searches over primitive floats.
+ * </p>
+ */
+@ApplicationScoped
+public class FinishTimesIndex {
+
+    private final IUnitOfWork unitOfWork;
+    private final int fetchSize;
+    private final Object rebuildLock = new Object();
+    private Map<Key, SortedTimes> times = new HashMap<>();
+    /**
+     * The latest finishing time of every participation written while a rebuild is scanning, {@code null} if it was
+     * deleted or did not finish; {@code null} itself when no rebuild is running.
+     */
+    private Map<Long, FinishTime> pending;
+
+    /**
+     * Constructs a {@link FinishTimesIndex}.
+     *
+     * @param unitOfWork The unit of work used to read the participation view.
+     * @param fetchSize  The number of rows fetched from the database at a time while building.
+     */
+    public FinishTimesIndex(IUnitOfWork unitOfWork,
+                            @ConfigProperty(name = "pnu.streaming.fetch-size", defaultValue = "500") int fetchSize) {
+        this.unitOfWork = unitOfWork;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Loads every finishing time from the participation view and replaces the current ones. The participations
+     * written meanwhile are then set to their latest finishing time, replacing what the scan read of them. Rebuilds
+     * do not overlap.
+     */
+    @Transactional
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                pending = new HashMap<>();
+            }
+            try {
+                Map<Key, SortedTimes> fresh = new HashMap<>();
+                Map<Long, FinishTime> scanned = new HashMap<>();
+                unitOfWork.getParticipationViewRepository().getEntityManager()
+                        .createQuery("SELECT v.id, v.competitionId, v.eventId, v.competitionDate, v.seconds "
+                                + "FROM ParticipationView v WHERE v.finished = true ORDER BY v.seconds", Object[].class)
+                        .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                        .setHint(HibernateHints.HINT_READ_ONLY, true)
+                        .getResultStream()
+                        .forEach(row -> {
+                            FinishTime finishTime = new FinishTime((Long) row[1], (Long) row[2],
+                                    ((LocalDate) row[3]).getYear(), (Float) row[4]);
+                            add(fresh, finishTime);
+                            scanned.put((Long) row[0], finishTime);
+                        });
+
+                synchronized (this) {
+                    pending.forEach((participationId, latest) -> {
+                        FinishTime read = scanned.get(participationId);
+                        if (read != null) {
+                            remove(fresh, read);
+                        }
+                        if (latest != null) {
+                            add(fresh, latest);
+                        }
+                    });
+                    times = fresh;
+                }
+            } finally {
+                synchronized (this) {
+                    pending = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Replaces the finishing time of a participation.
+     *
+     * @param participationId The id of the participation.
+     * @param removed         The finishing time added before, or {@code null} if there was none.
+     * @param added           The finishing time now, or {@code null} if it was deleted or did not finish.
+     */
+    public synchronized void replace(long participationId, FinishTime removed, FinishTime added) {
+        if (removed != null) {
+            remove(times, removed);
+        }
+        if (added != null) {
+            add(times, added);
+        }
+        if (pending != null) {
+            pending.put(participationId, added);
+        }
+    }
+
+    /**
+     * Tells the place a time would have taken in an event of a competition.
+     *
+     * @param competitionId The id of the competition.
+     * @param eventId       The id of the event.
+     * @param seconds       The time in seconds.
+     * @return The place and the number of finishers.
+     */
+    public synchronized Placement placeInCompetition(long competitionId, long eventId, float seconds) {
+        return place(times.get(new Key(false, competitionId, eventId)), seconds);
+    }
+
+    /**
+     * Tells the place a time would have taken among all the finishers of an event in a season.
+     *
+     * @param season  The calendar year.
+     * @param eventId The id of the event.
+     * @param seconds The time in seconds.
+     * @return The place and the number of finishers.
+     */
+    public synchronized Placement placeInSeason(int season, long eventId, float seconds) {
+        return place(times.get(new Key(true, season, eventId)), seconds);
+    }
+
+    private static Placement place(SortedTimes sortedTimes, float seconds) {
+        if (sortedTimes == null) {
+            return new Placement(1, 0, 0);
+        }
+        return new Placement(
+                sortedTimes.countBelow(seconds) + 1,
+                sortedTimes.size() - sortedTimes.countAtOrBelow(seconds),
+                sortedTimes.size());
+    }
+
+    private static void add(Map<Key, SortedTimes> times, FinishTime finishTime) {
+        times.computeIfAbsent(new Key(false, finishTime.competitionId(), finishTime.eventId()),
+                key -> new SortedTimes()).add(finishTime.seconds());
+        times.computeIfAbsent(new Key(true, finishTime.season(), finishTime.eventId()),
+                key -> new SortedTimes()).add(finishTime.seconds());
+    }
+
+    private static void remove(Map<Key, SortedTimes> times, FinishTime finishTime) {
+        SortedTimes competition = times.get(new Key(false, finishTime.competitionId(), finishTime.eventId()));
+        if (competition != null) {
+            competition.remove(finishTime.seconds());
+        }
+        SortedTimes season = times.get(new Key(true, finishTime.season(), finishTime.eventId()));
+        if (season != null) {
+            season.remove(finishTime.seconds());
+        }
+    }
+
+    /**
+     * The finishing time of a participation.
+     *
+     * @param competitionId The id of the competition.
+     * @param eventId       The id of the event.
+     * @param season        The year of the competition.
+     * @param seconds       The time in seconds.
+     */
+    public record FinishTime(long competitionId, long eventId, int season, float seconds) {
+    }
+
+    /**
+     * The place a time would have taken.
+     *
+     * @param place     The place, shared with the finishers of the same time.
+     * @param slower    The number of finishers slower than the time.
+     * @param finishers The number of finishers.
+     */
+    public record Placement(int place, int slower, int finishers) {
+    }
+
+    /**
+     * The times of an event in a competition, or in a season.
+     */
+    private record Key(boolean season, long scope, long eventId) {
+    }
+}
@@ -0,0 +1,82 @@
+package com.papasmurfie.indexes;
+
+/**
+ * The {@code HyperLogLog} class estimates the number of distinct values added to it, e.g. distinct competitors, in
+ * {@value #REGISTERS} bytes whatever the number of values.
+ * <p>
+ * Each value is hashed; the first {@value #PRECISION} bits of the hash pick a register, which keeps the longest run
+ * of leading zeros seen in the remaining bits. The standard error of the estimate is about 3%, and small counts are
+ * corrected by linear counting. Two sketches are merged by keeping the larger of each register, so the estimate of
+ * a union, e.g. of a season, is read from the merged registers without revisiting the values. Values cannot be
+ * removed; a sketch whose values were removed must be rebuilt.
+ * </p>
+ * <p>
+ * The class is not thread-safe; its owner synchronizes access.
+ * </p>
+ */
+public class HyperLogLog {
+
+    private static final int PRECISION = 10;
+    private static final int REGISTERS = 1 << PRECISION;
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTERS);
+
+    private final byte[] registers = new byte[REGISTERS];
+
+    /**
+     * Adds a value.
+     *
+     * @param value The value, e.g. the id of a competitor.
+     */
+    public void add(long value) {
+        long hash = mix(value);
+        int register = (int) (hash >>> (Long.SIZE - PRECISION));
+        int run = Long.numberOfLeadingZeros((hash << PRECISION) | (1L << (PRECISION - 1))) + 1;
+        if (run > registers[register]) {
+            registers[register] = (byte) run;
+        }
+    }
+
+    /**
+     * Adds the values of another sketch to this one.
+     *
+     * @param other The other sketch, left unchanged.
+     */
+    public void merge(HyperLogLog other) {
+        for (int i = 0; i < REGISTERS; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    /**
+     * Estimates the number of distinct values added.
+     *
+     * @return The estimated number of distinct values.
+     */
+    public long estimate() {
+        double sum = 0;
+        int empty = 0;
+        for (byte register : registers) {
+            sum += Math.scalb(1.0, -register);
+            if (register == 0) {
+                empty++;
+            }
+        }
+
+        double estimate = ALPHA * REGISTERS * REGISTERS / sum;
+        if (estimate <= 2.5 * REGISTERS && empty > 0) {
+            estimate = REGISTERS * Math.log((double) REGISTERS / empty);
+        }
+        return Math.round(estimate);
+    }
+
+    /**
+     * Spreads the bits of a value over the whole hash (the finalizer of MurmurHash3).
+     */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xff51afd7ed558ccdL;
+        value = (value ^ (value >>> 33)) * 0xc4ceb9a62b2e3d8dL;
+        return value ^ (value >>> 33);
+    }
+}
@@ -0,0 +1,165 @@
+package com.papasmurfie.indexes;
+
+import com.papasmurfie.entities.NationalityEntity;
+import com.papasmurfie.uow.IUnitOfWork;
+import io.quarkus.runtime.Startup;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.spi.ObserverMethod;
+import jakarta.transaction.Transactional;
+
+import java.util.*;
+
+/**
+ * The {@code NationalityRegistry} class is a copy-on-write, in-memory copy of the "Nationalities" reference table.
+ * <p>
+ * The table holds a few hundred rows which almost never change, so every lookup by exact or partial country name
+ * is answered from an immutable snapshot without any SQL and without locking. Writes (only done by
+ * {@code NationalitiesService}) build a new snapshot and publish it atomically.
+ * </p>
+ * <p>
+ * The registry is loaded on application startup, after {@code DataInitializer} has populated the table.
+ * </p>
+ */
+@Startup(ObserverMethod.DEFAULT_PRIORITY + 1)
+@ApplicationScoped
+public class NationalityRegistry {
+
+    private final IUnitOfWork unitOfWork;
+    private volatile Snapshot snapshot = new Snapshot(List.of());
+
+    /**
+     * Constructs a {@link NationalityRegistry} with the provided unit of work.
+     *
+     * @param unitOfWork The unit of work used to load the nationalities on startup.
+     */
+    public NationalityRegistry(IUnitOfWork unitOfWork) {
+        this.unitOfWork = unitOfWork;
+    }
+
+    @PostConstruct
+    public void init() {
+        reload();
+    }
+
+    /**
+     * Reloads the whole registry from the database.
+     */
+    @Transactional
+    public void reload() {
+        List<Nationality> nationalities = unitOfWork.getNationalitiesRepository()
+                .listAll()
+                .stream()
+                .map(n -> new Nationality(n.id, n.getCountryName()))
+                .toList();
+
+        synchronized (this) {
+            snapshot = new Snapshot(nationalities);
+        }
+    }
+
+    /**
+     * Returns all nationalities, sorted by country name.
+     *
+     * @return An immutable list of all nationalities.
+     */
+    public List<Nationality> getAll() {
+        return snapshot.sorted();
+    }
+
+    /**
+     * Finds a nationality by its exact country name.
+     *
+     * @param countryName The country name.
+     * @return The nationality, or an empty {@link Optional} if no such nationality exists.
+     */
+    public Optional<Nationality> findByName(String countryName) {
+        return Optional.ofNullable(snapshot.byName().get(countryName));
+    }
+
+    /**
+     * Finds a nationality by its id.
+     *
+     * @param id The id of the nationality.
+     * @return The nationality, or an empty {@link Optional} if no such nationality exists.
+     */
+    public Optional<Nationality> findById(long id) {
+        return Optional.ofNullable(snapshot.byId().get(id));
+    }
+
+    /**
+     * Finds the nationalities whose country name contains the given text, ignoring case.
+     *
+     * @param partialName Part of the country name.
+     * @return The matching nationalities, sorted by country name.
+     */
+    public List<Nationality> findByPartialName(String partialName) {
+        String needle = partialName.toLowerCase(Locale.ROOT);
+        return snapshot.sorted()
+                .stream()
+                .filter(n -> n.countryName() != null && n.countryName().toLowerCase(Locale.ROOT).contains(needle))
+                .toList();
+    }
+
+    /**
+     * Adds a persisted nationality, or replaces the one with the same id.
+     *
+     * @param nationalityEntity The persisted nationality.
+     */
+    public synchronized void put(NationalityEntity nationalityEntity) {
+        List<Nationality> nationalities = new ArrayList<>(snapshot.sorted());
+        nationalities.removeIf(n -> n.id() == nationalityEntity.id);
+        nationalities.add(new Nationality(nationalityEntity.id, nationalityEntity.getCountryName()));
+        snapshot = new Snapshot(nationalities);
+    }
+
+    /**
+     * Removes a nationality.
+     *
+     * @param nationalityId The id of the nationality.
+     */
+    public synchronized void remove(long nationalityId) {
+        List<Nationality> nationalities = new ArrayList<>(snapshot.sorted());
+        nationalities.removeIf(n -> n.id() == nationalityId);
+        snapshot = new Snapshot(nationalities);
+    }
+
+    /**
+     * An entry of the registry.
+     *
+     * @param id          the id of the nationality
+     * @param countryName the name of the country
+     */
+    public record Nationality(long id, String countryName) {
+    }
+
+    /**
+     * An immutable state of the registry.
+     */
+    private record Snapshot(List<Nationality> sorted, Map<String, Nationality> byName, Map<Long, Nationality> byId) {
+
+        Snapshot(List<Nationality> nationalities) {
+            this(nationalities.stream()
+                            .sorted(Comparator.comparing(Nationality::countryName, Comparator.nullsFirst(Comparator.naturalOrder())))
+                            .toList(),
+                    indexByName(nationalities),
+                    indexById(nationalities));
+        }
+
+        private static Map<String, Nationality> indexByName(List<Nationality> nationalities) {
+            Map<String, Nationality> byName = new HashMap<>();
+            for (Nationality nationality : nationalities) {
+                byName.put(nationality.countryName(), nationality);
+            }
+            return Collections.unmodifiableMap(byName);
+        }
+
+        private static Map<Long, Nationality> indexById(List<Nationality> nationalities) {
+            Map<Long, Nationality> byId = new HashMap<>();
+            for (Nationality nationality : nationalities) {
+                byId.put(nationality.id(), nationality);
+            }
+            return Collections.unmodifiableMap(byId);
+        }
+    }
+}
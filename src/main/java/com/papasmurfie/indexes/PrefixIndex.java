@@ -0,0 +1,271 @@
+package com.papasmurfie.indexes;
+
+import com.papasmurfie.dto.SuggestionDTO;
+
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@code PrefixIndex} class answers type-ahead queries over a set of named items.
+ * <p>
+ * Every word of every item label is normalized (lower-cased, diacritics removed), encoded as UTF-8 and stored in
+ * a single byte arena. The words are kept sorted, so all words starting with a prefix form one contiguous range
+ * which is found by binary search. The matching items are ranked by their score (e.g. popularity or recency),
+ * and only the best {@code limit} of them are returned.
+ * </p>
+ * <p>
+ * Writes update a small mutable map and only mark the sorted arena as outdated; the arena is rebuilt by the next
+ * read, so bursts of writes cost a single rebuild. Reads against an up to date arena take no lock.
+ * </p>
+ * <p>
+ * Scores are not part of the arena: they are kept in a concurrent map which is updated in place and read while
+ * ranking, so a score change is visible right away and never causes a rebuild.
+ * </p>
+ */
+public class PrefixIndex {
+
+    private final String type;
+    private final Map<Long, Item> items = new HashMap<>();
+    private final Map<Long, Long> scores = new ConcurrentHashMap<>();
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private volatile boolean dirty;
+
+    /**
+     * Constructs an empty {@link PrefixIndex}.
+     *
+     * @param type The type reported in every {@link SuggestionDTO}, e.g. {@code "competitor"}.
+     */
+    public PrefixIndex(String type) {
+        this.type = type;
+    }
+
+    /**
+     * Adds an item, or replaces the label and key of an existing one. The score of the item is kept.
+     *
+     * @param id    The id of the item.
+     * @param label The text searched and displayed, e.g. the full name of a competitor.
+     * @param key   The natural key of the item, e.g. the phone of a competitor.
+     */
+    public synchronized void put(long id, String label, String key) {
+        items.put(id, new Item(id, label, key));
+        dirty = true;
+    }
+
+    /**
+     * Removes an item together with its score.
+     *
+     * @param id The id of the item.
+     */
+    public synchronized void remove(long id) {
+        items.remove(id);
+        scores.remove(id);
+        dirty = true;
+    }
+
+    /**
+     * Sets the score of an item; higher scores are suggested first.
+     *
+     * @param id    The id of the item.
+     * @param score The new score.
+     */
+    public void setScore(long id, long score) {
+        scores.put(id, score);
+    }
+
+    /**
+     * Adds a delta to the score of an item.
+     *
+     * @param id    The id of the item.
+     * @param delta The value added to the current score.
+     */
+    public void addScore(long id, long delta) {
+        scores.merge(id, delta, Long::sum);
+    }
+
+    /**
+     * Removes all items and scores.
+     */
+    public synchronized void clear() {
+        items.clear();
+        scores.clear();
+        dirty = true;
+    }
+
+    /**
+     * Finds the best scored items having a word which starts with every word of the query.
+     *
+     * @param query The text typed so far, e.g. {@code "iva geo"}.
+     * @param limit The maximum number of suggestions.
+     * @return The suggestions, best score first.
+     */
+    public List<SuggestionDTO> suggest(String query, int limit) {
+        String[] words = words(query);
+        if (words.length == 0 || limit <= 0) {
+            return List.of();
+        }
+
+        Snapshot current = dirty ? rebuild() : snapshot;
+        byte[] prefix = words[0].getBytes(StandardCharsets.UTF_8);
+
+        PriorityQueue<Ranked> best = new PriorityQueue<>(limit + 1, Ranked.WORST_FIRST);
+        Set<Integer> seen = new HashSet<>();
+
+        for (int i = current.lowerBound(prefix); i < current.size() && current.startsWith(i, prefix); i++) {
+            int ordinal = current.itemOf[i];
+            if (!seen.add(ordinal) || !current.entries[ordinal].matchesAll(words)) {
+                continue;
+            }
+            Item item = current.entries[ordinal].item();
+            best.add(new Ranked(item, scores.getOrDefault(item.id(), 0L)));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+
+        List<Ranked> ranked = new ArrayList<>(best);
+        ranked.sort(Ranked.WORST_FIRST.reversed());
+
+        List<SuggestionDTO> suggestions = new ArrayList<>(ranked.size());
+        for (Ranked entry : ranked) {
+            suggestions.add(new SuggestionDTO(type, entry.item().label(), entry.item().key()));
+        }
+        return suggestions;
+    }
+
+    /**
+     * Rebuilds the sorted arena from the current items, if another thread has not done it already.
+     */
+    private synchronized Snapshot rebuild() {
+        if (!dirty) {
+            return snapshot;
+        }
+
+        Entry[] entries = new Entry[items.size()];
+        List<byte[]> wordBytes = new ArrayList<>();
+        List<Integer> wordItems = new ArrayList<>();
+
+        int ordinal = 0;
+        for (Item item : items.values()) {
+            String[] itemWords = words(item.label());
+            entries[ordinal] = new Entry(item, itemWords);
+            for (String word : new LinkedHashSet<>(Arrays.asList(itemWords))) {
+                wordBytes.add(word.getBytes(StandardCharsets.UTF_8));
+                wordItems.add(ordinal);
+            }
+            ordinal++;
+        }
+
+        Integer[] order = new Integer[wordBytes.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Arrays.compareUnsigned(wordBytes.get(a), wordBytes.get(b)));
+
+        int totalBytes = 0;
+        for (byte[] word : wordBytes) {
+            totalBytes += word.length;
+        }
+
+        byte[] arena = new byte[totalBytes];
+        int[] offsets = new int[order.length + 1];
+        int[] itemOf = new int[order.length];
+        int position = 0;
+        for (int i = 0; i < order.length; i++) {
+            byte[] word = wordBytes.get(order[i]);
+            System.arraycopy(word, 0, arena, position, word.length);
+            offsets[i] = position;
+            itemOf[i] = wordItems.get(order[i]);
+            position += word.length;
+        }
+        offsets[order.length] = position;
+
+        snapshot = new Snapshot(arena, offsets, itemOf, entries);
+        dirty = false;
+        return snapshot;
+    }
+
+    /**
+     * Splits a text into normalized words: lower-cased, without diacritics, separated by anything which is not a
+     * letter or a digit.
+     */
+    static String[] words(String text) {
+        if (text == null) {
+            return new String[0];
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT);
+        return Arrays.stream(normalized.split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    private record Item(long id, String label, String key) {
+    }
+
+    /**
+     * An item together with its score at the time of a query, ordered from the worst suggestion to the best.
+     */
+    private record Ranked(Item item, long score) {
+
+        static final Comparator<Ranked> WORST_FIRST = Comparator.comparingLong(Ranked::score)
+                .thenComparing((Ranked r) -> r.item().label(), Comparator.reverseOrder());
+    }
+
+    /**
+     * An item together with its normalized words, as stored in a snapshot.
+     */
+    private record Entry(Item item, String[] words) {
+
+        boolean matchesAll(String[] prefixes) {
+            for (String prefix : prefixes) {
+                boolean found = false;
+                for (String word : words) {
+                    if (word.startsWith(prefix)) {
+                        found = true;
+                        break;
+                    }
+                }
+                if (!found) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * An immutable, sorted view of all words: word {@code i} is stored in
+     * {@code arena[offsets[i] .. offsets[i + 1])} and belongs to {@code entries[itemOf[i]]}.
+     */
+    private record Snapshot(byte[] arena, int[] offsets, int[] itemOf, Entry[] entries) {
+
+        static final Snapshot EMPTY = new Snapshot(new byte[0], new int[]{0}, new int[0], new Entry[0]);
+
+        int size() {
+            return itemOf.length;
+        }
+
+        int lowerBound(byte[] prefix) {
+            int low = 0;
+            int high = size();
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (Arrays.compareUnsigned(arena, offsets[middle], offsets[middle + 1], prefix, 0, prefix.length) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        boolean startsWith(int index, byte[] prefix) {
+            int start = offsets[index];
+            return offsets[index + 1] - start >= prefix.length
+                    && Arrays.equals(arena, start, start + prefix.length, prefix, 0, prefix.length);
+        }
+    }
+}
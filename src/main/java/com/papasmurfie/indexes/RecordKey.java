@@ -0,0 +1,30 @@
+package com.papasmurfie.indexes;
+
+/**
+ * Identifies the scope of a record: an event, optionally narrowed to a nationality or to a meet.
+ *
+ * @param scope     The kind of record.
+ * @param eventId   The id of the event.
+ * @param qualifier The name of the nationality for {@link Scope#NATIONAL}, of the competition for
+ *                  {@link Scope#MEET}, and {@code null} for {@link Scope#ALL_TIME}.
+ */
+public record RecordKey(Scope scope, long eventId, String qualifier) {
+
+    /**
+     * The kinds of record.
+     */
+    public enum Scope {
+        /**
+         * The fastest time ever run in the event.
+         */
+        ALL_TIME,
+        /**
+         * The fastest time run in the event by a competitor of a nationality.
+         */
+        NATIONAL,
+        /**
+         * The fastest time run in the event at any edition of a competition.
+         */
+        MEET
+    }
+}
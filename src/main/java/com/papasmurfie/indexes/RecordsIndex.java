@@ -0,0 +1,161 @@
+package com.papasmurfie.indexes;
+
+import com.papasmurfie.repositories.ParticipationsRepository;
+import com.papasmurfie.uow.IUnitOfWork;
+import io.quarkus.runtime.Startup;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.spi.ObserverMethod;
+import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.*;
+
+/**
+ * The {@code RecordsIndex} class holds the {@code pnu.records.top-k} fastest finished participations of every event,
+ * of every event and nationality, and of every event and meet, in a {@link TopKIndex}.
+ * <p>
+ * The index is loaded on application startup with a single pass over the finished participations, and is kept in
+ * sync by {@code RecordsService}. A scope which loses one of its participations while full is reloaded from the
+ * database with {@link #reload(RecordKey)}.
+ * </p>
+ */
+@Startup(ObserverMethod.DEFAULT_PRIORITY + 1)
+@ApplicationScoped
+public class RecordsIndex {
+
+    private final IUnitOfWork unitOfWork;
+    private final TopKIndex<RecordKey> tops;
+    private final int k;
+    private final int fetchSize;
+
+    /**
+     * Constructs a {@link RecordsIndex}.
+     *
+     * @param unitOfWork The unit of work used to load the participations.
+     * @param k          The number of participations kept per scope.
+     * @param fetchSize  The number of rows fetched from the database at a time while loading.
+     */
+    public RecordsIndex(IUnitOfWork unitOfWork,
+                        @ConfigProperty(name = "pnu.records.top-k", defaultValue = "10") int k,
+                        @ConfigProperty(name = "pnu.streaming.fetch-size", defaultValue = "500") int fetchSize) {
+        this.unitOfWork = unitOfWork;
+        this.tops = new TopKIndex<>(k);
+        this.k = k;
+        this.fetchSize = fetchSize;
+    }
+
+    @PostConstruct
+    public void init() {
+        rebuild();
+    }
+
+    /**
+     * Reloads every scope from the database, reading each finished participation once per nationality of its
+     * competitor.
+     */
+    @Transactional
+    public void rebuild() {
+        tops.clear();
+        try (var rows = unitOfWork.getParticipationsRepository().streamFinishedByNationality(fetchSize)) {
+            rows.forEach(row -> {
+                TopKIndex.Entry entry = new TopKIndex.Entry(row.id(), row.participation().seconds(), row.participation());
+                tops.offer(new RecordKey(RecordKey.Scope.ALL_TIME, row.eventId(), null), entry);
+                tops.offer(new RecordKey(RecordKey.Scope.MEET, row.eventId(), row.participation().competitionName()), entry);
+                if (row.nationality() != null) {
+                    tops.offer(new RecordKey(RecordKey.Scope.NATIONAL, row.eventId(), row.nationality()), entry);
+                }
+            });
+        }
+    }
+
+    /**
+     * Reloads the fastest participations of a scope from the database.
+     *
+     * @param key The scope.
+     */
+    @Transactional
+    public void reload(RecordKey key) {
+        String where = "e.id = ?1 AND r.finished = true" + switch (key.scope()) {
+            case ALL_TIME -> "";
+            case NATIONAL -> " AND EXISTS (SELECT n FROM Competitors c2 JOIN c2.nationalities n "
+                    + "WHERE c2.id = c.id AND n.countryName = ?2)";
+            case MEET -> " AND co.competitionName = ?2";
+        };
+        Object[] params = key.qualifier() == null
+                ? new Object[]{key.eventId()}
+                : new Object[]{key.eventId(), key.qualifier()};
+
+        List<ParticipationsRepository.KeysetRow> rows = unitOfWork.getParticipationsRepository()
+                .findKeysetPage(where, "r.seconds", false, k, params);
+        tops.replace(key, rows.stream()
+                .map(row -> new TopKIndex.Entry(row.id(), row.participation().seconds(), row.participation()))
+                .toList());
+    }
+
+    /**
+     * Returns the scopes a finished participation belongs to.
+     *
+     * @param eventId         The id of the event.
+     * @param competitionName The name of the competition.
+     * @param nationalities   The names of the nationalities of the competitor.
+     * @return The all-time scope of the event, its scope for the meet, and its scope for each nationality.
+     */
+    public List<RecordKey> keysOf(long eventId, String competitionName, Collection<String> nationalities) {
+        List<RecordKey> keys = new ArrayList<>();
+        keys.add(new RecordKey(RecordKey.Scope.ALL_TIME, eventId, null));
+        keys.add(new RecordKey(RecordKey.Scope.MEET, eventId, competitionName));
+        nationalities.forEach(nationality -> keys.add(new RecordKey(RecordKey.Scope.NATIONAL, eventId, nationality)));
+        return keys;
+    }
+
+    /**
+     * Returns the record of a scope.
+     *
+     * @param key The scope.
+     * @return The fastest participation of the scope, or {@code null} if it has none.
+     */
+    public TopKIndex.Entry best(RecordKey key) {
+        return tops.best(key);
+    }
+
+    /**
+     * Returns the fastest participations of a scope.
+     *
+     * @param key The scope.
+     * @return The at most {@code pnu.records.top-k} fastest participations, fastest first.
+     */
+    public List<TopKIndex.Entry> top(RecordKey key) {
+        return tops.top(key);
+    }
+
+    /**
+     * Returns the records of every scope of an event.
+     *
+     * @param eventId The id of the event.
+     * @return The fastest participation of each scope of the event.
+     */
+    public Map<RecordKey, TopKIndex.Entry> records(long eventId) {
+        return tops.bests(key -> key.eventId() == eventId);
+    }
+
+    /**
+     * Offers a finished participation to the given scopes.
+     *
+     * @param keys  The scopes of the participation.
+     * @param entry The participation.
+     */
+    public void offer(Collection<RecordKey> keys, TopKIndex.Entry entry) {
+        keys.forEach(key -> tops.offer(key, entry));
+    }
+
+    /**
+     * Removes a participation from every scope.
+     *
+     * @param participationId The id of the participation.
+     * @return The scopes which must be reloaded with {@link #reload(RecordKey)}.
+     */
+    public Set<RecordKey> remove(long participationId) {
+        return tops.remove(participationId);
+    }
+}
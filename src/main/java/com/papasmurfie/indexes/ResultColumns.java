@@ -0,0 +1,616 @@
+package com.papasmurfie.indexes;
+
+import com.papasmurfie.dto.AveragePaceDTO;
+import com.papasmurfie.dto.FinishRateDTO;
+import com.papasmurfie.dto.TimeSummaryDTO;
+import com.papasmurfie.uow.IUnitOfWork;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.jpa.HibernateHints;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * The {@code ResultColumns} class holds a columnar snapshot of the participations and their results, one primitive
+ * array per attribute, to answer analytical questions by scanning memory instead of loading entity graphs.
+ * <p>
+ * Every participation is a row: its time, whether it finished, its event, the date of its competition encoded as
+ * {@code yyyyMMdd}, and its set of nationalities. Events, event types, nationalities and sets of nationalities are
+ * dictionary-encoded into ordinals, so a scan only reads {@code int}, {@code float} and {@code boolean} arrays.
+ * Aggregations split the rows into ranges scanned in parallel on the common {@link ForkJoinPool}, each range into
+ * its own accumulator, merged pairwise. The scans of the finishing times alone run {@link TimeKernels}, vectorized
+ * when {@code pnu.analytics.vectorized} is set and the JVM provides the Vector API.
+ * </p>
+ * <p>
+ * The snapshot is optional: it is only built when {@code pnu.analytics.columnar.enabled} is set. It is built from the
+ * participation view by {@code ParticipationViewService}, which also puts and removes the rows of every committed
+ * write; a row removed from the middle is replaced by the last one, so the arrays stay dense. The rows put and
+ * removed while a rebuild scans the view are buffered, and replayed over the rebuilt snapshot before it replaces the
+ * current one, so no write is lost whether the scan saw it or not.
+ * </p>
+ * <p>
+ * The aggregations share a read lock, so they scan side by side; a write takes the write lock and only waits for the
+ * scans already running.
+ * </p>
+ */
+@ApplicationScoped
+public class ResultColumns {
+
+    /**
+     * The number of rows below which a range is scanned by a single task.
+     */
+    private static final int SPLIT_THRESHOLD = 1 << 14;
+
+    private final IUnitOfWork unitOfWork;
+    private final int fetchSize;
+    private final boolean enabled;
+    private final TimeKernels kernels;
+    private final Object rebuildLock = new Object();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Columns columns = new Columns();
+    /**
+     * The latest row of every participation written while a rebuild is scanning, {@code null} for a removal;
+     * {@code null} itself when no rebuild is running.
+     */
+    private Map<Long, Row> pending;
+
+    /**
+     * Constructs a {@link ResultColumns}.
+     *
+     * @param unitOfWork The unit of work used to read the participation view.
+     * @param fetchSize  The number of rows fetched from the database at a time while building.
+     * @param enabled    Whether the snapshot is kept at all.
+     * @param vectorized Whether the scans of the finishing times use the Vector API when it is available.
+     */
+    public ResultColumns(IUnitOfWork unitOfWork,
+                         @ConfigProperty(name = "pnu.streaming.fetch-size", defaultValue = "500") int fetchSize,
+                         @ConfigProperty(name = "pnu.analytics.columnar.enabled", defaultValue = "false") boolean enabled,
+                         @ConfigProperty(name = "pnu.analytics.vectorized", defaultValue = "false") boolean vectorized) {
+        this.unitOfWork = unitOfWork;
+        this.fetchSize = fetchSize;
+        this.enabled = enabled;
+        this.kernels = TimeKernels.of(vectorized);
+    }
+
+    /**
+     * Tells whether the snapshot is kept; when it is not, every other method does nothing.
+     *
+     * @return Whether the snapshot is enabled.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Loads every participation from the participation view and replaces the current snapshot. The participations
+     * written meanwhile are then put or removed again, over what the scan read of them. Rebuilds do not overlap.
+     */
+    @Transactional
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+
+        synchronized (rebuildLock) {
+            lock.writeLock().lock();
+            try {
+                pending = new HashMap<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            try {
+                Columns fresh = new Columns();
+                unitOfWork.getParticipationViewRepository().getEntityManager()
+                        .createQuery("SELECT v.id, v.eventId, v.distance, v.eventType, v.competitionDate, v.seconds, "
+                                + "v.finished, v.nationalities FROM ParticipationView v", Object[].class)
+                        .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                        .setHint(HibernateHints.HINT_READ_ONLY, true)
+                        .getResultStream()
+                        .forEach(row -> fresh.put(new Row((Long) row[0], (Long) row[1], (BigDecimal) row[2],
+                                (String) row[3], (LocalDate) row[4], (Float) row[5], (Boolean) row[6],
+                                (String) row[7])));
+
+                lock.writeLock().lock();
+                try {
+                    pending.forEach((participationId, latest) -> {
+                        if (latest == null) {
+                            fresh.remove(participationId);
+                        } else {
+                            fresh.put(latest);
+                        }
+                    });
+                    columns = fresh;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            } finally {
+                lock.writeLock().lock();
+                try {
+                    pending = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds a participation, or replaces it if it is already present.
+     *
+     * @param row The participation.
+     */
+    public void put(Row row) {
+        if (!enabled) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            columns.put(row);
+            if (pending != null) {
+                pending.put(row.participationId(), row);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a participation.
+     *
+     * @param participationId The id of the participation.
+     */
+    public void remove(long participationId) {
+        if (!enabled) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            columns.remove(participationId);
+            if (pending != null) {
+                pending.put(participationId, null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Computes the average pace of the finishers of every type of event in every year.
+     *
+     * @param filter The participations to consider.
+     * @return The average paces, ordered by event type and year.
+     */
+    public List<AveragePaceDTO> averagePace(Filter filter) {
+        lock.readLock().lock();
+        try {
+            Columns columns = this.columns;
+            Matcher matcher = columns.matcher(filter);
+            int types = columns.types.size();
+            int years = columns.size == 0 ? 0 : columns.maxYear - columns.minYear + 1;
+            int minYear = columns.minYear;
+
+            PaceSums sums = scan(columns.size,
+                    () -> new PaceSums(types * years),
+                    (acc, from, to) -> {
+                        for (int row = from; row < to; row++) {
+                            if (!columns.finished[row] || !matcher.matches(columns, row)) {
+                                continue;
+                            }
+                            int event = columns.events[row];
+                            float distance = columns.eventDistances[event];
+                            if (distance <= 0) {
+                                continue;
+                            }
+                            int cell = columns.eventTypes[event] * years + columns.dates[row] / 10000 - minYear;
+                            acc.counts[cell]++;
+                            acc.sums[cell] += columns.seconds[row] * 1000.0 / distance;
+                        }
+                    },
+                    PaceSums::merge);
+
+            List<AveragePaceDTO> paces = new ArrayList<>();
+            for (int type = 0; type < types; type++) {
+                for (int year = 0; year < years; year++) {
+                    int cell = type * years + year;
+                    if (sums.counts[cell] > 0) {
+                        paces.add(new AveragePaceDTO(columns.types.get(type), minYear + year, sums.counts[cell],
+                                sums.sums[cell] / sums.counts[cell]));
+                    }
+                }
+            }
+            paces.sort(Comparator.comparing(AveragePaceDTO::eventType).thenComparingInt(AveragePaceDTO::year));
+            return paces;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Computes the finish rate of the competitors of every nationality.
+     *
+     * @param filter The participations to consider.
+     * @return The finish rates, ordered by nationality.
+     */
+    public List<FinishRateDTO> finishRates(Filter filter) {
+        lock.readLock().lock();
+        try {
+            Columns columns = this.columns;
+            Matcher matcher = columns.matcher(filter);
+            int nationalities = columns.nationalities.size();
+
+            FinishCounts counts = scan(columns.size,
+                    () -> new FinishCounts(nationalities),
+                    (acc, from, to) -> {
+                        for (int row = from; row < to; row++) {
+                            if (!matcher.matches(columns, row)) {
+                                continue;
+                            }
+                            for (int nationality : columns.sets.get(columns.nationalitySets[row])) {
+                                acc.participations[nationality]++;
+                                if (columns.finished[row]) {
+                                    acc.finishers[nationality]++;
+                                }
+                            }
+                        }
+                    },
+                    FinishCounts::merge);
+
+            List<FinishRateDTO> rates = new ArrayList<>();
+            for (int nationality = 0; nationality < nationalities; nationality++) {
+                if (counts.participations[nationality] > 0) {
+                    rates.add(new FinishRateDTO(columns.nationalities.get(nationality),
+                            counts.participations[nationality], counts.finishers[nationality],
+                            (double) counts.finishers[nationality] / counts.participations[nationality]));
+                }
+            }
+            rates.sort(Comparator.comparing(FinishRateDTO::nationality));
+            return rates;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Summarizes the finishing times of an event.
+     *
+     * @param eventId   The id of the event.
+     * @param threshold The time under which the finishers are counted.
+     * @return The number of finishers, the fastest and average times, and the number of finishers under the
+     *         threshold.
+     */
+    public TimeSummaryDTO timeSummary(long eventId, float threshold) {
+        lock.readLock().lock();
+        try {
+            Columns columns = this.columns;
+            Integer event = columns.eventOrdinals.get(eventId);
+            if (event == null) {
+                return new TimeSummaryDTO(0, null, null, 0);
+            }
+
+            TimeTotals totals = scan(columns.size,
+                    TimeTotals::new,
+                    (acc, from, to) -> {
+                        TimeKernels.Summary summary = kernels.summarize(columns.seconds, columns.finished,
+                                columns.events, from, to, event);
+                        acc.finishers += summary.finishers();
+                        acc.fastest = Math.min(acc.fastest, summary.fastest());
+                        acc.sum += summary.sum();
+                        acc.below += kernels.countBelow(columns.seconds, columns.finished, columns.events, from, to,
+                                event, threshold);
+                    },
+                    TimeTotals::merge);
+
+            return totals.finishers == 0
+                    ? new TimeSummaryDTO(0, null, null, 0)
+                    : new TimeSummaryDTO(totals.finishers, totals.fastest, totals.sum / totals.finishers, totals.below);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Scans the rows in parallel, each range of at most {@link #SPLIT_THRESHOLD} rows into its own accumulator.
+     */
+    private static <A> A scan(int size, Supplier<A> create, RangeScanner<A> scanner, BinaryOperator<A> merge) {
+        return ForkJoinPool.commonPool().invoke(new ScanTask<>(0, size, create, scanner, merge));
+    }
+
+    /**
+     * Scans the rows of a range into an accumulator.
+     */
+    @FunctionalInterface
+    private interface RangeScanner<A> {
+
+        void scan(A accumulator, int from, int to);
+    }
+
+    /**
+     * Splits a range of rows in halves until it is small enough to be scanned, then merges the halves. Tasks only
+     * live within one scan and are never serialized.
+     */
+    @SuppressWarnings("serial")
+    private static final class ScanTask<A> extends RecursiveTask<A> {
+
+        private final int from;
+        private final int to;
+        private final Supplier<A> create;
+        private final RangeScanner<A> scanner;
+        private final BinaryOperator<A> merge;
+
+        ScanTask(int from, int to, Supplier<A> create, RangeScanner<A> scanner, BinaryOperator<A> merge) {
+            this.from = from;
+            this.to = to;
+            this.create = create;
+            this.scanner = scanner;
+            this.merge = merge;
+        }
+
+        @Override
+        protected A compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                A accumulator = create.get();
+                scanner.scan(accumulator, from, to);
+                return accumulator;
+            }
+
+            int middle = (from + to) >>> 1;
+            ScanTask<A> left = new ScanTask<>(from, middle, create, scanner, merge);
+            left.fork();
+            A right = new ScanTask<>(middle, to, create, scanner, merge).compute();
+            return merge.apply(left.join(), right);
+        }
+    }
+
+    /**
+     * The sums of the paces and the number of finishers of every event type and year.
+     */
+    private static final class PaceSums {
+
+        private final double[] sums;
+        private final long[] counts;
+
+        PaceSums(int cells) {
+            sums = new double[cells];
+            counts = new long[cells];
+        }
+
+        static PaceSums merge(PaceSums left, PaceSums right) {
+            for (int cell = 0; cell < left.counts.length; cell++) {
+                left.sums[cell] += right.sums[cell];
+                left.counts[cell] += right.counts[cell];
+            }
+            return left;
+        }
+    }
+
+    /**
+     * The number, fastest and sum of the finishing times, and the number of them under a threshold.
+     */
+    private static final class TimeTotals {
+
+        private long finishers;
+        private float fastest = Float.POSITIVE_INFINITY;
+        private double sum;
+        private long below;
+
+        static TimeTotals merge(TimeTotals left, TimeTotals right) {
+            left.finishers += right.finishers;
+            left.fastest = Math.min(left.fastest, right.fastest);
+            left.sum += right.sum;
+            left.below += right.below;
+            return left;
+        }
+    }
+
+    /**
+     * The number of participations and finishers of every nationality.
+     */
+    private static final class FinishCounts {
+
+        private final long[] participations;
+        private final long[] finishers;
+
+        FinishCounts(int nationalities) {
+            participations = new long[nationalities];
+            finishers = new long[nationalities];
+        }
+
+        static FinishCounts merge(FinishCounts left, FinishCounts right) {
+            for (int nationality = 0; nationality < left.participations.length; nationality++) {
+                left.participations[nationality] += right.participations[nationality];
+                left.finishers[nationality] += right.finishers[nationality];
+            }
+            return left;
+        }
+    }
+
+    /**
+     * A filter resolved against the dictionaries of a snapshot: the event types and sets of nationalities it
+     * accepts, {@code null} for any, and the range of dates.
+     */
+    private record Matcher(boolean[] types, int fromDate, int toDate, boolean[] sets) {
+
+        boolean matches(Columns columns, int row) {
+            int date = columns.dates[row];
+            return date >= fromDate && date <= toDate
+                    && (types == null || types[columns.eventTypes[columns.events[row]]])
+                    && (sets == null || sets[columns.nationalitySets[row]]);
+        }
+    }
+
+    /**
+     * The columns and their dictionaries.
+     */
+    private static final class Columns {
+
+        private int size;
+        private long[] ids = new long[1024];
+        private float[] seconds = new float[1024];
+        private boolean[] finished = new boolean[1024];
+        private int[] events = new int[1024];
+        private int[] dates = new int[1024];
+        private int[] nationalitySets = new int[1024];
+        private final Map<Long, Integer> rows = new HashMap<>();
+
+        private float[] eventDistances = new float[16];
+        private int[] eventTypes = new int[16];
+        private final Map<Long, Integer> eventOrdinals = new HashMap<>();
+        private final List<String> types = new ArrayList<>();
+        private final Map<String, Integer> typeOrdinals = new HashMap<>();
+        private final List<String> nationalities = new ArrayList<>();
+        private final Map<String, Integer> nationalityOrdinals = new HashMap<>();
+        private final List<int[]> sets = new ArrayList<>();
+        private final Map<String, Integer> setOrdinals = new HashMap<>();
+        private int minYear = Integer.MAX_VALUE;
+        private int maxYear = Integer.MIN_VALUE;
+
+        void put(Row row) {
+            Integer index = rows.get(row.participationId());
+            if (index == null) {
+                if (size == ids.length) {
+                    grow();
+                }
+                index = size++;
+                rows.put(row.participationId(), index);
+            }
+
+            int year = row.competitionDate().getYear();
+            minYear = Math.min(minYear, year);
+            maxYear = Math.max(maxYear, year);
+
+            ids[index] = row.participationId();
+            seconds[index] = row.seconds();
+            finished[index] = row.finished();
+            events[index] = event(row);
+            dates[index] = year * 10000 + row.competitionDate().getMonthValue() * 100
+                    + row.competitionDate().getDayOfMonth();
+            nationalitySets[index] = nationalitySet(row.nationalities());
+        }
+
+        void remove(long participationId) {
+            Integer index = rows.remove(participationId);
+            if (index == null) {
+                return;
+            }
+
+            int last = --size;
+            if (index != last) {
+                ids[index] = ids[last];
+                seconds[index] = seconds[last];
+                finished[index] = finished[last];
+                events[index] = events[last];
+                dates[index] = dates[last];
+                nationalitySets[index] = nationalitySets[last];
+                rows.put(ids[index], index);
+            }
+        }
+
+        Matcher matcher(Filter filter) {
+            boolean[] acceptedTypes = null;
+            if (filter.eventType() != null) {
+                acceptedTypes = new boolean[types.size()];
+                for (int type = 0; type < types.size(); type++) {
+                    acceptedTypes[type] = types.get(type).equalsIgnoreCase(filter.eventType());
+                }
+            }
+
+            boolean[] acceptedSets = null;
+            if (filter.nationality() != null) {
+                Integer nationality = nationalityOrdinals.get(filter.nationality().toLowerCase());
+                acceptedSets = new boolean[sets.size()];
+                for (int set = 0; set < sets.size() && nationality != null; set++) {
+                    for (int member : sets.get(set)) {
+                        acceptedSets[set] |= member == nationality;
+                    }
+                }
+            }
+
+            return new Matcher(
+                    acceptedTypes,
+                    filter.fromYear() == null ? Integer.MIN_VALUE : filter.fromYear() * 10000,
+                    filter.toYear() == null ? Integer.MAX_VALUE : filter.toYear() * 10000 + 1231,
+                    acceptedSets);
+        }
+
+        /**
+         * Returns the ordinal of the event of a row, refreshing its distance and type.
+         */
+        private int event(Row row) {
+            int event = eventOrdinals.computeIfAbsent(row.eventId(), key -> eventOrdinals.size());
+            if (event == eventDistances.length) {
+                eventDistances = Arrays.copyOf(eventDistances, event * 2);
+                eventTypes = Arrays.copyOf(eventTypes, event * 2);
+            }
+            eventDistances[event] = row.distance().floatValue();
+            eventTypes[event] = typeOrdinals.computeIfAbsent(row.eventType(), type -> {
+                types.add(type);
+                return types.size() - 1;
+            });
+            return event;
+        }
+
+        /**
+         * Returns the ordinal of a set of nationalities, encoded as stored by the participation view.
+         */
+        private int nationalitySet(String encoded) {
+            return setOrdinals.computeIfAbsent(encoded, key -> {
+                sets.add(Arrays.stream(key.split(","))
+                        .filter(name -> !name.isEmpty())
+                        .mapToInt(name -> nationalityOrdinals.computeIfAbsent(name, added -> {
+                            nationalities.add(added);
+                            return nationalities.size() - 1;
+                        }))
+                        .toArray());
+                return sets.size() - 1;
+            });
+        }
+
+        private void grow() {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            seconds = Arrays.copyOf(seconds, capacity);
+            finished = Arrays.copyOf(finished, capacity);
+            events = Arrays.copyOf(events, capacity);
+            dates = Arrays.copyOf(dates, capacity);
+            nationalitySets = Arrays.copyOf(nationalitySets, capacity);
+        }
+    }
+
+    /**
+     * The participations an aggregation considers; every criterion is optional.
+     *
+     * @param eventType   The type of the events, compared ignoring case.
+     * @param fromYear    The first year of the competitions, inclusive.
+     * @param toYear      The last year of the competitions, inclusive.
+     * @param nationality The name of a nationality of the competitors, compared ignoring case.
+     */
+    public record Filter(String eventType, Integer fromYear, Integer toYear, String nationality) {
+    }
+
+    /**
+     * A participation, as stored by the columns.
+     *
+     * @param participationId The id of the participation.
+     * @param eventId         The id of the event.
+     * @param distance        The distance of the event.
+     * @param eventType       The type of the event.
+     * @param competitionDate The date of the competition.
+     * @param seconds         The time of the participation.
+     * @param finished        Whether the competitor finished.
+     * @param nationalities   The nationalities as stored by the view, e.g. {@code ",bulgaria,germany,"}.
+     */
+    public record Row(long participationId, long eventId, BigDecimal distance, String eventType,
+                      LocalDate competitionDate, float seconds, boolean finished, String nationalities) {
+    }
+}
@@ -0,0 +1,34 @@
+package com.papasmurfie.indexes;
+
+/**
+ * The {@code ScalarTimeKernels} class implements the {@link TimeKernels} with plain loops, one row at a time.
+ */
+class ScalarTimeKernels implements TimeKernels {
+
+    @Override
+    public long countBelow(float[] seconds, boolean[] finished, int[] events, int from, int to, int event,
+                           float threshold) {
+        long count = 0;
+        for (int row = from; row < to; row++) {
+            if (finished[row] && seconds[row] < threshold && (event < 0 || events[row] == event)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public Summary summarize(float[] seconds, boolean[] finished, int[] events, int from, int to, int event) {
+        long count = 0;
+        float fastest = Float.POSITIVE_INFINITY;
+        double sum = 0;
+        for (int row = from; row < to; row++) {
+            if (finished[row] && (event < 0 || events[row] == event)) {
+                count++;
+                fastest = Math.min(fastest, seconds[row]);
+                sum += seconds[row];
+            }
+        }
+        return new Summary(count, fastest, sum);
+    }
+}
@@ -0,0 +1,100 @@
+package com.papasmurfie.indexes;
+
+import java.util.Arrays;
+
+/**
+ * The {@code SortedTimes} class keeps finishing times in a sorted primitive array, so the place a time would take
+ * is found by binary search in {@code O(log n)} without boxing.
+ * <p>
+ * A time is inserted or removed by shifting the slower times by one position; appending a time slower than all
+ * the others, as happens when loading times in order, costs nothing more than the store.
+ * </p>
+ * <p>
+ * The class is not thread-safe; its owner synchronizes access.
+ * </p>
+ */
+public class SortedTimes {
+
+    private float[] times = new float[16];
+    private int size;
+
+    /**
+     * Inserts a time.
+     *
+     * @param seconds The time in seconds.
+     */
+    public void add(float seconds) {
+        if (size == times.length) {
+            times = Arrays.copyOf(times, size * 2);
+        }
+        int index = size == 0 || seconds >= times[size - 1] ? size : countAtOrBelow(seconds);
+        System.arraycopy(times, index, times, index + 1, size - index);
+        times[index] = seconds;
+        size++;
+    }
+
+    /**
+     * Removes one occurrence of a time.
+     *
+     * @param seconds The time in seconds.
+     * @return Whether the time was found.
+     */
+    public boolean remove(float seconds) {
+        int index = countBelow(seconds);
+        if (index == size || times[index] != seconds) {
+            return false;
+        }
+        System.arraycopy(times, index + 1, times, index, size - index - 1);
+        size--;
+        return true;
+    }
+
+    /**
+     * Returns the number of times strictly faster than the given one.
+     *
+     * @param seconds The time in seconds.
+     * @return The number of faster times.
+     */
+    public int countBelow(float seconds) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (times[middle] < seconds) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the number of times faster than or equal to the given one.
+     *
+     * @param seconds The time in seconds.
+     * @return The number of times which are not slower.
+     */
+    public int countAtOrBelow(float seconds) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (times[middle] <= seconds) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the number of times.
+     *
+     * @return The number of times.
+     */
+    public int size() {
+        return size;
+    }
+}
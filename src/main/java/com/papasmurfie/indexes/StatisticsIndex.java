@@ -0,0 +1,254 @@
+package com.papasmurfie.indexes;
+
+import com.papasmurfie.uow.IUnitOfWork;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.jpa.HibernateHints;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * The {@code StatisticsIndex} class holds mergeable sketches of the participations: a {@link TimeHistogram} of the
+ * finishing times of every event in every competition and in every season, and a {@link HyperLogLog} of the
+ * competitors of every nationality in every competition and in every season.
+ * <p>
+ * The season sketches are maintained alongside the competition ones, so a season-wide answer is read from a single
+ * sketch instead of merging the competitions of the season. The index is built from the participation view by
+ * {@code ParticipationViewService}, which also feeds it every committed write. Times follow updates and deletions
+ * exactly; the competitor sketches only grow, and are corrected by the rebuild which follows any change of
+ * competitors, competition dates or nationalities. The writes fed while a rebuild scans the view are buffered, and
+ * replayed over what the scan read of their participations before the rebuilt sketches replace the current ones,
+ * so no write is lost whether the scan saw it or not.
+ * </p>
+ */
+@ApplicationScoped
+public class StatisticsIndex {
+
+    private final IUnitOfWork unitOfWork;
+    private final int fetchSize;
+    private final Object rebuildLock = new Object();
+    private State state = new State();
+    /**
+     * The latest sample of every participation written while a rebuild is scanning, {@code null} for a deletion;
+     * {@code null} itself when no rebuild is running.
+     */
+    private Map<Long, Sample> pending;
+
+    /**
+     * Constructs a {@link StatisticsIndex}.
+     *
+     * @param unitOfWork The unit of work used to read the participation view.
+     * @param fetchSize  The number of rows fetched from the database at a time while building.
+     */
+    public StatisticsIndex(IUnitOfWork unitOfWork,
+                           @ConfigProperty(name = "pnu.streaming.fetch-size", defaultValue = "500") int fetchSize) {
+        this.unitOfWork = unitOfWork;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Builds every sketch from the participation view, reading each participation once, and replaces the current
+     * ones. The participations written meanwhile are then set to their latest sample, replacing what the scan read
+     * of them. Rebuilds do not overlap.
+     */
+    @Transactional
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                pending = new HashMap<>();
+            }
+            try {
+                State fresh = new State();
+                Map<Long, Sample> scanned = new HashMap<>();
+                unitOfWork.getParticipationViewRepository().getEntityManager()
+                        .createQuery("SELECT v.id, v.competitorId, v.competitionId, v.eventId, v.competitionDate, "
+                                + "v.seconds, v.finished, v.nationalities FROM ParticipationView v", Object[].class)
+                        .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                        .setHint(HibernateHints.HINT_READ_ONLY, true)
+                        .getResultStream()
+                        .forEach(row -> {
+                            Sample sample = Sample.of((Long) row[1], (Long) row[2], (Long) row[3],
+                                    (LocalDate) row[4], (Float) row[5], (Boolean) row[6], (String) row[7]);
+                            fresh.add(sample);
+                            scanned.put((Long) row[0], sample);
+                        });
+
+                synchronized (this) {
+                    pending.forEach((participationId, latest) -> {
+                        Sample read = scanned.get(participationId);
+                        if (read != null) {
+                            fresh.remove(read);
+                        }
+                        if (latest != null) {
+                            fresh.add(latest);
+                        }
+                    });
+                    state = fresh;
+                }
+            } finally {
+                synchronized (this) {
+                    pending = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Replaces a participation in the sketches. The competitor of the removed sample stays counted until the next
+     * rebuild.
+     *
+     * @param participationId The id of the participation.
+     * @param removed         The participation as it was added, or {@code null} if it is new.
+     * @param added           The participation as it is now, or {@code null} if it was deleted.
+     */
+    public synchronized void replace(long participationId, Sample removed, Sample added) {
+        if (removed != null) {
+            state.remove(removed);
+        }
+        if (added != null) {
+            state.add(added);
+        }
+        if (pending != null) {
+            pending.put(participationId, added);
+        }
+    }
+
+    /**
+     * Returns a copy of the histogram of the finishing times of an event in a competition.
+     *
+     * @param competitionId The id of the competition.
+     * @param eventId       The id of the event.
+     * @return The histogram, empty if nobody finished.
+     */
+    public synchronized TimeHistogram competitionTimes(long competitionId, long eventId) {
+        return copy(state.competitionTimes.get(new EventKey(competitionId, eventId)));
+    }
+
+    /**
+     * Returns a copy of the histogram of the finishing times of an event in a season.
+     *
+     * @param season  The calendar year.
+     * @param eventId The id of the event.
+     * @return The histogram, empty if nobody finished.
+     */
+    public synchronized TimeHistogram seasonTimes(int season, long eventId) {
+        return copy(state.seasonTimes.get(new EventKey(season, eventId)));
+    }
+
+    /**
+     * Estimates the distinct competitors of every nationality in a competition.
+     *
+     * @param competitionId The id of the competition.
+     * @return The estimated number of competitors by lower-cased nationality name.
+     */
+    public synchronized Map<String, Long> competitionCompetitors(long competitionId) {
+        return estimates(state.competitionCompetitors.get(competitionId));
+    }
+
+    /**
+     * Estimates the distinct competitors of every nationality in a season.
+     *
+     * @param season The calendar year.
+     * @return The estimated number of competitors by lower-cased nationality name.
+     */
+    public synchronized Map<String, Long> seasonCompetitors(int season) {
+        return estimates(state.seasonCompetitors.get(season));
+    }
+
+    private static TimeHistogram copy(TimeHistogram histogram) {
+        TimeHistogram copy = new TimeHistogram();
+        if (histogram != null) {
+            copy.merge(histogram);
+        }
+        return copy;
+    }
+
+    private static Map<String, Long> estimates(Map<String, HyperLogLog> sketches) {
+        Map<String, Long> estimates = new TreeMap<>();
+        if (sketches != null) {
+            sketches.forEach((nationality, sketch) -> estimates.put(nationality, sketch.estimate()));
+        }
+        return estimates;
+    }
+
+    /**
+     * The sketches, keyed by competition or season.
+     */
+    private static final class State {
+
+        private final Map<EventKey, TimeHistogram> competitionTimes = new HashMap<>();
+        private final Map<EventKey, TimeHistogram> seasonTimes = new HashMap<>();
+        private final Map<Long, Map<String, HyperLogLog>> competitionCompetitors = new HashMap<>();
+        private final Map<Integer, Map<String, HyperLogLog>> seasonCompetitors = new HashMap<>();
+
+        void add(Sample sample) {
+            if (sample.finished()) {
+                competitionTimes.computeIfAbsent(new EventKey(sample.competitionId(), sample.eventId()),
+                        key -> new TimeHistogram()).add(sample.seconds());
+                seasonTimes.computeIfAbsent(new EventKey(sample.season(), sample.eventId()),
+                        key -> new TimeHistogram()).add(sample.seconds());
+            }
+
+            for (String nationality : sample.nationalities()) {
+                competitionCompetitors.computeIfAbsent(sample.competitionId(), key -> new HashMap<>())
+                        .computeIfAbsent(nationality, key -> new HyperLogLog()).add(sample.competitorId());
+                seasonCompetitors.computeIfAbsent(sample.season(), key -> new HashMap<>())
+                        .computeIfAbsent(nationality, key -> new HyperLogLog()).add(sample.competitorId());
+            }
+        }
+
+        void remove(Sample sample) {
+            if (sample.finished()) {
+                TimeHistogram competition = competitionTimes.get(new EventKey(sample.competitionId(), sample.eventId()));
+                if (competition != null) {
+                    competition.remove(sample.seconds());
+                }
+                TimeHistogram season = seasonTimes.get(new EventKey(sample.season(), sample.eventId()));
+                if (season != null) {
+                    season.remove(sample.seconds());
+                }
+            }
+        }
+    }
+
+    /**
+     * The key of a histogram: an event in a competition, or in a season.
+     */
+    private record EventKey(long scope, long eventId) {
+    }
+
+    /**
+     * A participation, as counted by the sketches.
+     *
+     * @param competitorId  The id of the competitor.
+     * @param competitionId The id of the competition.
+     * @param eventId       The id of the event.
+     * @param season        The year of the competition.
+     * @param seconds       The time of the participation.
+     * @param finished      Whether the competitor finished.
+     * @param nationalities The lower-cased nationality names of the competitor.
+     */
+    public record Sample(long competitorId, long competitionId, long eventId, int season, float seconds,
+                         boolean finished, List<String> nationalities) {
+
+        /**
+         * Builds a sample from the columns of the participation view.
+         *
+         * @param competitorId    The id of the competitor.
+         * @param competitionId   The id of the competition.
+         * @param eventId         The id of the event.
+         * @param competitionDate The date of the competition.
+         * @param seconds         The time of the participation.
+         * @param finished        Whether the competitor finished.
+         * @param nationalities   The nationalities as stored by the view, e.g. {@code ",bulgaria,germany,"}.
+         * @return The sample.
+         */
+        public static Sample of(Long competitorId, Long competitionId, Long eventId, LocalDate competitionDate,
+                                float seconds, boolean finished, String nationalities) {
+            return new Sample(competitorId, competitionId, eventId, competitionDate.getYear(), seconds, finished,
+                    Arrays.stream(nationalities.split(",")).filter(name -> !name.isEmpty()).toList());
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.papasmurfie.indexes;
+
+import com.papasmurfie.dto.HistogramBinDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The {@code TimeHistogram} class counts finishing times in logarithmic buckets of fixed relative width, in the
+ * manner of an HDR histogram.
+ * <p>
+ * Every power of two from {@code 2^-2} to {@code 2^18} seconds is split into {@value #SUB_BUCKETS} buckets, so any
+ * quantile is known within about 1.6% of its value, whatever the distance. A power of two is only allocated once a
+ * time falls into it; a race, whose times span one or two powers of two, takes a few hundred bytes. Histograms are
+ * merged by adding their counts, and a time is removed by decrementing its bucket, so they follow updates and
+ * deletions exactly. Times outside the range are counted in its first or last bucket.
+ * </p>
+ * <p>
+ * The class is not thread-safe; its owner synchronizes access.
+ * </p>
+ */
+public class TimeHistogram {
+
+    private static final int SUB_BUCKETS = 64;
+    private static final int MIN_EXPONENT = -2;
+    private static final int MAX_EXPONENT = 17;
+
+    private final int[][] rows = new int[MAX_EXPONENT - MIN_EXPONENT + 1][];
+    private long count;
+
+    /**
+     * Counts a time.
+     *
+     * @param seconds The time in seconds.
+     */
+    public void add(float seconds) {
+        int index = index(seconds);
+        int[] row = rows[index / SUB_BUCKETS];
+        if (row == null) {
+            row = rows[index / SUB_BUCKETS] = new int[SUB_BUCKETS];
+        }
+        row[index % SUB_BUCKETS]++;
+        count++;
+    }
+
+    /**
+     * Removes a time counted before.
+     *
+     * @param seconds The time in seconds.
+     */
+    public void remove(float seconds) {
+        int index = index(seconds);
+        int[] row = rows[index / SUB_BUCKETS];
+        if (row != null && row[index % SUB_BUCKETS] > 0) {
+            row[index % SUB_BUCKETS]--;
+            count--;
+        }
+    }
+
+    /**
+     * Adds the counts of another histogram to this one.
+     *
+     * @param other The other histogram, left unchanged.
+     */
+    public void merge(TimeHistogram other) {
+        for (int r = 0; r < rows.length; r++) {
+            if (other.rows[r] == null) {
+                continue;
+            }
+            if (rows[r] == null) {
+                rows[r] = new int[SUB_BUCKETS];
+            }
+            for (int s = 0; s < SUB_BUCKETS; s++) {
+                rows[r][s] += other.rows[r][s];
+            }
+        }
+        count += other.count;
+    }
+
+    /**
+     * Returns the number of times counted.
+     *
+     * @return The number of times.
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Returns the time below or at which the given fraction of the times lie.
+     *
+     * @param quantile The fraction, between 0 and 1, e.g. 0.5 for the median.
+     * @return The middle of the bucket holding the quantile, or {@code null} if the histogram is empty.
+     */
+    public Float quantile(double quantile) {
+        if (count == 0) {
+            return null;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        for (int index = 0; index < rows.length * SUB_BUCKETS; index++) {
+            seen += countAt(index);
+            if (seen >= rank) {
+                return (float) ((lowerBound(index) + lowerBound(index + 1)) / 2);
+            }
+        }
+        return (float) lowerBound(rows.length * SUB_BUCKETS);
+    }
+
+    /**
+     * Splits the range of the counted times into bins of equal width.
+     *
+     * @param binCount The number of bins.
+     * @return The bins from the fastest to the slowest time, empty if the histogram is empty.
+     */
+    public List<HistogramBinDTO> bins(int binCount) {
+        int first = -1;
+        int last = -1;
+        for (int index = 0; index < rows.length * SUB_BUCKETS; index++) {
+            if (countAt(index) > 0) {
+                first = first < 0 ? index : first;
+                last = index;
+            }
+        }
+        if (first < 0) {
+            return List.of();
+        }
+
+        double from = lowerBound(first);
+        double width = (lowerBound(last + 1) - from) / binCount;
+        long[] counts = new long[binCount];
+        for (int index = first; index <= last; index++) {
+            double middle = (lowerBound(index) + lowerBound(index + 1)) / 2;
+            counts[Math.min(binCount - 1, (int) ((middle - from) / width))] += countAt(index);
+        }
+
+        List<HistogramBinDTO> bins = new ArrayList<>(binCount);
+        for (int bin = 0; bin < binCount; bin++) {
+            bins.add(new HistogramBinDTO((float) (from + bin * width), (float) (from + (bin + 1) * width), counts[bin]));
+        }
+        return bins;
+    }
+
+    private int countAt(int index) {
+        int[] row = rows[index / SUB_BUCKETS];
+        return row == null ? 0 : row[index % SUB_BUCKETS];
+    }
+
+    /**
+     * Returns the bucket of a time: its power of two, then its position within that power of two.
+     */
+    private static int index(float seconds) {
+        if (!(seconds >= Math.scalb(1f, MIN_EXPONENT))) {
+            return 0;
+        }
+        int exponent = Math.getExponent(seconds);
+        if (exponent > MAX_EXPONENT) {
+            return (MAX_EXPONENT - MIN_EXPONENT + 1) * SUB_BUCKETS - 1;
+        }
+        int subBucket = (int) ((seconds / Math.scalb(1f, exponent) - 1) * SUB_BUCKETS);
+        return (exponent - MIN_EXPONENT) * SUB_BUCKETS + Math.min(subBucket, SUB_BUCKETS - 1);
+    }
+
+    private static double lowerBound(int index) {
+        return Math.scalb(1 + (double) (index % SUB_BUCKETS) / SUB_BUCKETS, index / SUB_BUCKETS + MIN_EXPONENT);
+    }
+}
@@ -0,0 +1,71 @@
+package com.papasmurfie.indexes;
+
+/**
+ * The {@code TimeKernels} interface scans ranges of the primitive time columns of {@link ResultColumns}: counting
+ * the finishing times under a threshold, and finding the fastest and the sum of the finishing times, of one event
+ * or of every event.
+ * <p>
+ * Two implementations exist: a scalar one, and one using the incubating JDK Vector API, which compares and sums as
+ * many times per instruction as the CPU's widest vector registers hold. The vectorized one is only used when it is
+ * asked for and the {@code jdk.incubator.vector} module was added to the JVM with
+ * {@code --add-modules jdk.incubator.vector}; otherwise the scalar one is used.
+ * </p>
+ */
+public interface TimeKernels {
+
+    /**
+     * Selects the kernels.
+     *
+     * @param vectorized Whether to use the Vector API when it is available.
+     * @return The vectorized kernels if asked for and available, the scalar ones otherwise.
+     */
+    static TimeKernels of(boolean vectorized) {
+        if (vectorized && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                return (TimeKernels) Class.forName("com.papasmurfie.indexes.VectorTimeKernels")
+                        .getDeclaredConstructor()
+                        .newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // The Vector API cannot be used on this JVM; fall back to the scalar kernels.
+            }
+        }
+        return new ScalarTimeKernels();
+    }
+
+    /**
+     * Counts the finishing times strictly under a threshold.
+     *
+     * @param seconds   The times.
+     * @param finished  Whether each participation finished.
+     * @param events    The event ordinal of each participation.
+     * @param from      The first row, inclusive.
+     * @param to        The last row, exclusive.
+     * @param event     The event ordinal to count, or {@code -1} for every event.
+     * @param threshold The threshold in seconds.
+     * @return The number of finishing times under the threshold.
+     */
+    long countBelow(float[] seconds, boolean[] finished, int[] events, int from, int to, int event, float threshold);
+
+    /**
+     * Finds the number, the fastest and the sum of the finishing times.
+     *
+     * @param seconds  The times.
+     * @param finished Whether each participation finished.
+     * @param events   The event ordinal of each participation.
+     * @param from     The first row, inclusive.
+     * @param to       The last row, exclusive.
+     * @param event    The event ordinal to summarize, or {@code -1} for every event.
+     * @return The summary of the finishing times.
+     */
+    Summary summarize(float[] seconds, boolean[] finished, int[] events, int from, int to, int event);
+
+    /**
+     * The number, the fastest and the sum of finishing times.
+     *
+     * @param finishers The number of finishing times.
+     * @param fastest   The fastest time, {@link Float#POSITIVE_INFINITY} if there are none.
+     * @param sum       The sum of the times.
+     */
+    record Summary(long finishers, float fastest, double sum) {
+    }
+}
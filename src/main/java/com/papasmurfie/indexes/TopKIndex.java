@@ -0,0 +1,164 @@
+package com.papasmurfie.indexes;
+
+import com.papasmurfie.dto.ParticipationDTO;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * The {@code TopKIndex} class keeps the {@code k} fastest finished participations of every key, e.g. of every event
+ * or of every event and nationality.
+ * <p>
+ * The participations of a key are held in a tree ordered by time and then by participation id, so the best one is
+ * read in constant time and a new participation is checked and inserted in {@code O(log k)}. Only the {@code k}
+ * fastest are kept: once a key is full, a slower participation is rejected after a single comparison.
+ * </p>
+ * <p>
+ * When a participation leaves a full key, the next fastest one is not known anymore; {@link #remove(long)} reports
+ * such keys so that the caller can reload them with {@link #replace(Object, Collection)}.
+ * </p>
+ *
+ * @param <K> The type of the keys.
+ */
+public class TopKIndex<K> {
+
+    private static final Comparator<Entry> ORDER = Comparator
+            .comparingDouble(Entry::seconds)
+            .thenComparingLong(Entry::participationId);
+
+    private final int k;
+    private final Map<K, TreeSet<Entry>> tops = new HashMap<>();
+    private final Map<Long, Set<K>> keysByParticipation = new HashMap<>();
+
+    /**
+     * Constructs an empty {@link TopKIndex}.
+     *
+     * @param k The number of participations kept per key.
+     */
+    public TopKIndex(int k) {
+        this.k = k;
+    }
+
+    /**
+     * Returns the fastest participation of a key.
+     *
+     * @param key The key.
+     * @return The fastest participation, or {@code null} if the key has none.
+     */
+    public synchronized Entry best(K key) {
+        TreeSet<Entry> top = tops.get(key);
+        return top == null || top.isEmpty() ? null : top.first();
+    }
+
+    /**
+     * Returns the participations kept for a key.
+     *
+     * @param key The key.
+     * @return The at most {@code k} fastest participations, fastest first.
+     */
+    public synchronized List<Entry> top(K key) {
+        TreeSet<Entry> top = tops.get(key);
+        return top == null ? List.of() : List.copyOf(top);
+    }
+
+    /**
+     * Returns the fastest participation of every key accepted by a filter.
+     *
+     * @param filter The filter of the keys.
+     * @return The fastest participation of each accepted key which has one.
+     */
+    public synchronized Map<K, Entry> bests(Predicate<K> filter) {
+        Map<K, Entry> bests = new LinkedHashMap<>();
+        tops.forEach((key, top) -> {
+            if (!top.isEmpty() && filter.test(key)) {
+                bests.put(key, top.first());
+            }
+        });
+        return bests;
+    }
+
+    /**
+     * Offers a participation to a key, keeping it if it is among the {@code k} fastest.
+     *
+     * @param key   The key.
+     * @param entry The finished participation.
+     * @return Whether the participation was kept.
+     */
+    public synchronized boolean offer(K key, Entry entry) {
+        TreeSet<Entry> top = tops.computeIfAbsent(key, ignored -> new TreeSet<>(ORDER));
+        if (top.size() >= k && ORDER.compare(entry, top.last()) >= 0) {
+            return false;
+        }
+        if (!top.add(entry)) {
+            return false;
+        }
+        keysByParticipation.computeIfAbsent(entry.participationId(), ignored -> new HashSet<>()).add(key);
+
+        if (top.size() > k) {
+            untrack(key, top.pollLast());
+        }
+        return true;
+    }
+
+    /**
+     * Removes a participation from every key holding it.
+     *
+     * @param participationId The id of the participation.
+     * @return The keys which were full before losing the participation, and thus need to be reloaded.
+     */
+    public synchronized Set<K> remove(long participationId) {
+        Set<K> keys = keysByParticipation.remove(participationId);
+        if (keys == null) {
+            return Set.of();
+        }
+
+        Set<K> incomplete = new HashSet<>();
+        for (K key : keys) {
+            TreeSet<Entry> top = tops.get(key);
+            if (top.size() == k) {
+                incomplete.add(key);
+            }
+            top.removeIf(entry -> entry.participationId() == participationId);
+        }
+        return incomplete;
+    }
+
+    /**
+     * Replaces the participations of a key, e.g. after reloading them from the database.
+     *
+     * @param key     The key.
+     * @param entries The fastest participations of the key; only the {@code k} fastest are kept.
+     */
+    public synchronized void replace(K key, Collection<Entry> entries) {
+        TreeSet<Entry> top = tops.remove(key);
+        if (top != null) {
+            top.forEach(entry -> untrack(key, entry));
+        }
+        entries.forEach(entry -> offer(key, entry));
+    }
+
+    /**
+     * Removes every key.
+     */
+    public synchronized void clear() {
+        tops.clear();
+        keysByParticipation.clear();
+    }
+
+    private void untrack(K key, Entry entry) {
+        Set<K> keys = keysByParticipation.get(entry.participationId());
+        if (keys != null && keys.remove(key) && keys.isEmpty()) {
+            keysByParticipation.remove(entry.participationId());
+        }
+    }
+
+    /**
+     * A finished participation kept by the index.
+     *
+     * @param participationId The id of the participation.
+     * @param seconds         The time of the participation.
+     * @param participation   The participation.
+     */
+    public record Entry(long participationId, float seconds, ParticipationDTO participation) {
+    }
+}
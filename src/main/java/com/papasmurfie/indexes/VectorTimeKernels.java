@@ -0,0 +1,88 @@
+package com.papasmurfie.indexes;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The {@code VectorTimeKernels} class implements the {@link TimeKernels} with the JDK Vector API.
+ * <p>
+ * Every step loads one vector of times, flags and event ordinals, combines the conditions into a lane mask, and
+ * counts, compares or adds the selected lanes; the rows left over after the last full vector are scanned one at a
+ * time. The sums are accumulated in float lanes and flushed into a double every {@value #FLUSH_STEPS} steps, which
+ * keeps their rounding error far below the precision of a time.
+ * </p>
+ * <p>
+ * The class references the {@code jdk.incubator.vector} module, so it is only loaded through
+ * {@link TimeKernels#of(boolean)} once the module is known to be present.
+ * </p>
+ */
+class VectorTimeKernels implements TimeKernels {
+
+    private static final VectorSpecies<Float> FLOATS = FloatVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> INTS = VectorSpecies.of(int.class, FLOATS.vectorShape());
+    private static final int FLUSH_STEPS = 256;
+
+    @Override
+    public long countBelow(float[] seconds, boolean[] finished, int[] events, int from, int to, int event,
+                           float threshold) {
+        int row = from;
+        int upper = from + FLOATS.loopBound(to - from);
+        long count = 0;
+        for (; row < upper; row += FLOATS.length()) {
+            VectorMask<Float> mask = FloatVector.fromArray(FLOATS, seconds, row).lt(threshold)
+                    .and(VectorMask.fromArray(FLOATS, finished, row));
+            if (event >= 0) {
+                mask = mask.and(IntVector.fromArray(INTS, events, row).eq(event).cast(FLOATS));
+            }
+            count += mask.trueCount();
+        }
+
+        for (; row < to; row++) {
+            if (finished[row] && seconds[row] < threshold && (event < 0 || events[row] == event)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public Summary summarize(float[] seconds, boolean[] finished, int[] events, int from, int to, int event) {
+        int row = from;
+        int upper = from + FLOATS.loopBound(to - from);
+        FloatVector fastestLanes = FloatVector.broadcast(FLOATS, Float.POSITIVE_INFINITY);
+        FloatVector sumLanes = FloatVector.zero(FLOATS);
+        long count = 0;
+        double sum = 0;
+        int steps = 0;
+        for (; row < upper; row += FLOATS.length()) {
+            VectorMask<Float> mask = VectorMask.fromArray(FLOATS, finished, row);
+            if (event >= 0) {
+                mask = mask.and(IntVector.fromArray(INTS, events, row).eq(event).cast(FLOATS));
+            }
+            FloatVector times = FloatVector.fromArray(FLOATS, seconds, row);
+            fastestLanes = fastestLanes.lanewise(VectorOperators.MIN, times, mask);
+            sumLanes = sumLanes.add(times, mask);
+            count += mask.trueCount();
+
+            if (++steps == FLUSH_STEPS) {
+                sum += sumLanes.reduceLanes(VectorOperators.ADD);
+                sumLanes = FloatVector.zero(FLOATS);
+                steps = 0;
+            }
+        }
+        sum += sumLanes.reduceLanes(VectorOperators.ADD);
+        float fastest = fastestLanes.reduceLanes(VectorOperators.MIN);
+
+        for (; row < to; row++) {
+            if (finished[row] && (event < 0 || events[row] == event)) {
+                count++;
+                fastest = Math.min(fastest, seconds[row]);
+                sum += seconds[row];
+            }
+        }
+        return new Summary(count, fastest, sum);
+    }
+}
@@ -1,8 +1,18 @@
 package com.papasmurfie.repositories;
 
+import com.papasmurfie.dto.CompetitionDTO;
 import com.papasmurfie.entities.CompetitionEntity;
+import com.papasmurfie.graphql.CompetitionNode;
+import com.papasmurfie.utility.SparseFieldset;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * The {@link CompetitionsRepository} class provides the repository layer for managing {@link CompetitionEntity} entities.
@@ -11,7 +21,104 @@ import jakarta.enterprise.context.ApplicationScoped;
  * using Quarkus' Panache ORM. It is annotated with {@link ApplicationScoped}, making it available as a singleton
  * within the application's context for dependency injection.
  * </p>
+ * <p>
+ * Besides the inherited methods, it offers read-only queries which select straight into {@link CompetitionDTO}
+ * without hydrating any entity.
+ * </p>
  */
 @ApplicationScoped
 public class CompetitionsRepository implements PanacheRepository<CompetitionEntity> {
+
+    private static final String DTO_QUERY = "SELECT new com.papasmurfie.dto.CompetitionDTO(c.competitionName, c.competitionDate) FROM Competitions c";
+    private static final String NODE_QUERY = "SELECT new com.papasmurfie.graphql.CompetitionNode(c.id, c.competitionName, c.competitionDate) FROM Competitions c";
+
+    /**
+     * Finds competitions as {@link CompetitionDTO}s with a single query, without loading any entity into the persistence
+     * context. The competition is aliased as {@code c}.
+     *
+     * @param where  The JPQL condition, e.g. {@code "c.competitionDate = ?1"}, or {@code null} for all competitions.
+     * @param params The positional parameters of the condition.
+     * @return A list of the matching competitions, ordered by id.
+     */
+    public List<CompetitionDTO> findDTOs(String where, Object... params) {
+        return dtoQuery(where, params).getResultList();
+    }
+
+    /**
+     * Finds competitions as {@link CompetitionDTO}s holding only the requested fields, selecting only the columns
+     * backing them. The fields of {@link CompetitionDTO} are named after the attributes of the competition.
+     *
+     * @param fields The requested fields.
+     * @param where  The JPQL condition, e.g. {@code "c.competitionDate = ?1"}, or {@code null} for all competitions.
+     * @param params The positional parameters of the condition.
+     * @return A list of the matching competitions, ordered by id, with {@code null} for the fields which are not
+     * requested.
+     */
+    public List<CompetitionDTO> findDTOs(SparseFieldset<CompetitionDTO> fields, String where, Object... params) {
+        if (fields.isAll()) {
+            return findDTOs(where, params);
+        }
+
+        String select = fields.names().stream().map(name -> "c." + name).collect(Collectors.joining(", "));
+        String jpql = "SELECT " + select + " FROM Competitions c"
+                + (where == null ? "" : " WHERE " + where) + " ORDER BY c.id";
+        TypedQuery<Object[]> query = getEntityManager().createQuery(jpql, Object[].class);
+        for (int i = 0; i < params.length; i++) {
+            query.setParameter(i + 1, params[i]);
+        }
+        return query.getResultList()
+                .stream()
+                .map(fields::newRecord)
+                .toList();
+    }
+
+    /**
+     * Streams all competitions as {@link CompetitionDTO}s from a database cursor, reading {@code fetchSize} rows at a time.
+     * The stream must be consumed and closed within the current transaction.
+     *
+     * @param fetchSize The number of rows fetched from the database at a time.
+     * @return A stream of all competitions, ordered by id.
+     */
+    public Stream<CompetitionDTO> streamDTOs(int fetchSize) {
+        return dtoQuery(null)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    /**
+     * Finds competitions as {@link CompetitionNode}s of the GraphQL schema. The competition is aliased as {@code c}.
+     *
+     * @param where  The JPQL condition, e.g. {@code "c.competitionDate = ?1"}, or {@code null} for all competitions.
+     * @param params The positional parameters of the condition.
+     * @return A list of the matching competitions, ordered by id.
+     */
+    public List<CompetitionNode> findNodes(String where, Object... params) {
+        String jpql = NODE_QUERY + (where == null ? "" : " WHERE " + where) + " ORDER BY c.id";
+        TypedQuery<CompetitionNode> query = getEntityManager().createQuery(jpql, CompetitionNode.class);
+        for (int i = 0; i < params.length; i++) {
+            query.setParameter(i + 1, params[i]);
+        }
+        return query.getResultList();
+    }
+
+    /**
+     * Finds the competitions with the given ids as {@link CompetitionNode}s of the GraphQL schema, with a single
+     * query.
+     *
+     * @param ids The ids of the competitions.
+     * @return A list of the found competitions, ordered by id.
+     */
+    public List<CompetitionNode> findNodesByIds(Collection<Long> ids) {
+        return findNodes("c.id IN ?1", ids);
+    }
+
+    private TypedQuery<CompetitionDTO> dtoQuery(String where, Object... params) {
+        String jpql = DTO_QUERY + (where == null ? "" : " WHERE " + where) + " ORDER BY c.id";
+        TypedQuery<CompetitionDTO> query = getEntityManager().createQuery(jpql, CompetitionDTO.class);
+        for (int i = 0; i < params.length; i++) {
+            query.setParameter(i + 1, params[i]);
+        }
+        return query;
+    }
 }
@@ -1,8 +1,18 @@
 package com.papasmurfie.repositories;
 
+import com.papasmurfie.dto.CompetitorDTO;
 import com.papasmurfie.entities.CompetitorEntity;
+import com.papasmurfie.graphql.CompetitorNode;
+import com.papasmurfie.utility.SparseFieldset;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import io.quarkus.panache.common.Sort;
 import jakarta.enterprise.context.ApplicationScoped;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * The {@link CompetitorsRepository} class provides the repository layer for managing {@link CompetitorEntity} entities.
@@ -14,7 +24,221 @@ import jakarta.enterprise.context.ApplicationScoped;
  * The class is annotated with {@link ApplicationScoped}, which makes it a singleton that is managed by the Quarkus
  * framework and available for dependency injection throughout the application's lifecycle.
  * </p>
+ * <p>
+ * Besides the inherited methods, it offers queries which load the competitors according to one of the named
+ * fetch plans declared on {@link CompetitorEntity}, and read-only queries which select straight into
+ * {@link CompetitorDTO} without hydrating any entity.
+ * </p>
  */
 @ApplicationScoped
 public class CompetitorsRepository implements PanacheRepository<CompetitorEntity> {
+
+    private static final String FETCH_GRAPH_HINT = "jakarta.persistence.fetchgraph";
+    private static final String NATIONALITIES = "nationalities";
+
+    /**
+     * The column backing every scalar component of {@link CompetitorDTO}; the nationalities are selected separately.
+     */
+    private static final Map<String, String> DTO_PATHS = Map.of(
+            "firstName", "c.competitorFirstName",
+            "middleName", "c.competitorMiddleName",
+            "lastName", "c.competitorLastName",
+            "mobilePhone", "c.phone",
+            "email", "c.email");
+
+    private static final String NODE_QUERY = "SELECT new com.papasmurfie.graphql.CompetitorNode(c.id, "
+            + "c.competitorFirstName, c.competitorMiddleName, c.competitorLastName, c.phone, c.email) FROM Competitors c";
+
+    /**
+     * Finds all competitors, loading them according to the given fetch plan.
+     *
+     * @param graphName The name of the fetch plan, e.g. {@link CompetitorEntity#GRAPH_WITH_NATIONALITIES}.
+     * @return A list of all competitors.
+     */
+    public List<CompetitorEntity> listAllWithGraph(String graphName) {
+        return findAll(Sort.by("id"))
+                .withHint(FETCH_GRAPH_HINT, getEntityManager().getEntityGraph(graphName))
+                .list();
+    }
+
+    /**
+     * Finds all competitors as {@link CompetitorDTO}s, ordered by id, without loading any entity into the
+     * persistence context.
+     *
+     * @return A list of all competitors.
+     */
+    public List<CompetitorDTO> listAllDTOs() {
+        return listAllDTOs(SparseFieldset.all(CompetitorDTO.class));
+    }
+
+    /**
+     * Finds all competitors as {@link CompetitorDTO}s holding only the requested fields, ordered by id, without
+     * loading any entity into the persistence context.
+     * <p>
+     * The scalar columns and the nationality names are selected by two queries, and the nationality names are
+     * attached to their competitor in memory. Only the requested columns are selected, and the nationalities are
+     * not queried at all unless they are requested.
+     *
+     * @param fields The requested fields.
+     * @return A list of all competitors, with {@code null} for the fields which are not requested.
+     */
+    public List<CompetitorDTO> listAllDTOs(SparseFieldset<CompetitorDTO> fields) {
+        List<String> scalarFields = fields.names().stream().filter(DTO_PATHS::containsKey).toList();
+        String select = scalarFields.stream().map(DTO_PATHS::get).map(path -> ", " + path).collect(Collectors.joining());
+        List<Object[]> rows = getEntityManager()
+                .createQuery("SELECT c.id" + select + " FROM Competitors c ORDER BY c.id", Object[].class)
+                .getResultList();
+
+        Map<Long, List<String>> nationalities = new HashMap<>();
+        if (fields.includes(NATIONALITIES)) {
+            getEntityManager()
+                    .createQuery("SELECT c.id, n.countryName FROM Competitors c JOIN c.nationalities n", Object[].class)
+                    .getResultList()
+                    .forEach(row -> nationalities.computeIfAbsent((Long) row[0], id -> new ArrayList<>())
+                            .add((String) row[1]));
+        }
+
+        List<CompetitorDTO> competitors = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Object[] values = new Object[fields.names().size()];
+            for (int i = 0; i < values.length; i++) {
+                String name = fields.names().get(i);
+                values[i] = NATIONALITIES.equals(name)
+                        ? nationalities.getOrDefault((Long) row[0], new ArrayList<>())
+                        : row[1 + scalarFields.indexOf(name)];
+            }
+            competitors.add(fields.newRecord(values));
+        }
+        return competitors;
+    }
+
+    /**
+     * Finds the competitors with the given phones as {@link CompetitorDTO}s, with one query for the competitors and
+     * one for their nationalities, without loading any entity into the persistence context.
+     *
+     * @param phones The phones of the competitors.
+     * @return A list of the found competitors, ordered by id.
+     */
+    public List<CompetitorDTO> findDTOsByPhones(Collection<String> phones) {
+        List<Object[]> rows = getEntityManager()
+                .createQuery("SELECT c.id, c.competitorFirstName, c.competitorMiddleName, c.competitorLastName, "
+                        + "c.phone, c.email FROM Competitors c WHERE c.phone IN ?1 ORDER BY c.id", Object[].class)
+                .setParameter(1, phones)
+                .getResultList();
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, List<String>> nationalities = findNationalityNames(rows.stream().map(row -> (Long) row[0]).toList());
+        return rows.stream()
+                .map(row -> new CompetitorDTO(
+                        (String) row[1],
+                        (String) row[2],
+                        (String) row[3],
+                        (String) row[4],
+                        (String) row[5],
+                        nationalities.getOrDefault((Long) row[0], new ArrayList<>())))
+                .toList();
+    }
+
+    /**
+     * Finds all competitors as {@link CompetitorNode}s of the GraphQL schema.
+     *
+     * @return A list of all competitors, ordered by id.
+     */
+    public List<CompetitorNode> listAllNodes() {
+        return getEntityManager()
+                .createQuery(NODE_QUERY + " ORDER BY c.id", CompetitorNode.class)
+                .getResultList();
+    }
+
+    /**
+     * Finds the competitors with the given ids as {@link CompetitorNode}s of the GraphQL schema, with a single
+     * query.
+     *
+     * @param ids The ids of the competitors.
+     * @return A list of the found competitors, in no particular order.
+     */
+    public List<CompetitorNode> findNodesByIds(Collection<Long> ids) {
+        return getEntityManager()
+                .createQuery(NODE_QUERY + " WHERE c.id IN ?1", CompetitorNode.class)
+                .setParameter(1, ids)
+                .getResultList();
+    }
+
+    /**
+     * Finds the nationality names of the competitors with the given ids, with a single query.
+     *
+     * @param ids The ids of the competitors.
+     * @return A map from competitor id to the names of its nationalities; competitors without nationalities are
+     * absent.
+     */
+    public Map<Long, List<String>> findNationalityNames(Collection<Long> ids) {
+        Map<Long, List<String>> nationalities = new HashMap<>();
+        getEntityManager()
+                .createQuery("SELECT c.id, n.countryName FROM Competitors c JOIN c.nationalities n WHERE c.id IN ?1", Object[].class)
+                .setParameter(1, ids)
+                .getResultList()
+                .forEach(row -> nationalities.computeIfAbsent((Long) row[0], id -> new ArrayList<>())
+                        .add((String) row[1]));
+        return nationalities;
+    }
+
+    /**
+     * Streams all competitors as {@link CompetitorDTO}s from a database cursor, reading {@code fetchSize} rows at
+     * a time, without loading any entity into the persistence context. The stream must be consumed and closed
+     * within the current transaction.
+     * <p>
+     * Every competitor is selected once per nationality, and the consecutive rows of the same competitor are
+     * merged into one {@link CompetitorDTO}.
+     *
+     * @param fetchSize The number of rows fetched from the database at a time.
+     * @return A stream of all competitors, ordered by id.
+     */
+    public Stream<CompetitorDTO> streamDTOs(int fetchSize) {
+        Stream<Object[]> rows = getEntityManager()
+                .createQuery("SELECT c.id, c.competitorFirstName, c.competitorMiddleName, c.competitorLastName, "
+                        + "c.phone, c.email, n.countryName "
+                        + "FROM Competitors c LEFT JOIN c.nationalities n ORDER BY c.id", Object[].class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+
+        Iterator<Object[]> cursor = rows.iterator();
+        Iterator<CompetitorDTO> competitors = new Iterator<>() {
+            private Object[] pending = cursor.hasNext() ? cursor.next() : null;
+
+            @Override
+            public boolean hasNext() {
+                return pending != null;
+            }
+
+            @Override
+            public CompetitorDTO next() {
+                if (pending == null) {
+                    throw new NoSuchElementException();
+                }
+
+                Object[] first = pending;
+                List<String> nationalities = new ArrayList<>();
+                do {
+                    if (pending[6] != null) {
+                        nationalities.add((String) pending[6]);
+                    }
+                    pending = cursor.hasNext() ? cursor.next() : null;
+                } while (pending != null && pending[0].equals(first[0]));
+
+                return new CompetitorDTO(
+                        (String) first[1],
+                        (String) first[2],
+                        (String) first[3],
+                        (String) first[4],
+                        (String) first[5],
+                        nationalities);
+            }
+        };
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(competitors, Spliterator.ORDERED), false)
+                .onClose(rows::close);
+    }
 }
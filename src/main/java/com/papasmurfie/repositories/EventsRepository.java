@@ -1,8 +1,16 @@
 package com.papasmurfie.repositories;
 
+import com.papasmurfie.dto.EventDTO;
 import com.papasmurfie.entities.EventEntity;
+import com.papasmurfie.graphql.EventNode;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
 
 /**
@@ -15,7 +23,73 @@ import jakarta.enterprise.context.ApplicationScoped;
  * The class is annotated with {@link ApplicationScoped}, meaning it will be managed as a singleton by the Quarkus framework,
  * and can be injected into other parts of the application as needed.
  * </p>
+ * <p>
+ * Besides the inherited methods, it offers read-only queries which select straight into {@link EventDTO}
+ * without hydrating any entity.
+ * </p>
  */
 @ApplicationScoped
 public class EventsRepository implements PanacheRepository<EventEntity> {
+
+    private static final String DTO_QUERY = "SELECT new com.papasmurfie.dto.EventDTO(e.distance, e.eventType) FROM Events e";
+    private static final String NODE_QUERY = "SELECT new com.papasmurfie.graphql.EventNode(e.id, e.distance, e.eventType) FROM Events e";
+
+    /**
+     * Finds events as {@link EventDTO}s with a single query, without loading any entity into the persistence
+     * context. The event is aliased as {@code e}.
+     *
+     * @param where  The JPQL condition, e.g. {@code "e.distance = ?1"}, or {@code null} for all events.
+     * @param params The positional parameters of the condition.
+     * @return A list of the matching events, ordered by id.
+     */
+    public List<EventDTO> findDTOs(String where, Object... params) {
+        return dtoQuery(where, params).getResultList();
+    }
+
+    /**
+     * Streams all events as {@link EventDTO}s from a database cursor, reading {@code fetchSize} rows at a time.
+     * The stream must be consumed and closed within the current transaction.
+     *
+     * @param fetchSize The number of rows fetched from the database at a time.
+     * @return A stream of all events, ordered by id.
+     */
+    public Stream<EventDTO> streamDTOs(int fetchSize) {
+        return dtoQuery(null)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    /**
+     * Finds all events as {@link EventNode}s of the GraphQL schema.
+     *
+     * @return A list of all events, ordered by id.
+     */
+    public List<EventNode> listAllNodes() {
+        return getEntityManager()
+                .createQuery(NODE_QUERY + " ORDER BY e.id", EventNode.class)
+                .getResultList();
+    }
+
+    /**
+     * Finds the events with the given ids as {@link EventNode}s of the GraphQL schema, with a single query.
+     *
+     * @param ids The ids of the events.
+     * @return A list of the found events, in no particular order.
+     */
+    public List<EventNode> findNodesByIds(Collection<Long> ids) {
+        return getEntityManager()
+                .createQuery(NODE_QUERY + " WHERE e.id IN ?1", EventNode.class)
+                .setParameter(1, ids)
+                .getResultList();
+    }
+
+    private TypedQuery<EventDTO> dtoQuery(String where, Object... params) {
+        String jpql = DTO_QUERY + (where == null ? "" : " WHERE " + where) + " ORDER BY e.id";
+        TypedQuery<EventDTO> query = getEntityManager().createQuery(jpql, EventDTO.class);
+        for (int i = 0; i < params.length; i++) {
+            query.setParameter(i + 1, params[i]);
+        }
+        return query;
+    }
 }
@@ -0,0 +1,209 @@
+package com.papasmurfie.repositories;
+
+import com.papasmurfie.dto.MedalCountDTO;
+import com.papasmurfie.dto.ParticipationDTO;
+import com.papasmurfie.entities.ParticipationViewEntity;
+import com.papasmurfie.utility.SparseFieldset;
+import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The {@link ParticipationViewRepository} class provides the repository layer for managing
+ * {@link ParticipationViewEntity} entities, the denormalized read model of the participations.
+ * <p>
+ * This class implements {@link PanacheRepositoryBase}, which provides built-in methods for interacting with the
+ * database, including standard CRUD operations such as find, persist, delete, and others for
+ * {@link ParticipationViewEntity} objects.
+ * </p>
+ * <p>
+ * The class is annotated with {@link ApplicationScoped}, making it a singleton within the Quarkus framework and available
+ * for dependency injection throughout the application's lifecycle.
+ * </p>
+ * <p>
+ * Its read-only queries mirror those of {@link ParticipationsRepository}, but select from the single
+ * "participation_view" table, aliased {@code v}, instead of joining the participation with its competitor,
+ * competition, event and result.
+ * </p>
+ */
+@ApplicationScoped
+public class ParticipationViewRepository implements PanacheRepositoryBase<ParticipationViewEntity, Long> {
+
+    private static final String DTO_FROM = " FROM ParticipationView v";
+
+    /**
+     * Selects a {@link ParticipationDTO} per participation from the view.
+     */
+    private static final String DTO_QUERY = "SELECT new com.papasmurfie.dto.ParticipationDTO("
+            + selectList(SparseFieldset.all(ParticipationDTO.class))
+            + ")"
+            + DTO_FROM;
+
+    /**
+     * Finds participations as {@link ParticipationDTO}s with a single query on the view.
+     *
+     * @param where   The JPQL condition on the alias {@code v}, or {@code null}.
+     * @param orderBy The JPQL order by clause, e.g. {@code "v.competitorId, v.id"}.
+     * @param params  The positional parameters of the condition.
+     * @return A list of the matching participations.
+     */
+    public List<ParticipationDTO> findDTOs(String where, String orderBy, Object... params) {
+        return dtoQuery(where, orderBy, params).getResultList();
+    }
+
+    /**
+     * Finds participations as {@link ParticipationDTO}s holding only the requested fields, selecting only the
+     * columns backing them.
+     *
+     * @param fields  The requested fields.
+     * @param where   The JPQL condition on the alias {@code v}, or {@code null}.
+     * @param orderBy The JPQL order by clause, e.g. {@code "v.id"}.
+     * @param params  The positional parameters of the condition.
+     * @return A list of the matching participations, with default values for the fields which are not requested.
+     */
+    public List<ParticipationDTO> findDTOs(SparseFieldset<ParticipationDTO> fields,
+                                           String where,
+                                           String orderBy,
+                                           Object... params) {
+        if (fields.isAll()) {
+            return findDTOs(where, orderBy, params);
+        }
+
+        String jpql = "SELECT " + selectList(fields) + DTO_FROM
+                + (where == null ? "" : " WHERE " + where) + " ORDER BY " + orderBy;
+        return bind(getEntityManager().createQuery(jpql, Object[].class), params)
+                .getResultList()
+                .stream()
+                .map(fields::newRecord)
+                .toList();
+    }
+
+    /**
+     * Streams participations as {@link ParticipationDTO}s from a database cursor, reading {@code fetchSize} rows
+     * at a time. The stream must be consumed and closed within the current transaction.
+     *
+     * @param fetchSize The number of rows fetched from the database at a time.
+     * @param where     The JPQL condition on the alias {@code v}, or {@code null}.
+     * @param orderBy   The JPQL order by clause, e.g. {@code "v.id"}.
+     * @param params    The positional parameters of the condition.
+     * @return A stream of the matching participations.
+     */
+    public Stream<ParticipationDTO> streamDTOs(int fetchSize, String where, String orderBy, Object... params) {
+        return dtoQuery(where, orderBy, params)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    /**
+     * Finds a page of participations as {@link ParticipationDTO}s, ordered by a column and then by id, together
+     * with the values a caller needs to continue after the last one (keyset paging).
+     *
+     * @param where      The JPQL condition on the alias {@code v}, or {@code null}.
+     * @param sortPath   The column to order by, e.g. {@code "v.seconds"}.
+     * @param descending Whether the order is descending.
+     * @param limit      The maximum number of participations.
+     * @param params     The positional parameters of the condition.
+     * @return A list of at most {@code limit} rows, in order.
+     */
+    public List<ParticipationsRepository.KeysetRow> findKeysetPage(String where,
+                                                                   String sortPath,
+                                                                   boolean descending,
+                                                                   int limit,
+                                                                   Object... params) {
+        String direction = descending ? " DESC" : " ASC";
+        String jpql = "SELECT v.id, " + sortPath + ", " + selectList(SparseFieldset.all(ParticipationDTO.class))
+                + DTO_FROM
+                + (where == null ? "" : " WHERE " + where)
+                + " ORDER BY " + sortPath + direction + ", v.id" + direction;
+        return bind(getEntityManager().createQuery(jpql, Object[].class).setMaxResults(limit), params)
+                .getResultList()
+                .stream()
+                .map(row -> new ParticipationsRepository.KeysetRow((Long) row[0], row[1], toDTO(row, 2)))
+                .toList();
+    }
+
+    /**
+     * Finds the rows of the finished participations of an event in a competition, fastest first, to rank them.
+     *
+     * @param competitionId The id of the competition.
+     * @param eventId       The id of the event.
+     * @return The rows of the finished participations, in rank order.
+     */
+    public List<ParticipationViewEntity> findFinishers(Long competitionId, Long eventId) {
+        return list("competitionId = ?1 AND eventId = ?2 AND finished = true ORDER BY seconds, id",
+                competitionId, eventId);
+    }
+
+    /**
+     * Counts the medals, competitors and participations of every nationality with a single grouped query, joining
+     * the participations with the nationalities of their competitors.
+     *
+     * @param where  The JPQL condition on the alias {@code v}, e.g. {@code "v.competitionId = ?1"}.
+     * @param params The positional parameters of the condition.
+     * @return The medal table, ordered by golds, silvers and bronzes, then by nationality.
+     */
+    public List<MedalCountDTO> countMedals(String where, Object... params) {
+        String jpql = "SELECT n.countryName, "
+                + "SUM(CASE WHEN v.rank = 1 THEN 1 ELSE 0 END) AS golds, "
+                + "SUM(CASE WHEN v.rank = 2 THEN 1 ELSE 0 END) AS silvers, "
+                + "SUM(CASE WHEN v.rank = 3 THEN 1 ELSE 0 END) AS bronzes, "
+                + "COUNT(DISTINCT v.competitorId), COUNT(v.id)"
+                + DTO_FROM + " JOIN Competitors c ON c.id = v.competitorId JOIN c.nationalities n"
+                + " WHERE " + where
+                + " GROUP BY n.countryName"
+                + " ORDER BY golds DESC, silvers DESC, bronzes DESC, n.countryName";
+        return bind(getEntityManager().createQuery(jpql, Object[].class), params)
+                .getResultList()
+                .stream()
+                .map(row -> new MedalCountDTO(
+                        (String) row[0],
+                        ((Number) row[1]).longValue(),
+                        ((Number) row[2]).longValue(),
+                        ((Number) row[3]).longValue(),
+                        ((Number) row[4]).longValue(),
+                        ((Number) row[5]).longValue()))
+                .toList();
+    }
+
+    /**
+     * Builds a {@link ParticipationDTO} from the columns of {@link #DTO_QUERY}, starting at the given index of a row.
+     */
+    private static ParticipationDTO toDTO(Object[] row, int offset) {
+        return new ParticipationDTO(
+                (String) row[offset],
+                (String) row[offset + 1],
+                (String) row[offset + 2],
+                (String) row[offset + 3],
+                (String) row[offset + 4],
+                (LocalDate) row[offset + 5],
+                (BigDecimal) row[offset + 6],
+                (String) row[offset + 7],
+                (Float) row[offset + 8],
+                (Boolean) row[offset + 9],
+                (String) row[offset + 10]);
+    }
+
+    private static String selectList(SparseFieldset<ParticipationDTO> fields) {
+        return fields.names().stream().map(name -> "v." + name).collect(Collectors.joining(", "));
+    }
+
+    private TypedQuery<ParticipationDTO> dtoQuery(String where, String orderBy, Object... params) {
+        String jpql = DTO_QUERY + (where == null ? "" : " WHERE " + where) + " ORDER BY " + orderBy;
+        return bind(getEntityManager().createQuery(jpql, ParticipationDTO.class), params);
+    }
+
+    private static <T> TypedQuery<T> bind(TypedQuery<T> query, Object... params) {
+        for (int i = 0; i < params.length; i++) {
+            query.setParameter(i + 1, params[i]);
+        }
+        return query;
+    }
+}
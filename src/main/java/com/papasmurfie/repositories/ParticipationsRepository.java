@@ -1,8 +1,21 @@
 package com.papasmurfie.repositories;
 
+import com.papasmurfie.dto.ParticipationDTO;
 import com.papasmurfie.entities.ParticipationEntity;
+import com.papasmurfie.graphql.EventNode;
+import com.papasmurfie.graphql.ParticipationNode;
+import com.papasmurfie.utility.SparseFieldset;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import io.quarkus.panache.common.Sort;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * The {@link ParticipationsRepository} class provides the repository layer for managing {@link ParticipationEntity} entities.
@@ -14,7 +27,350 @@ import jakarta.enterprise.context.ApplicationScoped;
  * The class is annotated with {@link ApplicationScoped}, making it a singleton within the Quarkus framework and available
  * for dependency injection throughout the application's lifecycle.
  * </p>
+ * <p>
+ * Besides the inherited methods, it offers queries which load the participations according to one of the named
+ * fetch plans declared on {@link ParticipationEntity}, and read-only queries which select straight into
+ * {@link ParticipationDTO} without hydrating any entity.
+ * </p>
  */
 @ApplicationScoped
 public class ParticipationsRepository implements PanacheRepository<ParticipationEntity> {
+
+    private static final String FETCH_GRAPH_HINT = "jakarta.persistence.fetchgraph";
+
+    /**
+     * Joins every participation with its competitor, competition, event and result. The aliases {@code p},
+     * {@code c}, {@code co}, {@code e} and {@code r} stand for the participation, competitor, competition, event and
+     * result respectively.
+     */
+    private static final String DTO_FROM = " FROM Participations p "
+            + "JOIN p.competitor c "
+            + "JOIN p.competition co "
+            + "JOIN p.event e "
+            + "JOIN p.result r";
+
+    /**
+     * The column backing every component of {@link ParticipationDTO}.
+     */
+    private static final Map<String, String> DTO_PATHS = Map.ofEntries(
+            Map.entry("firstName", "c.competitorFirstName"),
+            Map.entry("middleName", "c.competitorMiddleName"),
+            Map.entry("lastName", "c.competitorLastName"),
+            Map.entry("mobilePhone", "c.phone"),
+            Map.entry("competitionName", "co.competitionName"),
+            Map.entry("competitionDate", "co.competitionDate"),
+            Map.entry("distance", "e.distance"),
+            Map.entry("eventType", "e.eventType"),
+            Map.entry("seconds", "r.seconds"),
+            Map.entry("finished", "r.finished"),
+            Map.entry("place", "r.place"));
+
+    /**
+     * Selects a {@link ParticipationDTO} per participation, using the aliases described on {@link #DTO_FROM}.
+     */
+    private static final String DTO_QUERY = "SELECT new com.papasmurfie.dto.ParticipationDTO("
+            + selectList(SparseFieldset.all(ParticipationDTO.class))
+            + ")"
+            + DTO_FROM;
+
+    /**
+     * Finds all participations, loading them according to the given fetch plan.
+     *
+     * @param graphName The name of the fetch plan, e.g. {@link ParticipationEntity#GRAPH_SUMMARY}.
+     * @return A list of all participations.
+     */
+    public List<ParticipationEntity> listAllWithGraph(String graphName) {
+        return findAll(Sort.by("id"))
+                .withHint(FETCH_GRAPH_HINT, getEntityManager().getEntityGraph(graphName))
+                .list();
+    }
+
+    /**
+     * Finds participations matching a query, loading them according to the given fetch plan.
+     *
+     * @param graphName The name of the fetch plan, e.g. {@link ParticipationEntity#GRAPH_SUMMARY}.
+     * @param query     The Panache query.
+     * @param params    The positional parameters of the query.
+     * @return A list of the matching participations.
+     */
+    public List<ParticipationEntity> findWithGraph(String graphName, String query, Object... params) {
+        return findWithGraph(graphName, query, Sort.by("id"), params);
+    }
+
+    /**
+     * Finds participations matching a query in the given order, loading them according to the given fetch plan.
+     *
+     * @param graphName The name of the fetch plan, e.g. {@link ParticipationEntity#GRAPH_SUMMARY}.
+     * @param query     The Panache query.
+     * @param sort      The order of the results.
+     * @param params    The positional parameters of the query.
+     * @return A list of the matching participations.
+     */
+    public List<ParticipationEntity> findWithGraph(String graphName, String query, Sort sort, Object... params) {
+        return find(query, sort, params)
+                .withHint(FETCH_GRAPH_HINT, getEntityManager().getEntityGraph(graphName))
+                .list();
+    }
+
+    /**
+     * Finds the first participation matching a query, loading it according to the given fetch plan.
+     *
+     * @param graphName The name of the fetch plan, e.g. {@link ParticipationEntity#GRAPH_DETAIL}.
+     * @param query     The Panache query.
+     * @param params    The positional parameters of the query.
+     * @return The matching participation, or {@code null} if there is none.
+     */
+    public ParticipationEntity findFirstWithGraph(String graphName, String query, Object... params) {
+        return find(query, params)
+                .withHint(FETCH_GRAPH_HINT, getEntityManager().getEntityGraph(graphName))
+                .firstResult();
+    }
+
+    /**
+     * Finds the fastest finished participation of a competitor in an event.
+     *
+     * @param competitorId            The id of the competitor.
+     * @param eventId                 The id of the event.
+     * @param excludedParticipationId The id of a participation to leave out, e.g. one being deleted, or {@code null}.
+     * @return The fastest finished participation, with its result, or {@code null} if there is none.
+     */
+    public ParticipationEntity findFastestFinished(Long competitorId, Long eventId, Long excludedParticipationId) {
+        return getEntityManager()
+                .createQuery("SELECT p FROM Participations p JOIN FETCH p.result r "
+                        + "WHERE p.competitor.id = ?1 AND p.event.id = ?2 AND r.finished = true AND p.id <> ?3 "
+                        + "ORDER BY r.seconds, p.id", ParticipationEntity.class)
+                .setParameter(1, competitorId)
+                .setParameter(2, eventId)
+                .setParameter(3, excludedParticipationId == null ? -1L : excludedParticipationId)
+                .setMaxResults(1)
+                .getResultStream()
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * Finds all participations as {@link ParticipationDTO}s, ordered by id.
+     *
+     * @return A list of all participations.
+     */
+    public List<ParticipationDTO> listAllDTOs() {
+        return findDTOs(null, "p.id");
+    }
+
+    /**
+     * Finds participations as {@link ParticipationDTO}s with a single query, without loading any entity into the
+     * persistence context.
+     *
+     * @param where   The JPQL condition, using the aliases described on {@link #DTO_FROM}, or {@code null}.
+     * @param orderBy The JPQL order by clause, e.g. {@code "c.id, p.id"}.
+     * @param params  The positional parameters of the condition.
+     * @return A list of the matching participations.
+     */
+    public List<ParticipationDTO> findDTOs(String where, String orderBy, Object... params) {
+        return dtoQuery(where, orderBy, params).getResultList();
+    }
+
+    /**
+     * Streams participations as {@link ParticipationDTO}s from a database cursor, reading {@code fetchSize} rows
+     * at a time. The stream must be consumed and closed within the current transaction.
+     *
+     * @param fetchSize The number of rows fetched from the database at a time.
+     * @param where     The JPQL condition, using the aliases described on {@link #DTO_FROM}, or {@code null}.
+     * @param orderBy   The JPQL order by clause, e.g. {@code "p.id"}.
+     * @param params    The positional parameters of the condition.
+     * @return A stream of the matching participations.
+     */
+    public Stream<ParticipationDTO> streamDTOs(int fetchSize, String where, String orderBy, Object... params) {
+        return dtoQuery(where, orderBy, params)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    /**
+     * Finds participations as {@link ParticipationDTO}s holding only the requested fields, selecting only the
+     * columns backing them.
+     *
+     * @param fields  The requested fields.
+     * @param where   The JPQL condition, using the aliases described on {@link #DTO_FROM}, or {@code null}.
+     * @param orderBy The JPQL order by clause, e.g. {@code "c.id, p.id"}.
+     * @param params  The positional parameters of the condition.
+     * @return A list of the matching participations, with default values for the fields which are not requested.
+     */
+    public List<ParticipationDTO> findDTOs(SparseFieldset<ParticipationDTO> fields,
+                                           String where,
+                                           String orderBy,
+                                           Object... params) {
+        if (fields.isAll()) {
+            return findDTOs(where, orderBy, params);
+        }
+
+        String jpql = "SELECT " + selectList(fields) + DTO_FROM
+                + (where == null ? "" : " WHERE " + where) + " ORDER BY " + orderBy;
+        TypedQuery<Object[]> query = getEntityManager().createQuery(jpql, Object[].class);
+        for (int i = 0; i < params.length; i++) {
+            query.setParameter(i + 1, params[i]);
+        }
+        return query.getResultList()
+                .stream()
+                .map(fields::newRecord)
+                .toList();
+    }
+
+    /**
+     * Finds a page of participations as {@link ParticipationDTO}s, ordered by a column and then by id, together
+     * with the values a caller needs to continue after the last one (keyset paging).
+     *
+     * @param where      The JPQL condition, using the aliases described on {@link #DTO_FROM}, or {@code null}.
+     * @param sortPath   The column to order by, e.g. {@code "r.seconds"}.
+     * @param descending Whether the order is descending.
+     * @param limit      The maximum number of participations.
+     * @param params     The positional parameters of the condition.
+     * @return A list of at most {@code limit} rows, in order.
+     */
+    public List<KeysetRow> findKeysetPage(String where,
+                                         String sortPath,
+                                         boolean descending,
+                                         int limit,
+                                         Object... params) {
+        String direction = descending ? " DESC" : " ASC";
+        String jpql = "SELECT p.id, " + sortPath + ", " + selectList(SparseFieldset.all(ParticipationDTO.class))
+                + DTO_FROM
+                + (where == null ? "" : " WHERE " + where)
+                + " ORDER BY " + sortPath + direction + ", p.id" + direction;
+        TypedQuery<Object[]> query = getEntityManager().createQuery(jpql, Object[].class)
+                .setMaxResults(limit);
+        for (int i = 0; i < params.length; i++) {
+            query.setParameter(i + 1, params[i]);
+        }
+        return query.getResultList()
+                .stream()
+                .map(row -> new KeysetRow((Long) row[0], row[1], toDTO(row, 2)))
+                .toList();
+    }
+
+    /**
+     * Streams every finished participation as a {@link ParticipationDTO} from a database cursor, once per
+     * nationality of its competitor, reading {@code fetchSize} rows at a time. The stream must be consumed and
+     * closed within the current transaction.
+     *
+     * @param fetchSize The number of rows fetched from the database at a time.
+     * @return A stream of the finished participations, each with its event id and one nationality of its competitor
+     * ({@code null} for a competitor without nationality).
+     */
+    public Stream<NationalityRow> streamFinishedByNationality(int fetchSize) {
+        return getEntityManager()
+                .createQuery("SELECT p.id, e.id, n.countryName, " + selectList(SparseFieldset.all(ParticipationDTO.class))
+                        + DTO_FROM + " LEFT JOIN c.nationalities n WHERE r.finished = true", Object[].class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()
+                .map(row -> new NationalityRow((Long) row[0], (Long) row[1], (String) row[2], toDTO(row, 3)));
+    }
+
+    /**
+     * A participation of a keyset page, with the id and the sort value identifying its position.
+     *
+     * @param id            The id of the participation.
+     * @param sortValue     The value of the column the page is ordered by.
+     * @param participation The participation.
+     */
+    public record KeysetRow(Long id, Object sortValue, ParticipationDTO participation) {
+    }
+
+    /**
+     * A participation together with the id of its event and one nationality of its competitor.
+     *
+     * @param id            The id of the participation.
+     * @param eventId       The id of the event.
+     * @param nationality   The name of a nationality of the competitor, or {@code null} if they have none.
+     * @param participation The participation.
+     */
+    public record NationalityRow(Long id, Long eventId, String nationality, ParticipationDTO participation) {
+    }
+
+    /**
+     * Finds the participations in the competitions with the given ids as {@link ParticipationNode}s of the GraphQL
+     * schema, with a single query.
+     *
+     * @param competitionIds The ids of the competitions.
+     * @return A list of the participations in these competitions, ordered by id.
+     */
+    public List<ParticipationNode> findNodesByCompetition(Collection<Long> competitionIds) {
+        return getEntityManager()
+                .createQuery("SELECT new com.papasmurfie.graphql.ParticipationNode("
+                        + "p.id, p.competitor.id, p.competition.id, p.event.id, r.seconds, r.finished, r.place) "
+                        + "FROM Participations p JOIN p.result r WHERE p.competition.id IN ?1 ORDER BY p.id", ParticipationNode.class)
+                .setParameter(1, competitionIds)
+                .getResultList();
+    }
+
+    /**
+     * Finds the events held in the competitions with the given ids, that is the events with at least one
+     * participation in them, as {@link EventNode}s of the GraphQL schema, with a single query.
+     *
+     * @param competitionIds The ids of the competitions.
+     * @return A map from competition id to its events, ordered by id; competitions without participations are
+     * absent.
+     */
+    public Map<Long, List<EventNode>> findEventNodesByCompetition(Collection<Long> competitionIds) {
+        Map<Long, List<EventNode>> events = new HashMap<>();
+        getEntityManager()
+                .createQuery("SELECT DISTINCT p.competition.id, e.id, e.distance, e.eventType "
+                        + "FROM Participations p JOIN p.event e WHERE p.competition.id IN ?1 ORDER BY e.id", Object[].class)
+                .setParameter(1, competitionIds)
+                .getResultList()
+                .forEach(row -> events.computeIfAbsent((Long) row[0], id -> new ArrayList<>())
+                        .add(new EventNode((Long) row[1], (BigDecimal) row[2], (String) row[3])));
+        return events;
+    }
+
+    /**
+     * Counts the distinct competitors of each nationality taking part in a competition, with a single query.
+     *
+     * @param competitionId The id of the competition.
+     * @return A map from nationality name to number of competitors, the most represented nationality first.
+     */
+    public Map<String, Long> countNationalitiesByCompetition(Long competitionId) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        getEntityManager()
+                .createQuery("SELECT n.countryName, COUNT(DISTINCT c.id) FROM Participations p "
+                        + "JOIN p.competitor c JOIN c.nationalities n WHERE p.competition.id = ?1 "
+                        + "GROUP BY n.countryName ORDER BY COUNT(DISTINCT c.id) DESC, n.countryName", Object[].class)
+                .setParameter(1, competitionId)
+                .getResultList()
+                .forEach(row -> counts.put((String) row[0], (Long) row[1]));
+        return counts;
+    }
+
+    /**
+     * Builds a {@link ParticipationDTO} from the columns of {@link #DTO_QUERY}, starting at the given index of a row.
+     */
+    private static ParticipationDTO toDTO(Object[] row, int offset) {
+        return new ParticipationDTO(
+                (String) row[offset],
+                (String) row[offset + 1],
+                (String) row[offset + 2],
+                (String) row[offset + 3],
+                (String) row[offset + 4],
+                (LocalDate) row[offset + 5],
+                (BigDecimal) row[offset + 6],
+                (String) row[offset + 7],
+                (Float) row[offset + 8],
+                (Boolean) row[offset + 9],
+                (String) row[offset + 10]);
+    }
+
+    private static String selectList(SparseFieldset<ParticipationDTO> fields) {
+        return fields.names().stream().map(DTO_PATHS::get).collect(Collectors.joining(", "));
+    }
+
+    private TypedQuery<ParticipationDTO> dtoQuery(String where, String orderBy, Object... params) {
+        String jpql = DTO_QUERY + (where == null ? "" : " WHERE " + where) + " ORDER BY " + orderBy;
+        TypedQuery<ParticipationDTO> query = getEntityManager().createQuery(jpql, ParticipationDTO.class);
+        for (int i = 0; i < params.length; i++) {
+            query.setParameter(i + 1, params[i]);
+        }
+        return query;
+    }
 }
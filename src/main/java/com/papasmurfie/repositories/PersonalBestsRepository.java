@@ -0,0 +1,102 @@
+package com.papasmurfie.repositories;
+
+import com.papasmurfie.dto.PersonalBestDTO;
+import com.papasmurfie.entities.PersonalBestEntity;
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * The {@link PersonalBestsRepository} class provides the repository layer for managing {@link PersonalBestEntity} entities.
+ * <p>
+ * This class implements {@link PanacheRepository}, which provides built-in methods for interacting with the database,
+ * including standard CRUD operations such as find, persist, delete, and others for {@link PersonalBestEntity} objects.
+ * </p>
+ * <p>
+ * The class is annotated with {@link ApplicationScoped}, making it a singleton within the Quarkus framework and available
+ * for dependency injection throughout the application's lifecycle.
+ * </p>
+ */
+@ApplicationScoped
+public class PersonalBestsRepository implements PanacheRepository<PersonalBestEntity> {
+
+    /**
+     * Selects a {@link PersonalBestDTO} per personal best. The aliases {@code pb}, {@code c}, {@code e} and
+     * {@code co} stand for the personal best, competitor, event and competition respectively.
+     */
+    private static final String DTO_QUERY = "SELECT new com.papasmurfie.dto.PersonalBestDTO("
+            + "c.competitorFirstName, c.competitorMiddleName, c.competitorLastName, c.phone, "
+            + "e.distance, e.eventType, pb.seconds, co.competitionName, co.competitionDate) "
+            + "FROM PersonalBests pb "
+            + "JOIN pb.competitor c "
+            + "JOIN pb.event e "
+            + "JOIN pb.participation p "
+            + "JOIN p.competition co";
+
+    /**
+     * Finds the personal best of a competitor in an event.
+     *
+     * @param competitorId The id of the competitor.
+     * @param eventId      The id of the event.
+     * @return The personal best, or {@code null} if the competitor has not finished the event.
+     */
+    public PersonalBestEntity findByCompetitorAndEvent(Long competitorId, Long eventId) {
+        return find("competitor.id = ?1 AND event.id = ?2", competitorId, eventId).firstResult();
+    }
+
+    /**
+     * Makes a finished participation the personal best of its competitor in its event if there is none yet or it is
+     * faster than the stored one. It is a single {@code INSERT ... ON CONFLICT} on the {@code (competitor_id, event_id)}
+     * unique constraint, so concurrent first results of a competitor in an event do not fail on the constraint, and
+     * concurrent improvements keep the fastest time.
+     *
+     * @param competitorId    The id of the competitor.
+     * @param eventId         The id of the event.
+     * @param participationId The id of the finished participation.
+     * @param seconds         The time of the participation.
+     */
+    public void upsert(Long competitorId, Long eventId, Long participationId, float seconds) {
+        getEntityManager()
+                .createNativeQuery("INSERT INTO PersonalBests (id, competitor_id, event_id, participation_id, seconds) "
+                        + "VALUES (nextval('PersonalBests_SEQ'), ?1, ?2, ?3, ?4) "
+                        + "ON CONFLICT (competitor_id, event_id) DO UPDATE "
+                        + "SET participation_id = EXCLUDED.participation_id, seconds = EXCLUDED.seconds "
+                        + "WHERE PersonalBests.seconds > EXCLUDED.seconds")
+                .setParameter(1, competitorId)
+                .setParameter(2, eventId)
+                .setParameter(3, participationId)
+                .setParameter(4, seconds)
+                .executeUpdate();
+    }
+
+    /**
+     * Finds the personal bests of a competitor as {@link PersonalBestDTO}s, with a single query.
+     *
+     * @param competitorId The id of the competitor.
+     * @return The personal bests of the competitor, ordered by distance.
+     */
+    public List<PersonalBestDTO> findDTOsByCompetitor(Long competitorId) {
+        return getEntityManager()
+                .createQuery(DTO_QUERY + " WHERE c.id = ?1 ORDER BY e.distance", PersonalBestDTO.class)
+                .setParameter(1, competitorId)
+                .getResultList();
+    }
+
+    /**
+     * Finds the fastest personal bests of an event as {@link PersonalBestDTO}s, with a single query reading the
+     * {@code (event_id, seconds)} index.
+     *
+     * @param distance The distance of the event.
+     * @param limit    The maximum number of personal bests.
+     * @return The fastest personal bests of the event, fastest first.
+     */
+    public List<PersonalBestDTO> findTopDTOsByEvent(BigDecimal distance, int limit) {
+        return getEntityManager()
+                .createQuery(DTO_QUERY + " WHERE e.distance = ?1 ORDER BY pb.seconds, pb.id", PersonalBestDTO.class)
+                .setParameter(1, distance)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
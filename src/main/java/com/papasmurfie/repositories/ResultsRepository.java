@@ -1,8 +1,12 @@
 package com.papasmurfie.repositories;
 
+import com.papasmurfie.dto.ResultDTO;
 import com.papasmurfie.entities.ResultEntity;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.stream.Stream;
 
 /**
  * The {@link ResultsRepository} class provides the repository layer for managing {@link ResultEntity} entities.
@@ -17,4 +21,21 @@ import jakarta.enterprise.context.ApplicationScoped;
  */
 @ApplicationScoped
 public class ResultsRepository implements PanacheRepository<ResultEntity> {
+
+    /**
+     * Streams all results as {@link ResultDTO}s from a database cursor, reading {@code fetchSize} rows at a time,
+     * without loading any entity into the persistence context. The stream must be consumed and closed within the
+     * current transaction.
+     *
+     * @param fetchSize The number of rows fetched from the database at a time.
+     * @return A stream of all results, ordered by id.
+     */
+    public Stream<ResultDTO> streamDTOs(int fetchSize) {
+        return getEntityManager()
+                .createQuery("SELECT new com.papasmurfie.dto.ResultDTO(r.seconds, r.finished, r.place) "
+                        + "FROM Results r ORDER BY r.id", ResultDTO.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
 }
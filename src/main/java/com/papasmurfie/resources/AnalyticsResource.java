@@ -0,0 +1,103 @@
+package com.papasmurfie.resources;
+
+import com.papasmurfie.dto.AveragePaceDTO;
+import com.papasmurfie.dto.FinishRateDTO;
+import com.papasmurfie.dto.TimeSummaryDTO;
+import com.papasmurfie.indexes.ResultColumns;
+import com.papasmurfie.services.AnalyticsService;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * REST resource serving the analytical aggregations of the results.
+ * The aggregations are computed by scanning an in-memory columnar snapshot of the results when it is enabled.
+ * <p>
+ * Base path: "/analytics"
+ */
+@ApplicationScoped
+@Path("/analytics")
+public class AnalyticsResource {
+
+    private final AnalyticsService analyticsService;
+
+    /**
+     * Constructor used for injecting dependencies.
+     *
+     * @param analyticsService the service that aggregates the results, injected by the DI container
+     */
+    public AnalyticsResource(AnalyticsService analyticsService) {
+        this.analyticsService = analyticsService;
+    }
+
+    /**
+     * Retrieves the average pace of the finishers of every type of event in every year.
+     *
+     * @param eventType the type of the events (optional)
+     * @param fromYear the first year of the competitions (optional)
+     * @param toYear the last year of the competitions (optional)
+     * @param nationality the nationality of the competitors (optional)
+     * @return a list of AveragePaceDTO, ordered by event type and year
+     */
+    @Operation(
+            summary = "Retrieve the average pace by event type and year",
+            description = "This endpoint returns the average pace, in seconds per 1000 units of distance, of the finishers of every type of event in every year."
+    )
+    @GET
+    @Path("/getAveragePace")
+    @Produces(MediaType.APPLICATION_JSON)
+    public List<AveragePaceDTO> getAveragePace(@QueryParam("eventType") String eventType,
+                                               @QueryParam("fromYear") Integer fromYear,
+                                               @QueryParam("toYear") Integer toYear,
+                                               @QueryParam("nationality") String nationality) {
+        return analyticsService.getAveragePace(new ResultColumns.Filter(eventType, fromYear, toYear, nationality));
+    }
+
+    /**
+     * Retrieves the finish rate of the competitors of every nationality.
+     *
+     * @param eventType the type of the events (optional)
+     * @param fromYear the first year of the competitions (optional)
+     * @param toYear the last year of the competitions (optional)
+     * @return a list of FinishRateDTO, ordered by nationality
+     */
+    @Operation(
+            summary = "Retrieve the finish rate by nationality",
+            description = "This endpoint returns the share of finished participations of the competitors of every nationality."
+    )
+    @GET
+    @Path("/getFinishRates")
+    @Produces(MediaType.APPLICATION_JSON)
+    public List<FinishRateDTO> getFinishRates(@QueryParam("eventType") String eventType,
+                                              @QueryParam("fromYear") Integer fromYear,
+                                              @QueryParam("toYear") Integer toYear) {
+        return analyticsService.getFinishRates(new ResultColumns.Filter(eventType, fromYear, toYear, null));
+    }
+
+    /**
+     * Retrieves the number of finishers of an event, their fastest and average times, and how many finished under a
+     * given time.
+     *
+     * @param distance the distance of the event
+     * @param belowSeconds the time in seconds under which the finishers are counted
+     * @return the TimeSummaryDTO of the event
+     */
+    @Operation(
+            summary = "Summarize the finishing times of an event",
+            description = "This endpoint returns the number of finishers of an event, their fastest and average times, and how many finished under a given time."
+    )
+    @GET
+    @Path("/getTimeSummary")
+    @Produces(MediaType.APPLICATION_JSON)
+    public TimeSummaryDTO getTimeSummary(@QueryParam("eventDistance") BigDecimal distance,
+                                         @QueryParam("belowSeconds") float belowSeconds) {
+        return analyticsService.getTimeSummary(distance, belowSeconds);
+    }
+}
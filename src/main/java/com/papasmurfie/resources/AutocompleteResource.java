@@ -0,0 +1,72 @@
+package com.papasmurfie.resources;
+
+import com.papasmurfie.dto.SuggestionDTO;
+import com.papasmurfie.indexes.AutocompleteIndex;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.QueryParam;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+
+import java.util.List;
+
+/**
+ * REST resource providing as-you-type suggestions for competitors and competitions.
+ * The suggestions are served from in-memory prefix indexes and never query the database.
+ * <p>
+ * Base path: "/autocomplete"
+ */
+@ApplicationScoped
+@Path("/autocomplete")
+public class AutocompleteResource {
+
+    private static final int MAX_LIMIT = 50;
+
+    private final AutocompleteIndex autocompleteIndex;
+
+    /**
+     * Constructor used for injecting dependencies.
+     *
+     * @param autocompleteIndex the in-memory indexes of competitor and competition names, injected by the DI container
+     */
+    public AutocompleteResource(AutocompleteIndex autocompleteIndex) {
+        this.autocompleteIndex = autocompleteIndex;
+    }
+
+    /**
+     * Suggests competitors by the beginning of their first, middle or last names.
+     *
+     * @param query the text typed so far, e.g. "iva geo"
+     * @param limit the maximum number of suggestions (at most 50)
+     * @return a list of SuggestionDTO, competitors with the most participations first
+     */
+    @Operation(
+            summary = "Suggest competitors",
+            description = "This endpoint suggests competitors whose names start with the typed words, ranked by number of participations."
+    )
+    @GET
+    @Path("/competitors")
+    public List<SuggestionDTO> competitors(@QueryParam("q") String query,
+                                           @QueryParam("limit") @DefaultValue("10") int limit) {
+        return autocompleteIndex.suggestCompetitors(query, Math.min(limit, MAX_LIMIT));
+    }
+
+    /**
+     * Suggests competitions by the beginning of the words in their names.
+     *
+     * @param query the text typed so far, e.g. "bulgarian cup"
+     * @param limit the maximum number of suggestions (at most 50)
+     * @return a list of SuggestionDTO, most recent competitions first
+     */
+    @Operation(
+            summary = "Suggest competitions",
+            description = "This endpoint suggests competitions whose names start with the typed words, most recent first."
+    )
+    @GET
+    @Path("/competitions")
+    public List<SuggestionDTO> competitions(@QueryParam("q") String query,
+                                            @QueryParam("limit") @DefaultValue("10") int limit) {
+        return autocompleteIndex.suggestCompetitions(query, Math.min(limit, MAX_LIMIT));
+    }
+}
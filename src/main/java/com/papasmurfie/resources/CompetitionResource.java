@@ -1,16 +1,26 @@
 package com.papasmurfie.resources;
 
+import com.papasmurfie.dto.BatchLookupDTO;
 import com.papasmurfie.dto.CompetitionDTO;
+import com.papasmurfie.dto.CompetitionDashboardDTO;
 import com.papasmurfie.dto.EditCompetitionDTO;
+import com.papasmurfie.services.CompetitionDashboardService;
 import com.papasmurfie.services.CompetitionsService;
+import com.papasmurfie.utility.RequestCoalescer;
+import com.papasmurfie.utility.SparseFields;
+import com.papasmurfie.utility.SparseFieldset;
+import com.papasmurfie.utility.StaleWhileRevalidateCache;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.StreamingOutput;
 import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
 
+import java.time.Duration;
 import java.util.List;
 
 /**
@@ -34,14 +44,27 @@ import java.util.List;
 public class CompetitionResource {
 
     private final CompetitionsService competitionsService;
+    private final CompetitionDashboardService competitionDashboardService;
+    private final StaleWhileRevalidateCache staleWhileRevalidateCache;
+    private final Duration maxStaleness;
 
     /**
      * Constructor used for injecting dependencies.
      *
      * @param competitionsService the service that handles business logic for competitions, injected by the DI container
+     * @param competitionDashboardService the service that assembles the dashboard of a competition, injected by the DI container
+     * @param staleWhileRevalidateCache the cache serving the last known good response when the database is slow, injected by the DI container
+     * @param maxStaleness the maximum age of a competition list which may still be served when the database is slow
      */
-    public CompetitionResource(CompetitionsService competitionsService) {
+    public CompetitionResource(CompetitionsService competitionsService,
+                               CompetitionDashboardService competitionDashboardService,
+                               StaleWhileRevalidateCache staleWhileRevalidateCache,
+                               @ConfigProperty(name = "pnu.fallback.max-staleness.competitions", defaultValue = "PT10M")
+                               Duration maxStaleness) {
         this.competitionsService = competitionsService;
+        this.competitionDashboardService = competitionDashboardService;
+        this.staleWhileRevalidateCache = staleWhileRevalidateCache;
+        this.maxStaleness = maxStaleness;
     }
 
 
@@ -86,7 +109,11 @@ public class CompetitionResource {
 
     /**
      * Retrieves all competitions.
+     * <p>
+     * If the database does not answer within the latency budget, the last known good list is returned with the
+     * {@code X-Data-Staleness} header.
      *
+     * @param fields the comma separated fields of {@link CompetitionDTO} to return (optional, all fields by default)
      * @return a list of all {@link CompetitionDTO} objects
      */
     @Operation(
@@ -94,14 +121,57 @@ public class CompetitionResource {
             description = "This endpoint retrieves all competitions available in the system."
     )
     @GET
-    public List<CompetitionDTO> getAll() {
-        return competitionsService.getAll();
+    @SparseFields
+    public List<CompetitionDTO> getAll(@QueryParam(SparseFieldset.QUERY_PARAM) String fields) {
+        SparseFieldset<CompetitionDTO> fieldset = SparseFieldset.parse(CompetitionDTO.class, fields);
+        return staleWhileRevalidateCache.get(
+                RequestCoalescer.key("competition:getAll", fieldset.key()),
+                maxStaleness,
+                () -> competitionsService.getAll(fieldset));
+    }
+
+    /**
+     * Retrieves the competitions with the given names and dates in a single request.
+     *
+     * @param competitions the names and dates of the competitions
+     * @return the found {@link CompetitionDTO}s keyed by name and date, and the names and dates matching no competition
+     */
+    @Operation(
+            summary = "Get competitions by a list of names and dates",
+            description = "This endpoint retrieves the competitions of all the given names and dates at once, and lists the ones matching no competition."
+    )
+    @POST
+    @Path("/batch")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    public BatchLookupDTO<CompetitionDTO, CompetitionDTO> getByNamesAndDates(List<CompetitionDTO> competitions) {
+        return competitionsService.getByNamesAndDates(competitions);
+    }
+
+    /**
+     * Streams all competitions.
+     * <p>
+     * Unlike {@link #getAll(String)}, the competitions are written one at a time while they are read from the database,
+     * so the whole list is never held in memory. An empty array is returned when nothing matches.
+     *
+     * @return a JSON array of all competitions
+     */
+    @Operation(
+            summary = "Stream all competitions",
+            description = "This endpoint streams all competitions as a JSON array, reading them from the database in chunks."
+    )
+    @GET
+    @Path("/stream")
+    @Produces(MediaType.APPLICATION_JSON)
+    public StreamingOutput streamAll(){
+        return competitionsService.streamAll();
     }
 
     /**
      * Retrieves competitions by their name.
      *
      * @param name the name of the competition to search for
+     * @param fields the comma separated fields of {@link CompetitionDTO} to return (optional, all fields by default)
      * @return a list of {@link CompetitionDTO} objects matching the given name
      */
     @Operation(
@@ -110,14 +180,17 @@ public class CompetitionResource {
     )
     @GET
     @Path("/getByName")
-    public List<CompetitionDTO> getByName(@QueryParam("name") String name) {
-        return competitionsService.getCompetitionsByName(name);
+    @SparseFields
+    public List<CompetitionDTO> getByName(@QueryParam("name") String name,
+                                          @QueryParam(SparseFieldset.QUERY_PARAM) String fields) {
+        return competitionsService.getCompetitionsByName(name, SparseFieldset.parse(CompetitionDTO.class, fields));
     }
 
     /**
      * Retrieves competitions by their date.
      *
      * @param date the date of the competition to search for (in String format)
+     * @param fields the comma separated fields of {@link CompetitionDTO} to return (optional, all fields by default)
      * @return a list of {@link CompetitionDTO} objects matching the given date
      */
     @Operation(
@@ -126,8 +199,10 @@ public class CompetitionResource {
     )
     @GET
     @Path("/getByDate")
-    public List<CompetitionDTO> getByDate(@QueryParam("date") String date) {
-        return competitionsService.getCompetitionsByDate(date);
+    @SparseFields
+    public List<CompetitionDTO> getByDate(@QueryParam("date") String date,
+                                          @QueryParam(SparseFieldset.QUERY_PARAM) String fields) {
+        return competitionsService.getCompetitionsByDate(date, SparseFieldset.parse(CompetitionDTO.class, fields));
     }
 
     /**
@@ -135,6 +210,7 @@ public class CompetitionResource {
      *
      * @param dateBegin the start date of the range (in String format)
      * @param dateEnd the end date of the range (in String format)
+     * @param fields the comma separated fields of {@link CompetitionDTO} to return (optional, all fields by default)
      * @return a list of {@link CompetitionDTO} objects occurring between the specified dates
      */
     @Operation(
@@ -143,8 +219,35 @@ public class CompetitionResource {
     )
     @GET
     @Path("/getBetweenTwoDates")
-    public List<CompetitionDTO> getBetweenTwoDates(@QueryParam("dateBegin") String dateBegin, @QueryParam("dateEnd") String dateEnd) {
-        return competitionsService.getCompetitionsBetweenDates(dateBegin, dateEnd);
+    @SparseFields
+    public List<CompetitionDTO> getBetweenTwoDates(@QueryParam("dateBegin") String dateBegin,
+                                                   @QueryParam("dateEnd") String dateEnd,
+                                                   @QueryParam(SparseFieldset.QUERY_PARAM) String fields) {
+        return competitionsService.getCompetitionsBetweenDates(dateBegin, dateEnd,
+                SparseFieldset.parse(CompetitionDTO.class, fields));
+    }
+
+    /**
+     * Retrieves the dashboard of a competition: the competition, its events, participations, standings per event
+     * and nationality counts, loaded concurrently.
+     *
+     * @param id the id of the competition
+     * @return the {@link CompetitionDashboardDTO}, listing the parts which could not be loaded in time
+     */
+    @Operation(
+            summary = "Get the dashboard of a competition",
+            description = "This endpoint retrieves the competition, its events, participations, standings per event and " +
+                    "nationality counts in one response. Parts which take too long are left out and listed as unavailable."
+    )
+    @APIResponses(value = {
+            @APIResponse(responseCode = "200", description = "Dashboard assembled, possibly without some parts"),
+            @APIResponse(responseCode = "409", description = "Competition not found")
+    })
+    @GET
+    @Path("/{id}/dashboard")
+    @Produces(MediaType.APPLICATION_JSON)
+    public CompetitionDashboardDTO getDashboard(@PathParam("id") Long id) {
+        return competitionDashboardService.getDashboard(id);
     }
 
     /**
@@ -1,11 +1,16 @@
 package com.papasmurfie.resources;
 
+import com.papasmurfie.dto.BatchLookupDTO;
 import com.papasmurfie.dto.CompetitorDTO;
 import com.papasmurfie.dto.EditCompetitorDTO;
 import com.papasmurfie.services.CompetitorsService;
+import com.papasmurfie.utility.MediaTypes;
+import com.papasmurfie.utility.SparseFields;
+import com.papasmurfie.utility.SparseFieldset;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.StreamingOutput;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 
 import java.util.List;
@@ -60,6 +65,7 @@ public class CompetitorResource {
     /**
      * Retrieves all competitors.
      *
+     * @param fields the comma separated fields of {@link CompetitorDTO} to return (optional, all fields by default)
      * @return a list of all {@link CompetitorDTO} objects
      */
     @Operation(
@@ -67,8 +73,47 @@ public class CompetitorResource {
             description = "This endpoint retrieves a list of all competitors currently in the system."
     )
     @GET
-    public List<CompetitorDTO> list(){
-        return competitorsService.getAll();
+    @SparseFields
+    @Produces({MediaType.APPLICATION_JSON, MediaTypes.CBOR, MediaTypes.SMILE, MediaTypes.PROTOBUF})
+    public List<CompetitorDTO> list(@QueryParam(SparseFieldset.QUERY_PARAM) String fields){
+        return competitorsService.getAll(SparseFieldset.parse(CompetitorDTO.class, fields));
+    }
+
+    /**
+     * Retrieves the competitors with the given phones in a single request.
+     *
+     * @param phones the phones of the competitors
+     * @return the found {@link CompetitorDTO}s keyed by phone, and the phones which belong to no competitor
+     */
+    @Operation(
+            summary = "Get competitors by a list of phones",
+            description = "This endpoint retrieves the competitors of all the given phones at once, and lists the phones which belong to no competitor."
+    )
+    @POST
+    @Path("/batch")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    public BatchLookupDTO<String, CompetitorDTO> getByPhones(List<String> phones) {
+        return competitorsService.getByPhones(phones);
+    }
+
+    /**
+     * Streams all competitors.
+     * <p>
+     * Unlike {@link #list(String)}, the competitors are written one at a time while they are read from the database,
+     * so the whole list is never held in memory. An empty array is returned when nothing matches.
+     *
+     * @return a JSON array of all competitors
+     */
+    @Operation(
+            summary = "Stream all competitors",
+            description = "This endpoint streams all competitors as a JSON array, reading them from the database in chunks."
+    )
+    @GET
+    @Path("/stream")
+    @Produces(MediaType.APPLICATION_JSON)
+    public StreamingOutput streamAll(){
+        return competitorsService.streamAll();
     }
 
     /**
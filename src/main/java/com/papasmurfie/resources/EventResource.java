@@ -1,15 +1,21 @@
 package com.papasmurfie.resources;
 
 
+import com.papasmurfie.dto.BatchLookupDTO;
 import com.papasmurfie.dto.EditEventDTO;
 import com.papasmurfie.dto.EventDTO;
 import com.papasmurfie.services.EventsService;
+import com.papasmurfie.utility.RequestCoalescer;
+import com.papasmurfie.utility.StaleWhileRevalidateCache;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.List;
 
 /**
@@ -23,14 +29,23 @@ import java.util.List;
 public class EventResource {
 
     private final EventsService eventsService;
+    private final StaleWhileRevalidateCache staleWhileRevalidateCache;
+    private final Duration maxStaleness;
 
     /**
      * Constructor used for injecting dependencies.
      *
      * @param eventsService the service that handles business logic for events, injected by the DI container
+     * @param staleWhileRevalidateCache the cache serving the last known good response when the database is slow, injected by the DI container
+     * @param maxStaleness the maximum age of an event list which may still be served when the database is slow
      */
-    public EventResource(EventsService eventsService) {
+    public EventResource(EventsService eventsService,
+                         StaleWhileRevalidateCache staleWhileRevalidateCache,
+                         @ConfigProperty(name = "pnu.fallback.max-staleness.events", defaultValue = "PT30M")
+                         Duration maxStaleness) {
         this.eventsService = eventsService;
+        this.staleWhileRevalidateCache = staleWhileRevalidateCache;
+        this.maxStaleness = maxStaleness;
     }
 
     /**
@@ -51,6 +66,9 @@ public class EventResource {
 
     /**
      * Retrieves all events.
+     * <p>
+     * If the database does not answer within the latency budget, the last known good list is returned with the
+     * {@code X-Data-Staleness} header.
      *
      * @return a list of all event DTOs.
      */
@@ -60,7 +78,44 @@ public class EventResource {
     )
     @GET
     public List<EventDTO> getAll() {
-        return eventsService.getAll();
+        return staleWhileRevalidateCache.get(RequestCoalescer.key("event:getAll"), maxStaleness, eventsService::getAll);
+    }
+
+    /**
+     * Retrieves the events with the given distances in a single request.
+     *
+     * @param distances the distances of the events
+     * @return the found {@link EventDTO}s keyed by distance, and the distances of which there is no event
+     */
+    @Operation(
+            summary = "Get events by a list of distances",
+            description = "This endpoint retrieves the events of all the given distances at once, and lists the distances of which there is no event."
+    )
+    @POST
+    @Path("/batch")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    public BatchLookupDTO<BigDecimal, EventDTO> getByDistances(List<BigDecimal> distances) {
+        return eventsService.getByDistances(distances);
+    }
+
+    /**
+     * Streams all events.
+     * <p>
+     * Unlike {@link #getAll()}, the events are written one at a time while they are read from the database,
+     * so the whole list is never held in memory. An empty array is returned when nothing matches.
+     *
+     * @return a JSON array of all events
+     */
+    @Operation(
+            summary = "Stream all events",
+            description = "This endpoint streams all events as a JSON array, reading them from the database in chunks."
+    )
+    @GET
+    @Path("/stream")
+    @Produces(MediaType.APPLICATION_JSON)
+    public StreamingOutput streamAll(){
+        return eventsService.streamAll();
     }
 
     /**
@@ -0,0 +1,71 @@
+package com.papasmurfie.resources;
+
+import com.papasmurfie.dto.MedalCountDTO;
+import com.papasmurfie.services.MedalTableService;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+
+import java.util.List;
+
+/**
+ * REST resource serving the medal tables of the nationalities.
+ * The tables are counted on the server and cached until the results they are built from change.
+ * <p>
+ * Base path: "/medalTable"
+ */
+@ApplicationScoped
+@Path("/medalTable")
+public class MedalTableResource {
+
+    private final MedalTableService medalTableService;
+
+    /**
+     * Constructor used for injecting dependencies.
+     *
+     * @param medalTableService the service that computes the medal tables, injected by the DI container
+     */
+    public MedalTableResource(MedalTableService medalTableService) {
+        this.medalTableService = medalTableService;
+    }
+
+    /**
+     * Retrieves the medal table of a competition.
+     *
+     * @param competitionName the name of the competition
+     * @param competitionDate the date of the competition, formatted as yyyy-MM-dd
+     * @return a list of MedalCountDTO, most golds first
+     */
+    @Operation(
+            summary = "Retrieve the medal table of a competition",
+            description = "This endpoint counts the golds, silvers, bronzes and participants of every nationality in a competition."
+    )
+    @GET
+    @Path("/getByCompetition")
+    @Produces(MediaType.APPLICATION_JSON)
+    public List<MedalCountDTO> getByCompetition(@QueryParam("competitionName") String competitionName,
+                                                @QueryParam("competitionDate") String competitionDate) {
+        return medalTableService.getByCompetition(competitionName, competitionDate);
+    }
+
+    /**
+     * Retrieves the medal table of a season.
+     *
+     * @param season the calendar year of the season
+     * @return a list of MedalCountDTO, most golds first
+     */
+    @Operation(
+            summary = "Retrieve the medal table of a season",
+            description = "This endpoint counts the golds, silvers, bronzes and participants of every nationality over the competitions of a season."
+    )
+    @GET
+    @Path("/getBySeason")
+    @Produces(MediaType.APPLICATION_JSON)
+    public List<MedalCountDTO> getBySeason(@QueryParam("season") int season) {
+        return medalTableService.getBySeason(season);
+    }
+}
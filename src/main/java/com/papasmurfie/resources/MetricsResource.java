@@ -0,0 +1,44 @@
+package com.papasmurfie.resources;
+
+import com.papasmurfie.dto.CoalescingStatsDTO;
+import com.papasmurfie.utility.RequestCoalescer;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+
+/**
+ * RESTful resource class that exposes runtime metrics of the application's read path.
+ * <p>
+ * Base path: "/api/v1/metrics"
+ */
+@ApplicationScoped
+@Path("api/v1/metrics")
+public class MetricsResource {
+
+    private final RequestCoalescer requestCoalescer;
+
+    /**
+     * Constructor used for injecting dependencies.
+     *
+     * @param requestCoalescer the coalescing layer whose counters are exposed, injected by the DI container
+     */
+    public MetricsResource(RequestCoalescer requestCoalescer) {
+        this.requestCoalescer = requestCoalescer;
+    }
+
+    /**
+     * Retrieves the request coalescing counters.
+     *
+     * @return the {@link CoalescingStatsDTO} with the number of received, executed and coalesced requests
+     */
+    @Operation(
+            summary = "Get request coalescing metrics",
+            description = "This endpoint retrieves how many identical concurrent read requests shared a single database execution."
+    )
+    @GET
+    @Path("/coalescing")
+    public CoalescingStatsDTO getCoalescingStats() {
+        return requestCoalescer.getStats();
+    }
+}
@@ -2,19 +2,36 @@ package com.papasmurfie.resources;
 
 import com.papasmurfie.dto.EditParticipationDTO;
 import com.papasmurfie.dto.ParticipationDTO;
+import com.papasmurfie.dto.ParticipationPageDTO;
+import com.papasmurfie.dto.ParticipationSearchDTO;
 import com.papasmurfie.services.ParticipationsService;
+import com.papasmurfie.services.SeasonRankingsService;
+import com.papasmurfie.utility.MediaTypes;
+import com.papasmurfie.utility.RequestCoalescer;
+import com.papasmurfie.utility.SparseFields;
+import com.papasmurfie.utility.SparseFieldset;
+import com.papasmurfie.utility.StaleWhileRevalidateCache;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.List;
 
 /**
  * REST resource for managing participation-related operations.
  * This class provides CRUD operations for Participation entities
  * and allows querying participations based on various criteria.
+ * Identical concurrent read requests are coalesced through {@link RequestCoalescer},
+ * so that they share a single database execution.
+ * The lists of participations are returned in the compact, dictionary-encoded shape when the client
+ * asks for {@value MediaTypes#COMPACT_JSON}, and in the binary formats {@value MediaTypes#CBOR},
+ * {@value MediaTypes#SMILE} or {@value MediaTypes#PROTOBUF} when the client asks for them.
+ * Every write asks for the precomputed season rankings to be refreshed once it has committed.
  * <p>
  * Base path: "/nationality"
  */
@@ -23,21 +40,44 @@ import java.util.List;
 public class ParticipationResource {
 
     private final ParticipationsService participationsService;
+    private final SeasonRankingsService seasonRankingsService;
+    private final RequestCoalescer requestCoalescer;
+    private final StaleWhileRevalidateCache staleWhileRevalidateCache;
+    private final Duration competitionMaxStaleness;
+    private final Duration distanceMaxStaleness;
 
 
     /**
      * Constructor used for injecting dependencies.
      *
      * @param participationsService the service that handles business logic for participations, injected by the DI container
+     * @param seasonRankingsService the service whose precomputed rankings are refreshed after each write, injected by the DI container
+     * @param requestCoalescer the layer which lets identical concurrent reads share one database execution, injected by the DI container
+     * @param staleWhileRevalidateCache the cache serving the last known good response when the database is slow, injected by the DI container
+     * @param competitionMaxStaleness the maximum age of the participations of a competition which may still be served when the database is slow
+     * @param distanceMaxStaleness the maximum age of the participations of an event (the leaderboard) which may still be served when the database is slow
      */
-    public ParticipationResource(ParticipationsService participationsService) {
+    public ParticipationResource(ParticipationsService participationsService,
+                                 SeasonRankingsService seasonRankingsService,
+                                 RequestCoalescer requestCoalescer,
+                                 StaleWhileRevalidateCache staleWhileRevalidateCache,
+                                 @ConfigProperty(name = "pnu.fallback.max-staleness.participations-by-competition", defaultValue = "PT2M")
+                                 Duration competitionMaxStaleness,
+                                 @ConfigProperty(name = "pnu.fallback.max-staleness.participations-by-distance", defaultValue = "PT2M")
+                                 Duration distanceMaxStaleness) {
         this.participationsService = participationsService;
+        this.seasonRankingsService = seasonRankingsService;
+        this.requestCoalescer = requestCoalescer;
+        this.staleWhileRevalidateCache = staleWhileRevalidateCache;
+        this.competitionMaxStaleness = competitionMaxStaleness;
+        this.distanceMaxStaleness = distanceMaxStaleness;
     }
 
 
     /**
      * Retrieves all participations.
      *
+     * @param fields the comma separated fields of ParticipationDTO to return (optional, all fields by default)
      * @return a list of ParticipationDTO representing all participations
      */
     @Operation(
@@ -45,8 +85,32 @@ public class ParticipationResource {
             description = "This endpoint retrieves a list of all participations available in the system."
     )
     @GET
-    public List<ParticipationDTO> getAll(){
-        return participationsService.findAll();
+    @SparseFields
+    @Produces({MediaType.APPLICATION_JSON, MediaTypes.COMPACT_JSON, MediaTypes.CBOR, MediaTypes.SMILE, MediaTypes.PROTOBUF})
+    public List<ParticipationDTO> getAll(@QueryParam(SparseFieldset.QUERY_PARAM)String fields){
+        SparseFieldset<ParticipationDTO> fieldset = SparseFieldset.parse(ParticipationDTO.class, fields);
+        return requestCoalescer.execute(
+                RequestCoalescer.key("participation:getAll", fieldset.key()),
+                () -> participationsService.findAll(fieldset));
+    }
+
+    /**
+     * Streams all participations.
+     * <p>
+     * Unlike {@link #getAll(String)}, the participations are written one at a time while they are read from the database,
+     * so the whole list is never held in memory. An empty array is returned when nothing matches.
+     *
+     * @return a JSON array of all participations
+     */
+    @Operation(
+            summary = "Stream all participations",
+            description = "This endpoint streams all participations as a JSON array, reading them from the database in chunks."
+    )
+    @GET
+    @Path("/stream")
+    @Produces(MediaType.APPLICATION_JSON)
+    public StreamingOutput streamAll(){
+        return participationsService.streamAll();
     }
 
     /**
@@ -55,75 +119,154 @@ public class ParticipationResource {
      * @param firstName the first name of the competitor (optional)
      * @param middleName the middle name of the competitor (optional)
      * @param lastName the last name of the competitor (optional)
+     * @param fields the comma separated fields of ParticipationDTO to return (optional, all fields by default)
      * @return a list of ParticipationDTO representing participations of the given competitor(s)
      */
     @GET
     @Consumes(MediaType.APPLICATION_JSON)
     @Path("/getByNames")
+    @SparseFields
+    @Produces({MediaType.APPLICATION_JSON, MediaTypes.COMPACT_JSON, MediaTypes.CBOR, MediaTypes.SMILE, MediaTypes.PROTOBUF})
     @Operation(
             summary = "Retrieve participations by competitor's name",
             description = "This endpoint retrieves participations based on the competitor's full name."
     )
     public List<ParticipationDTO> getByNames(@QueryParam("firstName")String firstName,
                                              @QueryParam("middleName")String middleName,
-                                             @QueryParam("lastName")String lastName){
-        return participationsService.findByNames(firstName, middleName, lastName);
+                                             @QueryParam("lastName")String lastName,
+                                             @QueryParam(SparseFieldset.QUERY_PARAM)String fields){
+        SparseFieldset<ParticipationDTO> fieldset = SparseFieldset.parse(ParticipationDTO.class, fields);
+        return requestCoalescer.execute(
+                RequestCoalescer.key("participation:getByNames", firstName, middleName, lastName, fieldset.key()),
+                () -> participationsService.findByNames(firstName, middleName, lastName, fieldset));
     }
 
     /**
      * Retrieves participations by competition details.
+     * <p>
+     * If the database does not answer within the latency budget, the last known good list is returned with the
+     * {@code X-Data-Staleness} header.
      *
      * @param competitionName the name of the competition (optional)
      * @param competitionDate the date of the competition (optional)
+     * @param fields the comma separated fields of ParticipationDTO to return (optional, all fields by default)
      * @return a list of ParticipationDTO representing participations in the specified competition
      */
     @GET
     @Path("/getByCompetition")
+    @SparseFields
+    @Produces({MediaType.APPLICATION_JSON, MediaTypes.COMPACT_JSON, MediaTypes.CBOR, MediaTypes.SMILE, MediaTypes.PROTOBUF})
     @Operation(
             summary = "Retrieve participations by competition",
             description = "This endpoint retrieves participations in a specific competition based on competition name and date."
     )
     public List<ParticipationDTO> getByCompetition(@QueryParam("competitionName")String competitionName,
+                                             @QueryParam("competitionDate")String competitionDate,
+                                             @QueryParam(SparseFieldset.QUERY_PARAM)String fields){
+        SparseFieldset<ParticipationDTO> fieldset = SparseFieldset.parse(ParticipationDTO.class, fields);
+        RequestCoalescer.Key key = RequestCoalescer.key("participation:getByCompetition", competitionName, competitionDate, fieldset.key());
+        return staleWhileRevalidateCache.get(key, competitionMaxStaleness, () -> requestCoalescer.execute(
+                key,
+                () -> participationsService.findByCompetition(competitionName, competitionDate, fieldset)));
+    }
+
+    /**
+     * Streams the participations in a competition.
+     * <p>
+     * Unlike {@link #getByCompetition(String, String, String)}, the participations are written one at a time while they are
+     * read from the database, so the whole list is never held in memory. An empty array is returned when nothing matches.
+     *
+     * @param competitionName the name of the competition
+     * @param competitionDate the date of the competition
+     * @return a JSON array of the participations in a competition
+     */
+    @Operation(
+            summary = "Stream the participations in a competition",
+            description = "This endpoint streams the participations in a competition as a JSON array, reading them from the database in chunks."
+    )
+    @GET
+    @Path("/getByCompetition/stream")
+    @Produces(MediaType.APPLICATION_JSON)
+    public StreamingOutput streamByCompetition(@QueryParam("competitionName")String competitionName,
                                              @QueryParam("competitionDate")String competitionDate){
-        return participationsService.findByCompetition(competitionName, competitionDate);
+        return participationsService.streamByCompetition(competitionName, competitionDate);
     }
 
     /**
      * Retrieves participations by event distance.
+     * <p>
+     * If the database does not answer within the latency budget, the last known good list is returned with the
+     * {@code X-Data-Staleness} header.
      *
      * @param distance the event distance to filter participations by
+     * @param fields the comma separated fields of ParticipationDTO to return (optional, all fields by default)
      * @return a list of ParticipationDTO representing participations in events with the specified distance
      */
     @GET
     @Path("/getByDistance")
+    @SparseFields
+    @Produces({MediaType.APPLICATION_JSON, MediaTypes.COMPACT_JSON, MediaTypes.CBOR, MediaTypes.SMILE, MediaTypes.PROTOBUF})
     @Operation(
             summary = "Retrieve participations by event distance",
             description = "This endpoint retrieves participations that match a given event distance."
     )
-    public List<ParticipationDTO> getByDistance(@QueryParam("eventDistance")BigDecimal distance){
-        return participationsService.findByDistance(distance);
+    public List<ParticipationDTO> getByDistance(@QueryParam("eventDistance")BigDecimal distance,
+                                                @QueryParam(SparseFieldset.QUERY_PARAM)String fields){
+        SparseFieldset<ParticipationDTO> fieldset = SparseFieldset.parse(ParticipationDTO.class, fields);
+        RequestCoalescer.Key key = RequestCoalescer.key("participation:getByDistance", distance, fieldset.key());
+        return staleWhileRevalidateCache.get(key, distanceMaxStaleness, () -> requestCoalescer.execute(
+                key,
+                () -> participationsService.findByDistance(distance, fieldset)));
+    }
+
+    /**
+     * Streams the participations in an event.
+     * <p>
+     * Unlike {@link #getByDistance(BigDecimal, String)}, the participations are written one at a time while they are
+     * read from the database, so the whole list is never held in memory. An empty array is returned when nothing matches.
+     *
+     * @param distance the event distance to filter participations by
+     * @return a JSON array of the participations in an event
+     */
+    @Operation(
+            summary = "Stream the participations in an event",
+            description = "This endpoint streams the participations in an event as a JSON array, reading them from the database in chunks."
+    )
+    @GET
+    @Path("/getByDistance/stream")
+    @Produces(MediaType.APPLICATION_JSON)
+    public StreamingOutput streamByDistance(@QueryParam("eventDistance")BigDecimal distance){
+        return participationsService.streamByDistance(distance);
     }
 
     /**
      * Retrieves participations by time finished.
      *
      * @param timeFinished the time finished to filter participations by
+     * @param fields the comma separated fields of ParticipationDTO to return (optional, all fields by default)
      * @return a list of ParticipationDTO representing participations with the specified time
      */
     @GET
     @Path("/getByTime")
+    @SparseFields
+    @Produces({MediaType.APPLICATION_JSON, MediaTypes.COMPACT_JSON, MediaTypes.CBOR, MediaTypes.SMILE, MediaTypes.PROTOBUF})
     @Operation(
             summary = "Retrieve participations by time finished",
             description = "This endpoint retrieves participations that match a specific time finished."
     )
-    public List<ParticipationDTO> getByTime(@QueryParam("timeFinished")float timeFinished){
-        return participationsService.findByTime(timeFinished);
+    public List<ParticipationDTO> getByTime(@QueryParam("timeFinished")float timeFinished,
+                                            @QueryParam(SparseFieldset.QUERY_PARAM)String fields){
+        SparseFieldset<ParticipationDTO> fieldset = SparseFieldset.parse(ParticipationDTO.class, fields);
+        return requestCoalescer.execute(
+                RequestCoalescer.key("participation:getByTime", timeFinished, fieldset.key()),
+                () -> participationsService.findByTime(timeFinished, fieldset));
     }
 
     /**
      * Retrieves participations by placement (rank).
      *
      * @param place the placement (rank) to filter participations by
+     * @param fields the comma separated fields of ParticipationDTO to return (optional, all fields by default)
      * @return a list of ParticipationDTO representing participations with the specified placement
      */
     @Operation(
@@ -132,8 +275,69 @@ public class ParticipationResource {
     )
     @GET
     @Path("/getByPlace")
-    public List<ParticipationDTO> getByPlace(@QueryParam("placement")String place){
-        return participationsService.findByPlacement(place);
+    @SparseFields
+    @Produces({MediaType.APPLICATION_JSON, MediaTypes.COMPACT_JSON, MediaTypes.CBOR, MediaTypes.SMILE, MediaTypes.PROTOBUF})
+    public List<ParticipationDTO> getByPlace(@QueryParam("placement")String place,
+                                             @QueryParam(SparseFieldset.QUERY_PARAM)String fields){
+        SparseFieldset<ParticipationDTO> fieldset = SparseFieldset.parse(ParticipationDTO.class, fields);
+        return requestCoalescer.execute(
+                RequestCoalescer.key("participation:getByPlace", place, fieldset.key()),
+                () -> participationsService.findByPlacement(place, fieldset));
+    }
+
+    /**
+     * Searches participations by any combination of competitor, nationality, competition, date range, distance,
+     * time range, finished flag and placement, one page at a time.
+     * <p>
+     * All the given criteria must match, and they are answered by a single query. The next page is requested by
+     * sending the returned {@code nextCursor} as {@code after}, with the same criteria and order.
+     *
+     * @param firstName a part of the first name of the competitor (optional)
+     * @param middleName a part of the middle name of the competitor (optional)
+     * @param lastName a part of the last name of the competitor (optional)
+     * @param nationality the name of one of the nationalities of the competitor (optional)
+     * @param competitionName a part of the name of the competition (optional)
+     * @param dateFrom the earliest competition date, formatted as yyyy-MM-dd (optional)
+     * @param dateTo the latest competition date, formatted as yyyy-MM-dd (optional)
+     * @param distance the distance of the event (optional)
+     * @param minSeconds the shortest time in seconds (optional)
+     * @param maxSeconds the longest time in seconds (optional)
+     * @param finished whether the competitor finished or not (optional)
+     * @param place the placement of the competitor (optional)
+     * @param maxRank the worst rank among the finishers of the event in the competition, e.g. 3 for the podiums (optional)
+     * @param sort the field to order by: id, seconds, competitionDate or distance (optional, id by default)
+     * @param direction the direction of the order: asc or desc (optional, asc by default)
+     * @param limit the maximum number of participations of the page (optional, 50 by default)
+     * @param after the cursor of the page to return (optional, the first page by default)
+     * @return a page of the matching participations, with the cursor of the next page
+     */
+    @Operation(
+            summary = "Search participations",
+            description = "This endpoint retrieves the participations matching all the given criteria, one page at a time."
+    )
+    @GET
+    @Path("/search")
+    @Produces(MediaType.APPLICATION_JSON)
+    public ParticipationPageDTO search(@QueryParam("firstName")String firstName,
+                                       @QueryParam("middleName")String middleName,
+                                       @QueryParam("lastName")String lastName,
+                                       @QueryParam("nationality")String nationality,
+                                       @QueryParam("competitionName")String competitionName,
+                                       @QueryParam("dateFrom")String dateFrom,
+                                       @QueryParam("dateTo")String dateTo,
+                                       @QueryParam("eventDistance")BigDecimal distance,
+                                       @QueryParam("minSeconds")Float minSeconds,
+                                       @QueryParam("maxSeconds")Float maxSeconds,
+                                       @QueryParam("finished")Boolean finished,
+                                       @QueryParam("placement")String place,
+                                       @QueryParam("maxRank")Integer maxRank,
+                                       @QueryParam("sort")String sort,
+                                       @QueryParam("direction")String direction,
+                                       @QueryParam("limit") @DefaultValue("50") int limit,
+                                       @QueryParam("after")String after){
+        return participationsService.search(new ParticipationSearchDTO(
+                firstName, middleName, lastName, nationality, competitionName, dateFrom, dateTo, distance,
+                minSeconds, maxSeconds, finished, place, maxRank, sort, direction, limit, after));
     }
 
     /**
@@ -149,7 +353,9 @@ public class ParticipationResource {
     @POST
     @Consumes(MediaType.APPLICATION_JSON)
     public ParticipationDTO create(ParticipationDTO participationDTO){
-        return participationsService.save(participationDTO);
+        ParticipationDTO created = participationsService.save(participationDTO);
+        seasonRankingsService.requestRefresh();
+        return created;
     }
 
     /**
@@ -165,7 +371,9 @@ public class ParticipationResource {
     @PUT
     @Consumes(MediaType.APPLICATION_JSON)
     public ParticipationDTO update(EditParticipationDTO editParticipationDTO){
-        return participationsService.update(editParticipationDTO);
+        ParticipationDTO updated = participationsService.update(editParticipationDTO);
+        seasonRankingsService.requestRefresh();
+        return updated;
     }
 
     /**
@@ -181,7 +389,9 @@ public class ParticipationResource {
     @DELETE
     @Consumes(MediaType.APPLICATION_JSON)
     public ParticipationDTO delete(ParticipationDTO participationDTO){
-        return participationsService.delete(participationDTO);
+        ParticipationDTO deleted = participationsService.delete(participationDTO);
+        seasonRankingsService.requestRefresh();
+        return deleted;
     }
 
 }
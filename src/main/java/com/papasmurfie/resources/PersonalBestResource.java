@@ -0,0 +1,75 @@
+package com.papasmurfie.resources;
+
+import com.papasmurfie.dto.PersonalBestDTO;
+import com.papasmurfie.services.PersonalBestsService;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * REST resource serving the personal bests of the competitors.
+ * The personal bests are read from the table maintained alongside the participations, without aggregating the results.
+ * <p>
+ * Base path: "/personalBest"
+ */
+@ApplicationScoped
+@Path("/personalBest")
+public class PersonalBestResource {
+
+    private static final int MAX_LIMIT = 500;
+
+    private final PersonalBestsService personalBestsService;
+
+    /**
+     * Constructor used for injecting dependencies.
+     *
+     * @param personalBestsService the service that handles business logic for personal bests, injected by the DI container
+     */
+    public PersonalBestResource(PersonalBestsService personalBestsService) {
+        this.personalBestsService = personalBestsService;
+    }
+
+    /**
+     * Retrieves the personal bests of a competitor, one per event.
+     *
+     * @param mobilePhone the mobile phone of the competitor
+     * @return a list of PersonalBestDTO, ordered by distance
+     */
+    @Operation(
+            summary = "Retrieve the personal bests of a competitor",
+            description = "This endpoint retrieves the best finished time of a competitor in every event they ran."
+    )
+    @GET
+    @Path("/getByCompetitor")
+    @Produces(MediaType.APPLICATION_JSON)
+    public List<PersonalBestDTO> getByCompetitor(@QueryParam("mobilePhone") String mobilePhone) {
+        return personalBestsService.findByCompetitor(mobilePhone);
+    }
+
+    /**
+     * Retrieves the fastest personal bests of an event, one per competitor.
+     *
+     * @param distance the distance of the event
+     * @param limit the maximum number of personal bests (at most 500)
+     * @return a list of PersonalBestDTO, fastest first
+     */
+    @Operation(
+            summary = "Retrieve the top personal bests of an event",
+            description = "This endpoint retrieves the fastest personal bests of an event, one per competitor."
+    )
+    @GET
+    @Path("/getByDistance")
+    @Produces(MediaType.APPLICATION_JSON)
+    public List<PersonalBestDTO> getByDistance(@QueryParam("eventDistance") BigDecimal distance,
+                                               @QueryParam("limit") @DefaultValue("10") int limit) {
+        return personalBestsService.findTopByEvent(distance, Math.min(limit, MAX_LIMIT));
+    }
+}
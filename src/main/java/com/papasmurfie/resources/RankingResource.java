@@ -0,0 +1,94 @@
+package com.papasmurfie.resources;
+
+import com.papasmurfie.dto.PlacePredictionDTO;
+import com.papasmurfie.dto.SeasonRankingDTO;
+import com.papasmurfie.services.PlacePredictionService;
+import com.papasmurfie.services.SeasonRankingsService;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * REST resource serving the season rankings of the events, and the place a given time would have taken.
+ * The rankings are read from a periodically refreshed materialized view, so they may lag behind the latest results;
+ * the predicted places are read from in-memory sorted times kept up to date on every committed write.
+ * <p>
+ * Base path: "/ranking"
+ */
+@ApplicationScoped
+@Path("/ranking")
+public class RankingResource {
+
+    private static final int MAX_LIMIT = 500;
+
+    private final SeasonRankingsService seasonRankingsService;
+    private final PlacePredictionService placePredictionService;
+
+    /**
+     * Constructor used for injecting dependencies.
+     *
+     * @param seasonRankingsService the service that computes the season rankings, injected by the DI container
+     * @param placePredictionService the service that predicts the place of a time, injected by the DI container
+     */
+    public RankingResource(SeasonRankingsService seasonRankingsService,
+                           PlacePredictionService placePredictionService) {
+        this.seasonRankingsService = seasonRankingsService;
+        this.placePredictionService = placePredictionService;
+    }
+
+    /**
+     * Retrieves the ranking of an event in a season, overall or among the competitors of a nationality.
+     *
+     * @param season the calendar year of the season
+     * @param distance the distance of the event
+     * @param nationality the nationality of the competitors (optional, all competitors by default)
+     * @param limit the maximum number of competitors (at most 500)
+     * @return a list of SeasonRankingDTO, best first
+     */
+    @Operation(
+            summary = "Retrieve the season ranking of an event",
+            description = "This endpoint ranks the competitors of an event by their best time of the season, optionally among one nationality."
+    )
+    @GET
+    @Path("/getBySeason")
+    @Produces(MediaType.APPLICATION_JSON)
+    public List<SeasonRankingDTO> getBySeason(@QueryParam("season") int season,
+                                              @QueryParam("eventDistance") BigDecimal distance,
+                                              @QueryParam("nationality") String nationality,
+                                              @QueryParam("limit") @DefaultValue("50") int limit) {
+        return seasonRankingsService.getRanking(season, distance, nationality, Math.min(limit, MAX_LIMIT));
+    }
+
+    /**
+     * Tells the place a time would have taken among the finishers of an event, in a competition or in a season.
+     *
+     * @param distance the distance of the event
+     * @param seconds the time in seconds
+     * @param competitionName the name of the competition (optional)
+     * @param competitionDate the date of the competition, formatted as yyyy-MM-dd (required with a competition)
+     * @param season the calendar year, used when no competition is given
+     * @return a PlacePredictionDTO with the place, the number of finishers and the percentile beaten
+     */
+    @Operation(
+            summary = "Predict the place of a time",
+            description = "This endpoint tells the place a finishing time would have taken in a competition or across a season."
+    )
+    @GET
+    @Path("/predictPlace")
+    @Produces(MediaType.APPLICATION_JSON)
+    public PlacePredictionDTO predictPlace(@QueryParam("eventDistance") BigDecimal distance,
+                                           @QueryParam("seconds") float seconds,
+                                           @QueryParam("competitionName") String competitionName,
+                                           @QueryParam("competitionDate") String competitionDate,
+                                           @QueryParam("season") Integer season) {
+        return placePredictionService.predict(distance, seconds, competitionName, competitionDate, season);
+    }
+}
@@ -0,0 +1,112 @@
+package com.papasmurfie.resources;
+
+import com.papasmurfie.dto.ParticipationDTO;
+import com.papasmurfie.dto.RecordDTO;
+import com.papasmurfie.services.RecordsService;
+import io.smallrye.mutiny.Multi;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.jboss.resteasy.reactive.RestStreamElementType;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * REST resource serving the all-time, national and meet records of the events.
+ * The current records and the fastest participations of every scope are served from memory; the records broken
+ * from now on can be followed as server-sent events.
+ * <p>
+ * Base path: "/record"
+ */
+@ApplicationScoped
+@Path("/record")
+public class RecordResource {
+
+    private final RecordsService recordsService;
+
+    /**
+     * Constructor used for injecting dependencies.
+     *
+     * @param recordsService the service that handles business logic for records, injected by the DI container
+     */
+    public RecordResource(RecordsService recordsService) {
+        this.recordsService = recordsService;
+    }
+
+    /**
+     * Retrieves the current records of an event.
+     *
+     * @param distance the distance of the event
+     * @return a list of RecordDTO: the all-time record, then the national records, then the meet records
+     */
+    @Operation(
+            summary = "Retrieve the records of an event",
+            description = "This endpoint retrieves the all-time record of an event and its record for every nationality and every meet."
+    )
+    @GET
+    @Path("/getByDistance")
+    @Produces(MediaType.APPLICATION_JSON)
+    public List<RecordDTO> getByDistance(@QueryParam("eventDistance") BigDecimal distance) {
+        return recordsService.findRecords(distance);
+    }
+
+    /**
+     * Retrieves the fastest participations of one scope of an event.
+     *
+     * @param distance the distance of the event
+     * @param scope the kind of record: ALL_TIME, NATIONAL or MEET
+     * @param qualifier the nationality of a NATIONAL scope or the competition of a MEET scope (optional for ALL_TIME)
+     * @return a list of ParticipationDTO, fastest first
+     */
+    @Operation(
+            summary = "Retrieve the top participations of a record scope",
+            description = "This endpoint retrieves the fastest participations of an event overall, for a nationality or for a meet."
+    )
+    @GET
+    @Path("/getTop")
+    @Produces(MediaType.APPLICATION_JSON)
+    public List<ParticipationDTO> getTop(@QueryParam("eventDistance") BigDecimal distance,
+                                         @QueryParam("scope") String scope,
+                                         @QueryParam("qualifier") String qualifier) {
+        return recordsService.findTop(distance, scope, qualifier);
+    }
+
+    /**
+     * Retrieves the records broken in an event.
+     *
+     * @param distance the distance of the event
+     * @return a list of RecordDTO, most recent first
+     */
+    @Operation(
+            summary = "Retrieve the history of the records of an event",
+            description = "This endpoint retrieves every record broken in an event, most recent first."
+    )
+    @GET
+    @Path("/getHistory")
+    @Produces(MediaType.APPLICATION_JSON)
+    public List<RecordDTO> getHistory(@QueryParam("eventDistance") BigDecimal distance) {
+        return recordsService.findHistory(distance);
+    }
+
+    /**
+     * Streams the records broken from now on, as server-sent events.
+     *
+     * @return the broken records, until the client disconnects
+     */
+    @Operation(
+            summary = "Stream broken records",
+            description = "This endpoint streams every record broken from now on as server-sent events."
+    )
+    @GET
+    @Path("/stream")
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    @RestStreamElementType(MediaType.APPLICATION_JSON)
+    public Multi<RecordDTO> stream() {
+        return recordsService.stream();
+    }
+}
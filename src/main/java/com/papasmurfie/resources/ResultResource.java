@@ -3,9 +3,11 @@ package com.papasmurfie.resources;
 import com.papasmurfie.dto.EditResultDTO;
 import com.papasmurfie.dto.ResultDTO;
 import com.papasmurfie.services.ResultsService;
+import com.papasmurfie.utility.MediaTypes;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.StreamingOutput;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 
@@ -42,10 +44,30 @@ public class ResultResource {
             description = "This endpoint retrieves a list of all results available in the system."
     )
     @GET
+    @Produces({MediaType.APPLICATION_JSON, MediaTypes.CBOR, MediaTypes.SMILE, MediaTypes.PROTOBUF})
     public List<ResultDTO> getAll(){
         return resultsService.getAll();
     }
 
+    /**
+     * Streams all results.
+     * <p>
+     * Unlike {@link #getAll()}, the results are written one at a time while they are read from the database,
+     * so the whole list is never held in memory. An empty array is returned when nothing matches.
+     *
+     * @return a JSON array of all results
+     */
+    @Operation(
+            summary = "Stream all results",
+            description = "This endpoint streams all results as a JSON array, reading them from the database in chunks."
+    )
+    @GET
+    @Path("/stream")
+    @Produces(MediaType.APPLICATION_JSON)
+    public StreamingOutput streamAll(){
+        return resultsService.streamAll();
+    }
+
     /**
      * Creates a new result.
      *
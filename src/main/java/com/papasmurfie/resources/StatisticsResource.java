@@ -0,0 +1,84 @@
+package com.papasmurfie.resources;
+
+import com.papasmurfie.dto.DistinctCompetitorsDTO;
+import com.papasmurfie.dto.TimeDistributionDTO;
+import com.papasmurfie.services.StatisticsService;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * REST resource serving the approximate statistics of the analytics panel.
+ * The statistics are read from sketches maintained as the results are written, for a competition or a whole season.
+ * <p>
+ * Base path: "/statistics"
+ */
+@ApplicationScoped
+@Path("/statistics")
+public class StatisticsResource {
+
+    private final StatisticsService statisticsService;
+
+    /**
+     * Constructor used for injecting dependencies.
+     *
+     * @param statisticsService the service that reads the statistics, injected by the DI container
+     */
+    public StatisticsResource(StatisticsService statisticsService) {
+        this.statisticsService = statisticsService;
+    }
+
+    /**
+     * Retrieves the distribution of the finishing times of an event, in a competition or in a season.
+     *
+     * @param distance the distance of the event
+     * @param competitionName the name of the competition (optional, the season by default)
+     * @param competitionDate the date of the competition, formatted as yyyy-MM-dd (required with a competition)
+     * @param season the calendar year of the season (required without a competition)
+     * @param bins the number of bins of the histogram (at most 200)
+     * @return the TimeDistributionDTO of the event
+     */
+    @Operation(
+            summary = "Retrieve the distribution of the finishing times of an event",
+            description = "This endpoint returns the approximate median, p90 and p99 times and a histogram of an event, in a competition or a season."
+    )
+    @GET
+    @Path("/getTimeDistribution")
+    @Produces(MediaType.APPLICATION_JSON)
+    public TimeDistributionDTO getTimeDistribution(@QueryParam("eventDistance") BigDecimal distance,
+                                                   @QueryParam("competitionName") String competitionName,
+                                                   @QueryParam("competitionDate") String competitionDate,
+                                                   @QueryParam("season") Integer season,
+                                                   @QueryParam("bins") @DefaultValue("20") int bins) {
+        return statisticsService.getTimeDistribution(distance, competitionName, competitionDate, season, bins);
+    }
+
+    /**
+     * Retrieves the number of distinct competitors of every nationality, in a competition or in a season.
+     *
+     * @param competitionName the name of the competition (optional, the season by default)
+     * @param competitionDate the date of the competition, formatted as yyyy-MM-dd (required with a competition)
+     * @param season the calendar year of the season (required without a competition)
+     * @return a list of DistinctCompetitorsDTO, ordered by nationality
+     */
+    @Operation(
+            summary = "Retrieve the distinct competitors of every nationality",
+            description = "This endpoint returns the approximate number of distinct competitors of every nationality in a competition or a season."
+    )
+    @GET
+    @Path("/getDistinctCompetitors")
+    @Produces(MediaType.APPLICATION_JSON)
+    public List<DistinctCompetitorsDTO> getDistinctCompetitors(@QueryParam("competitionName") String competitionName,
+                                                               @QueryParam("competitionDate") String competitionDate,
+                                                               @QueryParam("season") Integer season) {
+        return statisticsService.getDistinctCompetitors(competitionName, competitionDate, season);
+    }
+}
@@ -0,0 +1,184 @@
+package com.papasmurfie.services;
+
+import com.papasmurfie.dto.AveragePaceDTO;
+import com.papasmurfie.dto.FinishRateDTO;
+import com.papasmurfie.dto.TimeSummaryDTO;
+import com.papasmurfie.entities.EventEntity;
+import com.papasmurfie.indexes.ResultColumns;
+import com.papasmurfie.uow.IUnitOfWork;
+import com.papasmurfie.utility.EntityValidator;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.TypedQuery;
+import jakarta.transaction.Transactional;
+import jakarta.ws.rs.WebApplicationException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service class answering the analytical questions of the results: the average pace of every type of event in
+ * every year, the finish rate of every nationality, and the summary of the finishing times of an event.
+ * <p>
+ * When {@code pnu.analytics.columnar.enabled} is set, the answers are aggregated by parallel scans over the
+ * in-memory {@link ResultColumns}, without touching the database. Otherwise, they are aggregated by the database
+ * from the participation view.
+ * </p>
+ * <p>
+ * It is marked as {@link ApplicationScoped} to allow for CDI (Contexts and Dependency Injection) in the application.
+ */
+@ApplicationScoped
+public class AnalyticsService {
+
+    private final IUnitOfWork unitOfWork;
+    private final ResultColumns resultColumns;
+
+    /**
+     * Constructs an {@link AnalyticsService}.
+     *
+     * @param unitOfWork The unit of work used to aggregate the participation view when the columns are disabled.
+     * @param resultColumns The columnar snapshot of the participations.
+     */
+    public AnalyticsService(IUnitOfWork unitOfWork, ResultColumns resultColumns) {
+        this.unitOfWork = unitOfWork;
+        this.resultColumns = resultColumns;
+    }
+
+    /**
+     * Retrieves the average pace of the finishers of every type of event in every year.
+     *
+     * @param filter The participations to consider.
+     * @return The average paces, ordered by event type and year.
+     * @throws WebApplicationException if the range of years is not valid.
+     */
+    @Transactional
+    public List<AveragePaceDTO> getAveragePace(ResultColumns.Filter filter) {
+        validate(filter);
+        if (resultColumns.isEnabled()) {
+            return resultColumns.averagePace(filter);
+        }
+
+        List<Object> params = new ArrayList<>();
+        String where = where(filter, params);
+        TypedQuery<Object[]> query = unitOfWork.getParticipationViewRepository().getEntityManager()
+                .createQuery("SELECT v.eventType, EXTRACT(YEAR FROM v.competitionDate), COUNT(v), "
+                        + "AVG(v.seconds * 1000 / v.distance) FROM ParticipationView v "
+                        + "WHERE v.finished = true AND v.distance > 0" + where
+                        + " GROUP BY v.eventType, EXTRACT(YEAR FROM v.competitionDate) "
+                        + "ORDER BY v.eventType, EXTRACT(YEAR FROM v.competitionDate)", Object[].class);
+        bind(query, params);
+        return query.getResultStream()
+                .map(row -> new AveragePaceDTO(
+                        (String) row[0],
+                        ((Number) row[1]).intValue(),
+                        ((Number) row[2]).longValue(),
+                        ((Number) row[3]).doubleValue()))
+                .toList();
+    }
+
+    /**
+     * Retrieves the finish rate of the competitors of every nationality.
+     *
+     * @param filter The participations to consider.
+     * @return The finish rates, ordered by nationality.
+     * @throws WebApplicationException if the range of years is not valid.
+     */
+    @Transactional
+    public List<FinishRateDTO> getFinishRates(ResultColumns.Filter filter) {
+        validate(filter);
+        if (resultColumns.isEnabled()) {
+            return resultColumns.finishRates(filter);
+        }
+
+        List<Object> params = new ArrayList<>();
+        String where = where(filter, params);
+        TypedQuery<Object[]> query = unitOfWork.getParticipationViewRepository().getEntityManager()
+                .createQuery("SELECT LOWER(n.countryName), COUNT(v), "
+                        + "SUM(CASE WHEN v.finished = true THEN 1 ELSE 0 END) "
+                        + "FROM ParticipationView v, Competitors c JOIN c.nationalities n "
+                        + "WHERE c.id = v.competitorId" + where
+                        + " GROUP BY LOWER(n.countryName) ORDER BY LOWER(n.countryName)", Object[].class);
+        bind(query, params);
+        return query.getResultStream()
+                .map(row -> {
+                    long participations = ((Number) row[1]).longValue();
+                    long finishers = ((Number) row[2]).longValue();
+                    return new FinishRateDTO((String) row[0], participations, finishers,
+                            (double) finishers / participations);
+                })
+                .toList();
+    }
+
+    /**
+     * Retrieves the number of finishers of an event, their fastest and average times, and how many finished under a
+     * given time.
+     *
+     * @param distance  The distance of the event.
+     * @param threshold The time in seconds under which the finishers are counted.
+     * @return The summary of the finishing times of the event.
+     * @throws WebApplicationException if the event is not found.
+     */
+    @Transactional
+    public TimeSummaryDTO getTimeSummary(BigDecimal distance, float threshold) {
+        EventEntity event = unitOfWork.getEventsRepository()
+                .find("distance = ?1", distance)
+                .firstResult();
+
+        EntityValidator.throwNotFoundException(event, "No events of this distance");
+
+        if (resultColumns.isEnabled()) {
+            return resultColumns.timeSummary(event.id, threshold);
+        }
+
+        Object[] row = unitOfWork.getParticipationViewRepository().getEntityManager()
+                .createQuery("SELECT COUNT(v), MIN(v.seconds), AVG(v.seconds), "
+                        + "SUM(CASE WHEN v.seconds < ?2 THEN 1 ELSE 0 END) FROM ParticipationView v "
+                        + "WHERE v.finished = true AND v.eventId = ?1", Object[].class)
+                .setParameter(1, event.id)
+                .setParameter(2, threshold)
+                .getSingleResult();
+        long finishers = ((Number) row[0]).longValue();
+        return finishers == 0
+                ? new TimeSummaryDTO(0, null, null, 0)
+                : new TimeSummaryDTO(finishers, ((Number) row[1]).floatValue(), ((Number) row[2]).doubleValue(),
+                        ((Number) row[3]).longValue());
+    }
+
+    /**
+     * Builds the conditions of a filter on the participation view, each starting with {@code AND}.
+     */
+    private static String where(ResultColumns.Filter filter, List<Object> params) {
+        StringBuilder where = new StringBuilder();
+        if (filter.eventType() != null) {
+            params.add(filter.eventType().toLowerCase());
+            where.append(" AND LOWER(v.eventType) = ?").append(params.size());
+        }
+        if (filter.fromYear() != null) {
+            params.add(LocalDate.of(filter.fromYear(), 1, 1));
+            where.append(" AND v.competitionDate >= ?").append(params.size());
+        }
+        if (filter.toYear() != null) {
+            params.add(LocalDate.of(filter.toYear(), 12, 31));
+            where.append(" AND v.competitionDate <= ?").append(params.size());
+        }
+        if (filter.nationality() != null) {
+            params.add(ParticipationViewService.nationalityPattern(filter.nationality()));
+            where.append(" AND v.nationalities LIKE ?").append(params.size())
+                    .append(" ESCAPE '").append(ParticipationViewService.LIKE_ESCAPE).append("'");
+        }
+        return where.toString();
+    }
+
+    private static void bind(TypedQuery<Object[]> query, List<Object> params) {
+        for (int i = 0; i < params.size(); i++) {
+            query.setParameter(i + 1, params.get(i));
+        }
+    }
+
+    private static void validate(ResultColumns.Filter filter) {
+        if (filter.fromYear() != null && filter.toYear() != null && filter.fromYear() > filter.toYear()) {
+            throw EntityValidator.badRequest("The first year must not be after the last year.");
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.papasmurfie.services;
+
+import com.papasmurfie.dto.CompetitionDTO;
+import com.papasmurfie.dto.CompetitionDashboardDTO;
+import com.papasmurfie.dto.EventDTO;
+import com.papasmurfie.dto.ParticipationDTO;
+import com.papasmurfie.uow.IUnitOfWork;
+import com.papasmurfie.utility.BackgroundExecutor;
+import com.papasmurfie.utility.EntityValidator;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.ws.rs.WebApplicationException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Service class assembling the dashboard of a competition.
+ * <p>
+ * Once the competition is found, the events, participations, standings and nationality counts are loaded
+ * concurrently, each one on its own {@link BackgroundExecutor} thread, in its own transaction and therefore on its
+ * own database connection. Each part is given {@code pnu.dashboard.part-timeout} to complete; a part which fails
+ * or takes longer is left out of the dashboard and reported as unavailable, instead of failing or delaying the whole
+ * response. A part which timed out keeps running in the background until its query returns.
+ * </p>
+ * <p>
+ * It is marked as {@link ApplicationScoped} to allow for CDI (Contexts and Dependency Injection) in the application.
+ */
+@ApplicationScoped
+public class CompetitionDashboardService {
+
+    private final IUnitOfWork unitOfWork;
+    private final BackgroundExecutor backgroundExecutor;
+    private final Duration partTimeout;
+
+    /**
+     * Constructs a {@link CompetitionDashboardService}.
+     *
+     * @param unitOfWork The unit of work used to interact with the repositories.
+     * @param backgroundExecutor The executor loading the parts of the dashboard concurrently.
+     * @param partTimeout How long each part of the dashboard may take before it is reported as unavailable.
+     */
+    public CompetitionDashboardService(IUnitOfWork unitOfWork,
+                                       BackgroundExecutor backgroundExecutor,
+                                       @ConfigProperty(name = "pnu.dashboard.part-timeout", defaultValue = "PT2S")
+                                       Duration partTimeout) {
+        this.unitOfWork = unitOfWork;
+        this.backgroundExecutor = backgroundExecutor;
+        this.partTimeout = partTimeout;
+    }
+
+    /**
+     * Assembles the dashboard of a competition.
+     *
+     * @param competitionId The id of the competition.
+     * @return The dashboard, listing the parts which could not be loaded in time.
+     * @throws WebApplicationException if the competition is not found.
+     */
+    public CompetitionDashboardDTO getDashboard(Long competitionId) {
+        List<CompetitionDTO> competition = QuarkusTransaction.requiringNew().call(() ->
+                unitOfWork.getCompetitionsRepository().findDTOs("c.id = ?1", competitionId));
+        EntityValidator.validateNotEmpty(competition, "Competition not found.");
+
+        CompletableFuture<List<EventDTO>> events = part(() -> unitOfWork.getEventsRepository()
+                .findDTOs("e.id IN (SELECT p.event.id FROM Participations p WHERE p.competition.id = ?1)", competitionId));
+        CompletableFuture<List<ParticipationDTO>> participations = part(() -> unitOfWork.getParticipationsRepository()
+                .findDTOs("co.id = ?1", "p.id", competitionId));
+        CompletableFuture<List<CompetitionDashboardDTO.Standings>> standings = part(() -> standings(
+                unitOfWork.getParticipationsRepository()
+                        .findDTOs("co.id = ?1", "e.distance, r.finished DESC, r.seconds, p.id", competitionId)));
+        CompletableFuture<Map<String, Long>> nationalities = part(() -> unitOfWork.getParticipationsRepository()
+                .countNationalitiesByCompetition(competitionId));
+
+        CompletableFuture.allOf(events, participations, standings, nationalities)
+                .exceptionally(failure -> null)
+                .join();
+
+        List<String> unavailable = new ArrayList<>();
+        return new CompetitionDashboardDTO(
+                competition.getFirst(),
+                result("events", events, unavailable),
+                result("participations", participations, unavailable),
+                result("standings", standings, unavailable),
+                result("nationalities", nationalities, unavailable),
+                unavailable);
+    }
+
+    /**
+     * Starts loading a part of the dashboard in its own transaction, failing it once the part timeout elapses.
+     */
+    private <T> CompletableFuture<T> part(Supplier<T> query) {
+        return CompletableFuture
+                .supplyAsync(() -> QuarkusTransaction.requiringNew().call(query::get), backgroundExecutor::execute)
+                .orTimeout(partTimeout.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the result of a completed part, or {@code null} after adding its name to the unavailable parts.
+     */
+    private static <T> T result(String name, CompletableFuture<T> part, List<String> unavailable) {
+        try {
+            return part.join();
+        } catch (CompletionException e) {
+            unavailable.add(name);
+            return null;
+        }
+    }
+
+    /**
+     * Groups participations ordered by event into the standings of each event, keeping their order.
+     */
+    private static List<CompetitionDashboardDTO.Standings> standings(List<ParticipationDTO> participations) {
+        Map<EventDTO, List<ParticipationDTO>> byEvent = new LinkedHashMap<>();
+        for (ParticipationDTO participation : participations) {
+            byEvent.computeIfAbsent(new EventDTO(participation.distance(), participation.eventType()),
+                    event -> new ArrayList<>()).add(participation);
+        }
+
+        return byEvent.entrySet().stream()
+                .map(entry -> new CompetitionDashboardDTO.Standings(
+                        entry.getKey().distance(),
+                        entry.getKey().eventType(),
+                        entry.getValue()))
+                .toList();
+    }
+}
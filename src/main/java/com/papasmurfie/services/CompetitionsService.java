@@ -1,21 +1,30 @@
 package com.papasmurfie.services;
 
+import com.papasmurfie.dto.BatchLookupDTO;
 import com.papasmurfie.dto.CompetitionDTO;
 import com.papasmurfie.dto.EditCompetitionDTO;
 import com.papasmurfie.entities.CompetitionEntity;
+import com.papasmurfie.indexes.AutocompleteIndex;
 import com.papasmurfie.uow.IUnitOfWork;
+import com.papasmurfie.utility.BatchLookup;
 import com.papasmurfie.utility.EntityValidator;
 import com.papasmurfie.utility.ErrorResponse;
+import com.papasmurfie.utility.JsonArrayStreamer;
+import com.papasmurfie.utility.SparseFieldset;
+import com.papasmurfie.utility.TransactionCallbacks;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.transaction.Transactional;
 import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service class responsible for handling the business logic of competitions, such as saving, deleting, updating,
@@ -28,14 +37,34 @@ import java.util.Map;
 public class CompetitionsService {
 
     private final IUnitOfWork unitOfWork;
+    private final AutocompleteIndex autocompleteIndex;
+    private final JsonArrayStreamer jsonArrayStreamer;
+    private final BatchLookup batchLookup;
+    private final ParticipationViewService participationViewService;
+    private final TransactionCallbacks transactionCallbacks;
 
     /**
      * Constructs a {@link CompetitionsService} with the provided unit of work.
      *
      * @param unitOfWork The unit of work used to interact with repositories.
+     * @param autocompleteIndex The in-memory type-ahead index kept in sync with every write.
+     * @param jsonArrayStreamer The writer of streamed responses.
+     * @param batchLookup The resolver of lists of natural keys.
+     * @param participationViewService The service copying updated competitions to the participation read model.
+     * @param transactionCallbacks The runner of the index updates once a write has committed.
      */
-    public CompetitionsService(IUnitOfWork unitOfWork) {
+    public CompetitionsService(IUnitOfWork unitOfWork,
+                               AutocompleteIndex autocompleteIndex,
+                               JsonArrayStreamer jsonArrayStreamer,
+                               BatchLookup batchLookup,
+                               ParticipationViewService participationViewService,
+                               TransactionCallbacks transactionCallbacks) {
         this.unitOfWork = unitOfWork;
+        this.autocompleteIndex = autocompleteIndex;
+        this.jsonArrayStreamer = jsonArrayStreamer;
+        this.batchLookup = batchLookup;
+        this.participationViewService = participationViewService;
+        this.transactionCallbacks = transactionCallbacks;
     }
 
     /**
@@ -61,6 +90,7 @@ public class CompetitionsService {
 
         CompetitionEntity c = mapToEntity(competitionDTO);
         unitOfWork.getCompetitionsRepository().persist(c);
+        transactionCallbacks.afterCommit(() -> autocompleteIndex.putCompetition(c));
 
         return Response.status(Response.Status.CREATED)
                 .entity(mapToDTO(c))
@@ -90,6 +120,8 @@ public class CompetitionsService {
         );
 
         unitOfWork.getCompetitionsRepository().delete(c);
+        Long competitionId = c.id;
+        transactionCallbacks.afterCommit(() -> autocompleteIndex.removeCompetition(competitionId));
 
         return mapToDTO(c);
     }
@@ -99,36 +131,67 @@ public class CompetitionsService {
      * <p>
      * Throws an exception if no competitions are found.
      *
+     * @param fields The requested fields of the competitions.
      * @return A list of {@link CompetitionDTO} representing all competitions.
      * @throws WebApplicationException If no competitions are found.
      */
     @Transactional
-    public List<CompetitionDTO> getAll() {
+    public List<CompetitionDTO> getAll(SparseFieldset<CompetitionDTO> fields) {
 
         List<CompetitionDTO> competitions = unitOfWork.getCompetitionsRepository()
-                .findAll().stream().map(this::mapToDTO).toList();
+                .findDTOs(fields, null);
 
         EntityValidator.throwNotFoundException(competitions);
 
         return competitions;
     }
 
+    /**
+     * Retrieves the competitions with the given names and dates.
+     * <p>
+     * Each chunk of keys is resolved by a single query selecting the competitions with any of the requested names
+     * on any of the requested dates; the exact (name, date) pairs are then matched in memory.
+     *
+     * @param competitions The names and dates of the competitions.
+     * @return The found competitions keyed by name and date, and the names and dates matching no competition.
+     * @throws WebApplicationException If no competitions or too many competitions are requested.
+     */
+    @Transactional
+    public BatchLookupDTO<CompetitionDTO, CompetitionDTO> getByNamesAndDates(List<CompetitionDTO> competitions) {
+        return batchLookup.lookup(competitions,
+                chunk -> unitOfWork.getCompetitionsRepository().findDTOs(
+                        "c.competitionName IN ?1 AND c.competitionDate IN ?2",
+                        chunk.stream().map(CompetitionDTO::competitionName).collect(Collectors.toSet()),
+                        chunk.stream().map(CompetitionDTO::competitionDate).collect(Collectors.toSet())),
+                Function.identity(),
+                Function.identity());
+    }
+
+    /**
+     * Streams all competitions as a JSON array, reading them from a database cursor.
+     *
+     * @return The response body writing all competitions.
+     */
+    public StreamingOutput streamAll() {
+        return jsonArrayStreamer.stream(unitOfWork.getCompetitionsRepository()::streamDTOs);
+    }
+
     /**
      * Retrieves competitions by their name from the repository.
      * <p>
      * Throws an exception if no competitions with the provided name are found.
      *
      * @param name The competition name to search for.
+     * @param fields The requested fields of the competitions.
      * @return A list of {@link CompetitionDTO} matching the provided name.
      * @throws WebApplicationException If no competitions with the given name are found.
      */
     @Transactional
-    public List<CompetitionDTO> getCompetitionsByName(String name) {
+    public List<CompetitionDTO> getCompetitionsByName(String name, SparseFieldset<CompetitionDTO> fields) {
         name = "%" + name.toLowerCase() + "%";
 
         List<CompetitionDTO> competitions = unitOfWork.getCompetitionsRepository()
-                .find("LOWER(competitionName) LIKE ?1", name)
-                .stream().map(this::mapToDTO).toList();
+                .findDTOs(fields, "LOWER(c.competitionName) LIKE ?1", name);
 
         EntityValidator.throwNotFoundException(competitions);
 
@@ -141,11 +204,12 @@ public class CompetitionsService {
      * Throws an exception if no competitions with the provided date are found or if the date format is invalid.
      *
      * @param dateString The date of the competition in {@code yyyy-MM-dd} format.
+     * @param fields The requested fields of the competitions.
      * @return A list of {@link CompetitionDTO} matching the provided date.
      * @throws WebApplicationException If no competitions with the given date are found or if the date format is invalid.
      */
     @Transactional
-    public List<CompetitionDTO> getCompetitionsByDate(String dateString) {
+    public List<CompetitionDTO> getCompetitionsByDate(String dateString, SparseFieldset<CompetitionDTO> fields) {
         LocalDate date;
 
         try {
@@ -164,8 +228,7 @@ public class CompetitionsService {
         }
 
         List<CompetitionDTO> competitions = unitOfWork.getCompetitionsRepository()
-                .find("competitionDate", date)
-                .stream().map(this::mapToDTO).toList();
+                .findDTOs(fields, "c.competitionDate = ?1", date);
 
         EntityValidator.throwNotFoundException(competitions);
 
@@ -179,11 +242,13 @@ public class CompetitionsService {
      *
      * @param dateBeginString The start date of the range in {@code yyyy-MM-dd} format.
      * @param dateEndString   The end date of the range in {@code yyyy-MM-dd} format.
+     * @param fields          The requested fields of the competitions.
      * @return A list of {@link CompetitionDTO} matching the date range.
      * @throws WebApplicationException If no competitions in the date range are found or if the date format is invalid.
      */
     @Transactional
-    public List<CompetitionDTO> getCompetitionsBetweenDates(String dateBeginString, String dateEndString) {
+    public List<CompetitionDTO> getCompetitionsBetweenDates(String dateBeginString, String dateEndString,
+                                                            SparseFieldset<CompetitionDTO> fields) {
         LocalDate dateBegin;
         LocalDate dateEnd;
 
@@ -204,8 +269,7 @@ public class CompetitionsService {
         }
 
         List<CompetitionDTO> competitions = unitOfWork.getCompetitionsRepository()
-                .find("competitionDate BETWEEN ?1 AND ?2", dateBegin, dateEnd)
-                .stream().map(this::mapToDTO).toList();
+                .findDTOs(fields, "c.competitionDate BETWEEN ?1 AND ?2", dateBegin, dateEnd);
 
         EntityValidator.throwNotFoundException(competitions);
 
@@ -232,6 +296,8 @@ public class CompetitionsService {
 
         competitionEntity.setCompetitionName(editCompetitionDTO.newCompetitionName());
         competitionEntity.setCompetitionDate(editCompetitionDTO.newCompetitionDate());
+        transactionCallbacks.afterCommit(() -> autocompleteIndex.putCompetition(competitionEntity));
+        participationViewService.competitionUpdated(competitionEntity);
 
         return new CompetitionDTO(
           editCompetitionDTO.newCompetitionName(),
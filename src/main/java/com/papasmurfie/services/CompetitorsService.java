@@ -1,20 +1,29 @@
 package com.papasmurfie.services;
 
+import com.papasmurfie.dto.BatchLookupDTO;
 import com.papasmurfie.dto.CompetitorDTO;
 import com.papasmurfie.dto.EditCompetitorDTO;
 import com.papasmurfie.entities.CompetitorEntity;
 import com.papasmurfie.entities.NationalityEntity;
+import com.papasmurfie.indexes.AutocompleteIndex;
+import com.papasmurfie.indexes.CompetitorNameIndex;
+import com.papasmurfie.indexes.NationalityRegistry;
 import com.papasmurfie.uow.IUnitOfWork;
+import com.papasmurfie.utility.BatchLookup;
 import com.papasmurfie.utility.EntityValidator;
 import com.papasmurfie.utility.ErrorResponse;
+import com.papasmurfie.utility.JsonArrayStreamer;
+import com.papasmurfie.utility.SparseFieldset;
+import com.papasmurfie.utility.TransactionCallbacks;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.transaction.Transactional;
 import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 /**
  * Service class responsible for handling the business logic of competitors, such as saving, deleting, updating,
@@ -27,31 +36,81 @@ import java.util.stream.Collectors;
 public class CompetitorsService {
 
     private final IUnitOfWork unitOfWork;
+    private final CompetitorNameIndex competitorNameIndex;
+    private final AutocompleteIndex autocompleteIndex;
+    private final NationalityRegistry nationalityRegistry;
+    private final JsonArrayStreamer jsonArrayStreamer;
+    private final BatchLookup batchLookup;
+    private final ParticipationViewService participationViewService;
+    private final TransactionCallbacks transactionCallbacks;
 
     /**
      * Constructs a {@link CompetitorsService} with the provided unit of work.
      *
      * @param unitOfWork The unit of work used to interact with repositories.
+     * @param competitorNameIndex The in-memory name index kept in sync with every write.
+     * @param autocompleteIndex The in-memory type-ahead index kept in sync with every write.
+     * @param nationalityRegistry The in-memory copy of the nationalities used to resolve nationalities by name.
+     * @param jsonArrayStreamer The writer of streamed responses.
+     * @param batchLookup The resolver of lists of natural keys.
+     * @param participationViewService The service copying updated competitors to the participation read model.
+     * @param transactionCallbacks The runner of the index updates once a write has committed.
      */
-    public CompetitorsService(IUnitOfWork unitOfWork) {
+    public CompetitorsService(IUnitOfWork unitOfWork,
+                              CompetitorNameIndex competitorNameIndex,
+                              AutocompleteIndex autocompleteIndex,
+                              NationalityRegistry nationalityRegistry,
+                              JsonArrayStreamer jsonArrayStreamer,
+                              BatchLookup batchLookup,
+                              ParticipationViewService participationViewService,
+                              TransactionCallbacks transactionCallbacks) {
         this.unitOfWork = unitOfWork;
+        this.competitorNameIndex = competitorNameIndex;
+        this.autocompleteIndex = autocompleteIndex;
+        this.nationalityRegistry = nationalityRegistry;
+        this.jsonArrayStreamer = jsonArrayStreamer;
+        this.batchLookup = batchLookup;
+        this.participationViewService = participationViewService;
+        this.transactionCallbacks = transactionCallbacks;
     }
 
 
     /**
      * Retrieves all competitors from the repository.
      * <p>
-     * Converts {@link CompetitorEntity} to {@link CompetitorDTO} before returning the list.
+     * The competitors are selected straight into {@link CompetitorDTO}s, without hydrating any
+     * {@link CompetitorEntity}. Only the columns backing the requested fields are selected.
      *
+     * @param fields The requested fields of the competitors.
      * @return A list of {@link CompetitorDTO} representing all competitors.
      */
     @Transactional
-    public List<CompetitorDTO> getAll() {
-        return unitOfWork.getCompetitorsRepository()
-                .findAll()
-                .stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+    public List<CompetitorDTO> getAll(SparseFieldset<CompetitorDTO> fields) {
+        return unitOfWork.getCompetitorsRepository().listAllDTOs(fields);
+    }
+
+    /**
+     * Retrieves the competitors with the given phones.
+     *
+     * @param phones The phones of the competitors.
+     * @return The found competitors keyed by phone, and the phones which belong to no competitor.
+     * @throws WebApplicationException If no phones or too many phones are requested.
+     */
+    @Transactional
+    public BatchLookupDTO<String, CompetitorDTO> getByPhones(List<String> phones) {
+        return batchLookup.lookup(phones,
+                unitOfWork.getCompetitorsRepository()::findDTOsByPhones,
+                CompetitorDTO::mobilePhone,
+                Function.identity());
+    }
+
+    /**
+     * Streams all competitors as a JSON array, reading them from a database cursor.
+     *
+     * @return The response body writing all competitors.
+     */
+    public StreamingOutput streamAll() {
+        return jsonArrayStreamer.stream(unitOfWork.getCompetitorsRepository()::streamDTOs);
     }
 
     /**
@@ -82,15 +141,14 @@ public class CompetitorsService {
                 "Competitor with email '" + competitor.getEmail() + "' already exists"
         );
         for(String nationality : competitorDTO.nationalities()) {
-            NationalityEntity entity = (NationalityEntity) EntityValidator.validateExists(
-                    unitOfWork.getNationalitiesRepository(),
-                    "countryName",
-                    nationality,
-                    "No such nationality: '" + nationality + "'"
-                    );
+            resolveNationality(nationality);
         }
 
         unitOfWork.getCompetitorsRepository().persist(competitor);
+        transactionCallbacks.afterCommit(() -> {
+            competitorNameIndex.put(competitor);
+            autocompleteIndex.putCompetitor(competitor);
+        });
         return competitorDTO;
     }
 
@@ -113,6 +171,11 @@ public class CompetitorsService {
         );
 
         unitOfWork.getCompetitorsRepository().delete(competitor);
+        Long competitorId = competitor.id;
+        transactionCallbacks.afterCommit(() -> {
+            competitorNameIndex.remove(competitorId);
+            autocompleteIndex.removeCompetitor(competitorId);
+        });
         return mapToDto(competitor);
     }
 
@@ -156,13 +219,7 @@ public class CompetitorsService {
 
         List<NationalityEntity> nats = new ArrayList<>();
         for(String nationality : competitorDTO.newNationalities()) {
-            NationalityEntity entity = (NationalityEntity) EntityValidator.validateExists(
-                    unitOfWork.getNationalitiesRepository(),
-                    "countryName",
-                    nationality,
-                    "No such nationality: '" + nationality + "'"
-            );
-            nats.add(entity);
+            nats.add(resolveNationality(nationality));
         }
 
         competitor.setCompetitorFirstName(competitorDTO.newFirstName());
@@ -171,8 +228,14 @@ public class CompetitorsService {
         competitor.setPhone(competitorDTO.newMobilePhone());
         competitor.setEmail(competitorDTO.newEmail());
         competitor.setNationalities(nats);
+        transactionCallbacks.afterCommit(() -> {
+            competitorNameIndex.put(competitor);
+            autocompleteIndex.putCompetitor(competitor);
+        });
 
-        return mapToDto(competitor);
+        CompetitorDTO updated = mapToDto(competitor);
+        participationViewService.competitorUpdated(competitor, updated.nationalities());
+        return updated;
     }
 
     // Mappers
@@ -188,7 +251,9 @@ public class CompetitorsService {
         List<String>nats = new ArrayList<>();
 
         for (NationalityEntity nationalityEntity : nationalities) {
-            nats.add(nationalityEntity.getCountryName());
+            nats.add(nationalityRegistry.findById(nationalityEntity.id)
+                    .map(NationalityRegistry.Nationality::countryName)
+                    .orElseGet(nationalityEntity::getCountryName));
 
         }
 
@@ -218,16 +283,49 @@ public class CompetitorsService {
 
         List<NationalityEntity> nationalities = new ArrayList<>();
         for (String countryName : competitorDTO.nationalities()) {
-            NationalityEntity nationality = unitOfWork.getNationalitiesRepository()
-                    .find("countryName", countryName)
-                    .firstResult();
-            if(nationality != null) {
-                nationalities.add(nationality);
-            }
+            nationalityRegistry.findByName(countryName)
+                    .map(this::referenceTo)
+                    .ifPresent(nationalities::add);
         }
 
         competitor.setNationalities(nationalities);
         return competitor;
 
     }
+
+    /**
+     * Resolves a nationality by its country name through the {@link NationalityRegistry}, without querying the
+     * database.
+     *
+     * @param countryName The country name of the nationality.
+     * @return A reference to the {@link NationalityEntity}, suitable for associating it with a competitor.
+     * @throws WebApplicationException If no such nationality exists.
+     */
+    private NationalityEntity resolveNationality(String countryName) {
+        return nationalityRegistry.findByName(countryName)
+                .map(this::referenceTo)
+                .orElseThrow(() -> new WebApplicationException(
+                        Response.status(Response.Status.NOT_FOUND)
+                                .entity(new ErrorResponse(
+                                        404,
+                                        "Not found",
+                                        "No such nationality: '" + countryName + "'"
+                                ))
+                                .type("application/json")
+                                .build()
+                ));
+    }
+
+    /**
+     * Returns an uninitialized reference to a nationality, which can be associated with a competitor without
+     * loading the nationality from the database.
+     *
+     * @param nationality The registry entry of the nationality.
+     * @return The reference to the {@link NationalityEntity}.
+     */
+    private NationalityEntity referenceTo(NationalityRegistry.Nationality nationality) {
+        return unitOfWork.getNationalitiesRepository()
+                .getEntityManager()
+                .getReference(NationalityEntity.class, nationality.id());
+    }
 }
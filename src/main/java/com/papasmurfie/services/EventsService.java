@@ -1,15 +1,19 @@
 package com.papasmurfie.services;
 
+import com.papasmurfie.dto.BatchLookupDTO;
 import com.papasmurfie.dto.EditEventDTO;
 import com.papasmurfie.dto.EventDTO;
 import com.papasmurfie.entities.EventEntity;
 import com.papasmurfie.uow.IUnitOfWork;
+import com.papasmurfie.utility.BatchLookup;
 import com.papasmurfie.utility.EntityValidator;
 import com.papasmurfie.utility.ErrorResponse;
+import com.papasmurfie.utility.JsonArrayStreamer;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.transaction.Transactional;
 import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 
 import java.math.BigDecimal;
 import java.util.HashMap;
@@ -27,14 +31,26 @@ import java.util.Map;
 public class EventsService {
 
     private final IUnitOfWork unitOfWork;
+    private final JsonArrayStreamer jsonArrayStreamer;
+    private final BatchLookup batchLookup;
+    private final ParticipationViewService participationViewService;
 
     /**
      * Constructs a {@link EventsService} with the provided unit of work.
      *
      * @param unitOfWork The unit of work used to interact with the repositories.
+     * @param jsonArrayStreamer The writer of streamed responses.
+     * @param batchLookup The resolver of lists of natural keys.
+     * @param participationViewService The service copying updated events to the participation read model.
      */
-    public EventsService(IUnitOfWork unitOfWork) {
+    public EventsService(IUnitOfWork unitOfWork,
+                         JsonArrayStreamer jsonArrayStreamer,
+                         BatchLookup batchLookup,
+                         ParticipationViewService participationViewService) {
         this.unitOfWork = unitOfWork;
+        this.jsonArrayStreamer = jsonArrayStreamer;
+        this.batchLookup = batchLookup;
+        this.participationViewService = participationViewService;
     }
 
     /**
@@ -72,7 +88,7 @@ public class EventsService {
      */
     @Transactional
     public List<EventDTO> getAll(){
-        List<EventDTO> eventEntities = unitOfWork.getEventsRepository().findAll().stream().map(this::maptoDTO).toList();
+        List<EventDTO> eventEntities = unitOfWork.getEventsRepository().findDTOs(null);
         if(eventEntities.isEmpty()) {
             throw new WebApplicationException(
                     Response.status(Response.Status.CONFLICT)
@@ -88,6 +104,32 @@ public class EventsService {
         return eventEntities;
     }
 
+    /**
+     * Retrieves the events with the given distances.
+     * <p>
+     * Distances are matched regardless of their scale, e.g. {@code 100} matches the event of {@code 100.00}.
+     *
+     * @param distances The distances of the events.
+     * @return The found events keyed by distance, and the distances of which there is no event.
+     * @throws WebApplicationException If no distances or too many distances are requested.
+     */
+    @Transactional
+    public BatchLookupDTO<BigDecimal, EventDTO> getByDistances(List<BigDecimal> distances) {
+        return batchLookup.lookup(distances,
+                chunk -> unitOfWork.getEventsRepository().findDTOs("e.distance IN ?1", chunk),
+                EventDTO::distance,
+                BigDecimal::stripTrailingZeros);
+    }
+
+    /**
+     * Streams all events as a JSON array, reading them from a database cursor.
+     *
+     * @return The response body writing all events.
+     */
+    public StreamingOutput streamAll() {
+        return jsonArrayStreamer.stream(unitOfWork.getEventsRepository()::streamDTOs);
+    }
+
     /**
      * Retrieves events by their type.
      *
@@ -96,8 +138,7 @@ public class EventsService {
      */
     @Transactional
     public List<EventDTO> getByEventType(String eventType) {
-        return unitOfWork.getEventsRepository().find("eventType", eventType)
-                .stream().map(this::maptoDTO).toList();
+        return unitOfWork.getEventsRepository().findDTOs("e.eventType = ?1", eventType);
     }
 
     /**
@@ -111,10 +152,7 @@ public class EventsService {
      */
     @Transactional
     public List<EventDTO> getByEventDistance(BigDecimal distance) {
-        List<EventDTO> events = unitOfWork.getEventsRepository().find("distance", distance)
-                .stream()
-                .map(this::maptoDTO)
-                .toList();
+        List<EventDTO> events = unitOfWork.getEventsRepository().findDTOs("e.distance = ?1", distance);
 
         if (events.isEmpty()) {
             throw new WebApplicationException(
@@ -180,6 +218,7 @@ public class EventsService {
 
         eventEntity.setDistance(editEventDTO.newDistance());
         eventEntity.setEventType(editEventDTO.newEventType());
+        participationViewService.eventUpdated(eventEntity);
 
         return maptoDTO(eventEntity);
     }
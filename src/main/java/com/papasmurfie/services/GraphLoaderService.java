@@ -0,0 +1,182 @@
+package com.papasmurfie.services;
+
+import com.papasmurfie.graphql.CompetitionNode;
+import com.papasmurfie.graphql.CompetitorNode;
+import com.papasmurfie.graphql.EventNode;
+import com.papasmurfie.graphql.ParticipationNode;
+import com.papasmurfie.uow.IUnitOfWork;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Transactional;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service class loading the nodes of the GraphQL schema.
+ * <p>
+ * Besides the root queries, it offers batch loaders: each one receives all the parent nodes of one level of a
+ * GraphQL response and loads the children of all of them with a single query, then hands the children back in the
+ * order of the parents. The number of queries of a response is thus bounded by its depth rather than by its size.
+ * </p>
+ * <p>
+ * It is marked as {@link ApplicationScoped} to allow for CDI (Contexts and Dependency Injection) in the application.
+ */
+@ApplicationScoped
+public class GraphLoaderService {
+
+    private final IUnitOfWork unitOfWork;
+
+    /**
+     * Constructs a {@link GraphLoaderService} with the provided unit of work.
+     *
+     * @param unitOfWork The unit of work used to interact with the repositories.
+     */
+    public GraphLoaderService(IUnitOfWork unitOfWork) {
+        this.unitOfWork = unitOfWork;
+    }
+
+    /**
+     * Retrieves the competitions, optionally filtered by name.
+     *
+     * @param name A part of the competition name, case-insensitive, or {@code null} for all competitions.
+     * @return The matching competitions, ordered by id.
+     */
+    @Transactional
+    public List<CompetitionNode> getCompetitions(String name) {
+        if (name == null) {
+            return unitOfWork.getCompetitionsRepository().findNodes(null);
+        }
+        return unitOfWork.getCompetitionsRepository()
+                .findNodes("LOWER(c.competitionName) LIKE ?1", "%" + name.toLowerCase() + "%");
+    }
+
+    /**
+     * Retrieves all events.
+     *
+     * @return All events, ordered by id.
+     */
+    @Transactional
+    public List<EventNode> getEvents() {
+        return unitOfWork.getEventsRepository().listAllNodes();
+    }
+
+    /**
+     * Retrieves all competitors.
+     *
+     * @return All competitors, ordered by id.
+     */
+    @Transactional
+    public List<CompetitorNode> getCompetitors() {
+        return unitOfWork.getCompetitorsRepository().listAllNodes();
+    }
+
+    /**
+     * Loads the events held in each of the given competitions.
+     *
+     * @param competitions The competitions.
+     * @return The events of each competition, in the order of the competitions.
+     */
+    @Transactional
+    public List<List<EventNode>> loadCompetitionEvents(List<CompetitionNode> competitions) {
+        Map<Long, List<EventNode>> events = unitOfWork.getParticipationsRepository()
+                .findEventNodesByCompetition(ids(competitions, CompetitionNode::id));
+
+        return competitions.stream()
+                .map(competition -> events.getOrDefault(competition.id(), List.of()))
+                .toList();
+    }
+
+    /**
+     * Loads the participations in each of the given competitions.
+     *
+     * @param competitions The competitions.
+     * @return The participations in each competition, in the order of the competitions.
+     */
+    @Transactional
+    public List<List<ParticipationNode>> loadCompetitionParticipations(List<CompetitionNode> competitions) {
+        Map<Long, List<ParticipationNode>> participations = unitOfWork.getParticipationsRepository()
+                .findNodesByCompetition(ids(competitions, CompetitionNode::id))
+                .stream()
+                .collect(Collectors.groupingBy(ParticipationNode::competitionId));
+
+        return competitions.stream()
+                .map(competition -> participations.getOrDefault(competition.id(), List.of()))
+                .toList();
+    }
+
+    /**
+     * Loads the competitor of each of the given participations.
+     *
+     * @param participations The participations.
+     * @return The competitor of each participation, in the order of the participations.
+     */
+    @Transactional
+    public List<CompetitorNode> loadParticipationCompetitors(List<ParticipationNode> participations) {
+        Map<Long, CompetitorNode> competitors = byId(
+                unitOfWork.getCompetitorsRepository().findNodesByIds(ids(participations, ParticipationNode::competitorId)),
+                CompetitorNode::id);
+
+        return participations.stream()
+                .map(participation -> competitors.get(participation.competitorId()))
+                .toList();
+    }
+
+    /**
+     * Loads the competition of each of the given participations.
+     *
+     * @param participations The participations.
+     * @return The competition of each participation, in the order of the participations.
+     */
+    @Transactional
+    public List<CompetitionNode> loadParticipationCompetitions(List<ParticipationNode> participations) {
+        Map<Long, CompetitionNode> competitions = byId(
+                unitOfWork.getCompetitionsRepository().findNodesByIds(ids(participations, ParticipationNode::competitionId)),
+                CompetitionNode::id);
+
+        return participations.stream()
+                .map(participation -> competitions.get(participation.competitionId()))
+                .toList();
+    }
+
+    /**
+     * Loads the event of each of the given participations.
+     *
+     * @param participations The participations.
+     * @return The event of each participation, in the order of the participations.
+     */
+    @Transactional
+    public List<EventNode> loadParticipationEvents(List<ParticipationNode> participations) {
+        Map<Long, EventNode> events = byId(
+                unitOfWork.getEventsRepository().findNodesByIds(ids(participations, ParticipationNode::eventId)),
+                EventNode::id);
+
+        return participations.stream()
+                .map(participation -> events.get(participation.eventId()))
+                .toList();
+    }
+
+    /**
+     * Loads the nationality names of each of the given competitors.
+     *
+     * @param competitors The competitors.
+     * @return The nationality names of each competitor, in the order of the competitors.
+     */
+    @Transactional
+    public List<List<String>> loadCompetitorNationalities(List<CompetitorNode> competitors) {
+        Map<Long, List<String>> nationalities = unitOfWork.getCompetitorsRepository()
+                .findNationalityNames(ids(competitors, CompetitorNode::id));
+
+        return competitors.stream()
+                .map(competitor -> nationalities.getOrDefault(competitor.id(), List.of()))
+                .toList();
+    }
+
+    private static <T> Set<Long> ids(List<T> nodes, Function<T, Long> id) {
+        return nodes.stream().map(id).collect(Collectors.toSet());
+    }
+
+    private static <T> Map<Long, T> byId(List<T> nodes, Function<T, Long> id) {
+        return nodes.stream().collect(Collectors.toMap(id, Function.identity()));
+    }
+}
@@ -0,0 +1,151 @@
+package com.papasmurfie.services;
+
+import com.papasmurfie.dto.MedalCountDTO;
+import com.papasmurfie.entities.CompetitionEntity;
+import com.papasmurfie.uow.IUnitOfWork;
+import com.papasmurfie.utility.EntityValidator;
+import com.papasmurfie.utility.ErrorResponse;
+import com.papasmurfie.utility.TransactionCallbacks;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Transactional;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Response;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Service class computing the medal tables of the nationalities, per competition and per season.
+ * <p>
+ * A medal table is counted by a single grouped query on the participation view, whose stored ranks give the medals.
+ * The tables are cached, per competition and per season, until a write changes them:
+ * {@link ParticipationViewService} invalidates the table of a competition whenever it re-ranks one of its events,
+ * and every table when competitors, competitions or nationalities change. Invalidations run after commit and bump a
+ * generation; a table is counted outside of the cache and only kept if no invalidation happened while it was being
+ * counted, so a table read before a commit is never kept. Only the seasons in which competitions are held are cached.
+ * </p>
+ * <p>
+ * It is marked as {@link ApplicationScoped} to allow for CDI (Contexts and Dependency Injection) in the application.
+ */
+@ApplicationScoped
+public class MedalTableService {
+
+    private final IUnitOfWork unitOfWork;
+    private final TransactionCallbacks transactionCallbacks;
+    private final ConcurrentMap<Long, List<MedalCountDTO>> competitionTables = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Integer, List<MedalCountDTO>> seasonTables = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Constructs a {@link MedalTableService}.
+     *
+     * @param unitOfWork The unit of work used to interact with the repositories.
+     * @param transactionCallbacks The callbacks used to invalidate the tables after commit.
+     */
+    public MedalTableService(IUnitOfWork unitOfWork, TransactionCallbacks transactionCallbacks) {
+        this.unitOfWork = unitOfWork;
+        this.transactionCallbacks = transactionCallbacks;
+    }
+
+    /**
+     * Retrieves the medal table of a competition.
+     *
+     * @param competitionName The competition's name.
+     * @param competitionDate The competition's date, formatted as yyyy-MM-dd.
+     * @return The medal counts of the nationalities, most golds first.
+     * @throws WebApplicationException if the date is not valid or the competition is not found.
+     */
+    @Transactional
+    public List<MedalCountDTO> getByCompetition(String competitionName, String competitionDate) {
+        LocalDate date = EntityValidator.parseDate(competitionDate);
+        CompetitionEntity competition = unitOfWork.getCompetitionsRepository()
+                .find("competitionName LIKE ?1 AND competitionDate = ?2", competitionName, date)
+                .firstResult();
+
+        EntityValidator.throwNotFoundException(competition, "Competition not found.");
+
+        return cached(competitionTables, competition.id, () -> unitOfWork.getParticipationViewRepository()
+                .countMedals("v.competitionId = ?1", competition.id));
+    }
+
+    /**
+     * Retrieves the medal table of a season, over all its competitions.
+     *
+     * @param season The calendar year.
+     * @return The medal counts of the nationalities, most golds first.
+     * @throws WebApplicationException if no competition is held in the season.
+     */
+    @Transactional
+    public List<MedalCountDTO> getBySeason(int season) {
+        List<MedalCountDTO> table = seasonTables.get(season);
+        if (table != null) {
+            return table;
+        }
+
+        LocalDate first = LocalDate.of(season, 1, 1);
+        LocalDate last = LocalDate.of(season, 12, 31);
+        if (unitOfWork.getCompetitionsRepository().count("competitionDate BETWEEN ?1 AND ?2", first, last) == 0) {
+            throw new WebApplicationException(
+                    Response.status(Response.Status.CONFLICT)
+                            .entity(new ErrorResponse(
+                                    404,
+                                    "Not Found",
+                                    "No competitions in this season"
+                            ))
+                            .type("application/json")
+                            .build()
+            );
+        }
+
+        return cached(seasonTables, season, () -> unitOfWork.getParticipationViewRepository()
+                .countMedals("v.competitionDate BETWEEN ?1 AND ?2", first, last));
+    }
+
+    /**
+     * Invalidates the table of a competition, and the season tables, once the current transaction commits.
+     *
+     * @param competitionId The id of the competition whose results changed.
+     */
+    public void competitionChanged(Long competitionId) {
+        transactionCallbacks.afterCommit(() -> {
+            generation.incrementAndGet();
+            competitionTables.remove(competitionId);
+            seasonTables.clear();
+        });
+    }
+
+    /**
+     * Invalidates every table once the current transaction commits.
+     */
+    public void allChanged() {
+        transactionCallbacks.afterCommit(() -> {
+            generation.incrementAndGet();
+            competitionTables.clear();
+            seasonTables.clear();
+        });
+    }
+
+    /**
+     * Returns the cached table of a key, or counts it and caches it. The table is removed again if an invalidation
+     * ran while it was being counted, since it may have been read before that invalidation's commit.
+     */
+    private <K> List<MedalCountDTO> cached(ConcurrentMap<K, List<MedalCountDTO>> tables, K key,
+                                           Supplier<List<MedalCountDTO>> count) {
+        List<MedalCountDTO> table = tables.get(key);
+        if (table != null) {
+            return table;
+        }
+
+        long countedAt = generation.get();
+        table = count.get();
+        tables.putIfAbsent(key, table);
+        if (generation.get() != countedAt) {
+            tables.remove(key, table);
+        }
+        return table;
+    }
+}
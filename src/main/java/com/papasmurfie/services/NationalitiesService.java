@@ -4,11 +4,17 @@ package com.papasmurfie.services;
 import com.papasmurfie.dto.EditNationalityDTO;
 import com.papasmurfie.dto.NationalityDTO;
 import com.papasmurfie.entities.NationalityEntity;
+import com.papasmurfie.indexes.NationalityRegistry;
+import com.papasmurfie.indexes.NationalityRegistry.Nationality;
 import com.papasmurfie.uow.IUnitOfWork;
 import com.papasmurfie.utility.EntityValidator;
+import com.papasmurfie.utility.ErrorResponse;
+import com.papasmurfie.utility.TransactionCallbacks;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.transaction.Transactional;
 import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Response;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -17,19 +23,32 @@ import java.util.stream.Collectors;
  * Service class responsible for handling business logic related to nationalities.
  * <p>
  * This service includes functionality to retrieve, add, update, and delete nationalities from the repository.
+ * All lookups are answered by the in-memory {@link NationalityRegistry}, which every write refreshes.
  * It is marked as {@link ApplicationScoped} to allow for CDI (Contexts and Dependency Injection) in the application.
  */
 @ApplicationScoped
 public class NationalitiesService {
     private final IUnitOfWork unitOfWork;
+    private final NationalityRegistry nationalityRegistry;
+    private final ParticipationViewService participationViewService;
+    private final TransactionCallbacks transactionCallbacks;
 
     /**
      * Constructs a {@link NationalitiesService} with the provided unit of work.
      *
      * @param unitOfWork The unit of work to interact with the repository.
+     * @param nationalityRegistry The in-memory copy of the nationalities used for all lookups.
+     * @param participationViewService The service renaming nationalities in the participation read model.
+     * @param transactionCallbacks The runner of the registry updates once a write has committed.
      */
-    public NationalitiesService(IUnitOfWork unitOfWork) {
+    public NationalitiesService(IUnitOfWork unitOfWork,
+                                NationalityRegistry nationalityRegistry,
+                                ParticipationViewService participationViewService,
+                                TransactionCallbacks transactionCallbacks) {
         this.unitOfWork = unitOfWork;
+        this.nationalityRegistry = nationalityRegistry;
+        this.participationViewService = participationViewService;
+        this.transactionCallbacks = transactionCallbacks;
     }
 
     /**
@@ -41,7 +60,7 @@ public class NationalitiesService {
      * @throws NotFoundException If no nationalities are found.
      */
     public List<NationalityDTO> getAll() {
-        List<NationalityDTO> nationalities = unitOfWork.getNationalitiesRepository().findAll()
+        List<NationalityDTO> nationalities = nationalityRegistry.getAll()
                 .stream()
                 .map(this::mapToDto)
                 .collect(Collectors.toList());
@@ -63,21 +82,8 @@ public class NationalitiesService {
      * @throws NotFoundException If no matching nationalities are found.
      */
     public List<NationalityDTO> getNationalitiesByPartialName(String countryName) {
-        countryName = "%" + countryName + "%";
-
-//        List<NationalityDTO> nationalities = unitOfWork.getNationalitiesRepository()
-//                .find("LOWER(countryName) like ?1", countryName)
-//                .stream()
-//                .map(this::mapToDto)
-//                .toList();
-//        if(nationalities.isEmpty()) {
-//            throw new NotFoundException();
-//        }
-
-        List<NationalityEntity> nationalities = (List<NationalityEntity>) EntityValidator.validateExist(
-                unitOfWork.getNationalitiesRepository(),
-                "LOWER(countryName) like ?1",
-                countryName.toLowerCase(),
+        List<Nationality> nationalities = EntityValidator.validateExist(
+                nationalityRegistry.findByPartialName(countryName),
                 "Cannot find entities"
         );
 
@@ -91,17 +97,21 @@ public class NationalitiesService {
      *
      * @param nationalityDto The {@link NationalityDTO} containing the data to save.
      * @return The saved {@link NationalityDTO}.
-     * @throws IllegalArgumentException If a nationality with the same name already exists.
+     * @throws WebApplicationException If a nationality with the same name already exists.
      */
     @Transactional
     public NationalityDTO save(NationalityDTO nationalityDto) {
 
-        EntityValidator.validateUnique(unitOfWork.getNationalitiesRepository(),
-                "countryName", nationalityDto.countryName(),
-                "The country '"+nationalityDto.countryName()+"' already exists.");
+        EntityValidator.validateUnique(
+                unitOfWork.getNationalitiesRepository(),
+                "countryName",
+                nationalityDto.countryName(),
+                "The country '"+nationalityDto.countryName()+"' already exists."
+        );
 
         NationalityEntity nationalityEntity = mapToEntity(nationalityDto);
         unitOfWork.getNationalitiesRepository().persist(nationalityEntity);
+        transactionCallbacks.afterCommit(() -> nationalityRegistry.put(nationalityEntity));
         return nationalityDto;
     }
 
@@ -117,13 +127,20 @@ public class NationalitiesService {
     @Transactional
     public NationalityDTO delete(String countryName) {
 
-        NationalityEntity n = (NationalityEntity) EntityValidator.validateExists(
-                unitOfWork.getNationalitiesRepository(),
-                "countryName",
-                countryName,
-                "The country '"+countryName+"' does not exist and therefore cannot be deleted.");
-
-        unitOfWork.getNationalitiesRepository().delete(n);
+        Nationality n = nationalityRegistry.findByName(countryName)
+                .orElseThrow(() -> new WebApplicationException(
+                        Response.status(Response.Status.NOT_FOUND)
+                                .entity(new ErrorResponse(
+                                        404,
+                                        "Not found",
+                                        "The country '"+countryName+"' does not exist and therefore cannot be deleted."
+                                ))
+                                .type("application/json")
+                                .build()
+                ));
+
+        unitOfWork.getNationalitiesRepository().deleteById(n.id());
+        transactionCallbacks.afterCommit(() -> nationalityRegistry.remove(n.id()));
         return mapToDto(n);
     }
 
@@ -138,19 +155,17 @@ public class NationalitiesService {
      */
     @Transactional
     public NationalityDTO update(EditNationalityDTO editNationalityDto) {
-        NationalityEntity n = unitOfWork.getNationalitiesRepository()
-                .find("countryName", editNationalityDto.currentNationalityName())
-                .firstResult();
-
-        if (n == null) {
-            throw new NotFoundException("Nationality not found: " + editNationalityDto.currentNationalityName());
-        }
+        NationalityEntity n = nationalityRegistry.findByName(editNationalityDto.currentNationalityName())
+                .map(nationality -> unitOfWork.getNationalitiesRepository().findById(nationality.id()))
+                .orElseThrow(() -> new NotFoundException("Nationality not found: " + editNationalityDto.currentNationalityName()));
 
         if(!unitOfWork.getNationalitiesRepository().isPersistent(n)){
             throw new IllegalStateException("Entity is not persistent but should be.");
         }
 
+        participationViewService.nationalityRenamed(n.getCountryName(), editNationalityDto.newNationalityName());
         n.setCountryName(editNationalityDto.newNationalityName());
+        transactionCallbacks.afterCommit(() -> nationalityRegistry.put(n));
         return mapToDto(n);
     }
 
@@ -180,4 +195,16 @@ public class NationalitiesService {
                 n.getCountryName()
         );
     }
+
+    /**
+     * Converts a {@link Nationality} registry entry to a {@link NationalityDTO}.
+     *
+     * @param n The {@link Nationality} to convert.
+     * @return The corresponding {@link NationalityDTO}.
+     */
+    private NationalityDTO mapToDto(Nationality n) {
+        return new NationalityDTO(
+                n.countryName()
+        );
+    }
 }
@@ -0,0 +1,556 @@
+package com.papasmurfie.services;
+
+import com.papasmurfie.entities.*;
+import com.papasmurfie.indexes.FinishTimesIndex;
+import com.papasmurfie.indexes.NationalityRegistry;
+import com.papasmurfie.indexes.ResultColumns;
+import com.papasmurfie.indexes.StatisticsIndex;
+import com.papasmurfie.uow.IUnitOfWork;
+import com.papasmurfie.utility.BackgroundExecutor;
+import com.papasmurfie.utility.TransactionCallbacks;
+import io.quarkus.runtime.Startup;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.spi.ObserverMethod;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Service class maintaining the "participation_view" table, the denormalized read model every participation read is
+ * served from.
+ * <p>
+ * The view is written in the same transaction as the tables it is built from: {@link ParticipationsService}
+ * projects every saved, updated and deleted participation, and the competitor, competition, event, result and
+ * nationality services copy their updates to the rows holding them with a single bulk update. The rank of a
+ * participation depends on the other finishers of its event in its competition, so writing a result re-ranks that
+ * group only. On startup, a view whose row count differs from the participations is rebuilt in a single ordered
+ * pass, and the covering indexes of the reads are created; on PostgreSQL they include every column of a
+ * participation, so the reads are answered from the index alone.
+ * </p>
+ * <p>
+ * The {@link StatisticsIndex}, the {@link FinishTimesIndex} and the optional {@link ResultColumns} are built from the
+ * view once it is in sync, and receive every participation written to the view once the transaction has committed.
+ * The columns are written in the background, in commit order, so a commit never waits for an analytical scan.
+ * </p>
+ * <p>
+ * It is marked as {@link ApplicationScoped} to allow for CDI (Contexts and Dependency Injection) in the application.
+ */
+@Startup(ObserverMethod.DEFAULT_PRIORITY + 1)
+@ApplicationScoped
+public class ParticipationViewService {
+
+    /**
+     * The columns of a participation, included in the covering indexes on PostgreSQL.
+     */
+    private static final String INCLUDED_COLUMNS = " INCLUDE (firstName, middleName, lastName, mobilePhone, "
+            + "competitionName, competitionDate, distance, eventType, seconds, finished, place)";
+
+    /**
+     * The covering indexes of the reads, by name and key columns.
+     */
+    private static final Map<String, String> COVERING_INDEXES = Map.of(
+            "participation_view_competitor_covering", "competitorId, id",
+            "participation_view_competition_covering", "competitionDate, competitionId, id",
+            "participation_view_event_covering", "eventId, id",
+            "participation_view_seconds_covering", "seconds, id");
+
+    /**
+     * The indexes replaced by the covering indexes, which lead with the same columns.
+     */
+    private static final List<String> REPLACED_INDEXES = List.of(
+            "idx_participation_view_competitor",
+            "idx_participation_view_event",
+            "idx_participation_view_seconds");
+
+    private static final int BATCH_SIZE = 500;
+
+    /**
+     * The escape character of the {@code LIKE} patterns matching a value literally.
+     */
+    public static final char LIKE_ESCAPE = '!';
+
+    private final IUnitOfWork unitOfWork;
+    private final NationalityRegistry nationalityRegistry;
+    private final MedalTableService medalTableService;
+    private final StatisticsIndex statisticsIndex;
+    private final FinishTimesIndex finishTimesIndex;
+    private final ResultColumns resultColumns;
+    private final TransactionCallbacks transactionCallbacks;
+    private final BackgroundExecutor backgroundExecutor;
+    private final boolean postgres;
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+    /**
+     * The committed writes not yet applied to the {@link ResultColumns}, oldest first.
+     */
+    private final Queue<Runnable> columnWrites = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean columnWritesScheduled = new AtomicBoolean();
+
+    /**
+     * Constructs a {@link ParticipationViewService}.
+     *
+     * @param unitOfWork The unit of work used to interact with the repositories.
+     * @param nationalityRegistry The in-memory copy of the nationalities, used to name those of a competitor.
+     * @param medalTableService The service whose cached medal tables are invalidated by the writes.
+     * @param statisticsIndex The sketches of the participations, fed with the writes after commit.
+     * @param finishTimesIndex The sorted finishing times of the events, fed with the writes after commit.
+     * @param resultColumns The columnar snapshot of the participations, fed with the writes after commit.
+     * @param transactionCallbacks The callbacks used to update the in-memory indexes after commit.
+     * @param backgroundExecutor The executor writing the columns, and rebuilding the in-memory indexes after a change
+     *                           they cannot follow.
+     * @param dbKind The kind of database; the indexes only include the participation columns on PostgreSQL.
+     */
+    public ParticipationViewService(IUnitOfWork unitOfWork,
+                                    NationalityRegistry nationalityRegistry,
+                                    MedalTableService medalTableService,
+                                    StatisticsIndex statisticsIndex,
+                                    FinishTimesIndex finishTimesIndex,
+                                    ResultColumns resultColumns,
+                                    TransactionCallbacks transactionCallbacks,
+                                    BackgroundExecutor backgroundExecutor,
+                                    @ConfigProperty(name = "quarkus.datasource.db-kind") String dbKind) {
+        this.unitOfWork = unitOfWork;
+        this.nationalityRegistry = nationalityRegistry;
+        this.medalTableService = medalTableService;
+        this.statisticsIndex = statisticsIndex;
+        this.finishTimesIndex = finishTimesIndex;
+        this.resultColumns = resultColumns;
+        this.transactionCallbacks = transactionCallbacks;
+        this.backgroundExecutor = backgroundExecutor;
+        this.postgres = dbKind.equalsIgnoreCase("postgresql");
+    }
+
+    @PostConstruct
+    public void init() {
+        setUp();
+        statisticsIndex.rebuild();
+        finishTimesIndex.rebuild();
+        resultColumns.rebuild();
+    }
+
+    /**
+     * Creates the covering indexes if they do not exist yet, drops the narrower indexes they replace, and rebuilds
+     * the view if it is out of sync with the participations.
+     */
+    @Transactional
+    public void setUp() {
+        EntityManager entityManager = entityManager();
+        REPLACED_INDEXES.forEach(name -> entityManager
+                .createNativeQuery("DROP INDEX IF EXISTS " + name)
+                .executeUpdate());
+        COVERING_INDEXES.forEach((name, columns) -> entityManager
+                .createNativeQuery("CREATE INDEX IF NOT EXISTS " + name + " ON participation_view (" + columns + ")"
+                        + (postgres ? INCLUDED_COLUMNS : ""))
+                .executeUpdate());
+
+        if (unitOfWork.getParticipationViewRepository().count() != unitOfWork.getParticipationsRepository().count()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Replaces every row of the view, reading the participations once, ordered so that the finishers of every
+     * event in every competition come fastest first and can be ranked on the fly.
+     */
+    @Transactional
+    public void rebuild() {
+        EntityManager entityManager = entityManager();
+        unitOfWork.getParticipationViewRepository().deleteAll();
+
+        Map<Long, List<String>> nationalities = new HashMap<>();
+        entityManager.createQuery("SELECT c.id, n.countryName FROM Competitors c JOIN c.nationalities n",
+                        Object[].class)
+                .getResultStream()
+                .forEach(row -> nationalities.computeIfAbsent((Long) row[0], id -> new ArrayList<>())
+                        .add((String) row[1]));
+
+        Ranking ranking = new Ranking();
+        int[] count = {0};
+        entityManager.createQuery("SELECT p.id, c.id, co.id, e.id, r.id, "
+                        + "c.competitorFirstName, c.competitorMiddleName, c.competitorLastName, c.phone, "
+                        + "co.competitionName, co.competitionDate, e.distance, e.eventType, "
+                        + "r.seconds, r.finished, r.place "
+                        + "FROM Participations p JOIN p.competitor c JOIN p.competition co JOIN p.event e "
+                        + "JOIN p.result r "
+                        + "ORDER BY co.id, e.id, r.finished DESC, r.seconds, p.id", Object[].class)
+                .getResultStream()
+                .forEach(row -> {
+                    ParticipationViewEntity view = new ParticipationViewEntity();
+                    view.setId((Long) row[0]);
+                    view.setCompetitorId((Long) row[1]);
+                    view.setCompetitionId((Long) row[2]);
+                    view.setEventId((Long) row[3]);
+                    view.setResultId((Long) row[4]);
+                    view.setFirstName((String) row[5]);
+                    view.setMiddleName((String) row[6]);
+                    view.setLastName((String) row[7]);
+                    view.setMobilePhone((String) row[8]);
+                    view.setNationalities(encode(nationalities.getOrDefault((Long) row[1], List.of())));
+                    view.setCompetitionName((String) row[9]);
+                    view.setCompetitionDate((LocalDate) row[10]);
+                    view.setDistance((BigDecimal) row[11]);
+                    view.setEventType((String) row[12]);
+                    view.setSeconds((Float) row[13]);
+                    view.setFinished((Boolean) row[14]);
+                    view.setPlace((String) row[15]);
+                    view.setRank(ranking.next(view));
+                    unitOfWork.getParticipationViewRepository().persist(view);
+
+                    if (++count[0] % BATCH_SIZE == 0) {
+                        entityManager.flush();
+                        entityManager.clear();
+                    }
+                });
+    }
+
+    /**
+     * Adds a newly saved participation to the view and re-ranks its event in its competition.
+     *
+     * @param participation The saved participation, with its competitor, competition, event and result.
+     */
+    @Transactional
+    public void participationSaved(ParticipationEntity participation) {
+        ParticipationViewEntity view = new ParticipationViewEntity();
+        view.setId(participation.id);
+        copy(participation, view);
+        unitOfWork.getParticipationViewRepository().persist(view);
+        rerank(view.getCompetitionId(), view.getEventId());
+
+        publish(view.getId(), null, view);
+    }
+
+    /**
+     * Copies a participation whose result, and possibly event, was replaced to the view, and re-ranks the events it
+     * left and joined.
+     *
+     * @param participation The updated participation, with its competitor, competition, new event and new result.
+     * @param previousEvent The event of the participation before the update.
+     */
+    @Transactional
+    public void participationUpdated(ParticipationEntity participation, EventEntity previousEvent) {
+        ParticipationViewEntity view = unitOfWork.getParticipationViewRepository().findById(participation.id);
+        if (view == null) {
+            participationSaved(participation);
+            return;
+        }
+
+        StatisticsIndex.Sample previous = sample(view);
+        copy(participation, view);
+        rerank(view.getCompetitionId(), view.getEventId());
+        if (!previousEvent.id.equals(view.getEventId())) {
+            rerank(view.getCompetitionId(), previousEvent.id);
+        }
+        publish(view.getId(), previous, view);
+    }
+
+    /**
+     * Removes a deleted participation from the view and re-ranks its event in its competition.
+     *
+     * @param participation The participation being deleted.
+     */
+    @Transactional
+    public void participationDeleted(ParticipationEntity participation) {
+        ParticipationViewEntity view = unitOfWork.getParticipationViewRepository().findById(participation.id);
+        if (view == null) {
+            return;
+        }
+
+        StatisticsIndex.Sample removed = sample(view);
+        unitOfWork.getParticipationViewRepository().delete(view);
+        rerank(removed.competitionId(), removed.eventId());
+        publish(participation.id, removed, null);
+    }
+
+    /**
+     * Copies the names, phone and nationalities of an updated competitor to their participations.
+     *
+     * @param competitor    The updated competitor.
+     * @param nationalities The names of the nationalities of the competitor.
+     */
+    @Transactional
+    public void competitorUpdated(CompetitorEntity competitor, List<String> nationalities) {
+        unitOfWork.getParticipationViewRepository().update(
+                "firstName = ?1, middleName = ?2, lastName = ?3, mobilePhone = ?4, nationalities = ?5 "
+                        + "WHERE competitorId = ?6",
+                competitor.getCompetitorFirstName(),
+                competitor.getCompetitorMiddleName(),
+                competitor.getCompetitorLastName(),
+                competitor.getPhone(),
+                encode(nationalities),
+                competitor.id);
+        medalTableService.allChanged();
+        rebuildStatistics();
+    }
+
+    /**
+     * Copies the name and date of an updated competition to its participations.
+     *
+     * @param competition The updated competition.
+     */
+    @Transactional
+    public void competitionUpdated(CompetitionEntity competition) {
+        unitOfWork.getParticipationViewRepository().update(
+                "competitionName = ?1, competitionDate = ?2 WHERE competitionId = ?3",
+                competition.getCompetitionName(),
+                competition.getCompetitionDate(),
+                competition.id);
+        medalTableService.allChanged();
+        rebuildStatistics();
+    }
+
+    /**
+     * Copies the distance and type of an updated event to its participations.
+     *
+     * @param event The updated event.
+     */
+    @Transactional
+    public void eventUpdated(EventEntity event) {
+        unitOfWork.getParticipationViewRepository().update(
+                "distance = ?1, eventType = ?2 WHERE eventId = ?3",
+                event.getDistance(),
+                event.getEventType(),
+                event.id);
+        transactionCallbacks.afterCommit(() -> backgroundExecutor.execute(resultColumns::rebuild));
+    }
+
+    /**
+     * Copies an updated result to its participation and re-ranks its event in its competition.
+     *
+     * @param result The updated result.
+     */
+    @Transactional
+    public void resultUpdated(ResultEntity result) {
+        ParticipationViewEntity view = unitOfWork.getParticipationViewRepository()
+                .find("resultId = ?1", result.id)
+                .firstResult();
+        if (view == null) {
+            return;
+        }
+
+        StatisticsIndex.Sample previous = sample(view);
+        view.setSeconds(result.getSeconds());
+        view.setFinished(result.isFinished());
+        view.setPlace(result.getPlace());
+        rerank(view.getCompetitionId(), view.getEventId());
+        publish(view.getId(), previous, view);
+    }
+
+    /**
+     * Renames a nationality in the participations of its competitors.
+     *
+     * @param previousName The name of the nationality before the update.
+     * @param newName      The new name of the nationality.
+     */
+    @Transactional
+    public void nationalityRenamed(String previousName, String newName) {
+        unitOfWork.getParticipationViewRepository().update(
+                "nationalities = REPLACE(nationalities, ?1, ?2) WHERE nationalities LIKE ?3 ESCAPE '" + LIKE_ESCAPE + "'",
+                "," + previousName.toLowerCase() + ",",
+                "," + newName.toLowerCase() + ",",
+                nationalityPattern(previousName));
+        medalTableService.allChanged();
+        rebuildStatistics();
+    }
+
+    /**
+     * Encodes nationality names the way the view stores them, lower-cased and enclosed in commas, so that a single
+     * nationality is matched with {@code LIKE '%,name,%'}.
+     *
+     * @param nationalities The names of the nationalities.
+     * @return The encoded names, {@code ","} for none.
+     */
+    public static String encode(Collection<String> nationalities) {
+        return nationalities.stream()
+                .map(String::toLowerCase)
+                .sorted()
+                .collect(Collectors.joining(",", ",", ","));
+    }
+
+    /**
+     * Builds the {@code LIKE} pattern matching the encoded nationalities which contain a nationality. The wildcards
+     * {@code %} and {@code _} of the name are escaped with {@link #LIKE_ESCAPE}, so the pattern must be used with
+     * an {@code ESCAPE} clause.
+     *
+     * @param nationality The name of the nationality.
+     * @return The pattern, e.g. {@code %,bulgaria,%}.
+     */
+    public static String nationalityPattern(String nationality) {
+        return "%" + escapeLike(encode(List.of(nationality))) + "%";
+    }
+
+    /**
+     * Escapes the {@code LIKE} wildcards of a value, and the escape character itself, with {@link #LIKE_ESCAPE}.
+     *
+     * @param value The value to match literally.
+     * @return The escaped value.
+     */
+    public static String escapeLike(String value) {
+        return value.replace(String.valueOf(LIKE_ESCAPE), LIKE_ESCAPE + "" + LIKE_ESCAPE)
+                .replace("%", LIKE_ESCAPE + "%")
+                .replace("_", LIKE_ESCAPE + "_");
+    }
+
+    /**
+     * Assigns the ranks of the finishers of an event in a competition, fastest first; equal times share a rank.
+     * The medal table of the competition is invalidated.
+     */
+    private void rerank(Long competitionId, Long eventId) {
+        medalTableService.competitionChanged(competitionId);
+        Ranking ranking = new Ranking();
+        unitOfWork.getParticipationViewRepository()
+                .findFinishers(competitionId, eventId)
+                .forEach(view -> view.setRank(ranking.next(view)));
+    }
+
+    /**
+     * Replaces a participation in the in-memory indexes once the current transaction commits; in the columns, in the
+     * background.
+     *
+     * @param participationId The id of the participation.
+     * @param removed         The participation as it was before the write, or {@code null} if it is new.
+     * @param view            The participation as it is after the write, or {@code null} if it was deleted.
+     */
+    private void publish(long participationId, StatisticsIndex.Sample removed, ParticipationViewEntity view) {
+        StatisticsIndex.Sample added = view == null ? null : sample(view);
+        ResultColumns.Row row = view == null ? null : row(view);
+        transactionCallbacks.afterCommit(() -> {
+            statisticsIndex.replace(participationId, removed, added);
+            finishTimesIndex.replace(participationId, finishTime(removed), finishTime(added));
+            if (resultColumns.isEnabled()) {
+                columnWrites.add(row == null
+                        ? () -> resultColumns.remove(participationId)
+                        : () -> resultColumns.put(row));
+                applyColumnWrites();
+            }
+        });
+    }
+
+    /**
+     * Applies the pending column writes in the background, one task at a time so that they are applied in the order
+     * they were committed.
+     */
+    private void applyColumnWrites() {
+        if (columnWritesScheduled.compareAndSet(false, true)) {
+            backgroundExecutor.execute(() -> {
+                try {
+                    Runnable write;
+                    while ((write = columnWrites.poll()) != null) {
+                        write.run();
+                    }
+                } finally {
+                    columnWritesScheduled.set(false);
+                }
+                if (!columnWrites.isEmpty()) {
+                    applyColumnWrites();
+                }
+            });
+        }
+    }
+
+    /**
+     * Rebuilds the in-memory indexes in the background once the current transaction commits, after a change which
+     * moves competitors between nationalities or competitions between seasons. Changes committed while a rebuild is
+     * waiting to start are served by that rebuild.
+     */
+    private void rebuildStatistics() {
+        transactionCallbacks.afterCommit(() -> {
+            if (rebuildPending.compareAndSet(false, true)) {
+                backgroundExecutor.execute(() -> {
+                    rebuildPending.set(false);
+                    statisticsIndex.rebuild();
+                    finishTimesIndex.rebuild();
+                    resultColumns.rebuild();
+                });
+            }
+        });
+    }
+
+    private static ResultColumns.Row row(ParticipationViewEntity view) {
+        return new ResultColumns.Row(view.getId(), view.getEventId(), view.getDistance(), view.getEventType(),
+                view.getCompetitionDate(), view.getSeconds(), view.isFinished(), view.getNationalities());
+    }
+
+    private static FinishTimesIndex.FinishTime finishTime(StatisticsIndex.Sample sample) {
+        return sample == null || !sample.finished()
+                ? null
+                : new FinishTimesIndex.FinishTime(sample.competitionId(), sample.eventId(), sample.season(),
+                        sample.seconds());
+    }
+
+    private static StatisticsIndex.Sample sample(ParticipationViewEntity view) {
+        return StatisticsIndex.Sample.of(view.getCompetitorId(), view.getCompetitionId(), view.getEventId(),
+                view.getCompetitionDate(), view.getSeconds(), view.isFinished(), view.getNationalities());
+    }
+
+    private void copy(ParticipationEntity participation, ParticipationViewEntity view) {
+        CompetitorEntity competitor = participation.getCompetitor();
+        CompetitionEntity competition = participation.getCompetition();
+        EventEntity event = participation.getEvent();
+        ResultEntity result = participation.getResult();
+
+        view.setCompetitorId(competitor.id);
+        view.setCompetitionId(competition.id);
+        view.setEventId(event.id);
+        view.setResultId(result.id);
+        view.setFirstName(competitor.getCompetitorFirstName());
+        view.setMiddleName(competitor.getCompetitorMiddleName());
+        view.setLastName(competitor.getCompetitorLastName());
+        view.setMobilePhone(competitor.getPhone());
+        view.setNationalities(encode(competitor.getNationalities().stream()
+                .map(nationality -> nationalityRegistry.findById(nationality.id)
+                        .map(NationalityRegistry.Nationality::countryName)
+                        .orElseGet(nationality::getCountryName))
+                .toList()));
+        view.setCompetitionName(competition.getCompetitionName());
+        view.setCompetitionDate(competition.getCompetitionDate());
+        view.setDistance(event.getDistance());
+        view.setEventType(event.getEventType());
+        view.setSeconds(result.getSeconds());
+        view.setFinished(result.isFinished());
+        view.setPlace(result.getPlace());
+        view.setRank(null);
+    }
+
+    private EntityManager entityManager() {
+        return unitOfWork.getParticipationViewRepository().getEntityManager();
+    }
+
+    /**
+     * Numbers the participations of consecutive groups, each group being an event in a competition whose finishers
+     * come fastest first; a participation which did not finish has no rank.
+     */
+    private static final class Ranking {
+
+        private Long competitionId;
+        private Long eventId;
+        private int position;
+        private Integer rank;
+        private float seconds;
+
+        Integer next(ParticipationViewEntity view) {
+            if (!view.isFinished()) {
+                return null;
+            }
+            if (!view.getCompetitionId().equals(competitionId) || !view.getEventId().equals(eventId)) {
+                competitionId = view.getCompetitionId();
+                eventId = view.getEventId();
+                position = 0;
+                rank = null;
+            }
+
+            position++;
+            if (rank == null || view.getSeconds() != seconds) {
+                rank = position;
+                seconds = view.getSeconds();
+            }
+            return rank;
+        }
+    }
+}
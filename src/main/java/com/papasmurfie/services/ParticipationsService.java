@@ -2,19 +2,33 @@ package com.papasmurfie.services;
 
 import com.papasmurfie.dto.EditParticipationDTO;
 import com.papasmurfie.dto.ParticipationDTO;
+import com.papasmurfie.dto.ParticipationPageDTO;
+import com.papasmurfie.dto.ParticipationSearchDTO;
 import com.papasmurfie.entities.*;
+import com.papasmurfie.indexes.AutocompleteIndex;
+import com.papasmurfie.indexes.CompetitorNameIndex;
+import com.papasmurfie.repositories.ParticipationsRepository;
 import com.papasmurfie.uow.IUnitOfWork;
 import com.papasmurfie.utility.EntityValidator;
 import com.papasmurfie.utility.ErrorResponse;
+import com.papasmurfie.utility.JsonArrayStreamer;
+import com.papasmurfie.utility.ParticipationBroadcaster;
+import com.papasmurfie.utility.SparseFieldset;
+import com.papasmurfie.utility.TransactionCallbacks;
+import io.smallrye.mutiny.Multi;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.transaction.Transactional;
 import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.function.Function;
 
 /**
  * Service class for handling participation-related operations.
@@ -25,16 +39,56 @@ import java.util.*;
 @ApplicationScoped
 public class ParticipationsService {
 
-    private final IUnitOfWork unitOfWork;
+    /**
+     * The clause letting the {@code LIKE} conditions of a search match {@code %} and {@code _} literally.
+     */
+    private static final String LIKE_ESCAPE = " ESCAPE '" + ParticipationViewService.LIKE_ESCAPE + "'";
 
+    private final IUnitOfWork unitOfWork;
+    private final CompetitorNameIndex competitorNameIndex;
+    private final AutocompleteIndex autocompleteIndex;
+    private final JsonArrayStreamer jsonArrayStreamer;
+    private final ParticipationBroadcaster participationBroadcaster;
+    private final PersonalBestsService personalBestsService;
+    private final RecordsService recordsService;
+    private final ParticipationViewService participationViewService;
+    private final TransactionCallbacks transactionCallbacks;
+    private final int maxSearchLimit;
 
     /**
      * Constructs a ParticipationsService with the specified UnitOfWork.
      *
      * @param unitOfWork The unit of work for accessing repositories.
+     * @param competitorNameIndex The in-memory index used to resolve competitors by name.
+     * @param autocompleteIndex The in-memory type-ahead index, whose competitor popularity follows the participations.
+     * @param jsonArrayStreamer The writer of streamed responses.
+     * @param participationBroadcaster The broadcaster notifying the subscribers of a competition of its new results.
+     * @param personalBestsService The service keeping the personal bests in sync with the participations.
+     * @param recordsService The service detecting the records broken by the participations.
+     * @param participationViewService The service keeping the participation read model in sync with every write.
+     * @param transactionCallbacks The runner of the index updates once a write has committed.
+     * @param maxSearchLimit The largest page a participation search may ask for.
      */
-    public ParticipationsService(IUnitOfWork unitOfWork) {
+    public ParticipationsService(IUnitOfWork unitOfWork,
+                                 CompetitorNameIndex competitorNameIndex,
+                                 AutocompleteIndex autocompleteIndex,
+                                 JsonArrayStreamer jsonArrayStreamer,
+                                 ParticipationBroadcaster participationBroadcaster,
+                                 PersonalBestsService personalBestsService,
+                                 RecordsService recordsService,
+                                 ParticipationViewService participationViewService,
+                                 TransactionCallbacks transactionCallbacks,
+                                 @ConfigProperty(name = "pnu.search.max-limit", defaultValue = "500") int maxSearchLimit) {
         this.unitOfWork = unitOfWork;
+        this.competitorNameIndex = competitorNameIndex;
+        this.autocompleteIndex = autocompleteIndex;
+        this.jsonArrayStreamer = jsonArrayStreamer;
+        this.participationBroadcaster = participationBroadcaster;
+        this.personalBestsService = personalBestsService;
+        this.recordsService = recordsService;
+        this.participationViewService = participationViewService;
+        this.transactionCallbacks = transactionCallbacks;
+        this.maxSearchLimit = maxSearchLimit;
     }
 
     /**
@@ -75,8 +129,16 @@ public class ParticipationsService {
         ParticipationEntity participationEntity = mapToEntity(competitorEntity, competitionEntity, eventEntity, resultEntity);
 
         unitOfWork.getParticipationsRepository().persist(participationEntity);
+        personalBestsService.recordSaved(participationEntity);
+        participationViewService.participationSaved(participationEntity);
+        Long competitorId = competitorEntity.id;
+        transactionCallbacks.afterCommit(() -> autocompleteIndex.countParticipation(competitorId, 1));
 
-        return mapToDTO(participationEntity);
+        ParticipationDTO saved = mapToDTO(participationEntity);
+        recordsService.recordSaved(participationEntity, saved);
+        participationBroadcaster.publish(saved);
+
+        return saved;
     }
 
     /**
@@ -103,16 +165,21 @@ public class ParticipationsService {
                 .firstResult();
 
         ParticipationEntity participationEntity = unitOfWork.getParticipationsRepository()
-                .find("competitor = ?1 AND competition = ?2 AND event = ?3",
+                .findFirstWithGraph(ParticipationEntity.GRAPH_DETAIL,
+                        "competitor = ?1 AND competition = ?2 AND event = ?3",
                         competitorEntity,
                         competitionEntity,
                         eventEntity
-                        )
-                .firstResult();
+                        );
 
         EntityValidator.throwNotFoundException(participationEntity);
 
+        personalBestsService.recordDeleted(participationEntity);
+        recordsService.recordDeleted(participationEntity);
+        participationViewService.participationDeleted(participationEntity);
         unitOfWork.getParticipationsRepository().delete(participationEntity);
+        Long competitorId = competitorEntity.id;
+        transactionCallbacks.afterCommit(() -> autocompleteIndex.countParticipation(competitorId, -1));
 
         return mapToDTO(participationEntity);
     }
@@ -152,8 +219,9 @@ public class ParticipationsService {
 
 
         ParticipationEntity participation = unitOfWork.getParticipationsRepository()
-                .find("competitor = ?1 AND competition = ?2 AND event = ?3",
-                        competitorEntity, competitionEntity, eventEntity).firstResult();
+                .findFirstWithGraph(ParticipationEntity.GRAPH_DETAIL,
+                        "competitor = ?1 AND competition = ?2 AND event = ?3",
+                        competitorEntity, competitionEntity, eventEntity);
 
         EntityValidator.throwNotFoundException(participation);
 
@@ -175,8 +243,8 @@ public class ParticipationsService {
 
 
         Map<String, Object> map = new HashMap<>();
-        map.put("distance", editParticipationDTO.distance());
-        map.put("eventType", editParticipationDTO.eventType());
+        map.put("distance", editParticipationDTO.newDistance());
+        map.put("eventType", editParticipationDTO.newEventType());
         EventEntity event =  (EventEntity) EntityValidator.validateExists(
                 unitOfWork.getEventsRepository(),
                 map,
@@ -191,10 +259,13 @@ public class ParticipationsService {
 
         unitOfWork.getResultsRepository().persist(result);
 
+        EventEntity previousEvent = participation.getEvent();
         participation.setEvent(event);
         participation.setResult(result);
+        personalBestsService.recordUpdated(participation, previousEvent);
+        participationViewService.participationUpdated(participation, previousEvent);
 
-        return new ParticipationDTO(
+        ParticipationDTO updated = new ParticipationDTO(
                 participation.getCompetitor().getCompetitorFirstName(),
                 participation.getCompetitor().getCompetitorMiddleName(),
                 participation.getCompetitor().getCompetitorLastName(),
@@ -207,21 +278,23 @@ public class ParticipationsService {
                 participation.getResult().isFinished(),
                 participation.getResult().getPlace()
         );
+        recordsService.recordUpdated(participation, updated);
+        participationBroadcaster.publish(updated);
+
+        return updated;
     }
 
     /**
      * Retrieves all participations.
      *
+     * @param fields The requested fields of the participations.
      * @return A list of ParticipationDTO representing all participations.
      * @throws WebApplicationException if no participations are found.
      */
     @Transactional
-    public List<ParticipationDTO> findAll() {
-        List<ParticipationDTO> participationDTOS= unitOfWork.getParticipationsRepository()
-                .findAll()
-                .stream()
-                .map(this::mapToDTO)
-                .toList();
+    public List<ParticipationDTO> findAll(SparseFieldset<ParticipationDTO> fields) {
+        List<ParticipationDTO> participationDTOS= unitOfWork.getParticipationViewRepository()
+                .findDTOs(fields, null, "v.id");
 
         EntityValidator.throwNotFoundException(participationDTOS);
 
@@ -230,38 +303,27 @@ public class ParticipationsService {
 
     /**
      * Retrieves participations by competitor's names (first, middle, and last).
+     * <p>
+     * A competitor matches when any of the given names is contained in the corresponding name, ignoring case.
+     * The matching competitors are resolved by the in-memory {@link CompetitorNameIndex}, and their participations
+     * are then selected into {@link ParticipationDTO}s with a single query.
      *
      * @param firstName  The competitor's first name.
      * @param middleName The competitor's middle name.
      * @param lastName   The competitor's last name.
+     * @param fields     The requested fields of the participations.
      * @return A list of ParticipationDTO representing the participations of the competitors.
      * @throws WebApplicationException if no competitors or participations are found.
      */
     @Transactional
-    public List<ParticipationDTO> findByNames(String firstName, String middleName, String lastName) {
-
-        firstName = "%" + firstName.toLowerCase() + "%";
-        middleName = "%" + middleName.toLowerCase() + "%";
-        lastName = "%" + lastName.toLowerCase() + "%";
-
-        List<CompetitorEntity> competitorEntityList = unitOfWork.getCompetitorsRepository()
-                .find("SELECT c FROM Competitors c JOIN FETCH c.nationalities WHERE LOWER(c.competitorFirstName) LIKE ?1 OR LOWER(c.competitorMiddleName) LIKE ?2 OR LOWER(c.competitorLastName) LIKE ?3",
-                        firstName, middleName, lastName)
-                        .stream().toList();
+    public List<ParticipationDTO> findByNames(String firstName, String middleName, String lastName,
+                                              SparseFieldset<ParticipationDTO> fields) {
+        Set<Long> competitorIds = competitorNameIndex.search(firstName, middleName, lastName);
 
-        EntityValidator.throwNotFoundException(competitorEntityList, "No competitors with these names");
+        EntityValidator.validateNotEmpty(competitorIds, "No competitors with these names");
 
-        List<ParticipationDTO> participationDTOS = new ArrayList<>();
-
-        for(CompetitorEntity competitorEntity : competitorEntityList) {
-            List<ParticipationDTO> participationDTOSTemp= unitOfWork.getParticipationsRepository()
-                    .find("competitor = ?1",
-                            competitorEntity)
-                    .stream()
-                    .map(this::mapToDTO)
-                    .toList();
-            participationDTOS.addAll(participationDTOSTemp);
-        }
+        List<ParticipationDTO> participationDTOS = unitOfWork.getParticipationViewRepository()
+                .findDTOs(fields, "v.competitorId IN ?1", "v.competitorId, v.id", competitorIds);
 
         EntityValidator.throwNotFoundException(participationDTOS, "No results from participation of competitors with these names");
 
@@ -273,47 +335,36 @@ public class ParticipationsService {
      *
      * @param competitionName The competition's name.
      * @param competitionDate The competition's date.
+     * @param fields          The requested fields of the participations.
      * @return A list of ParticipationDTO representing the participations in the specified competition.
      * @throws WebApplicationException if no competitions or participations are found.
      */
     @Transactional
-    public List<ParticipationDTO> findByCompetition(String competitionName, String competitionDate) {
+    public List<ParticipationDTO> findByCompetition(String competitionName, String competitionDate,
+                                                    SparseFieldset<ParticipationDTO> fields) {
         competitionName = "%" + competitionName.toLowerCase() + "%";
-        LocalDate date;
-        try {
-            date = LocalDate.parse(competitionDate);
-        } catch (DateTimeParseException e) {
+        LocalDate date = EntityValidator.parseDate(competitionDate);
+
+        if(unitOfWork.getCompetitionsRepository()
+                .count("LOWER(competitionName) LIKE ?1 AND competitionDate = ?2", competitionName, date) == 0){
             throw new WebApplicationException(
                     Response.status(Response.Status.CONFLICT)
                             .entity(new ErrorResponse(
-                                    400,
-                                    "Bad Request",
-                                    "Invalid date format. Expected format is yyyy-MM-dd."
+                                    404,
+                                    "Not Found",
+                                    "No competitions with this name"
                             ))
                             .type("application/json")
                             .build()
             );
         }
 
-        List<CompetitionEntity> competitions = unitOfWork.getCompetitionsRepository()
-                .find("LOWER(competitionName) LIKE ?1 AND competitionDate = ?2",
+        List<ParticipationDTO> participationDTOS = unitOfWork.getParticipationViewRepository()
+                .findDTOs(fields,
+                        "v.competitionDate = ?2 AND LOWER(v.competitionName) LIKE ?1",
+                        "v.competitionId, v.id",
                         competitionName,
-                        date)
-                .stream().toList();
-
-        EntityValidator.throwNotFoundException(competitions, "No competitions with this name");
-
-        List<ParticipationDTO> participationDTOS = new ArrayList<>();
-
-        for(CompetitionEntity e : competitions) {
-            List<ParticipationDTO> participationDTOSTemp= unitOfWork.getParticipationsRepository()
-                    .find("competition = ?1",
-                            e)
-                    .stream()
-                    .map(this::mapToDTO)
-                    .toList();
-            participationDTOS.addAll(participationDTOSTemp);
-        }
+                        date);
 
         EntityValidator.throwNotFoundException(participationDTOS, "No results for participation on this competition");
 
@@ -324,11 +375,12 @@ public class ParticipationsService {
      * Retrieves participations by event distance.
      *
      * @param distance The event's distance.
+     * @param fields   The requested fields of the participations.
      * @return A list of ParticipationDTO representing the participations in the specified event.
      * @throws WebApplicationException if no events or participations are found.
      */
     @Transactional
-    public List<ParticipationDTO> findByDistance(BigDecimal distance) {
+    public List<ParticipationDTO> findByDistance(BigDecimal distance, SparseFieldset<ParticipationDTO> fields) {
 
         EventEntity event = unitOfWork.getEventsRepository()
                 .find("distance = ?1",
@@ -337,11 +389,8 @@ public class ParticipationsService {
 
         EntityValidator.throwNotFoundException(event, "No events of this distance");
 
-        List<ParticipationDTO> participationDTOS = unitOfWork.getParticipationsRepository()
-                .find("event = ?1",
-                        event)
-                .stream().map(this::mapToDTO)
-                .toList();
+        List<ParticipationDTO> participationDTOS = unitOfWork.getParticipationViewRepository()
+                .findDTOs(fields, "v.eventId = ?1", "v.id", event.id);
 
         EntityValidator.throwNotFoundException(participationDTOS, "No results for participation in this event");
 
@@ -352,17 +401,14 @@ public class ParticipationsService {
      * Retrieves participations by the time in seconds.
      *
      * @param seconds The time in seconds.
+     * @param fields  The requested fields of the participations.
      * @return A list of ParticipationDTO representing the participations with the specified time.
      * @throws WebApplicationException if no results with the given time are found.
      */
     @Transactional
-    public List<ParticipationDTO> findByTime(float seconds) {
+    public List<ParticipationDTO> findByTime(float seconds, SparseFieldset<ParticipationDTO> fields) {
 
-        List<ResultEntity> results = unitOfWork.getResultsRepository()
-                .find("seconds = ?1",
-                        seconds)
-                .stream().toList();
-        if(results.isEmpty()){
+        if(unitOfWork.getResultsRepository().count("seconds = ?1", seconds) == 0){
             throw new WebApplicationException(
                     Response.status(Response.Status.CONFLICT)
                             .entity(new ErrorResponse(
@@ -374,19 +420,9 @@ public class ParticipationsService {
                             .build()
             );
         }
-        EntityValidator.throwNotFoundException((List<?>) results, "No results with this time");
-
-        List<ParticipationDTO> participationDTOS = new ArrayList<>();
 
-        for(ResultEntity e : results) {
-            List<ParticipationDTO> temp = unitOfWork.getParticipationsRepository()
-                    .find("result = ?1",
-                            e)
-                    .stream().map(this::mapToDTO)
-                    .toList();
-
-            participationDTOS.addAll(temp);
-        }
+        List<ParticipationDTO> participationDTOS = unitOfWork.getParticipationViewRepository()
+                .findDTOs(fields, "v.seconds = ?1", "v.id", seconds);
 
 
         EntityValidator.throwNotFoundException(participationDTOS, "No results for participation with these finishing times");
@@ -398,20 +434,16 @@ public class ParticipationsService {
      * Retrieves participations by placement.
      *
      * @param placement The placement (e.g., first, second, etc.).
+     * @param fields    The requested fields of the participations.
      * @return A list of ParticipationDTO representing the participations with the specified placement.
      * @throws WebApplicationException if no results with the given placement are found.
      */
     @Transactional
-    public List<ParticipationDTO> findByPlacement(String placement) {
+    public List<ParticipationDTO> findByPlacement(String placement, SparseFieldset<ParticipationDTO> fields) {
 
         placement = "%" + placement.toLowerCase() + "%";
 
-        List<ResultEntity> results = unitOfWork.getResultsRepository()
-                .find("LOWER(place) LIKE ?1",
-                        placement)
-                .stream().toList();
-
-        if(results.isEmpty()){
+        if(unitOfWork.getResultsRepository().count("LOWER(place) LIKE ?1", placement) == 0){
             throw new WebApplicationException(
                     Response.status(Response.Status.CONFLICT)
                             .entity(new ErrorResponse(
@@ -423,17 +455,9 @@ public class ParticipationsService {
                             .build()
             );
         }
-        EntityValidator.throwNotFoundException(results, "No results with this placement");
-
-        List<ParticipationDTO> participationDTOS = new ArrayList<>();
-        for(ResultEntity e : results) {
-            List<ParticipationDTO> temp = unitOfWork.getParticipationsRepository()
-                    .find("result = ?1",
-                            e)
-                    .stream().map(this::mapToDTO)
-                    .toList();
-            participationDTOS.addAll(temp);
-        }
+
+        List<ParticipationDTO> participationDTOS = unitOfWork.getParticipationViewRepository()
+                .findDTOs(fields, "LOWER(v.place) LIKE ?1", "v.id", placement);
 
 
         EntityValidator.throwNotFoundException(participationDTOS, "No results for participation with this placement");
@@ -441,6 +465,207 @@ public class ParticipationsService {
         return participationDTOS;
     }
 
+    /**
+     * Searches participations by any combination of criteria, one page at a time.
+     * <p>
+     * The given criteria are compiled into a single parameterized query on the participation view, and the page is read with keyset paging:
+     * the cursor holds the sort value and the id of the last participation of the previous page, so the next page
+     * continues right after it instead of skipping an offset, and stays consistent while participations are added.
+     * </p>
+     *
+     * @param criteria The criteria, order and page of the search.
+     * @return The participations of the page, with the cursor of the next page; an empty page if nothing matches.
+     * @throws WebApplicationException if a date, the sort, the direction, the limit or the cursor is not valid.
+     */
+    @Transactional
+    public ParticipationPageDTO search(ParticipationSearchDTO criteria) {
+        SearchSort sort = SearchSort.parse(criteria.sort());
+        boolean descending = parseDirection(criteria.direction());
+        if (criteria.limit() < 1 || criteria.limit() > maxSearchLimit) {
+            throw EntityValidator.badRequest("The limit must be between 1 and " + maxSearchLimit + ".");
+        }
+
+        List<String> conditions = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        like(conditions, params, "v.firstName", criteria.firstName());
+        like(conditions, params, "v.middleName", criteria.middleName());
+        like(conditions, params, "v.lastName", criteria.lastName());
+        like(conditions, params, "v.competitionName", criteria.competitionName());
+        if (criteria.nationality() != null) {
+            params.add(ParticipationViewService.nationalityPattern(criteria.nationality()));
+            conditions.add("v.nationalities LIKE ?" + params.size() + LIKE_ESCAPE);
+        }
+        compare(conditions, params, "v.competitionDate", ">=",
+                criteria.dateFrom() == null ? null : EntityValidator.parseDate(criteria.dateFrom()));
+        compare(conditions, params, "v.competitionDate", "<=",
+                criteria.dateTo() == null ? null : EntityValidator.parseDate(criteria.dateTo()));
+        compare(conditions, params, "v.distance", "=", criteria.distance());
+        compare(conditions, params, "v.seconds", ">=", criteria.minSeconds());
+        compare(conditions, params, "v.seconds", "<=", criteria.maxSeconds());
+        compare(conditions, params, "v.finished", "=", criteria.finished());
+        compare(conditions, params, "LOWER(v.place)", "=",
+                criteria.place() == null ? null : criteria.place().toLowerCase());
+        compare(conditions, params, "v.rank", "<=", criteria.maxRank());
+
+        if (criteria.after() != null) {
+            Object[] cursor = sort.decodeCursor(criteria.after());
+            String operator = descending ? "<" : ">";
+            params.add(cursor[0]);
+            int value = params.size();
+            params.add(cursor[1]);
+            int id = params.size();
+            conditions.add("(" + sort.path + " " + operator + " ?" + value
+                    + " OR (" + sort.path + " = ?" + value + " AND v.id " + operator + " ?" + id + "))");
+        }
+
+        List<ParticipationsRepository.KeysetRow> rows = unitOfWork.getParticipationViewRepository().findKeysetPage(
+                conditions.isEmpty() ? null : String.join(" AND ", conditions),
+                sort.path,
+                descending,
+                criteria.limit() + 1,
+                params.toArray());
+
+        List<ParticipationsRepository.KeysetRow> page = rows.subList(0, Math.min(rows.size(), criteria.limit()));
+        String nextCursor = rows.size() > criteria.limit() ? sort.encodeCursor(page.getLast()) : null;
+        return new ParticipationPageDTO(
+                page.stream().map(ParticipationsRepository.KeysetRow::participation).toList(),
+                nextCursor);
+    }
+
+    /**
+     * Streams all participations as a JSON array, reading them from a database cursor.
+     *
+     * @return The response body writing all participations.
+     */
+    public StreamingOutput streamAll() {
+        return jsonArrayStreamer.stream(fetchSize -> unitOfWork.getParticipationViewRepository()
+                .streamDTOs(fetchSize, null, "v.id"));
+    }
+
+    /**
+     * Streams the participations in a competition as a JSON array, reading them from a database cursor.
+     *
+     * @param competitionName The competition's name.
+     * @param competitionDate The competition's date.
+     * @return The response body writing the participations in the specified competition.
+     * @throws WebApplicationException if the date is not valid.
+     */
+    public StreamingOutput streamByCompetition(String competitionName, String competitionDate) {
+        String namePattern = "%" + competitionName.toLowerCase() + "%";
+        LocalDate date = EntityValidator.parseDate(competitionDate);
+
+        return jsonArrayStreamer.stream(fetchSize -> unitOfWork.getParticipationViewRepository()
+                .streamDTOs(fetchSize,
+                        "v.competitionDate = ?2 AND LOWER(v.competitionName) LIKE ?1",
+                        "v.competitionId, v.id",
+                        namePattern,
+                        date));
+    }
+
+    /**
+     * Streams the participations in the event of the given distance as a JSON array, reading them from a
+     * database cursor.
+     *
+     * @param distance The event's distance.
+     * @return The response body writing the participations in the specified event.
+     */
+    public StreamingOutput streamByDistance(BigDecimal distance) {
+        return jsonArrayStreamer.stream(fetchSize -> unitOfWork.getParticipationViewRepository()
+                .streamDTOs(fetchSize, "v.distance = ?1", "v.id", distance));
+    }
+
+    /**
+     * Subscribes to the participations of a competition which are saved or whose result is updated from now on.
+     *
+     * @param competitionName The competition's name.
+     * @param competitionDate The competition's date.
+     * @return The saved and updated participations, until the subscriber cancels.
+     * @throws WebApplicationException if the date is not valid.
+     */
+    public Multi<ParticipationDTO> subscribeResults(String competitionName, String competitionDate) {
+        return participationBroadcaster.subscribe(competitionName, EntityValidator.parseDate(competitionDate));
+    }
+
+    private static void like(List<String> conditions, List<Object> params, String path, String value) {
+        if (value != null) {
+            params.add("%" + ParticipationViewService.escapeLike(value.toLowerCase()) + "%");
+            conditions.add("LOWER(" + path + ") LIKE ?" + params.size() + LIKE_ESCAPE);
+        }
+    }
+
+    private static void compare(List<String> conditions, List<Object> params, String path, String operator, Object value) {
+        if (value != null) {
+            params.add(value);
+            conditions.add(path + " " + operator + " ?" + params.size());
+        }
+    }
+
+    private static boolean parseDirection(String direction) {
+        if (direction == null || direction.equalsIgnoreCase("asc")) {
+            return false;
+        }
+        if (direction.equalsIgnoreCase("desc")) {
+            return true;
+        }
+        throw EntityValidator.badRequest("Invalid direction '" + direction + "'. Expected asc or desc.");
+    }
+
+    /**
+     * The orders a participation search may be sorted by, each with the column backing it and the way its values
+     * are read back from a cursor. Ties are always broken by the participation id.
+     */
+    private enum SearchSort {
+        ID("id", "v.id", Long::valueOf),
+        SECONDS("seconds", "v.seconds", Float::valueOf),
+        COMPETITION_DATE("competitionDate", "v.competitionDate", LocalDate::parse),
+        DISTANCE("distance", "v.distance", BigDecimal::new);
+
+        private final String name;
+        private final String path;
+        private final Function<String, Object> parser;
+
+        SearchSort(String name, String path, Function<String, Object> parser) {
+            this.name = name;
+            this.path = path;
+            this.parser = parser;
+        }
+
+        static SearchSort parse(String name) {
+            if (name == null) {
+                return ID;
+            }
+            return Arrays.stream(values())
+                    .filter(sort -> sort.name.equalsIgnoreCase(name))
+                    .findFirst()
+                    .orElseThrow(() -> EntityValidator.badRequest("Invalid sort '" + name
+                            + "'. Expected id, seconds, competitionDate or distance."));
+        }
+
+        /**
+         * Encodes the position of a participation as an opaque, URL-safe cursor.
+         */
+        String encodeCursor(ParticipationsRepository.KeysetRow row) {
+            String value = row.sortValue() instanceof BigDecimal decimal ? decimal.toPlainString() : row.sortValue().toString();
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((name + "," + value + "," + row.id()).getBytes(StandardCharsets.UTF_8));
+        }
+
+        /**
+         * Decodes a cursor of this order into its sort value and participation id.
+         */
+        Object[] decodeCursor(String cursor) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(",");
+                if (parts.length != 3 || !parts[0].equals(name)) {
+                    throw EntityValidator.badRequest("The cursor does not belong to a search sorted by " + name + ".");
+                }
+                return new Object[]{parser.apply(parts[1]), Long.valueOf(parts[2])};
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                throw EntityValidator.badRequest("Invalid cursor.");
+            }
+        }
+    }
+
 
     //Mappers
     /**
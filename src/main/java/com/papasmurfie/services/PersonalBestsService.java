@@ -0,0 +1,206 @@
+package com.papasmurfie.services;
+
+import com.papasmurfie.dto.PersonalBestDTO;
+import com.papasmurfie.entities.*;
+import com.papasmurfie.uow.IUnitOfWork;
+import com.papasmurfie.utility.EntityValidator;
+import io.quarkus.runtime.Startup;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.spi.ObserverMethod;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import jakarta.ws.rs.WebApplicationException;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Service class maintaining and querying the personal bests of the competitors.
+ * <p>
+ * The "PersonalBests" table is kept in sync by {@link ParticipationsService}, in the same transaction as the
+ * participation being saved, updated or deleted. A new or improved result only compares against the stored best;
+ * the participations of the competitor in the event are read again only when the current best is deleted, worsened
+ * or moved to another event. On startup, an empty table is filled from the existing participations in a single pass.
+ * </p>
+ * <p>
+ * It is marked as {@link ApplicationScoped} to allow for CDI (Contexts and Dependency Injection) in the application.
+ */
+@Startup(ObserverMethod.DEFAULT_PRIORITY + 1)
+@ApplicationScoped
+public class PersonalBestsService {
+
+    private final IUnitOfWork unitOfWork;
+
+    /**
+     * Constructs a {@link PersonalBestsService} with the provided unit of work.
+     *
+     * @param unitOfWork The unit of work used to interact with the repositories.
+     */
+    public PersonalBestsService(IUnitOfWork unitOfWork) {
+        this.unitOfWork = unitOfWork;
+    }
+
+    @PostConstruct
+    public void init() {
+        backfill();
+    }
+
+    /**
+     * Fills the personal bests from the existing participations if none are stored yet, reading the finished
+     * participations once, ordered so that the first one of every competitor and event is the fastest.
+     */
+    @Transactional
+    public void backfill() {
+        if (unitOfWork.getPersonalBestsRepository().count() > 0) {
+            return;
+        }
+
+        EntityManager entityManager = unitOfWork.getPersonalBestsRepository().getEntityManager();
+        Long[] previous = {null, null};
+        entityManager.createQuery("SELECT p.id, p.competitor.id, p.event.id, r.seconds FROM Participations p "
+                        + "JOIN p.result r WHERE r.finished = true "
+                        + "ORDER BY p.competitor.id, p.event.id, r.seconds, p.id", Object[].class)
+                .getResultStream()
+                .forEach(row -> {
+                    if (row[1].equals(previous[0]) && row[2].equals(previous[1])) {
+                        return;
+                    }
+                    previous[0] = (Long) row[1];
+                    previous[1] = (Long) row[2];
+
+                    PersonalBestEntity personalBest = new PersonalBestEntity();
+                    personalBest.setParticipation(entityManager.getReference(ParticipationEntity.class, row[0]));
+                    personalBest.setCompetitor(entityManager.getReference(CompetitorEntity.class, row[1]));
+                    personalBest.setEvent(entityManager.getReference(EventEntity.class, row[2]));
+                    personalBest.setSeconds((Float) row[3]);
+                    unitOfWork.getPersonalBestsRepository().persist(personalBest);
+                });
+    }
+
+    /**
+     * Records a newly saved participation, making it the personal best of its competitor in its event if it is
+     * finished and faster than the current one.
+     *
+     * @param participation The saved participation, with its competitor, event and result.
+     */
+    @Transactional
+    public void recordSaved(ParticipationEntity participation) {
+        offer(participation);
+    }
+
+    /**
+     * Records a participation whose result, and possibly event, was replaced.
+     *
+     * @param participation The updated participation, with its competitor, new event and new result.
+     * @param previousEvent The event of the participation before the update.
+     */
+    @Transactional
+    public void recordUpdated(ParticipationEntity participation, EventEntity previousEvent) {
+        PersonalBestEntity previousBest = unitOfWork.getPersonalBestsRepository()
+                .findByCompetitorAndEvent(participation.getCompetitor().id, previousEvent.id);
+
+        if (previousBest == null || !previousBest.getParticipation().id.equals(participation.id)) {
+            offer(participation);
+            return;
+        }
+
+        boolean sameEvent = previousEvent.id.equals(participation.getEvent().id);
+        ResultEntity result = participation.getResult();
+        if (sameEvent && result.isFinished() && result.getSeconds() <= previousBest.getSeconds()) {
+            previousBest.setSeconds(result.getSeconds());
+            return;
+        }
+
+        ParticipationEntity next = unitOfWork.getParticipationsRepository()
+                .findFastestFinished(participation.getCompetitor().id, previousEvent.id, participation.id);
+        if (sameEvent && result.isFinished() && (next == null || result.getSeconds() <= next.getResult().getSeconds())) {
+            next = participation;
+        }
+        replace(previousBest, next);
+
+        if (!sameEvent) {
+            offer(participation);
+        }
+    }
+
+    /**
+     * Records a participation which is about to be deleted, handing its personal best over to the next fastest
+     * participation of the competitor in the event. It must be called before the participation is deleted.
+     *
+     * @param participation The participation being deleted.
+     */
+    @Transactional
+    public void recordDeleted(ParticipationEntity participation) {
+        PersonalBestEntity personalBest = unitOfWork.getPersonalBestsRepository()
+                .findByCompetitorAndEvent(participation.getCompetitor().id, participation.getEvent().id);
+
+        if (personalBest != null && personalBest.getParticipation().id.equals(participation.id)) {
+            replace(personalBest, unitOfWork.getParticipationsRepository().findFastestFinished(
+                    participation.getCompetitor().id, participation.getEvent().id, participation.id));
+        }
+    }
+
+    /**
+     * Retrieves the personal bests of a competitor.
+     *
+     * @param mobilePhone The mobile phone of the competitor.
+     * @return The personal bests of the competitor, ordered by distance.
+     * @throws WebApplicationException if the competitor is not found.
+     */
+    @Transactional
+    public List<PersonalBestDTO> findByCompetitor(String mobilePhone) {
+        CompetitorEntity competitor = unitOfWork.getCompetitorsRepository()
+                .find("phone = ?1", mobilePhone)
+                .firstResult();
+
+        EntityValidator.throwNotFoundException(competitor, "Competitor not found.");
+
+        return unitOfWork.getPersonalBestsRepository().findDTOsByCompetitor(competitor.id);
+    }
+
+    /**
+     * Retrieves the fastest personal bests of an event, one per competitor.
+     *
+     * @param distance The distance of the event.
+     * @param limit    The maximum number of personal bests.
+     * @return The fastest personal bests of the event, fastest first.
+     * @throws WebApplicationException if the event is not found.
+     */
+    @Transactional
+    public List<PersonalBestDTO> findTopByEvent(BigDecimal distance, int limit) {
+        EventEntity event = unitOfWork.getEventsRepository()
+                .find("distance = ?1", distance)
+                .firstResult();
+
+        EntityValidator.throwNotFoundException(event, "No events of this distance");
+
+        return unitOfWork.getPersonalBestsRepository().findTopDTOsByEvent(event.getDistance(), limit);
+    }
+
+    /**
+     * Makes a finished participation the personal best of its competitor in its event if it is faster than the
+     * current one, with an upsert that does not fail when another transaction records the first best concurrently.
+     */
+    private void offer(ParticipationEntity participation) {
+        ResultEntity result = participation.getResult();
+        if (result.isFinished()) {
+            unitOfWork.getPersonalBestsRepository().upsert(participation.getCompetitor().id,
+                    participation.getEvent().id, participation.id, result.getSeconds());
+        }
+    }
+
+    /**
+     * Points a personal best at another participation, or deletes it if there is none.
+     */
+    private void replace(PersonalBestEntity personalBest, ParticipationEntity next) {
+        if (next == null) {
+            unitOfWork.getPersonalBestsRepository().delete(personalBest);
+        } else if (!Objects.equals(personalBest.getParticipation().id, next.id)
+                || personalBest.getSeconds() != next.getResult().getSeconds()) {
+            personalBest.setParticipation(next);
+            personalBest.setSeconds(next.getResult().getSeconds());
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.papasmurfie.services;
+
+import com.papasmurfie.dto.PlacePredictionDTO;
+import com.papasmurfie.entities.CompetitionEntity;
+import com.papasmurfie.entities.EventEntity;
+import com.papasmurfie.indexes.FinishTimesIndex;
+import com.papasmurfie.uow.IUnitOfWork;
+import com.papasmurfie.utility.EntityValidator;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Transactional;
+import jakarta.ws.rs.WebApplicationException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Service class telling the place a hypothetical finishing time would have taken in a race or across a season.
+ * <p>
+ * The places are found by binary search over the sorted finishing times held by the {@link FinishTimesIndex}, so a
+ * prediction costs {@code O(log n)} whatever the size of the field; the database is only asked for the event and
+ * the competition.
+ * </p>
+ * <p>
+ * It is marked as {@link ApplicationScoped} to allow for CDI (Contexts and Dependency Injection) in the application.
+ */
+@ApplicationScoped
+public class PlacePredictionService {
+
+    private final IUnitOfWork unitOfWork;
+    private final FinishTimesIndex finishTimesIndex;
+
+    /**
+     * Constructs a {@link PlacePredictionService}.
+     *
+     * @param unitOfWork The unit of work used to look up events and competitions.
+     * @param finishTimesIndex The sorted finishing times of the events.
+     */
+    public PlacePredictionService(IUnitOfWork unitOfWork, FinishTimesIndex finishTimesIndex) {
+        this.unitOfWork = unitOfWork;
+        this.finishTimesIndex = finishTimesIndex;
+    }
+
+    /**
+     * Tells the place a time would have taken in an event, in a competition or in a season.
+     *
+     * @param distance        The distance of the event.
+     * @param seconds         The hypothetical time in seconds.
+     * @param competitionName The competition's name, or {@code null} for a season.
+     * @param competitionDate The competition's date, formatted as yyyy-MM-dd, or {@code null} for a season.
+     * @param season          The calendar year, used when no competition is given.
+     * @return The place and percentile of the time.
+     * @throws WebApplicationException if the time is not positive, neither a competition nor a season is given, or
+     *                                 the event or competition is not found.
+     */
+    @Transactional
+    public PlacePredictionDTO predict(BigDecimal distance, float seconds, String competitionName,
+                                      String competitionDate, Integer season) {
+        if (!(seconds > 0)) {
+            throw EntityValidator.badRequest("The time must be a positive number of seconds.");
+        }
+
+        EventEntity event = unitOfWork.getEventsRepository()
+                .find("distance = ?1", distance)
+                .firstResult();
+
+        EntityValidator.throwNotFoundException(event, "No events of this distance");
+
+        FinishTimesIndex.Placement placement;
+        if (competitionName != null) {
+            placement = finishTimesIndex.placeInCompetition(
+                    findCompetition(competitionName, competitionDate).id, event.id, seconds);
+        } else if (season != null) {
+            placement = finishTimesIndex.placeInSeason(season, event.id, seconds);
+        } else {
+            throw EntityValidator.badRequest("Either a competition or a season must be given.");
+        }
+
+        return new PlacePredictionDTO(
+                seconds,
+                placement.place(),
+                placement.finishers(),
+                placement.finishers() == 0 ? 100 : 100.0 * placement.slower() / placement.finishers());
+    }
+
+    private CompetitionEntity findCompetition(String competitionName, String competitionDate) {
+        LocalDate date = EntityValidator.parseDate(competitionDate);
+
+        CompetitionEntity competition = unitOfWork.getCompetitionsRepository()
+                .find("competitionName LIKE ?1 AND competitionDate = ?2", competitionName, date)
+                .firstResult();
+
+        EntityValidator.throwNotFoundException(competition, "Competition not found.");
+
+        return competition;
+    }
+}
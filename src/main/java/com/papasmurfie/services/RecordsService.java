@@ -0,0 +1,297 @@
+package com.papasmurfie.services;
+
+import com.papasmurfie.dto.ParticipationDTO;
+import com.papasmurfie.dto.RecordDTO;
+import com.papasmurfie.entities.EventEntity;
+import com.papasmurfie.entities.NationalityEntity;
+import com.papasmurfie.entities.ParticipationEntity;
+import com.papasmurfie.entities.RecordEntity;
+import com.papasmurfie.indexes.RecordKey;
+import com.papasmurfie.indexes.RecordsIndex;
+import com.papasmurfie.indexes.TopKIndex;
+import com.papasmurfie.uow.IUnitOfWork;
+import com.papasmurfie.utility.BackgroundExecutor;
+import com.papasmurfie.utility.EntityValidator;
+import com.papasmurfie.utility.TransactionCallbacks;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.operators.multi.processors.BroadcastProcessor;
+import io.smallrye.mutiny.operators.multi.processors.SerializedProcessor;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Transactional;
+import jakarta.ws.rs.WebApplicationException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Service class detecting and querying the all-time, national and meet records of the events.
+ * <p>
+ * Every saved or updated result is checked against the record of each of its scopes, read from the in-memory
+ * {@link RecordsIndex} in {@code O(log k)}. A broken record is stored in the "Records" history in the same
+ * transaction, and is broadcast to the subscribers of {@link #stream()} once that transaction has committed; the
+ * index itself is only updated after commit, so a rolled back result never becomes a record.
+ * </p>
+ * <p>
+ * It is marked as {@link ApplicationScoped} to allow for CDI (Contexts and Dependency Injection) in the application.
+ */
+@ApplicationScoped
+public class RecordsService {
+
+    private final IUnitOfWork unitOfWork;
+    private final RecordsIndex recordsIndex;
+    private final TransactionCallbacks transactionCallbacks;
+    private final BackgroundExecutor backgroundExecutor;
+    private final BroadcastProcessor<RecordDTO> processor = BroadcastProcessor.create();
+    private final SerializedProcessor<RecordDTO, RecordDTO> emitter = processor.serialized();
+    private final int bufferSize;
+
+    /**
+     * Constructs a {@link RecordsService}.
+     *
+     * @param unitOfWork The unit of work used to interact with the repositories.
+     * @param recordsIndex The in-memory index of the fastest participations of every scope.
+     * @param transactionCallbacks The callbacks used to update the index and broadcast records after commit.
+     * @param backgroundExecutor The executor reloading the scopes which lost one of their participations.
+     * @param bufferSize The number of broken records buffered for each subscriber.
+     */
+    public RecordsService(IUnitOfWork unitOfWork,
+                          RecordsIndex recordsIndex,
+                          TransactionCallbacks transactionCallbacks,
+                          BackgroundExecutor backgroundExecutor,
+                          @ConfigProperty(name = "pnu.broadcast.buffer-size", defaultValue = "1024") int bufferSize) {
+        this.unitOfWork = unitOfWork;
+        this.recordsIndex = recordsIndex;
+        this.transactionCallbacks = transactionCallbacks;
+        this.backgroundExecutor = backgroundExecutor;
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Checks a newly saved participation for broken records and adds it to the index after commit.
+     *
+     * @param participation The saved participation, with its competitor, competition and event.
+     * @param saved         The saved participation as returned to the client.
+     */
+    @Transactional
+    public void recordSaved(ParticipationEntity participation, ParticipationDTO saved) {
+        List<RecordKey> keys = keysOf(participation);
+        detect(keys, saved);
+
+        if (saved.finished()) {
+            TopKIndex.Entry entry = new TopKIndex.Entry(participation.id, saved.seconds(), saved);
+            transactionCallbacks.afterCommit(() -> recordsIndex.offer(keys, entry));
+        }
+    }
+
+    /**
+     * Checks a participation whose result was replaced for broken records and replaces it in the index after commit.
+     *
+     * @param participation The updated participation, with its competitor, competition and new event.
+     * @param updated       The updated participation as returned to the client.
+     */
+    @Transactional
+    public void recordUpdated(ParticipationEntity participation, ParticipationDTO updated) {
+        List<RecordKey> keys = keysOf(participation);
+        detect(keys, updated);
+
+        long participationId = participation.id;
+        TopKIndex.Entry entry = new TopKIndex.Entry(participationId, updated.seconds(), updated);
+        transactionCallbacks.afterCommit(() -> {
+            Set<RecordKey> incomplete = recordsIndex.remove(participationId);
+            if (updated.finished()) {
+                recordsIndex.offer(keys, entry);
+            }
+            reload(incomplete);
+        });
+    }
+
+    /**
+     * Removes a deleted participation from the index after commit.
+     *
+     * @param participation The participation being deleted.
+     */
+    @Transactional
+    public void recordDeleted(ParticipationEntity participation) {
+        long participationId = participation.id;
+        transactionCallbacks.afterCommit(() -> reload(recordsIndex.remove(participationId)));
+    }
+
+    /**
+     * Retrieves the current records of an event: the all-time record, and the record of every nationality and
+     * every meet.
+     *
+     * @param distance The distance of the event.
+     * @return The records of the event, all-time first, then national, then meet records.
+     * @throws WebApplicationException if the event is not found.
+     */
+    @Transactional
+    public List<RecordDTO> findRecords(BigDecimal distance) {
+        EventEntity event = findEvent(distance);
+
+        return recordsIndex.records(event.id).entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(Comparator
+                        .comparing(RecordKey::scope)
+                        .thenComparing(RecordKey::qualifier, Comparator.nullsFirst(Comparator.naturalOrder()))))
+                .map(record -> toDTO(record.getKey(), record.getValue().participation(), null, null))
+                .toList();
+    }
+
+    /**
+     * Retrieves the fastest participations of one scope of an event.
+     *
+     * @param distance  The distance of the event.
+     * @param scope     The kind of record: ALL_TIME, NATIONAL or MEET.
+     * @param qualifier The nationality of a NATIONAL scope or the competition of a MEET scope.
+     * @return The at most {@code pnu.records.top-k} fastest participations of the scope, fastest first.
+     * @throws WebApplicationException if the event is not found or the scope is not valid.
+     */
+    @Transactional
+    public List<ParticipationDTO> findTop(BigDecimal distance, String scope, String qualifier) {
+        EventEntity event = findEvent(distance);
+        RecordKey.Scope recordScope = parseScope(scope);
+        if ((recordScope == RecordKey.Scope.ALL_TIME) != (qualifier == null)) {
+            throw EntityValidator.badRequest("A nationality or meet must be given for NATIONAL and MEET scopes, and only for them.");
+        }
+
+        return recordsIndex.top(new RecordKey(recordScope, event.id, qualifier)).stream()
+                .map(TopKIndex.Entry::participation)
+                .toList();
+    }
+
+    /**
+     * Retrieves the records broken in an event.
+     *
+     * @param distance The distance of the event.
+     * @return The broken records of the event, most recent first.
+     */
+    @Transactional
+    public List<RecordDTO> findHistory(BigDecimal distance) {
+        return unitOfWork.getRecordsRepository()
+                .list("distance = ?1 ORDER BY brokenAt DESC, id DESC", distance)
+                .stream()
+                .map(RecordsService::toDTO)
+                .toList();
+    }
+
+    /**
+     * Subscribes to the records broken from now on.
+     *
+     * @return The broken records, until the subscriber cancels.
+     */
+    public Multi<RecordDTO> stream() {
+        return processor.onOverflow().buffer(bufferSize);
+    }
+
+    /**
+     * Stores and schedules the broadcast of every record beaten by a finished participation.
+     */
+    private void detect(List<RecordKey> keys, ParticipationDTO participation) {
+        if (!participation.finished()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (RecordKey key : keys) {
+            TopKIndex.Entry record = recordsIndex.best(key);
+            if (record == null || participation.seconds() >= record.seconds()) {
+                continue;
+            }
+
+            RecordDTO broken = toDTO(key, participation, record.seconds(), now);
+            unitOfWork.getRecordsRepository().persist(toEntity(broken));
+            transactionCallbacks.afterCommit(() -> emitter.onNext(broken));
+        }
+    }
+
+    private void reload(Set<RecordKey> keys) {
+        if (!keys.isEmpty()) {
+            backgroundExecutor.execute(() -> keys.forEach(recordsIndex::reload));
+        }
+    }
+
+    private List<RecordKey> keysOf(ParticipationEntity participation) {
+        return recordsIndex.keysOf(
+                participation.getEvent().id,
+                participation.getCompetition().getCompetitionName(),
+                participation.getCompetitor().getNationalities().stream().map(NationalityEntity::getCountryName).toList());
+    }
+
+    private EventEntity findEvent(BigDecimal distance) {
+        EventEntity event = unitOfWork.getEventsRepository()
+                .find("distance = ?1", distance)
+                .firstResult();
+
+        EntityValidator.throwNotFoundException(event, "No events of this distance");
+
+        return event;
+    }
+
+    private static RecordKey.Scope parseScope(String scope) {
+        try {
+            return RecordKey.Scope.valueOf(String.valueOf(scope).toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw EntityValidator.badRequest("Invalid scope '" + scope + "'. Expected ALL_TIME, NATIONAL or MEET.");
+        }
+    }
+
+    //Mappers
+    private static RecordDTO toDTO(RecordKey key, ParticipationDTO participation, Float previousSeconds,
+                                   LocalDateTime brokenAt) {
+        return new RecordDTO(
+                key.scope().name(),
+                key.scope() == RecordKey.Scope.NATIONAL ? key.qualifier() : null,
+                key.scope() == RecordKey.Scope.MEET ? key.qualifier() : null,
+                participation.distance(),
+                participation.eventType(),
+                participation.seconds(),
+                previousSeconds,
+                brokenAt,
+                participation);
+    }
+
+    private static RecordDTO toDTO(RecordEntity record) {
+        return new RecordDTO(
+                record.getScope().name(),
+                record.getScope() == RecordKey.Scope.NATIONAL ? record.getQualifier() : null,
+                record.getScope() == RecordKey.Scope.MEET ? record.getQualifier() : null,
+                record.getDistance(),
+                record.getEventType(),
+                record.getSeconds(),
+                record.getPreviousSeconds(),
+                record.getBrokenAt(),
+                new ParticipationDTO(
+                        record.getFirstName(),
+                        record.getMiddleName(),
+                        record.getLastName(),
+                        record.getMobilePhone(),
+                        record.getCompetitionName(),
+                        record.getCompetitionDate(),
+                        record.getDistance(),
+                        record.getEventType(),
+                        record.getSeconds(),
+                        true,
+                        record.getPlace()));
+    }
+
+    private static RecordEntity toEntity(RecordDTO broken) {
+        ParticipationDTO participation = broken.participation();
+        RecordEntity record = new RecordEntity();
+        record.setScope(RecordKey.Scope.valueOf(broken.scope()));
+        record.setQualifier(broken.nationality() != null ? broken.nationality() : broken.meet());
+        record.setDistance(broken.distance());
+        record.setEventType(broken.eventType());
+        record.setSeconds(broken.seconds());
+        record.setPreviousSeconds(broken.previousSeconds());
+        record.setBrokenAt(broken.brokenAt());
+        record.setFirstName(participation.firstName());
+        record.setMiddleName(participation.middleName());
+        record.setLastName(participation.lastName());
+        record.setMobilePhone(participation.mobilePhone());
+        record.setCompetitionName(participation.competitionName());
+        record.setCompetitionDate(participation.competitionDate());
+        record.setPlace(participation.place());
+        return record;
+    }
+}
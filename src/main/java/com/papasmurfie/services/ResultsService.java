@@ -6,10 +6,12 @@ import com.papasmurfie.entities.ResultEntity;
 import com.papasmurfie.uow.IUnitOfWork;
 import com.papasmurfie.utility.EntityValidator;
 import com.papasmurfie.utility.ErrorResponse;
+import com.papasmurfie.utility.JsonArrayStreamer;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.transaction.Transactional;
 import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 
 import java.util.List;
 
@@ -23,14 +25,22 @@ import java.util.List;
 public class ResultsService {
 
     private final IUnitOfWork unitOfWork;
+    private final JsonArrayStreamer jsonArrayStreamer;
+    private final ParticipationViewService participationViewService;
 
     /**
      * Constructs a ResultsService with the specified UnitOfWork.
      *
      * @param unitOfWork The unit of work for accessing repositories.
+     * @param jsonArrayStreamer The writer of streamed responses.
+     * @param participationViewService The service copying updated results to the participation read model.
      */
-    public ResultsService(IUnitOfWork unitOfWork) {
+    public ResultsService(IUnitOfWork unitOfWork,
+                          JsonArrayStreamer jsonArrayStreamer,
+                          ParticipationViewService participationViewService) {
         this.unitOfWork = unitOfWork;
+        this.jsonArrayStreamer = jsonArrayStreamer;
+        this.participationViewService = participationViewService;
     }
 
     /**
@@ -48,6 +58,15 @@ public class ResultsService {
         return results;
     }
 
+    /**
+     * Streams all results as a JSON array, reading them from a database cursor.
+     *
+     * @return The response body writing all results.
+     */
+    public StreamingOutput streamAll() {
+        return jsonArrayStreamer.stream(unitOfWork.getResultsRepository()::streamDTOs);
+    }
+
     /**
      * Attempts to save a new result. However, this method is currently not functional
      * and throws a WebApplicationException indicating that results must be created through
@@ -104,6 +123,7 @@ public class ResultsService {
         resultEntity.setSeconds(editResultDTO.newSeconds());
         resultEntity.setFinished(editResultDTO.newFinished());
         resultEntity.setPlace(editResultDTO.newPlace());
+        participationViewService.resultUpdated(resultEntity);
 
         return mapToDto(resultEntity);
     }
@@ -0,0 +1,255 @@
+package com.papasmurfie.services;
+
+import com.papasmurfie.dto.ParticipationDTO;
+import com.papasmurfie.dto.SeasonRankingDTO;
+import com.papasmurfie.entities.EventEntity;
+import com.papasmurfie.uow.IUnitOfWork;
+import com.papasmurfie.utility.BackgroundExecutor;
+import com.papasmurfie.utility.EntityValidator;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.Startup;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.spi.ObserverMethod;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.transaction.Transactional;
+import jakarta.ws.rs.WebApplicationException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Service class computing the season rankings of the events: the best finished time of every competitor in an
+ * event during a calendar year, ranked.
+ * <p>
+ * On PostgreSQL, the best times and their ranks are precomputed in the {@code season_rankings} materialized view,
+ * created and refreshed on startup, so a ranking is read from an index instead of aggregating the results. The view
+ * is refreshed concurrently, without blocking its readers, in the background after every participation written
+ * through the API or a bulk submission, and every {@code pnu.rankings.refresh-interval}; rankings therefore trail the
+ * results by the time of a refresh. On any other database, e.g. an embedded one used in tests, the ranking is
+ * computed from the participations on every request.
+ * </p>
+ * <p>
+ * It is marked as {@link ApplicationScoped} to allow for CDI (Contexts and Dependency Injection) in the application.
+ */
+@Startup(ObserverMethod.DEFAULT_PRIORITY + 1)
+@ApplicationScoped
+public class SeasonRankingsService {
+
+    private static final String CREATE_VIEW = "CREATE MATERIALIZED VIEW IF NOT EXISTS season_rankings AS "
+            + "SELECT season, event_id, competitor_id, participation_id, best_seconds, "
+            + "RANK() OVER (PARTITION BY season, event_id ORDER BY best_seconds) AS overall_rank "
+            + "FROM ("
+            + "SELECT DISTINCT ON (season, p.event_id, p.competitor_id) "
+            + "CAST(EXTRACT(YEAR FROM co.competitionDate) AS integer) AS season, p.event_id, p.competitor_id, "
+            + "p.id AS participation_id, r.seconds AS best_seconds "
+            + "FROM Participations p "
+            + "JOIN Results r ON r.id = p.result_id "
+            + "JOIN Competitions co ON co.id = p.competition_id "
+            + "WHERE r.finished "
+            + "ORDER BY season, p.event_id, p.competitor_id, r.seconds, p.id"
+            + ") best";
+
+    /**
+     * Selects the ranking rows of a season and event, joined with their competitor and competition. The national
+     * variant replaces {@code overall_rank} by the rank among the competitors of the nationality.
+     */
+    private static final String RANKING_SELECT = "c.competitorFirstName, c.competitorMiddleName, "
+            + "c.competitorLastName, c.phone, sr.best_seconds, co.competitionName, co.competitionDate "
+            + "FROM season_rankings sr "
+            + "JOIN Competitors c ON c.id = sr.competitor_id "
+            + "JOIN Participations p ON p.id = sr.participation_id "
+            + "JOIN Competitions co ON co.id = p.competition_id "
+            + "WHERE sr.season = ?1 AND sr.event_id = ?2";
+
+    private final IUnitOfWork unitOfWork;
+    private final BackgroundExecutor backgroundExecutor;
+    private final boolean materialized;
+    private final AtomicBoolean refreshPending = new AtomicBoolean();
+
+    /**
+     * Constructs a {@link SeasonRankingsService}.
+     *
+     * @param unitOfWork The unit of work used to interact with the repositories.
+     * @param backgroundExecutor The executor refreshing the view after writes.
+     * @param dbKind The kind of database; the materialized view is only used on PostgreSQL.
+     */
+    public SeasonRankingsService(IUnitOfWork unitOfWork,
+                                 BackgroundExecutor backgroundExecutor,
+                                 @ConfigProperty(name = "quarkus.datasource.db-kind") String dbKind) {
+        this.unitOfWork = unitOfWork;
+        this.backgroundExecutor = backgroundExecutor;
+        this.materialized = dbKind.equalsIgnoreCase("postgresql");
+    }
+
+    /**
+     * Creates the view, and refreshes it once in case it was created by an earlier run and missed later results.
+     */
+    @PostConstruct
+    public void init() {
+        createView();
+        refresh();
+    }
+
+    /**
+     * Creates the materialized view and its indexes if they do not exist yet. The unique index is required to
+     * refresh the view concurrently.
+     */
+    @Transactional
+    public void createView() {
+        if (!materialized) {
+            return;
+        }
+
+        EntityManager entityManager = entityManager();
+        entityManager.createNativeQuery(CREATE_VIEW).executeUpdate();
+        entityManager.createNativeQuery("CREATE UNIQUE INDEX IF NOT EXISTS season_rankings_key "
+                + "ON season_rankings (season, event_id, competitor_id)").executeUpdate();
+        entityManager.createNativeQuery("CREATE INDEX IF NOT EXISTS season_rankings_rank "
+                + "ON season_rankings (season, event_id, overall_rank)").executeUpdate();
+    }
+
+    /**
+     * Refreshes the materialized view on schedule. A refresh still running when the next one is due is not
+     * overlapped.
+     */
+    @Scheduled(every = "${pnu.rankings.refresh-interval:5m}",
+            delayed = "${pnu.rankings.refresh-interval:5m}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void scheduledRefresh() {
+        refresh();
+    }
+
+    /**
+     * Asks for the materialized view to be refreshed in the background, once a write has committed. Requests made
+     * while a refresh is waiting to start are served by that refresh.
+     */
+    public void requestRefresh() {
+        if (materialized && refreshPending.compareAndSet(false, true)) {
+            backgroundExecutor.execute(this::refresh);
+        }
+    }
+
+    /**
+     * Recomputes the materialized view, without blocking its readers.
+     */
+    public synchronized void refresh() {
+        if (!materialized) {
+            return;
+        }
+
+        refreshPending.set(false);
+        QuarkusTransaction.requiringNew().run(() -> entityManager()
+                .createNativeQuery("REFRESH MATERIALIZED VIEW CONCURRENTLY season_rankings")
+                .executeUpdate());
+    }
+
+    /**
+     * Retrieves the ranking of an event in a season, overall or among the competitors of a nationality.
+     *
+     * @param season      The calendar year.
+     * @param distance    The distance of the event.
+     * @param nationality The name of the nationality, or {@code null} for the overall ranking.
+     * @param limit       The maximum number of competitors.
+     * @return The best competitors of the season, best first.
+     * @throws WebApplicationException if the event is not found.
+     */
+    @Transactional
+    public List<SeasonRankingDTO> getRanking(int season, BigDecimal distance, String nationality, int limit) {
+        EventEntity event = unitOfWork.getEventsRepository()
+                .find("distance = ?1", distance)
+                .firstResult();
+
+        EntityValidator.throwNotFoundException(event, "No events of this distance");
+
+        return materialized
+                ? readView(season, event.id, nationality, limit)
+                : compute(season, event.id, nationality, limit);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<SeasonRankingDTO> readView(int season, Long eventId, String nationality, int limit) {
+        Query query;
+        if (nationality == null) {
+            query = entityManager().createNativeQuery("SELECT sr.overall_rank, " + RANKING_SELECT
+                    + " ORDER BY sr.overall_rank, sr.competitor_id");
+        } else {
+            query = entityManager().createNativeQuery("SELECT RANK() OVER (ORDER BY sr.best_seconds), " + RANKING_SELECT
+                            + " AND EXISTS (SELECT 1 FROM competitor_nationality cn "
+                            + "JOIN Nationalities n ON n.id = cn.nationality_id "
+                            + "WHERE cn.competitor_id = sr.competitor_id AND LOWER(n.countryName) = ?3) "
+                            + "ORDER BY sr.best_seconds, sr.competitor_id")
+                    .setParameter(3, nationality.toLowerCase());
+        }
+
+        List<Object[]> rows = query
+                .setParameter(1, season)
+                .setParameter(2, eventId)
+                .setMaxResults(limit)
+                .getResultList();
+        return rows.stream()
+                .map(row -> new SeasonRankingDTO(
+                        ((Number) row[0]).intValue(),
+                        (String) row[1],
+                        (String) row[2],
+                        (String) row[3],
+                        (String) row[4],
+                        ((Number) row[5]).floatValue(),
+                        (String) row[6],
+                        row[7] instanceof Date date ? date.toLocalDate() : (LocalDate) row[7]))
+                .toList();
+    }
+
+    /**
+     * Computes a ranking from the participations: the fastest participation of each competitor comes first in
+     * time order, so the first one seen per competitor is their best. Equal times are ordered by competitor, as in the
+     * view, so a limit cuts a tie the same way.
+     */
+    private List<SeasonRankingDTO> compute(int season, Long eventId, String nationality, int limit) {
+        String where = "e.id = ?1 AND r.finished = true AND co.competitionDate BETWEEN ?2 AND ?3";
+        List<Object> params = new ArrayList<>(List.of(eventId, LocalDate.of(season, 1, 1), LocalDate.of(season, 12, 31)));
+        if (nationality != null) {
+            where += " AND EXISTS (SELECT n FROM Competitors c2 JOIN c2.nationalities n "
+                    + "WHERE c2.id = c.id AND LOWER(n.countryName) = ?4)";
+            params.add(nationality.toLowerCase());
+        }
+
+        List<SeasonRankingDTO> ranking = new ArrayList<>();
+        Set<String> ranked = new HashSet<>();
+        int position = 0;
+        for (ParticipationDTO participation : unitOfWork.getParticipationsRepository()
+                .findDTOs(where, "r.seconds, c.id, p.id", params.toArray())) {
+            if (!ranked.add(participation.mobilePhone())) {
+                continue;
+            }
+            position++;
+            if (position > limit) {
+                break;
+            }
+
+            int rank = !ranking.isEmpty() && ranking.getLast().seconds() == participation.seconds()
+                    ? ranking.getLast().rank()
+                    : position;
+            ranking.add(new SeasonRankingDTO(
+                    rank,
+                    participation.firstName(),
+                    participation.middleName(),
+                    participation.lastName(),
+                    participation.mobilePhone(),
+                    participation.seconds(),
+                    participation.competitionName(),
+                    participation.competitionDate()));
+        }
+        return ranking;
+    }
+
+    private EntityManager entityManager() {
+        return unitOfWork.getParticipationsRepository().getEntityManager();
+    }
+}
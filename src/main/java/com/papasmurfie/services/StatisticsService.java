@@ -0,0 +1,126 @@
+package com.papasmurfie.services;
+
+import com.papasmurfie.dto.DistinctCompetitorsDTO;
+import com.papasmurfie.dto.TimeDistributionDTO;
+import com.papasmurfie.entities.CompetitionEntity;
+import com.papasmurfie.entities.EventEntity;
+import com.papasmurfie.indexes.StatisticsIndex;
+import com.papasmurfie.indexes.TimeHistogram;
+import com.papasmurfie.uow.IUnitOfWork;
+import com.papasmurfie.utility.EntityValidator;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Transactional;
+import jakarta.ws.rs.WebApplicationException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service class answering the approximate statistics of the analytics panel from the {@link StatisticsIndex}.
+ * <p>
+ * Every answer, for a competition or a whole season, is read from a single sketch maintained as the results are
+ * written, so its cost does not depend on the number of participations. Only the competition or event named by the
+ * request is looked up in the database.
+ * </p>
+ * <p>
+ * It is marked as {@link ApplicationScoped} to allow for CDI (Contexts and Dependency Injection) in the application.
+ */
+@ApplicationScoped
+public class StatisticsService {
+
+    private static final int MAX_BINS = 200;
+
+    private final IUnitOfWork unitOfWork;
+    private final StatisticsIndex statisticsIndex;
+
+    /**
+     * Constructs a {@link StatisticsService}.
+     *
+     * @param unitOfWork The unit of work used to look up competitions and events.
+     * @param statisticsIndex The sketches of the participations.
+     */
+    public StatisticsService(IUnitOfWork unitOfWork, StatisticsIndex statisticsIndex) {
+        this.unitOfWork = unitOfWork;
+        this.statisticsIndex = statisticsIndex;
+    }
+
+    /**
+     * Retrieves the distribution of the finishing times of an event, in a competition or in a season.
+     *
+     * @param distance        The distance of the event.
+     * @param competitionName The competition's name, or {@code null} for a season.
+     * @param competitionDate The competition's date, formatted as yyyy-MM-dd, or {@code null} for a season.
+     * @param season          The calendar year, used when no competition is given.
+     * @param bins            The number of bins of the histogram.
+     * @return The number of finishers, the median, p90 and p99 times, and the histogram.
+     * @throws WebApplicationException if neither a competition nor a season is given, the number of bins is not
+     *                                 valid, or the event or competition is not found.
+     */
+    @Transactional
+    public TimeDistributionDTO getTimeDistribution(BigDecimal distance, String competitionName, String competitionDate,
+                                                   Integer season, int bins) {
+        if (bins < 1 || bins > MAX_BINS) {
+            throw EntityValidator.badRequest("The number of bins must be between 1 and " + MAX_BINS + ".");
+        }
+
+        EventEntity event = unitOfWork.getEventsRepository()
+                .find("distance = ?1", distance)
+                .firstResult();
+
+        EntityValidator.throwNotFoundException(event, "No events of this distance");
+
+        TimeHistogram times = competitionName != null
+                ? statisticsIndex.competitionTimes(findCompetition(competitionName, competitionDate).id, event.id)
+                : statisticsIndex.seasonTimes(requireSeason(season), event.id);
+
+        return new TimeDistributionDTO(
+                times.count(),
+                times.quantile(0.5),
+                times.quantile(0.9),
+                times.quantile(0.99),
+                times.bins(bins));
+    }
+
+    /**
+     * Retrieves the number of distinct competitors of every nationality, in a competition or in a season.
+     *
+     * @param competitionName The competition's name, or {@code null} for a season.
+     * @param competitionDate The competition's date, formatted as yyyy-MM-dd, or {@code null} for a season.
+     * @param season          The calendar year, used when no competition is given.
+     * @return The estimated competitors of every nationality, ordered by nationality.
+     * @throws WebApplicationException if neither a competition nor a season is given, or the competition is not
+     *                                 found.
+     */
+    @Transactional
+    public List<DistinctCompetitorsDTO> getDistinctCompetitors(String competitionName, String competitionDate,
+                                                               Integer season) {
+        Map<String, Long> competitors = competitionName != null
+                ? statisticsIndex.competitionCompetitors(findCompetition(competitionName, competitionDate).id)
+                : statisticsIndex.seasonCompetitors(requireSeason(season));
+
+        return competitors.entrySet().stream()
+                .map(entry -> new DistinctCompetitorsDTO(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    private CompetitionEntity findCompetition(String competitionName, String competitionDate) {
+        LocalDate date = EntityValidator.parseDate(competitionDate);
+
+        CompetitionEntity competition = unitOfWork.getCompetitionsRepository()
+                .find("competitionName LIKE ?1 AND competitionDate = ?2", competitionName, date)
+                .firstResult();
+
+        EntityValidator.throwNotFoundException(competition, "Competition not found.");
+
+        return competition;
+    }
+
+    private static int requireSeason(Integer season) {
+        if (season == null) {
+            throw EntityValidator.badRequest("Either a competition or a season must be given.");
+        }
+        return season;
+    }
+}
@@ -53,6 +53,27 @@ public interface IUnitOfWork {
      */
     ResultsRepository getResultsRepository();
 
+    /**
+     * Retrieves the repository for Personal Bests.
+     *
+     * @return The repository that handles operations related to personal bests.
+     */
+    PersonalBestsRepository getPersonalBestsRepository();
+
+    /**
+     * Retrieves the repository for Records.
+     *
+     * @return The repository that handles operations related to broken records.
+     */
+    RecordsRepository getRecordsRepository();
+
+    /**
+     * Retrieves the repository for the Participation View.
+     *
+     * @return The repository that handles operations related to the denormalized participation read model.
+     */
+    ParticipationViewRepository getParticipationViewRepository();
+
 
 
 }
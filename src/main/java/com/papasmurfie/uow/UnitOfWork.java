@@ -22,6 +22,9 @@ public class UnitOfWork implements IUnitOfWork{
     private final NationalitiesRepository nationalitiesRepository;
     private final ParticipationsRepository participationsRepository;
     private final ResultsRepository resultsRepository;
+    private final PersonalBestsRepository personalBestsRepository;
+    private final RecordsRepository recordsRepository;
+    private final ParticipationViewRepository participationViewRepository;
 
     /**
      * Constructs a new {@code UnitOfWork} instance with the specified repositories injected by the DI container:
@@ -32,19 +35,28 @@ public class UnitOfWork implements IUnitOfWork{
      * @param nationalitiesRepository The repository responsible for handling nationalities data.
      * @param participationsRepository The repository responsible for handling participations data.
      * @param resultsRepository The repository responsible for handling results data.
+     * @param personalBestsRepository The repository responsible for handling personal bests data.
+     * @param recordsRepository The repository responsible for handling broken records data.
+     * @param participationViewRepository The repository responsible for handling the participation read model.
      */
     public UnitOfWork(CompetitionsRepository competitionsRepository,
                       CompetitorsRepository competitorsRepository,
                       EventsRepository eventsRepository,
                       NationalitiesRepository nationalitiesRepository,
                       ParticipationsRepository participationsRepository,
-                      ResultsRepository resultsRepository) {
+                      ResultsRepository resultsRepository,
+                      PersonalBestsRepository personalBestsRepository,
+                      RecordsRepository recordsRepository,
+                      ParticipationViewRepository participationViewRepository) {
         this.competitionsRepository = competitionsRepository;
         this.competitorsRepository = competitorsRepository;
         this.eventsRepository = eventsRepository;
         this.nationalitiesRepository = nationalitiesRepository;
         this.participationsRepository = participationsRepository;
         this.resultsRepository = resultsRepository;
+        this.personalBestsRepository = personalBestsRepository;
+        this.recordsRepository = recordsRepository;
+        this.participationViewRepository = participationViewRepository;
     }
 
     /**
@@ -106,4 +118,34 @@ public class UnitOfWork implements IUnitOfWork{
     public ResultsRepository getResultsRepository() {
         return resultsRepository;
     }
+
+    /**
+     * Returns the repository for managing personal bests.
+     *
+     * @return The {@link PersonalBestsRepository} instance.
+     */
+    @Override
+    public PersonalBestsRepository getPersonalBestsRepository() {
+        return personalBestsRepository;
+    }
+
+    /**
+     * Returns the repository for managing broken records.
+     *
+     * @return The {@link RecordsRepository} instance.
+     */
+    @Override
+    public RecordsRepository getRecordsRepository() {
+        return recordsRepository;
+    }
+
+    /**
+     * Returns the repository for managing the participation read model.
+     *
+     * @return The {@link ParticipationViewRepository} instance.
+     */
+    @Override
+    public ParticipationViewRepository getParticipationViewRepository() {
+        return participationViewRepository;
+    }
 }
@@ -0,0 +1,38 @@
+package com.papasmurfie.utility;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The {@code BackgroundExecutor} class runs work which must not block the calling request thread, such as
+ * background refreshes of cached responses.
+ * <p>
+ * Every task runs on its own virtual thread, so a stalled database query only parks a virtual thread and never
+ * exhausts a shared worker pool. The executor is shut down together with the application.
+ * </p>
+ */
+@ApplicationScoped
+public class BackgroundExecutor {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Submits a task for asynchronous execution.
+     *
+     * @param task The task to run.
+     */
+    public void execute(Runnable task) {
+        executor.execute(task);
+    }
+
+    /**
+     * Stops accepting new tasks when the application shuts down.
+     */
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,83 @@
+package com.papasmurfie.utility;
+
+import com.papasmurfie.dto.BatchLookupDTO;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.ws.rs.WebApplicationException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * The {@code BatchLookup} class resolves a list of natural keys (phones, distances, ...) with as few queries as
+ * possible, and reports which keys matched and which did not.
+ * <p>
+ * The distinct keys are split into chunks of {@code pnu.batch.chunk-size}, so that very large lists do not exceed
+ * the number of bind parameters a single {@code IN} query accepts; each chunk is resolved by a single query. At most
+ * {@code pnu.batch.max-keys} keys are accepted per lookup.
+ * </p>
+ */
+@ApplicationScoped
+public class BatchLookup {
+
+    private final int chunkSize;
+    private final int maxKeys;
+
+    /**
+     * Constructs a {@link BatchLookup}.
+     *
+     * @param chunkSize The maximum number of keys resolved by one query.
+     * @param maxKeys   The maximum number of keys of one lookup.
+     */
+    public BatchLookup(@ConfigProperty(name = "pnu.batch.chunk-size", defaultValue = "1000") int chunkSize,
+                       @ConfigProperty(name = "pnu.batch.max-keys", defaultValue = "10000") int maxKeys) {
+        this.chunkSize = chunkSize;
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * Resolves a list of keys.
+     *
+     * @param keys      The requested keys, possibly with duplicates.
+     * @param query     Finds the objects matching one chunk of keys with a single query.
+     * @param keyOf     Extracts the key of a found object.
+     * @param normalize Maps requested and found keys to a common form before matching them, e.g. to ignore the
+     *                  scale of decimals.
+     * @param <K>       The type of the keys.
+     * @param <V>       The type of the found objects.
+     * @return The found objects keyed by the requested keys, and the keys which did not match.
+     * @throws WebApplicationException If no keys or too many keys are requested.
+     */
+    public <K, V> BatchLookupDTO<K, V> lookup(List<K> keys,
+                                              Function<List<K>, List<V>> query,
+                                              Function<V, K> keyOf,
+                                              Function<K, ?> normalize) {
+        if (keys == null || keys.isEmpty() || keys.stream().anyMatch(Objects::isNull)) {
+            throw EntityValidator.badRequest("Provide a non-empty list of keys without nulls.");
+        }
+
+        List<K> distinct = List.copyOf(new LinkedHashSet<>(keys));
+        if (distinct.size() > maxKeys) {
+            throw EntityValidator.badRequest("At most " + maxKeys + " keys can be looked up at once.");
+        }
+
+        Map<Object, V> matches = new HashMap<>();
+        for (int from = 0; from < distinct.size(); from += chunkSize) {
+            for (V value : query.apply(distinct.subList(from, Math.min(from + chunkSize, distinct.size())))) {
+                matches.putIfAbsent(normalize.apply(keyOf.apply(value)), value);
+            }
+        }
+
+        List<BatchLookupDTO.Hit<K, V>> found = new ArrayList<>();
+        List<K> missing = new ArrayList<>();
+        for (K key : distinct) {
+            V value = matches.get(normalize.apply(key));
+            if (value == null) {
+                missing.add(key);
+            } else {
+                found.add(new BatchLookupDTO.Hit<>(key, value));
+            }
+        }
+        return new BatchLookupDTO<>(found, missing);
+    }
+}
@@ -0,0 +1,58 @@
+package com.papasmurfie.utility;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.papasmurfie.dto.CompactParticipationsDTO;
+import com.papasmurfie.dto.ParticipationDTO;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import jakarta.ws.rs.ext.Provider;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collection;
+
+/**
+ * Writes lists of {@link ParticipationDTO} in the compact shape of {@link CompactParticipationsDTO} when the client
+ * asks for {@value MediaTypes#COMPACT_JSON}.
+ * <p>
+ * The resource methods keep returning the classic list, which stays the default for {@code application/json};
+ * the compact shape is only produced by the methods which list {@value MediaTypes#COMPACT_JSON} in their
+ * {@link Produces} annotation.
+ * </p>
+ */
+@Provider
+@Produces(MediaTypes.COMPACT_JSON)
+public class CompactParticipationsWriter implements MessageBodyWriter<Collection<ParticipationDTO>> {
+
+    private final ObjectMapper objectMapper;
+
+    public CompactParticipationsWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return Collection.class.isAssignableFrom(type)
+                && genericType instanceof ParameterizedType parameterizedType
+                && parameterizedType.getActualTypeArguments()[0] == ParticipationDTO.class;
+    }
+
+    @Override
+    public void writeTo(Collection<ParticipationDTO> participations,
+                        Class<?> type,
+                        Type genericType,
+                        Annotation[] annotations,
+                        MediaType mediaType,
+                        MultivaluedMap<String, Object> httpHeaders,
+                        OutputStream entityStream) throws IOException {
+        objectMapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .writeValue(entityStream, CompactParticipationsDTO.of(participations));
+    }
+}
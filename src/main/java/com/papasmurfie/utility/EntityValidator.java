@@ -4,6 +4,9 @@ import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.Response;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -78,6 +81,40 @@ public class EntityValidator {
         }
     }
 
+    /**
+     * Creates a "Bad Request" exception for a request with invalid parameters.
+     *
+     * @param details The error message to include in the exception.
+     * @return The exception, to be thrown by the caller.
+     */
+    public static WebApplicationException badRequest(String details){
+        return new WebApplicationException(
+                Response.status(Response.Status.CONFLICT)
+                        .entity(new ErrorResponse(
+                                400,
+                                "Bad Request",
+                                details
+                        ))
+                        .type("application/json")
+                        .build()
+        );
+    }
+
+    /**
+     * Parses a date given in the {@code yyyy-MM-dd} format.
+     *
+     * @param date The date to parse.
+     * @return The parsed date.
+     * @throws WebApplicationException If the date is missing or not in the {@code yyyy-MM-dd} format.
+     */
+    public static LocalDate parseDate(String date){
+        try {
+            return LocalDate.parse(String.valueOf(date));
+        } catch (DateTimeParseException e) {
+            throw badRequest("Invalid date format. Expected format is yyyy-MM-dd.");
+        }
+    }
+
     /**
      * Validates if a value for a specific property is unique in the repository.
      * If it already exists, a "Duplicate entry" exception is thrown.
@@ -107,6 +144,28 @@ public class EntityValidator {
         }
     }
 
+    /**
+     * Throws an exception if the given collection is empty.
+     *
+     * @param values The collection which is expected to hold at least one element.
+     * @param message The error message to include in the exception if the collection is empty.
+     * @throws WebApplicationException If the collection is empty.
+     */
+    public static void validateNotEmpty(Collection<?> values, String message){
+        if(values.isEmpty()){
+            throw new WebApplicationException(
+                    Response.status(Response.Status.CONFLICT)
+                            .entity(new ErrorResponse(
+                                    404,
+                                    "Not Found",
+                                    message
+                            ))
+                            .type("application/json")
+                            .build()
+            );
+        }
+    }
+
     /**
      * Throws an exception if no entity matching the specified property is found in the repository.
      *
@@ -260,5 +319,30 @@ public class EntityValidator {
 
     }
 
+    /**
+     * Throws a "Not Found" exception if the given list is {@code null} or empty.
+     *
+     * @param entities The entities which are expected to be found.
+     * @param errorMessage The error message to include in the exception if no entities are found.
+     * @return The given entities, or throws an exception if there are none.
+     * @throws WebApplicationException If the list is {@code null} or empty.
+     */
+    public static <T> List<T> validateExist(List<T> entities, String errorMessage) {
+        if (entities == null || entities.isEmpty()) {
+            throw new WebApplicationException(
+                    Response.status(Response.Status.NOT_FOUND)
+                            .entity(new ErrorResponse(
+                                    404,
+                                    "Not found",
+                                    errorMessage
+                            ))
+                            .type("application/json")
+                            .build()
+            );
+        }
+
+        return entities;
+    }
+
 
 }
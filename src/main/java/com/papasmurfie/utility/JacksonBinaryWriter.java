@@ -0,0 +1,60 @@
+package com.papasmurfie.utility;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import jakarta.ws.rs.ext.Provider;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+/**
+ * Writes response entities as CBOR or Smile when the client asks for {@value MediaTypes#CBOR} or
+ * {@value MediaTypes#SMILE}.
+ * <p>
+ * Both formats are binary encodings of the JSON data model, so the entities keep the exact shape they have in
+ * JSON, including the trimming of a sparse fieldset by {@link SparseFieldsFilter}; the writers are copies of the application {@link ObjectMapper} and share its modules and settings. Only the
+ * resource methods which list these media types in their {@link Produces} annotation produce them.
+ * </p>
+ */
+@Provider
+@Produces({MediaTypes.CBOR, MediaTypes.SMILE})
+public class JacksonBinaryWriter implements MessageBodyWriter<Object> {
+
+    private final ObjectWriter cborWriter;
+    private final ObjectWriter smileWriter;
+
+    public JacksonBinaryWriter(ObjectMapper objectMapper) {
+        this.cborWriter = objectMapper.copyWith(new CBORFactory())
+                .writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.smileWriter = objectMapper.copyWith(new SmileFactory())
+                .writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return true;
+    }
+
+    @Override
+    public void writeTo(Object entity,
+                        Class<?> type,
+                        Type genericType,
+                        Annotation[] annotations,
+                        MediaType mediaType,
+                        MultivaluedMap<String, Object> httpHeaders,
+                        OutputStream entityStream) throws IOException {
+        ObjectWriter writer = mediaType.isCompatible(MediaType.valueOf(MediaTypes.CBOR)) ? cborWriter : smileWriter;
+        writer.forType(writer.getTypeFactory().constructType(genericType)).writeValue(entityStream, entity);
+    }
+}
@@ -0,0 +1,84 @@
+package com.papasmurfie.utility;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+
+/**
+ * The {@code JsonArrayStreamer} class writes the rows of a database cursor to the response as a JSON array, one
+ * row at a time.
+ * <p>
+ * The query is only run once the response body is written, inside its own transaction, and its rows are
+ * pulled from the JDBC driver in chunks of {@code pnu.streaming.fetch-size}. Each row is serialized with a Jackson
+ * {@link JsonGenerator} as soon as it is read, and the output is flushed after every chunk, so the memory used by
+ * a response is bounded by the fetch size rather than by the size of the table.
+ * </p>
+ * <p>
+ * Since the status line is sent before the first row is read, a query without rows results in an empty array
+ * instead of a "not found" error.
+ * </p>
+ */
+@ApplicationScoped
+public class JsonArrayStreamer {
+
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+
+    /**
+     * Constructs a {@link JsonArrayStreamer}.
+     *
+     * @param objectMapper The object mapper configured for the application.
+     * @param fetchSize    The number of rows fetched from the database at a time.
+     */
+    public JsonArrayStreamer(ObjectMapper objectMapper,
+                             @ConfigProperty(name = "pnu.streaming.fetch-size", defaultValue = "500") int fetchSize) {
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Creates a response body streaming the rows of a query.
+     *
+     * @param query Opens the stream of rows, given the fetch size to use.
+     * @param <T>   The type of the rows.
+     * @return The response body, writing a JSON array.
+     */
+    public <T> StreamingOutput stream(IntFunction<Stream<T>> query) {
+        return output -> {
+            try {
+                QuarkusTransaction.requiringNew().run(() -> {
+                    try (Stream<T> rows = query.apply(fetchSize);
+                         JsonGenerator generator = objectMapper.getFactory()
+                                 .createGenerator(output)
+                                 .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+                        generator.writeStartArray();
+
+                        int written = 0;
+                        Iterator<T> iterator = rows.iterator();
+                        while (iterator.hasNext()) {
+                            generator.writeObject(iterator.next());
+                            if (++written % fetchSize == 0) {
+                                generator.flush();
+                            }
+                        }
+
+                        generator.writeEndArray();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+    }
+}
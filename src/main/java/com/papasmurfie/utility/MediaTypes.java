@@ -0,0 +1,32 @@
+package com.papasmurfie.utility;
+
+/**
+ * The media types, besides {@code application/json}, which the resources can produce on request through the
+ * {@code Accept} header.
+ */
+public final class MediaTypes {
+
+    /**
+     * Lists of participations in the compact, dictionary-encoded shape of
+     * {@link com.papasmurfie.dto.CompactParticipationsDTO}.
+     */
+    public static final String COMPACT_JSON = "application/vnd.pnu.compact+json";
+
+    /**
+     * The regular JSON shape, encoded as CBOR.
+     */
+    public static final String CBOR = "application/cbor";
+
+    /**
+     * The regular JSON shape, encoded as Jackson Smile.
+     */
+    public static final String SMILE = "application/x-jackson-smile";
+
+    /**
+     * Participations, competitors and results encoded as the Protobuf messages of {@code src/main/proto/pnu.proto}.
+     */
+    public static final String PROTOBUF = "application/x-protobuf";
+
+    private MediaTypes() {
+    }
+}
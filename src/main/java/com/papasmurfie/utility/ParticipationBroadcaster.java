@@ -0,0 +1,65 @@
+package com.papasmurfie.utility;
+
+import com.papasmurfie.dto.ParticipationDTO;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.operators.multi.processors.BroadcastProcessor;
+import io.smallrye.mutiny.operators.multi.processors.SerializedProcessor;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.LocalDate;
+
+/**
+ * The {@code ParticipationBroadcaster} class fans out the participations which are saved or whose result is
+ * replaced to everyone subscribed to their competition.
+ * <p>
+ * A participation published inside a transaction is only broadcast once that transaction has committed, so
+ * subscribers never see a result which is rolled back afterwards. Each subscriber buffers up to
+ * {@code pnu.broadcast.buffer-size} participations it has not consumed yet; a subscriber falling further behind is
+ * failed instead of slowing down the publishers.
+ * </p>
+ */
+@ApplicationScoped
+public class ParticipationBroadcaster {
+
+    private final BroadcastProcessor<ParticipationDTO> processor = BroadcastProcessor.create();
+    private final SerializedProcessor<ParticipationDTO, ParticipationDTO> emitter = processor.serialized();
+    private final TransactionCallbacks transactionCallbacks;
+    private final int bufferSize;
+
+    /**
+     * Constructs a {@link ParticipationBroadcaster}.
+     *
+     * @param transactionCallbacks The callbacks used to defer broadcasts until commit.
+     * @param bufferSize           The number of participations buffered for each subscriber.
+     */
+    public ParticipationBroadcaster(TransactionCallbacks transactionCallbacks,
+                                    @ConfigProperty(name = "pnu.broadcast.buffer-size", defaultValue = "1024") int bufferSize) {
+        this.transactionCallbacks = transactionCallbacks;
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Broadcasts a participation, after the current transaction commits if there is one; a participation published
+     * in a transaction which is rolled back, or marked rollback-only, is never broadcast.
+     *
+     * @param participation The saved or updated participation.
+     */
+    public void publish(ParticipationDTO participation) {
+        transactionCallbacks.afterCommit(() -> emitter.onNext(participation));
+    }
+
+    /**
+     * Subscribes to the participations of a competition broadcast from now on.
+     *
+     * @param competitionName The name of the competition, compared case-insensitively.
+     * @param competitionDate The date of the competition.
+     * @return The participations, until the subscriber cancels.
+     */
+    public Multi<ParticipationDTO> subscribe(String competitionName, LocalDate competitionDate) {
+        return processor
+                .select().where(participation -> competitionName.equalsIgnoreCase(participation.competitionName())
+                        && competitionDate.equals(participation.competitionDate()))
+                .onOverflow().buffer(bufferSize);
+    }
+}
@@ -0,0 +1,155 @@
+package com.papasmurfie.utility;
+
+import com.google.protobuf.MessageLite;
+import com.papasmurfie.dto.CompetitorDTO;
+import com.papasmurfie.dto.ParticipationDTO;
+import com.papasmurfie.dto.ResultDTO;
+import com.papasmurfie.proto.Competitor;
+import com.papasmurfie.proto.CompetitorList;
+import com.papasmurfie.proto.Participation;
+import com.papasmurfie.proto.ParticipationList;
+import com.papasmurfie.proto.Result;
+import com.papasmurfie.proto.ResultList;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import jakarta.ws.rs.ext.Provider;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * Writes participations, competitors and results, or lists of them, as the Protobuf messages of
+ * {@code src/main/proto/pnu.proto} when the client asks for {@value MediaTypes#PROTOBUF}.
+ * <p>
+ * The DTOs are copied into the messages generated from the schema. As in proto3, {@code null} fields are left at
+ * their default value, which is what the DTOs of a sparse fieldset hold for the fields which were not requested.
+ * </p>
+ */
+@Provider
+@Produces(MediaTypes.PROTOBUF)
+public class ProtobufWriter implements MessageBodyWriter<Object> {
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        if (Collection.class.isAssignableFrom(type)) {
+            return genericType instanceof ParameterizedType parameterizedType
+                    && parameterizedType.getActualTypeArguments()[0] instanceof Class<?> elementType
+                    && supports(elementType);
+        }
+        return supports(type);
+    }
+
+    @Override
+    public void writeTo(Object entity,
+                        Class<?> type,
+                        Type genericType,
+                        Annotation[] annotations,
+                        MediaType mediaType,
+                        MultivaluedMap<String, Object> httpHeaders,
+                        OutputStream entityStream) throws IOException {
+        MessageLite message = entity instanceof Collection<?> dtos ? toListMessage(dtos) : toMessage(entity);
+        message.writeTo(entityStream);
+    }
+
+    /**
+     * Copies a list of DTOs into the corresponding list message, e.g. {@link ParticipationList}.
+     *
+     * @param dtos The DTOs, all of a type accepted by {@link #supports(Class)}.
+     * @return The list message.
+     */
+    public static MessageLite toListMessage(Collection<?> dtos) {
+        Object first = dtos.stream().findFirst().orElse(null);
+        return switch (first) {
+            case null -> ParticipationList.getDefaultInstance();
+            case ParticipationDTO ignored -> {
+                ParticipationList.Builder list = ParticipationList.newBuilder();
+                dtos.forEach(dto -> list.addParticipations(toMessage((ParticipationDTO) dto)));
+                yield list.build();
+            }
+            case CompetitorDTO ignored -> {
+                CompetitorList.Builder list = CompetitorList.newBuilder();
+                dtos.forEach(dto -> list.addCompetitors(toMessage((CompetitorDTO) dto)));
+                yield list.build();
+            }
+            case ResultDTO ignored -> {
+                ResultList.Builder list = ResultList.newBuilder();
+                dtos.forEach(dto -> list.addResults(toMessage((ResultDTO) dto)));
+                yield list.build();
+            }
+            default -> throw new IllegalArgumentException("Unsupported type " + first.getClass().getName());
+        };
+    }
+
+    /**
+     * Copies a single DTO into the corresponding message, e.g. {@link Participation}.
+     *
+     * @param dto The DTO, of a type accepted by {@link #supports(Class)}.
+     * @return The message.
+     */
+    public static MessageLite toMessage(Object dto) {
+        return switch (dto) {
+            case ParticipationDTO participation -> toMessage(participation);
+            case CompetitorDTO competitor -> toMessage(competitor);
+            case ResultDTO result -> toMessage(result);
+            default -> throw new IllegalArgumentException("Unsupported type " + dto.getClass().getName());
+        };
+    }
+
+    private static boolean supports(Class<?> type) {
+        return type == ParticipationDTO.class || type == CompetitorDTO.class || type == ResultDTO.class;
+    }
+
+    private static Participation toMessage(ParticipationDTO dto) {
+        Participation.Builder message = Participation.newBuilder()
+                .setSeconds(dto.seconds())
+                .setFinished(dto.finished());
+        set(message::setFirstName, dto.firstName());
+        set(message::setMiddleName, dto.middleName());
+        set(message::setLastName, dto.lastName());
+        set(message::setMobilePhone, dto.mobilePhone());
+        set(message::setCompetitionName, dto.competitionName());
+        if (dto.competitionDate() != null) {
+            message.setCompetitionDate(dto.competitionDate().toString());
+        }
+        if (dto.distance() != null) {
+            message.setDistance(dto.distance().toPlainString());
+        }
+        set(message::setEventType, dto.eventType());
+        set(message::setPlace, dto.place());
+        return message.build();
+    }
+
+    private static Competitor toMessage(CompetitorDTO dto) {
+        Competitor.Builder message = Competitor.newBuilder();
+        set(message::setFirstName, dto.firstName());
+        set(message::setMiddleName, dto.middleName());
+        set(message::setLastName, dto.lastName());
+        set(message::setMobilePhone, dto.mobilePhone());
+        set(message::setEmail, dto.email());
+        if (dto.nationalities() != null) {
+            message.addAllNationalities(dto.nationalities());
+        }
+        return message.build();
+    }
+
+    private static Result toMessage(ResultDTO dto) {
+        Result.Builder message = Result.newBuilder()
+                .setSeconds(dto.seconds())
+                .setFinished(dto.finished());
+        set(message::setPlace, dto.place());
+        return message.build();
+    }
+
+    private static void set(Consumer<String> setter, String value) {
+        if (value != null) {
+            setter.accept(value);
+        }
+    }
+}
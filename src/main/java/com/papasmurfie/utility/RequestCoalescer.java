@@ -0,0 +1,123 @@
+package com.papasmurfie.utility;
+
+import com.papasmurfie.dto.CoalescingStatsDTO;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * The {@code RequestCoalescer} class merges concurrent identical read requests into a single execution.
+ * <p>
+ * The first caller for a given key (the leader) runs the supplied query, while every caller arriving with the same
+ * key before the leader finishes waits for and receives the very same result (or the very same exception).
+ * Once the execution completes the key is released, so subsequent requests see fresh data.
+ * <p>
+ * The class is annotated with {@link ApplicationScoped}, so all resources share one set of in-flight executions
+ * and one set of counters exposed through {@link #getStats()}.
+ * </p>
+ */
+@ApplicationScoped
+public class RequestCoalescer {
+
+    private final ConcurrentMap<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder executions = new LongAdder();
+
+    /**
+     * Executes the supplier, or joins an identical execution which is already in flight.
+     *
+     * @param key      The key identifying the request, see {@link #key(String, Object...)}.
+     * @param supplier The query to run when no identical execution is in flight.
+     * @param <T>      The type of the result.
+     * @return The result of the (possibly shared) execution.
+     * @throws RuntimeException The exception thrown by the shared execution, rethrown to every caller.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(Key key, Supplier<T> supplier) {
+        requests.increment();
+
+        CompletableFuture<Object> own = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, own);
+
+        if (existing != null) {
+            return (T) await(existing);
+        }
+
+        executions.increment();
+        try {
+            own.complete(supplier.get());
+        } catch (Throwable t) {
+            own.completeExceptionally(t);
+        } finally {
+            inFlight.remove(key, own);
+        }
+
+        return (T) await(own);
+    }
+
+    /**
+     * Builds a coalescing key from an operation name and its parameters.
+     * <p>
+     * The parameters are kept as a list and compared one by one, so that different parameter combinations never
+     * produce the same key, whatever characters they contain.
+     *
+     * @param operation  The name of the operation, e.g. {@code "participation:getByCompetition"}.
+     * @param parameters The parameters of the request; {@code null} values are allowed.
+     * @return The key identifying identical requests.
+     */
+    public static Key key(String operation, Object... parameters) {
+        return new Key(operation, Collections.unmodifiableList(Arrays.asList(parameters.clone())));
+    }
+
+    /**
+     * Returns a snapshot of the coalescing counters.
+     *
+     * @return The {@link CoalescingStatsDTO} describing how many requests were served by shared executions.
+     */
+    public CoalescingStatsDTO getStats() {
+        long requestCount = requests.sum();
+        long executionCount = executions.sum();
+        long coalesced = requestCount - executionCount;
+        double ratio = requestCount == 0 ? 0.0 : (double) coalesced / requestCount;
+
+        return new CoalescingStatsDTO(requestCount, executionCount, coalesced, ratio, inFlight.size());
+    }
+
+    /**
+     * Waits for the given execution and unwraps its failure so callers see the original exception.
+     *
+     * @param future The execution to wait for.
+     * @return The result of the execution.
+     */
+    private static Object await(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * The key of a request: the name of its operation and its parameters, in order.
+     *
+     * @param operation  The name of the operation.
+     * @param parameters The parameters of the request, possibly {@code null}.
+     */
+    public record Key(String operation, List<Object> parameters) {
+    }
+}
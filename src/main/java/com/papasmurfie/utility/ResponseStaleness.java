@@ -0,0 +1,48 @@
+package com.papasmurfie.utility;
+
+import io.quarkus.arc.Arc;
+import jakarta.enterprise.context.RequestScoped;
+
+import java.time.Duration;
+
+/**
+ * The {@code ResponseStaleness} class records, for the current request, how old the served data is when it
+ * comes from the last known good response instead of the database.
+ * <p>
+ * It is {@link RequestScoped}; {@link StalenessResponseFilter} reads it to add the staleness header.
+ * </p>
+ */
+@RequestScoped
+public class ResponseStaleness {
+
+    private Duration age;
+
+    /**
+     * Marks the response of the current request as stale, if a request is being processed.
+     *
+     * @param age The age of the served data.
+     */
+    public static void markCurrentRequest(Duration age) {
+        if (Arc.container().requestContext().isActive()) {
+            Arc.container().instance(ResponseStaleness.class).get().setAge(age);
+        }
+    }
+
+    /**
+     * Gets the age of the served data.
+     *
+     * @return the age, or {@code null} when fresh data was served
+     */
+    public Duration getAge() {
+        return age;
+    }
+
+    /**
+     * Sets the age of the served data.
+     *
+     * @param age the age
+     */
+    public void setAge(Duration age) {
+        this.age = age;
+    }
+}
@@ -0,0 +1,18 @@
+package com.papasmurfie.utility;
+
+import jakarta.ws.rs.NameBinding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks the resource methods accepting a {@code ?fields=} query parameter, whose responses are trimmed to the
+ * requested fields by {@link SparseFieldsFilter}.
+ */
+@NameBinding
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface SparseFields {
+}
@@ -0,0 +1,79 @@
+package com.papasmurfie.utility;
+
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.core.GenericEntity;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Removes the fields which were not requested through the {@code ?fields=} query parameter from the response of
+ * the resource methods annotated with {@link SparseFields}.
+ * <p>
+ * The response entity, a DTO record or a collection of them, is replaced by maps holding only the requested
+ * components, so the omitted fields are not serialized at all. The maps are set as a {@link GenericEntity}, so
+ * that they are not serialized as the DTO type declared by the resource method. JSON and its binary encodings,
+ * {@value MediaTypes#CBOR} and {@value MediaTypes#SMILE}, are trimmed alike. Protobuf responses are left untouched,
+ * as the fields which were not requested are left at their default value, which proto3 does not serialize. The
+ * compact shape of {@value MediaTypes#COMPACT_JSON} would build its lookup tables from those default values, so a
+ * sparse fieldset in that shape is rejected.
+ * </p>
+ */
+@Provider
+@SparseFields
+public class SparseFieldsFilter implements ContainerResponseFilter {
+
+    /**
+     * The formats of the JSON data model, written by Jackson.
+     */
+    private static final List<MediaType> TRIMMED_TYPES = List.of(
+            MediaType.APPLICATION_JSON_TYPE,
+            MediaType.valueOf(MediaTypes.CBOR),
+            MediaType.valueOf(MediaTypes.SMILE));
+
+    private static final MediaType COMPACT_JSON_TYPE = MediaType.valueOf(MediaTypes.COMPACT_JSON);
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        String fields = requestContext.getUriInfo().getQueryParameters().getFirst(SparseFieldset.QUERY_PARAM);
+        if (fields == null || fields.isBlank() || !responseContext.hasEntity()) {
+            return;
+        }
+        if (COMPACT_JSON_TYPE.isCompatible(responseContext.getMediaType())) {
+            responseContext.setStatus(Response.Status.CONFLICT.getStatusCode());
+            responseContext.setEntity(
+                    new ErrorResponse(400, "Bad Request",
+                            "Sparse fieldsets are not supported in the " + MediaTypes.COMPACT_JSON + " shape."),
+                    null,
+                    MediaType.APPLICATION_JSON_TYPE);
+            return;
+        }
+        if (TRIMMED_TYPES.stream().noneMatch(type -> type.isCompatible(responseContext.getMediaType()))) {
+            return;
+        }
+
+        Object entity = responseContext.getEntity();
+        if (entity instanceof Record record) {
+            responseContext.setEntity(new GenericEntity<Map<String, Object>>(trim(record, fields)) {
+            });
+        } else if (entity instanceof Collection<?> collection && !collection.isEmpty()
+                && collection.iterator().next() instanceof Record) {
+            List<Map<String, Object>> trimmed = collection.stream()
+                    .map(element -> trim((Record) element, fields))
+                    .toList();
+            responseContext.setEntity(new GenericEntity<List<Map<String, Object>>>(trimmed) {
+            });
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <R extends Record> Map<String, Object> trim(R record, String fields) {
+        return SparseFieldset.parse((Class<R>) record.getClass(), fields).toMap(record);
+    }
+}
@@ -0,0 +1,187 @@
+package com.papasmurfie.utility;
+
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Response;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.RecordComponent;
+import java.util.*;
+
+/**
+ * The {@code SparseFieldset} class is the validated value of a {@code ?fields=} query parameter: the subset of the
+ * components of a DTO record which the client wants to receive.
+ * <p>
+ * Repositories use it to select only the columns backing the requested components, and build the DTO with default
+ * values ({@code null}, {@code 0}, {@code false}) for the other components. {@link SparseFieldsFilter} then removes
+ * those other components from the serialized JSON, CBOR and Smile.
+ * </p>
+ *
+ * @param <R> The type of the DTO record.
+ */
+public final class SparseFieldset<R extends Record> {
+
+    /**
+     * The name of the query parameter holding the comma separated list of fields.
+     */
+    public static final String QUERY_PARAM = "fields";
+
+    private final Class<R> type;
+    private final List<String> names;
+    private final boolean all;
+
+    private SparseFieldset(Class<R> type, List<String> names, boolean all) {
+        this.type = type;
+        this.names = names;
+        this.all = all;
+    }
+
+    /**
+     * Returns the fieldset holding every component of the record.
+     *
+     * @param type The type of the DTO record.
+     * @param <R>  The type of the DTO record.
+     * @return The complete fieldset.
+     */
+    public static <R extends Record> SparseFieldset<R> all(Class<R> type) {
+        return new SparseFieldset<>(type, componentNames(type), true);
+    }
+
+    /**
+     * Parses and validates the value of a {@code ?fields=} query parameter.
+     *
+     * @param type   The type of the DTO record.
+     * @param fields The comma separated record component names, or {@code null} or blank for all of them.
+     * @param <R>    The type of the DTO record.
+     * @return The requested fieldset, listing the components in their declaration order.
+     * @throws WebApplicationException If a field is not a component of the record.
+     */
+    public static <R extends Record> SparseFieldset<R> parse(Class<R> type, String fields) {
+        if (fields == null || fields.isBlank()) {
+            return all(type);
+        }
+
+        List<String> componentNames = componentNames(type);
+        Set<String> requested = new HashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!componentNames.contains(name)) {
+                throw new WebApplicationException(
+                        Response.status(Response.Status.CONFLICT)
+                                .entity(new ErrorResponse(
+                                        400,
+                                        "Bad Request",
+                                        "Unknown field '" + name + "'. Allowed fields are: " + String.join(", ", componentNames)
+                                ))
+                                .type("application/json")
+                                .build()
+                );
+            }
+            requested.add(name);
+        }
+
+        List<String> names = componentNames.stream().filter(requested::contains).toList();
+        return new SparseFieldset<>(type, names, names.size() == componentNames.size());
+    }
+
+    /**
+     * @return {@code true} if every component of the record is requested.
+     */
+    public boolean isAll() {
+        return all;
+    }
+
+    /**
+     * @param name The name of a record component.
+     * @return {@code true} if the component is requested.
+     */
+    public boolean includes(String name) {
+        return names.contains(name);
+    }
+
+    /**
+     * @return The requested record components, in their declaration order.
+     */
+    public List<String> names() {
+        return names;
+    }
+
+    /**
+     * @return A canonical representation of the fieldset, suitable as part of a cache key.
+     */
+    public String key() {
+        return all ? "*" : String.join(",", names);
+    }
+
+    /**
+     * Creates a record from the values of the requested components.
+     *
+     * @param values The values of the components listed by {@link #names()}, in the same order.
+     * @return The record, holding default values for the components which are not requested.
+     */
+    public R newRecord(Object... values) {
+        RecordComponent[] components = type.getRecordComponents();
+        Object[] arguments = new Object[components.length];
+        int next = 0;
+        for (int i = 0; i < components.length; i++) {
+            arguments[i] = next < names.size() && names.get(next).equals(components[i].getName())
+                    ? values[next++]
+                    : defaultValue(components[i].getType());
+        }
+
+        try {
+            Constructor<R> constructor = type.getDeclaredConstructor(
+                    Arrays.stream(components).map(RecordComponent::getType).toArray(Class<?>[]::new));
+            return constructor.newInstance(arguments);
+        } catch (NoSuchMethodException | InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Cannot create " + type.getSimpleName(), e);
+        }
+    }
+
+    /**
+     * Copies the requested components of a record into a map, in their declaration order.
+     *
+     * @param record The record.
+     * @return A map from component name to value.
+     */
+    public Map<String, Object> toMap(R record) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (RecordComponent component : type.getRecordComponents()) {
+            if (includes(component.getName())) {
+                try {
+                    map.put(component.getName(), component.getAccessor().invoke(record));
+                } catch (IllegalAccessException | InvocationTargetException e) {
+                    throw new IllegalStateException("Cannot read " + component.getName(), e);
+                }
+            }
+        }
+        return map;
+    }
+
+    private static List<String> componentNames(Class<? extends Record> type) {
+        return Arrays.stream(type.getRecordComponents()).map(RecordComponent::getName).toList();
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return null;
+        }
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == char.class) {
+            return '\0';
+        }
+        return switch (type.getName()) {
+            case "byte" -> (byte) 0;
+            case "short" -> (short) 0;
+            case "int" -> 0;
+            case "long" -> 0L;
+            case "float" -> 0f;
+            default -> 0d;
+        };
+    }
+}
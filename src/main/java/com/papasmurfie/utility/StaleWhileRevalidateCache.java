@@ -0,0 +1,173 @@
+package com.papasmurfie.utility;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.ws.rs.WebApplicationException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * The {@code StaleWhileRevalidateCache} class keeps the last known good response of read endpoints and serves it
+ * when the database does not answer within the latency budget.
+ * <p>
+ * Every read runs its loader in the background through {@link BackgroundExecutor}. If the loader completes within
+ * {@code pnu.fallback.latency-budget}, its result is stored and returned. Otherwise, when a response for the same
+ * key is known and is not older than the endpoint's maximum staleness, that response is returned immediately,
+ * marked through {@link ResponseStaleness}, while the loader keeps running and refreshes the entry once it
+ * completes. Only one refresh per key is in flight at a time.
+ * </p>
+ * <p>
+ * {@link WebApplicationException}s thrown by the loader are regular answers (e.g. "not found") and are always
+ * propagated; any other failure falls back to the last known good response just like a timeout.
+ * </p>
+ */
+@ApplicationScoped
+public class StaleWhileRevalidateCache {
+
+    private final ConcurrentMap<RequestCoalescer.Key, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentMap<RequestCoalescer.Key, CompletableFuture<Object>> refreshes = new ConcurrentHashMap<>();
+    private final BackgroundExecutor backgroundExecutor;
+    private final Duration latencyBudget;
+    private final int maxEntries;
+
+    /**
+     * Constructs a {@link StaleWhileRevalidateCache}.
+     *
+     * @param backgroundExecutor The executor running the loaders.
+     * @param latencyBudget      How long a request waits for the database before falling back.
+     * @param maxEntries         The maximum number of remembered responses; the oldest is evicted first.
+     */
+    public StaleWhileRevalidateCache(BackgroundExecutor backgroundExecutor,
+                                     @ConfigProperty(name = "pnu.fallback.latency-budget", defaultValue = "PT0.5S")
+                                     Duration latencyBudget,
+                                     @ConfigProperty(name = "pnu.fallback.max-entries", defaultValue = "512")
+                                     int maxEntries) {
+        this.backgroundExecutor = backgroundExecutor;
+        this.latencyBudget = latencyBudget;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Loads a response, falling back to the last known good response if the loader is too slow or fails.
+     *
+     * @param key          The key identifying the response, see {@link RequestCoalescer#key(String, Object...)}.
+     * @param maxStaleness The maximum age of a response which may still be served as a fallback.
+     * @param loader       The query producing a fresh response.
+     * @param <T>          The type of the response.
+     * @return The fresh response, or the last known good one.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(RequestCoalescer.Key key, Duration maxStaleness, Supplier<T> loader) {
+        CompletableFuture<Object> refresh = refresh(key, loader);
+
+        try {
+            return (T) refresh.get(latencyBudget.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            Entry fallback = usableEntry(key, maxStaleness);
+            if (fallback != null) {
+                return (T) fallback.value();
+            }
+            return (T) await(refresh);
+        } catch (ExecutionException e) {
+            Entry fallback = e.getCause() instanceof WebApplicationException ? null : usableEntry(key, maxStaleness);
+            if (fallback != null) {
+                return (T) fallback.value();
+            }
+            throw rethrow(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + key, e);
+        }
+    }
+
+    /**
+     * Starts a background refresh for the key, or returns the one already in flight.
+     */
+    private CompletableFuture<Object> refresh(RequestCoalescer.Key key, Supplier<?> loader) {
+        CompletableFuture<Object> own = new CompletableFuture<>();
+        CompletableFuture<Object> existing = refreshes.putIfAbsent(key, own);
+        if (existing != null) {
+            return existing;
+        }
+
+        backgroundExecutor.execute(() -> {
+            try {
+                Object value = loader.get();
+                store(key, value);
+                refreshes.remove(key, own);
+                own.complete(value);
+            } catch (Throwable t) {
+                if (t instanceof WebApplicationException) {
+                    entries.remove(key);
+                }
+                refreshes.remove(key, own);
+                own.completeExceptionally(t);
+            }
+        });
+
+        return own;
+    }
+
+    /**
+     * Returns the remembered response for the key if it is young enough, marking the current response as stale.
+     */
+    private Entry usableEntry(RequestCoalescer.Key key, Duration maxStaleness) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+
+        Duration age = Duration.ofNanos(System.nanoTime() - entry.storedAt());
+        if (age.compareTo(maxStaleness) > 0) {
+            return null;
+        }
+
+        ResponseStaleness.markCurrentRequest(age);
+        return entry;
+    }
+
+    private void store(RequestCoalescer.Key key, Object value) {
+        entries.put(key, new Entry(value, System.nanoTime()));
+
+        while (entries.size() > maxEntries) {
+            entries.entrySet().stream()
+                    .min(Comparator.comparingLong(e -> e.getValue().storedAt()))
+                    .ifPresent(oldest -> entries.remove(oldest.getKey(), oldest.getValue()));
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> refresh) {
+        try {
+            return refresh.get();
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the database", e);
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(cause);
+    }
+
+    /**
+     * A remembered response together with the {@link System#nanoTime()} at which it was stored.
+     */
+    private record Entry(Object value, long storedAt) {
+    }
+}
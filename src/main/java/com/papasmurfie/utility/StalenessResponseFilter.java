@@ -0,0 +1,32 @@
+package com.papasmurfie.utility;
+
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.ext.Provider;
+
+import java.time.Duration;
+
+/**
+ * Adds the {@value #STALENESS_HEADER} header, holding the age of the data in seconds, to responses which were
+ * served from the last known good response because the database did not answer within the latency budget.
+ */
+@Provider
+public class StalenessResponseFilter implements ContainerResponseFilter {
+
+    public static final String STALENESS_HEADER = "X-Data-Staleness";
+
+    private final ResponseStaleness responseStaleness;
+
+    public StalenessResponseFilter(ResponseStaleness responseStaleness) {
+        this.responseStaleness = responseStaleness;
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        Duration age = responseStaleness.getAge();
+        if (age != null) {
+            responseContext.getHeaders().putSingle(STALENESS_HEADER, age.toSeconds());
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.papasmurfie.utility;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+
+/**
+ * The {@code TransactionCallbacks} class runs actions once the current transaction has committed.
+ * <p>
+ * It is used to keep in-memory state and notifications in line with the database: an action registered inside a
+ * transaction which is rolled back, or marked rollback-only, never runs. Outside of a transaction, the action runs
+ * immediately.
+ * </p>
+ */
+@ApplicationScoped
+public class TransactionCallbacks {
+
+    private final TransactionSynchronizationRegistry transactions;
+
+    /**
+     * Constructs a {@link TransactionCallbacks}.
+     *
+     * @param transactions The registry of the current transaction.
+     */
+    public TransactionCallbacks(TransactionSynchronizationRegistry transactions) {
+        this.transactions = transactions;
+    }
+
+    /**
+     * Runs an action after the current transaction commits, or right away if there is no transaction. The action of
+     * a transaction which is rolled back, including one already marked rollback-only, never runs.
+     *
+     * @param action The action.
+     */
+    public void afterCommit(Runnable action) {
+        int status = transactions.getTransactionStatus();
+        if (status == Status.STATUS_NO_TRANSACTION) {
+            action.run();
+            return;
+        }
+        if (status == Status.STATUS_MARKED_ROLLBACK || status == Status.STATUS_ROLLING_BACK
+                || status == Status.STATUS_ROLLEDBACK) {
+            // The transaction will never commit, and no synchronization can be registered with it any more.
+            return;
+        }
+
+        transactions.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    action.run();
+                }
+            }
+        });
+    }
+}
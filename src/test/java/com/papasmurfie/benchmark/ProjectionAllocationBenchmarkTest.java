@@ -0,0 +1,178 @@
+package com.papasmurfie.benchmark;
+
+import com.papasmurfie.dto.ParticipationDTO;
+import com.papasmurfie.entities.*;
+import com.papasmurfie.uow.IUnitOfWork;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Benchmark comparing the heap allocated while reading participations by hydrating entities and copying them into
+ * {@link ParticipationDTO}s, against selecting straight into {@link ParticipationDTO}s.
+ * <p>
+ * The benchmark seeds {@value #ROWS} participations and is only run with {@code -Dpnu.benchmarks=true}.
+ */
+@QuarkusTest
+@EnabledIfSystemProperty(named = "pnu.benchmarks", matches = "true")
+public class ProjectionAllocationBenchmarkTest {
+
+    private static final Logger LOG = Logger.getLogger(ProjectionAllocationBenchmarkTest.class);
+
+    private static final int ROWS = 10_000;
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASURED_ITERATIONS = 10;
+
+    private final IUnitOfWork unitOfWork;
+
+    private Long competitorId;
+    private Long competitionId;
+    private Long eventId;
+
+    /**
+     * Constructor for the test class.
+     *
+     * @param unitOfWork the {@link IUnitOfWork} used to seed and read the participations
+     */
+    public ProjectionAllocationBenchmarkTest(IUnitOfWork unitOfWork) {
+        this.unitOfWork = unitOfWork;
+    }
+
+    /**
+     * Seeds a competitor, a competition, an event and {@value #ROWS} participations of them.
+     */
+    @BeforeEach
+    public void seed() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            CompetitorEntity competitor = new CompetitorEntity();
+            competitor.setCompetitorFirstName("Bench");
+            competitor.setCompetitorMiddleName("Mark");
+            competitor.setCompetitorLastName("Runner");
+            competitor.setPhone("+000000000000");
+            competitor.setEmail("benchmark.runner@example.com");
+            unitOfWork.getCompetitorsRepository().persist(competitor);
+
+            CompetitionEntity competition = new CompetitionEntity();
+            competition.setCompetitionName("Projection Benchmark");
+            competition.setCompetitionDate(LocalDate.now());
+            unitOfWork.getCompetitionsRepository().persist(competition);
+
+            EventEntity event = new EventEntity();
+            event.setDistance(new BigDecimal("98765.43"));
+            event.setEventType("Benchmark");
+            unitOfWork.getEventsRepository().persist(event);
+
+            for (int i = 0; i < ROWS; i++) {
+                ResultEntity result = new ResultEntity();
+                result.setSeconds(i);
+                result.setFinished(true);
+                result.setPlace(Integer.toString(i + 1));
+                unitOfWork.getResultsRepository().persist(result);
+
+                ParticipationEntity participation = new ParticipationEntity();
+                participation.setCompetitor(competitor);
+                participation.setCompetition(competition);
+                participation.setEvent(event);
+                participation.setResult(result);
+                unitOfWork.getParticipationsRepository().persist(participation);
+            }
+
+            competitorId = competitor.id;
+            competitionId = competition.id;
+            eventId = event.id;
+        });
+    }
+
+    /**
+     * Deletes everything seeded by {@link #seed()}.
+     */
+    @AfterEach
+    public void cleanup() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            List<Long> resultIds = unitOfWork.getParticipationsRepository().getEntityManager()
+                    .createQuery("SELECT p.result.id FROM Participations p WHERE p.event.id = ?1", Long.class)
+                    .setParameter(1, eventId)
+                    .getResultList();
+            unitOfWork.getParticipationsRepository().delete("event.id = ?1", eventId);
+            unitOfWork.getResultsRepository().delete("id IN ?1", resultIds);
+            unitOfWork.getEventsRepository().deleteById(eventId);
+            unitOfWork.getCompetitionsRepository().deleteById(competitionId);
+            unitOfWork.getCompetitorsRepository().deleteById(competitorId);
+        });
+    }
+
+    /**
+     * Measures the bytes allocated per {@value #ROWS} rows by both read paths, and verifies that the projection
+     * allocates less than the hydration.
+     */
+    @Test
+    public void testProjectionAllocatesLessThanHydration() {
+        Supplier<List<ParticipationDTO>> hydrated = () -> unitOfWork.getParticipationsRepository()
+                .findWithGraph(ParticipationEntity.GRAPH_SUMMARY, "event.id = ?1", eventId)
+                .stream()
+                .map(ProjectionAllocationBenchmarkTest::mapToDTO)
+                .toList();
+        Supplier<List<ParticipationDTO>> projected = () -> unitOfWork.getParticipationsRepository()
+                .findDTOs("e.id = ?1", "p.id", eventId);
+
+        List<ParticipationDTO> expected = QuarkusTransaction.requiringNew().call(hydrated::get);
+        assertEquals(ROWS, expected.size());
+        assertEquals(expected, QuarkusTransaction.requiringNew().call(projected::get));
+
+        long hydratedBytes = allocatedBytes(hydrated);
+        long projectedBytes = allocatedBytes(projected);
+
+        LOG.infof("Heap allocated per %d participations: hydrated %d bytes, projected %d bytes (%.1f%%)",
+                ROWS, hydratedBytes, projectedBytes, 100.0 * projectedBytes / hydratedBytes);
+
+        assertTrue(projectedBytes < hydratedBytes);
+    }
+
+    /**
+     * Returns the average number of bytes allocated by the current thread while reading, each read running in
+     * its own transaction so that it starts with an empty persistence context.
+     */
+    private static long allocatedBytes(Supplier<List<ParticipationDTO>> read) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            QuarkusTransaction.requiringNew().call(read::get);
+        }
+
+        long total = 0;
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            long before = threads.getCurrentThreadAllocatedBytes();
+            QuarkusTransaction.requiringNew().call(read::get);
+            total += threads.getCurrentThreadAllocatedBytes() - before;
+        }
+        return total / MEASURED_ITERATIONS;
+    }
+
+    private static ParticipationDTO mapToDTO(ParticipationEntity participation) {
+        return new ParticipationDTO(
+                participation.getCompetitor().getCompetitorFirstName(),
+                participation.getCompetitor().getCompetitorMiddleName(),
+                participation.getCompetitor().getCompetitorLastName(),
+                participation.getCompetitor().getPhone(),
+                participation.getCompetition().getCompetitionName(),
+                participation.getCompetition().getCompetitionDate(),
+                participation.getEvent().getDistance(),
+                participation.getEvent().getEventType(),
+                participation.getResult().getSeconds(),
+                participation.getResult().isFinished(),
+                participation.getResult().getPlace());
+    }
+}
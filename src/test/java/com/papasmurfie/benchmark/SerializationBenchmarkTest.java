@@ -0,0 +1,166 @@
+package com.papasmurfie.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.papasmurfie.dto.ParticipationDTO;
+import com.papasmurfie.proto.Participation;
+import com.papasmurfie.proto.ParticipationList;
+import com.papasmurfie.utility.ProtobufWriter;
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Benchmark comparing the size and the encode and decode times of a list of {@value #ROWS}
+ * {@link ParticipationDTO}s in JSON, CBOR, Smile and Protobuf.
+ * <p>
+ * The benchmark is only run with {@code -Dpnu.benchmarks=true}.
+ */
+@EnabledIfSystemProperty(named = "pnu.benchmarks", matches = "true")
+public class SerializationBenchmarkTest {
+
+    private static final Logger LOG = Logger.getLogger(SerializationBenchmarkTest.class);
+
+    private static final int ROWS = 10_000;
+    private static final int WARMUP_ITERATIONS = 20;
+    private static final int MEASURED_ITERATIONS = 50;
+    private static final TypeReference<List<ParticipationDTO>> PARTICIPATIONS = new TypeReference<>() {
+    };
+
+    /**
+     * Encodes and decodes the same participations in every format, verifies that they survive the round trip and
+     * that every binary format is smaller than JSON.
+     */
+    @Test
+    public void testBinaryFormatsAreSmallerThanJson() throws IOException {
+        List<ParticipationDTO> participations = participations();
+        ObjectMapper json = new ObjectMapper().findAndRegisterModules();
+
+        int jsonSize = measure("JSON", participations, jackson(json), in -> json.readValue(in, PARTICIPATIONS));
+        ObjectMapper cbor = json.copyWith(new CBORFactory());
+        int cborSize = measure("CBOR", participations, jackson(cbor), in -> cbor.readValue(in, PARTICIPATIONS));
+        ObjectMapper smile = json.copyWith(new SmileFactory());
+        int smileSize = measure("Smile", participations, jackson(smile), in -> smile.readValue(in, PARTICIPATIONS));
+        int protobufSize = measure("Protobuf", participations,
+                (dtos, output) -> ProtobufWriter.toListMessage(dtos).writeTo(output),
+                in -> ParticipationList.parseFrom(in).getParticipationsList().stream()
+                        .map(SerializationBenchmarkTest::fromMessage)
+                        .toList());
+
+        assertTrue(cborSize < jsonSize);
+        assertTrue(smileSize < jsonSize);
+        assertTrue(protobufSize < jsonSize);
+    }
+
+    /**
+     * Logs the size and the average encode and decode times of one format, and returns the size.
+     */
+    private static int measure(String format,
+                               List<ParticipationDTO> participations,
+                               Encoder encoder,
+                               Decoder decoder) throws IOException {
+        byte[] encoded = encode(encoder, participations);
+        assertEquals(participations, decoder.decode(new ByteArrayInputStream(encoded)));
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            decoder.decode(new ByteArrayInputStream(encode(encoder, participations)));
+        }
+
+        long encodeNanos = 0;
+        long decodeNanos = 0;
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            long start = System.nanoTime();
+            encoded = encode(encoder, participations);
+            long encodedAt = System.nanoTime();
+            decoder.decode(new ByteArrayInputStream(encoded));
+            long decodedAt = System.nanoTime();
+
+            encodeNanos += encodedAt - start;
+            decodeNanos += decodedAt - encodedAt;
+        }
+
+        LOG.infof("%-8s %9d bytes, encode %7.2f ms, decode %7.2f ms per %d participations",
+                format,
+                encoded.length,
+                encodeNanos / 1e6 / MEASURED_ITERATIONS,
+                decodeNanos / 1e6 / MEASURED_ITERATIONS,
+                ROWS);
+        return encoded.length;
+    }
+
+    private static byte[] encode(Encoder encoder, List<ParticipationDTO> participations) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        encoder.encode(participations, output);
+        return output.toByteArray();
+    }
+
+    private static Encoder jackson(ObjectMapper mapper) {
+        return (participations, output) -> mapper.writerFor(PARTICIPATIONS).writeValue(output, participations);
+    }
+
+    /**
+     * Copies a decoded {@link Participation} message back into a {@link ParticipationDTO}.
+     */
+    private static ParticipationDTO fromMessage(Participation message) {
+        return new ParticipationDTO(
+                message.getFirstName(),
+                message.getMiddleName(),
+                message.getLastName(),
+                message.getMobilePhone(),
+                message.getCompetitionName(),
+                LocalDate.parse(message.getCompetitionDate()),
+                new BigDecimal(message.getDistance()),
+                message.getEventType(),
+                message.getSeconds(),
+                message.getFinished(),
+                message.getPlace());
+    }
+
+    /**
+     * Creates {@value #ROWS} participations of 100 competitors in 10 events of one competition, with every field
+     * set so that the formats cannot drop default values.
+     */
+    private static List<ParticipationDTO> participations() {
+        List<ParticipationDTO> participations = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            participations.add(new ParticipationDTO(
+                    "First" + i % 100,
+                    "Middle" + i % 100,
+                    "Last" + i % 100,
+                    "+3598" + String.format("%08d", i % 100),
+                    "Benchmark Championship",
+                    LocalDate.of(2024, 6, 1),
+                    new BigDecimal(100 * (i % 10 + 1) + ".00"),
+                    "Sprint",
+                    10 + i / 1000f,
+                    true,
+                    Integer.toString(i + 1)));
+        }
+        return participations;
+    }
+
+    @FunctionalInterface
+    private interface Encoder {
+        void encode(List<ParticipationDTO> participations, OutputStream output) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface Decoder {
+        List<ParticipationDTO> decode(InputStream input) throws IOException;
+    }
+}
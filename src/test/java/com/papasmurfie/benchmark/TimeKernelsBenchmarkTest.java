@@ -0,0 +1,90 @@
+package com.papasmurfie.benchmark;
+
+import com.papasmurfie.indexes.TimeKernels;
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.DoubleSummaryStatistics;
+import java.util.Random;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Benchmark comparing the time to count the finishing times of an event under a threshold, and to find their
+ * fastest and average, over {@value #ROWS} results, with stream-based filtering, the scalar {@link TimeKernels} and
+ * the vectorized ones.
+ * <p>
+ * The benchmark is only run with {@code -Dpnu.benchmarks=true}. The vectorized kernels are only measured when the
+ * test JVM was started with {@code --add-modules jdk.incubator.vector}, as the build does.
+ */
+@EnabledIfSystemProperty(named = "pnu.benchmarks", matches = "true")
+public class TimeKernelsBenchmarkTest {
+
+    private static final Logger LOG = Logger.getLogger(TimeKernelsBenchmarkTest.class);
+
+    private static final int ROWS = 10_000_000;
+    private static final int EVENTS = 8;
+    private static final int EVENT = 3;
+    private static final float THRESHOLD = 1800;
+    private static final int WARMUP_ITERATIONS = 10;
+    private static final int MEASURED_ITERATIONS = 20;
+
+    /**
+     * Runs every implementation over the same results and verifies that they agree.
+     */
+    @Test
+    public void testKernelsAgreeWithStreams() {
+        float[] seconds = new float[ROWS];
+        boolean[] finished = new boolean[ROWS];
+        int[] events = new int[ROWS];
+        Random random = new Random(42);
+        for (int row = 0; row < ROWS; row++) {
+            seconds[row] = 600 + random.nextFloat() * 3000;
+            finished[row] = random.nextInt(10) != 0;
+            events[row] = random.nextInt(EVENTS);
+        }
+
+        long streamCount = measure("stream count", () -> IntStream.range(0, ROWS)
+                .filter(row -> finished[row] && events[row] == EVENT && seconds[row] < THRESHOLD)
+                .count());
+        DoubleSummaryStatistics streamSummary = measure("stream min/avg", () -> IntStream.range(0, ROWS)
+                .filter(row -> finished[row] && events[row] == EVENT)
+                .mapToDouble(row -> seconds[row])
+                .summaryStatistics());
+
+        for (TimeKernels kernels : new TimeKernels[]{TimeKernels.of(false), TimeKernels.of(true)}) {
+            String name = kernels.getClass().getSimpleName();
+            long count = measure(name + " count",
+                    () -> kernels.countBelow(seconds, finished, events, 0, ROWS, EVENT, THRESHOLD));
+            TimeKernels.Summary summary = measure(name + " min/avg",
+                    () -> kernels.summarize(seconds, finished, events, 0, ROWS, EVENT));
+
+            assertEquals(streamCount, count);
+            assertEquals(streamSummary.getCount(), summary.finishers());
+            assertEquals(streamSummary.getMin(), summary.fastest(), 0);
+            assertEquals(streamSummary.getAverage(), summary.sum() / summary.finishers(), 0.01);
+        }
+    }
+
+    /**
+     * Logs the average time of one implementation, and returns its result.
+     */
+    private static <T> T measure(String name, Supplier<T> scan) {
+        T result = null;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            result = scan.get();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            result = scan.get();
+        }
+        long nanos = System.nanoTime() - start;
+
+        LOG.infof("%-30s %8.2f ms per %d results", name, nanos / 1e6 / MEASURED_ITERATIONS, ROWS);
+        return result;
+    }
+}
@@ -0,0 +1,147 @@
+package com.papasmurfie.rest;
+
+import com.papasmurfie.dto.AveragePaceDTO;
+import com.papasmurfie.dto.FinishRateDTO;
+import com.papasmurfie.dto.ParticipationDTO;
+import com.papasmurfie.dto.TimeSummaryDTO;
+import com.papasmurfie.indexes.ResultColumns;
+import com.papasmurfie.resources.AnalyticsResource;
+import com.papasmurfie.resources.ParticipationResource;
+import com.papasmurfie.services.AnalyticsService;
+import com.papasmurfie.uow.IUnitOfWork;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.ws.rs.WebApplicationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for the {@link AnalyticsResource} REST resource.
+ * This class contains test cases to validate the functionality of the AnalyticsResource endpoints, and that the
+ * columnar snapshot answers as the database does.
+ */
+@QuarkusTest
+public class AnalyticsResourceTest {
+
+    private static final List<ResultColumns.Filter> FILTERS = List.of(
+            new ResultColumns.Filter(null, null, null, null),
+            new ResultColumns.Filter("sprint", 2022, 2022, null),
+            new ResultColumns.Filter(null, 2023, null, "Bulgaria"));
+
+    private final AnalyticsResource analyticsResource;
+    private final AnalyticsService analyticsService;
+    private final ParticipationResource participationResource;
+    private final ResultColumns resultColumns;
+    private final IUnitOfWork unitOfWork;
+
+    private final List<ParticipationDTO> participations = new ArrayList<>();
+
+    /**
+     * Constructor for the test class.
+     *
+     * @param analyticsResource the {@link AnalyticsResource} to inject the resource being tested
+     * @param analyticsService the {@link AnalyticsService} answering from the columnar snapshot
+     * @param participationResource the {@link ParticipationResource} used to create the participations aggregated
+     * @param resultColumns the {@link ResultColumns} rebuilt before they are compared
+     * @param unitOfWork the {@link IUnitOfWork} used by the service aggregating in the database
+     */
+    public AnalyticsResourceTest(AnalyticsResource analyticsResource,
+                                 AnalyticsService analyticsService,
+                                 ParticipationResource participationResource,
+                                 ResultColumns resultColumns,
+                                 IUnitOfWork unitOfWork) {
+        this.analyticsResource = analyticsResource;
+        this.analyticsService = analyticsService;
+        this.participationResource = participationResource;
+        this.resultColumns = resultColumns;
+        this.unitOfWork = unitOfWork;
+    }
+
+    /**
+     * Deletes the participations created by the test.
+     */
+    @AfterEach
+    public void cleanup() {
+        participations.forEach(participationResource::delete);
+        participations.clear();
+    }
+
+    /**
+     * Tests that a range of years ending before it starts is rejected.
+     */
+    @Test
+    public void testGetAveragePaceWithInvertedYears(){
+        assertThrows(WebApplicationException.class,
+                () -> analyticsResource.getAveragePace(null, 2025, 2024, null));
+    }
+
+    /**
+     * Tests that every finish rate is between 0 and 1.
+     */
+    @Test
+    public void testGetFinishRatesAreRates(){
+        for (FinishRateDTO rate : analyticsResource.getFinishRates(null, null, null)) {
+            assertTrue(rate.finishRate() >= 0 && rate.finishRate() <= 1);
+        }
+    }
+
+    /**
+     * Tests that the columnar snapshot and the aggregation in the database give the same answers. The snapshot is
+     * rebuilt first, as the writes reach it in the background.
+     */
+    @Test
+    public void testColumnsMatchDatabase(){
+        create("Petar", "Petrov", "Ivanov", "0897546002", "Bulgarian Cup I 2022", LocalDate.of(2022, 10, 10),
+                100, "Sprint", 12.0f, true);
+        create("Ivan", "Dimitrov", "Georgiev", "0897546003", "Bulgarian Cup I 2022", LocalDate.of(2022, 10, 10),
+                100, "Sprint", 11.0f, true);
+        create("John", "Mary", "Smith", "0897546132", "Bulgarian Cup I 2022", LocalDate.of(2022, 10, 10),
+                100, "Sprint", 13.0f, false);
+        create("Ivan", "Dimitrov", "Georgiev", "0897546003", "Bulgarian Cup I 2023", LocalDate.of(2023, 10, 10),
+                200, "Sprint", 23.0f, true);
+        create("Petar", "Petrov", "Ivanov", "0897546002", "Bulgarian Cup I 2024", LocalDate.of(2024, 10, 10),
+                1000, "Long Distance", 180.0f, true);
+        resultColumns.rebuild();
+        assertTrue(resultColumns.isEnabled());
+        AnalyticsService database = new AnalyticsService(unitOfWork, new ResultColumns(unitOfWork, 500, false, false));
+
+        for (ResultColumns.Filter filter : FILTERS) {
+            List<AveragePaceDTO> expected = database.getAveragePace(filter);
+            List<AveragePaceDTO> actual = analyticsService.getAveragePace(filter);
+            assertFalse(expected.isEmpty());
+            assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i).eventType(), actual.get(i).eventType());
+                assertEquals(expected.get(i).year(), actual.get(i).year());
+                assertEquals(expected.get(i).finishers(), actual.get(i).finishers());
+                assertEquals(expected.get(i).averagePace(), actual.get(i).averagePace(), 1e-3);
+            }
+
+            assertEquals(database.getFinishRates(filter), analyticsService.getFinishRates(filter));
+        }
+
+        TimeSummaryDTO expected = database.getTimeSummary(new BigDecimal(100), 11.5f);
+        TimeSummaryDTO actual = analyticsService.getTimeSummary(new BigDecimal(100), 11.5f);
+        assertEquals(2, actual.finishers());
+        assertEquals(expected.finishers(), actual.finishers());
+        assertEquals(expected.fastest(), actual.fastest());
+        assertEquals(expected.average(), actual.average(), 1e-6);
+        assertEquals(expected.below(), actual.below());
+    }
+
+    private void create(String firstName, String middleName, String lastName, String phone, String competitionName,
+                        LocalDate competitionDate, int distance, String eventType, float seconds, boolean finished) {
+        participations.add(participationResource.create(new ParticipationDTO(firstName, middleName, lastName, phone,
+                competitionName, competitionDate, new BigDecimal(distance), eventType, seconds, finished,
+                finished ? "1" : "DNF")));
+    }
+}
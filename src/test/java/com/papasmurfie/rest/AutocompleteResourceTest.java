@@ -0,0 +1,96 @@
+package com.papasmurfie.rest;
+
+import com.papasmurfie.dto.CompetitionDTO;
+import com.papasmurfie.dto.ParticipationDTO;
+import com.papasmurfie.dto.SuggestionDTO;
+import com.papasmurfie.resources.AutocompleteResource;
+import com.papasmurfie.resources.CompetitionResource;
+import com.papasmurfie.resources.ParticipationResource;
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for the {@link AutocompleteResource} REST resource.
+ * This class contains test cases to validate that suggestions follow the writes made through the other resources.
+ */
+@QuarkusTest
+public class AutocompleteResourceTest {
+
+    private final AutocompleteResource autocompleteResource;
+    private final CompetitionResource competitionResource;
+    private final ParticipationResource participationResource;
+
+    /**
+     * Constructor for the test class.
+     *
+     * @param autocompleteResource the {@link AutocompleteResource} to inject the resource being tested
+     * @param competitionResource the {@link CompetitionResource} used to create the suggested competitions
+     * @param participationResource the {@link ParticipationResource} used to make a competitor more popular
+     */
+    public AutocompleteResourceTest(AutocompleteResource autocompleteResource,
+                                    CompetitionResource competitionResource,
+                                    ParticipationResource participationResource) {
+        this.autocompleteResource = autocompleteResource;
+        this.competitionResource = competitionResource;
+        this.participationResource = participationResource;
+    }
+
+    /**
+     * Tests that a created competition is suggested by the beginning of any of its words,
+     * and is no longer suggested once deleted.
+     */
+    @Test
+    public void testSuggestCreatedCompetition() {
+        CompetitionDTO dto = new CompetitionDTO("Autocomplete Zzyzx Marathon", LocalDate.now());
+        competitionResource.create(dto);
+
+        List<SuggestionDTO> suggestions = autocompleteResource.competitions("zzy mara", 10);
+
+        assertEquals(1, suggestions.size());
+        assertEquals(dto.competitionName(), suggestions.getFirst().label());
+        assertEquals(dto.competitionDate().toString(), suggestions.getFirst().key());
+
+        competitionResource.delete(dto);
+
+        assertTrue(autocompleteResource.competitions("zzy mara", 10).isEmpty());
+    }
+
+    /**
+     * Tests that the number of suggestions never exceeds the requested limit.
+     */
+    @Test
+    public void testSuggestionsRespectLimit() {
+        List<SuggestionDTO> suggestions = autocompleteResource.competitions("bul", 2);
+
+        assertTrue(suggestions.size() <= 2);
+        suggestions.forEach(s -> assertTrue(s.label().toLowerCase().contains("bul")));
+    }
+
+    /**
+     * Tests that a competitor moves ahead of the others once one of its participations has committed,
+     * and falls back once the participation is deleted.
+     */
+    @Test
+    public void testParticipationRaisesCompetitorPopularity() {
+        assertEquals("Ivan Dimitrov Georgiev", autocompleteResource.competitors("iv", 10).getFirst().label());
+
+        ParticipationDTO participation = participationResource.create(new ParticipationDTO(
+                "Petar", "Petrov", "Ivanov", "0897546002",
+                "Bulgarian Cup I 2024", LocalDate.of(2024, 10, 10),
+                new BigDecimal(100), "Sprint", 11.5f, true, "1"));
+        try {
+            assertEquals("Petar Petrov Ivanov", autocompleteResource.competitors("iv", 10).getFirst().label());
+        } finally {
+            participationResource.delete(participation);
+        }
+
+        assertEquals("Ivan Dimitrov Georgiev", autocompleteResource.competitors("iv", 10).getFirst().label());
+    }
+}
@@ -0,0 +1,144 @@
+package com.papasmurfie.rest;
+
+import com.papasmurfie.dto.CompetitionDashboardDTO;
+import com.papasmurfie.dto.ParticipationDTO;
+import com.papasmurfie.resources.ParticipationResource;
+import com.papasmurfie.services.CompetitionDashboardService;
+import com.papasmurfie.uow.IUnitOfWork;
+import com.papasmurfie.utility.BackgroundExecutor;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for the {@link CompetitionDashboardService}.
+ * This class contains test cases to validate that the dashboard of a competition is assembled from all of its parts,
+ * and that a part which takes too long is reported as unavailable.
+ */
+@QuarkusTest
+public class CompetitionDashboardServiceTest {
+
+    private static final String COMPETITION = "Bulgarian Cup I 2022";
+    private static final LocalDate DATE = LocalDate.of(2022, 10, 10);
+
+    private final CompetitionDashboardService competitionDashboardService;
+    private final ParticipationResource participationResource;
+    private final IUnitOfWork unitOfWork;
+
+    private List<ParticipationDTO> participations;
+
+    /**
+     * Constructor for the test class.
+     *
+     * @param competitionDashboardService the {@link CompetitionDashboardService} to inject the service being tested
+     * @param participationResource the {@link ParticipationResource} used to create the participations shown
+     * @param unitOfWork the {@link IUnitOfWork} used to find the competition
+     */
+    public CompetitionDashboardServiceTest(CompetitionDashboardService competitionDashboardService,
+                                           ParticipationResource participationResource,
+                                           IUnitOfWork unitOfWork) {
+        this.competitionDashboardService = competitionDashboardService;
+        this.participationResource = participationResource;
+        this.unitOfWork = unitOfWork;
+    }
+
+    /**
+     * Creates two participations in the 100 m and one in the 200 m of the competition.
+     */
+    @BeforeEach
+    public void seed() {
+        participations = List.of(
+                participationResource.create(participation("Petar", "Petrov", "Ivanov", "0897546002", 100, 12.0f, "2")),
+                participationResource.create(participation("Ivan", "Dimitrov", "Georgiev", "0897546003", 100, 11.0f, "1")),
+                participationResource.create(participation("John", "Mary", "Smith", "0897546132", 200, 25.0f, "1")));
+    }
+
+    /**
+     * Deletes the participations created by {@link #seed()}.
+     */
+    @AfterEach
+    public void cleanup() {
+        participations.forEach(participationResource::delete);
+    }
+
+    /**
+     * Tests that every part of the dashboard is loaded: the events, the participations, the standings of each event
+     * fastest first, and the number of competitors of each nationality.
+     */
+    @Test
+    public void testDashboardHoldsEveryPart() {
+        CompetitionDashboardDTO dashboard = competitionDashboardService.getDashboard(competitionId());
+
+        assertEquals(COMPETITION, dashboard.competition().competitionName());
+        assertTrue(dashboard.unavailable().isEmpty());
+        assertEquals(2, dashboard.events().size());
+        assertEquals(3, dashboard.participations().size());
+
+        assertEquals(2, dashboard.standings().size());
+        CompetitionDashboardDTO.Standings sprint = dashboard.standings().getFirst();
+        assertEquals(0, new BigDecimal(100).compareTo(sprint.distance()));
+        assertEquals(List.of("0897546003", "0897546002"),
+                sprint.participations().stream().map(ParticipationDTO::mobilePhone).toList());
+        assertEquals(1, dashboard.standings().get(1).participations().size());
+
+        assertEquals(2L, dashboard.nationalities().get("Bulgaria"));
+        assertEquals(4L, dashboard.nationalities().values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    /**
+     * Tests that a part which takes longer than the part timeout is left out and reported as unavailable,
+     * while the other parts are still returned.
+     */
+    @Test
+    public void testSlowPartIsReportedUnavailable() {
+        AtomicInteger tasks = new AtomicInteger();
+        BackgroundExecutor slowParticipations = new BackgroundExecutor() {
+            @Override
+            public void execute(Runnable task) {
+                if (tasks.incrementAndGet() == 2) {
+                    super.execute(() -> {
+                        SlowReadResource.sleep(Duration.ofSeconds(2));
+                        task.run();
+                    });
+                } else {
+                    super.execute(task);
+                }
+            }
+        };
+        CompetitionDashboardService service =
+                new CompetitionDashboardService(unitOfWork, slowParticipations, Duration.ofMillis(500));
+
+        CompetitionDashboardDTO dashboard = service.getDashboard(competitionId());
+
+        assertEquals(List.of("participations"), dashboard.unavailable());
+        assertNull(dashboard.participations());
+        assertNotNull(dashboard.events());
+        assertNotNull(dashboard.standings());
+        assertNotNull(dashboard.nationalities());
+    }
+
+    private Long competitionId() {
+        return QuarkusTransaction.requiringNew().call(() -> unitOfWork.getCompetitionsRepository()
+                .find("competitionName = ?1 AND competitionDate = ?2", COMPETITION, DATE)
+                .firstResult().id);
+    }
+
+    private static ParticipationDTO participation(String firstName, String middleName, String lastName, String phone,
+                                                  int distance, float seconds, String place) {
+        return new ParticipationDTO(firstName, middleName, lastName, phone, COMPETITION, DATE,
+                new BigDecimal(distance), "Sprint", seconds, true, place);
+    }
+}
@@ -1,18 +1,26 @@
 package com.papasmurfie.rest;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.papasmurfie.dto.CompetitionDTO;
 import com.papasmurfie.dto.EditCompetitionDTO;
 import com.papasmurfie.resources.CompetitionResource;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.transaction.Transactional;
+import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.Response;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
  * Test class for the {@link CompetitionResource} REST resource.
@@ -22,14 +30,17 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 public class CompetitionResourceTest {
 
     private final CompetitionResource competitionResource;
+    private final ObjectMapper objectMapper;
 
     /**
      * Constructor for the test class.
      *
      * @param competitionResource the {@link CompetitionResource} to inject the resource being tested
+     * @param objectMapper the application {@link ObjectMapper} used to read the streamed competitions
      */
-    public CompetitionResourceTest(CompetitionResource competitionResource) {
+    public CompetitionResourceTest(CompetitionResource competitionResource, ObjectMapper objectMapper) {
         this.competitionResource = competitionResource;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -39,11 +50,27 @@ public class CompetitionResourceTest {
     @Transactional
     @Test
     public void testGetAllCompetitions(){
-        List<CompetitionDTO> dtos = competitionResource.getAll();
+        List<CompetitionDTO> dtos = competitionResource.getAll(null);
 
         assert !dtos.isEmpty();
     }
 
+    /**
+     * Tests the streaming of all competitions from the resource.
+     * Verifies that the streamed JSON array holds the listed competitions.
+     */
+    @Test
+    public void testStreamAllCompetitions() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        competitionResource.streamAll().write(output);
+
+        List<CompetitionDTO> streamed = Arrays.asList(
+                objectMapper.readValue(output.toByteArray(), CompetitionDTO[].class));
+
+        assertEquals(competitionResource.getAll(null).size(), streamed.size());
+        assertEquals(Set.copyOf(competitionResource.getAll(null)), Set.copyOf(streamed));
+    }
+
     /**
      * Tests the creation of a new competition via the resource.
      * Verifies the competition is successfully created and performs cleanup by deleting the created competition.
@@ -114,13 +141,33 @@ public class CompetitionResourceTest {
         CompetitionDTO dto = new CompetitionDTO("Test Competition XD", LocalDate.now());
         competitionResource.create(dto);
 
-        List<CompetitionDTO> c = competitionResource.getByName(dto.competitionName());
+        List<CompetitionDTO> c = competitionResource.getByName(dto.competitionName(), null);
 
         assertEquals(1, c.size());
 
         competitionResource.delete(dto);
     }
 
+    /**
+     * Tests retrieving only some fields of competitions via the resource.
+     * Verifies the fields which were not requested are left empty, and unknown fields are rejected.
+     */
+    @Transactional
+    @Test
+    public void testGetCompetitionByNameWithFields() {
+        CompetitionDTO dto = new CompetitionDTO("Test Competition XD", LocalDate.now());
+        competitionResource.create(dto);
+
+        List<CompetitionDTO> c = competitionResource.getByName(dto.competitionName(), "competitionName");
+
+        assertEquals(1, c.size());
+        assertEquals(dto.competitionName(), c.getFirst().competitionName());
+        assertNull(c.getFirst().competitionDate());
+        assertThrows(WebApplicationException.class, () -> competitionResource.getByName(dto.competitionName(), "location"));
+
+        competitionResource.delete(dto);
+    }
+
     /**
      * Tests retrieving competitions by a specific date via the resource.
      * Verifies the returned list contains the expected competition.
@@ -131,7 +178,7 @@ public class CompetitionResourceTest {
         CompetitionDTO dto = new CompetitionDTO("Test Competition XD", LocalDate.now());
         competitionResource.create(dto);
 
-        List<CompetitionDTO> c = competitionResource.getByDate(dto.competitionDate().toString());
+        List<CompetitionDTO> c = competitionResource.getByDate(dto.competitionDate().toString(), null);
 
         assertEquals(1, c.size());
 
@@ -148,12 +195,19 @@ public class CompetitionResourceTest {
         CompetitionDTO dto = new CompetitionDTO("Test Competition XD", LocalDate.of(2025, 1, 10));
         competitionResource.create(dto);
 
-        List<CompetitionDTO> c = competitionResource.getBetweenTwoDates("2025-01-01", "2026-01-01");
+        List<CompetitionDTO> c = competitionResource.getBetweenTwoDates("2025-01-01", "2026-01-01", null);
 
         assert !c.isEmpty();
 
         competitionResource.delete(dto);
     }
 
-
+    /**
+     * Tests the retrieval of the dashboard of a competition which does not exist.
+     * Verifies that a {@link WebApplicationException} is thrown instead of an empty dashboard.
+     */
+    @Test
+    public void testGetDashboardOfUnknownCompetition(){
+        assertThrows(WebApplicationException.class, () -> competitionResource.getDashboard(Long.MAX_VALUE));
+    }
 }
@@ -1,22 +1,34 @@
 package com.papasmurfie.rest;
 
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.papasmurfie.dto.CompetitorDTO;
 import com.papasmurfie.dto.EditCompetitorDTO;
 import com.papasmurfie.dto.NationalityDTO;
 import com.papasmurfie.entities.NationalityEntity;
+import com.papasmurfie.indexes.AutocompleteIndex;
+import com.papasmurfie.indexes.CompetitorNameIndex;
 import com.papasmurfie.resources.CompetitorResource;
 import com.papasmurfie.resources.NationalityResource;
 import com.papasmurfie.uow.IUnitOfWork;
+import com.papasmurfie.utility.JsonArrayStreamer;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.transaction.Transactional;
 import org.junit.jupiter.api.Test;
 import uow.UnitOfWorkTest;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
 
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+
 
 /**
  * Test class for the {@link com.papasmurfie.resources.CompetitorResource} REST resource.
@@ -27,10 +39,20 @@ public class CompetitorsResourceTest {
 
     private final CompetitorResource competitorResource;
     private final IUnitOfWork unitOfWork;
+    private final CompetitorNameIndex competitorNameIndex;
+    private final AutocompleteIndex autocompleteIndex;
+    private final ObjectMapper objectMapper;
 
-    public CompetitorsResourceTest(CompetitorResource competitorResource, IUnitOfWork unitOfWork) {
+    public CompetitorsResourceTest(CompetitorResource competitorResource,
+                                   IUnitOfWork unitOfWork,
+                                   CompetitorNameIndex competitorNameIndex,
+                                   AutocompleteIndex autocompleteIndex,
+                                   ObjectMapper objectMapper) {
         this.competitorResource = competitorResource;
         this.unitOfWork = unitOfWork;
+        this.competitorNameIndex = competitorNameIndex;
+        this.autocompleteIndex = autocompleteIndex;
+        this.objectMapper = objectMapper;
     }
 
 
@@ -147,6 +169,144 @@ public class CompetitorsResourceTest {
         competitorResource.delete(updated);
     }
 
+    /**
+     * Tests that a competitor created in a transaction which is rolled back never reaches the in-memory indexes.
+     */
+    @Test
+    public void testRolledBackCreateLeavesIndexesUnchanged(){
+        CompetitorDTO dto = new CompetitorDTO(
+                "Rollbackfirst",
+                "Rollbackmiddle",
+                "Rollbacklast",
+                "0123456780",
+                "rollback@test.test",
+                List.of(unitOfWork.getNationalitiesRepository().findAll().firstResult().getCountryName())
+        );
+
+        QuarkusTransaction.begin();
+        try {
+            competitorResource.create(dto);
+        } finally {
+            QuarkusTransaction.rollback();
+        }
+
+        assert competitorNameIndex.search("Rollbackfirst", "Rollbackmiddle", "Rollbacklast").isEmpty();
+        assert autocompleteIndex.suggestCompetitors("Rollbackfirst", 10).isEmpty();
+    }
+
+    /**
+     * Tests that a competitor created in a committed transaction reaches the in-memory indexes, and leaves them
+     * once its deletion has committed.
+     */
+    @Test
+    public void testCommittedWritesUpdateIndexes(){
+        CompetitorDTO dto = new CompetitorDTO(
+                "Commitfirst",
+                "Commitmiddle",
+                "Commitlast",
+                "0123456781",
+                "commit@test.test",
+                List.of(unitOfWork.getNationalitiesRepository().findAll().firstResult().getCountryName())
+        );
+
+        CompetitorDTO created = competitorResource.create(dto);
+        try {
+            assert competitorNameIndex.search("Commitfirst", "Commitmiddle", "Commitlast").size() == 1;
+            assert autocompleteIndex.suggestCompetitors("Commitfirst", 10).size() == 1;
+        } finally {
+            competitorResource.delete(created);
+        }
+
+        assert competitorNameIndex.search("Commitfirst", "Commitmiddle", "Commitlast").isEmpty();
+        assert autocompleteIndex.suggestCompetitors("Commitfirst", 10).isEmpty();
+    }
+
+    /**
+     * Tests that the streamed competitors are the listed competitors, each once, with every nationality merged
+     * into it.
+     */
+    @Test
+    public void testStreamMergesNationalities() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        competitorResource.streamAll().write(output);
+
+        List<CompetitorDTO> streamed = read(output);
+
+        assert streamed.equals(sorted(competitorResource.list(null)));
+        assert streamed.stream()
+                .filter(competitor -> competitor.mobilePhone().equals("0897546132"))
+                .findFirst().orElseThrow()
+                .nationalities().size() == 2;
+    }
+
+    /**
+     * Tests that the nationality rows of a competitor are merged even when they are split between two fetches from
+     * the cursor, whatever the fetch size.
+     */
+    @Test
+    public void testStreamMergesNationalitiesAcrossFetches() throws IOException {
+        List<CompetitorDTO> expected = sorted(competitorResource.list(null));
+
+        for (int fetchSize = 1; fetchSize <= 3; fetchSize++) {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            new JsonArrayStreamer(objectMapper, fetchSize)
+                    .stream(unitOfWork.getCompetitorsRepository()::streamDTOs)
+                    .write(output);
 
+            assert read(output).equals(expected) : "fetch size " + fetchSize;
+        }
+    }
 
+    /**
+     * Tests that a sparse fieldset without nationalities leaves them out, and that one with nationalities still
+     * holds every nationality of a competitor.
+     */
+    @Test
+    public void testListWithFields(){
+        List<CompetitorDTO> withoutNationalities = competitorResource.list("firstName,mobilePhone");
+
+        assert !withoutNationalities.isEmpty();
+        assert withoutNationalities.stream().allMatch(competitor -> competitor.firstName() != null
+                && competitor.mobilePhone() != null && competitor.email() == null && competitor.nationalities() == null);
+
+        CompetitorDTO john = competitorResource.list("mobilePhone,nationalities").stream()
+                .filter(competitor -> competitor.mobilePhone().equals("0897546132"))
+                .findFirst().orElseThrow();
+        assert john.nationalities().size() == 2 && john.firstName() == null;
+    }
+
+    /**
+     * Tests that the JSON body of a sparse fieldset only holds the requested fields, and that an unknown field is
+     * rejected.
+     */
+    @Test
+    public void testSparseFieldsetTrimsJsonBody(){
+        given().queryParam("fields", "mobilePhone,firstName")
+                .when().get("/api/v1/competitor")
+                .then()
+                .statusCode(200)
+                .body("every { it.keySet() == ['firstName', 'mobilePhone'] as Set }", equalTo(true));
+
+        given().queryParam("fields", "phone")
+                .when().get("/api/v1/competitor")
+                .then()
+                .statusCode(409)
+                .body("statusCode", equalTo(400));
+    }
+
+    private List<CompetitorDTO> read(ByteArrayOutputStream output) throws IOException {
+        return sorted(Arrays.asList(objectMapper.readValue(output.toByteArray(), CompetitorDTO[].class)));
+    }
+
+    /**
+     * Orders competitors by phone and their nationalities by name, as the list and the stream order them differently.
+     */
+    private static List<CompetitorDTO> sorted(List<CompetitorDTO> competitors) {
+        return competitors.stream()
+                .map(competitor -> new CompetitorDTO(competitor.firstName(), competitor.middleName(),
+                        competitor.lastName(), competitor.mobilePhone(), competitor.email(),
+                        competitor.nationalities().stream().sorted().toList()))
+                .sorted(Comparator.comparing(CompetitorDTO::mobilePhone))
+                .toList();
+    }
 }
@@ -0,0 +1,155 @@
+package com.papasmurfie.rest;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.papasmurfie.dto.CompetitorDTO;
+import com.papasmurfie.dto.ParticipationDTO;
+import com.papasmurfie.proto.Competitor;
+import com.papasmurfie.proto.CompetitorList;
+import com.papasmurfie.resources.ParticipationResource;
+import com.papasmurfie.utility.MediaTypes;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.specification.RequestSpecification;
+import jakarta.ws.rs.core.MediaType;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for the binary response formats.
+ * This class contains test cases to validate that the competitors listed in CBOR, Smile and Protobuf hold the same
+ * data as the JSON response.
+ */
+@QuarkusTest
+public class ContentNegotiationTest {
+
+    private static final String COMPETITORS = "/api/v1/competitor";
+    private static final String PARTICIPATIONS = "/participation";
+    private static final TypeReference<List<CompetitorDTO>> COMPETITOR_LIST = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper;
+    private final ParticipationResource participationResource;
+
+    /**
+     * Constructor for the test class.
+     *
+     * @param objectMapper the application {@link ObjectMapper} used to decode the responses
+     * @param participationResource the {@link ParticipationResource} used to create the participations listed
+     */
+    public ContentNegotiationTest(ObjectMapper objectMapper, ParticipationResource participationResource) {
+        this.objectMapper = objectMapper;
+        this.participationResource = participationResource;
+    }
+
+    /**
+     * Tests that the competitors listed in CBOR are the competitors listed in JSON.
+     */
+    @Test
+    public void testCborMatchesJson() throws IOException {
+        byte[] cbor = fetch(MediaTypes.CBOR, null);
+
+        assertEquals(json(), objectMapper.copyWith(new CBORFactory()).readValue(cbor, COMPETITOR_LIST));
+    }
+
+    /**
+     * Tests that the competitors listed in Smile are the competitors listed in JSON.
+     */
+    @Test
+    public void testSmileMatchesJson() throws IOException {
+        byte[] smile = fetch(MediaTypes.SMILE, null);
+
+        assertEquals(json(), objectMapper.copyWith(new SmileFactory()).readValue(smile, COMPETITOR_LIST));
+    }
+
+    /**
+     * Tests that the competitors listed in Protobuf are the competitors listed in JSON.
+     */
+    @Test
+    public void testProtobufMatchesJson() throws IOException {
+        List<CompetitorDTO> expected = json();
+
+        List<Competitor> competitors = CompetitorList.parseFrom(fetch(MediaTypes.PROTOBUF, null)).getCompetitorsList();
+
+        assertFalse(competitors.isEmpty());
+        assertEquals(expected.size(), competitors.size());
+        for (int i = 0; i < competitors.size(); i++) {
+            Competitor competitor = competitors.get(i);
+            assertEquals(expected.get(i), new CompetitorDTO(
+                    competitor.getFirstName(),
+                    competitor.getMiddleName(),
+                    competitor.getLastName(),
+                    competitor.getMobilePhone(),
+                    competitor.getEmail(),
+                    competitor.getNationalitiesList()));
+        }
+    }
+
+    /**
+     * Tests that the fields left out of a sparse fieldset are left out of the Protobuf messages.
+     */
+    @Test
+    public void testProtobufLeavesOutUnrequestedFields() throws IOException {
+        List<Competitor> competitors = CompetitorList.parseFrom(fetch(MediaTypes.PROTOBUF, "firstName,mobilePhone"))
+                .getCompetitorsList();
+
+        assertFalse(competitors.isEmpty());
+        for (Competitor competitor : competitors) {
+            assertFalse(competitor.getFirstName().isEmpty());
+            assertFalse(competitor.getMobilePhone().isEmpty());
+            assertTrue(competitor.getEmail().isEmpty());
+            assertTrue(competitor.getNationalitiesList().isEmpty());
+        }
+    }
+
+    /**
+     * Tests that the participations listed in CBOR with a sparse fieldset only hold the requested fields, as in JSON.
+     */
+    @Test
+    public void testCborLeavesOutUnrequestedFields() throws IOException {
+        ParticipationDTO participation = participationResource.create(new ParticipationDTO("Ivan", "Dimitrov",
+                "Georgiev", "0897546003", "Bulgarian Cup I 2022", LocalDate.of(2022, 10, 10), new BigDecimal(100),
+                "Sprint", 11.0f, true, "1"));
+        try {
+            List<Map<String, Object>> participations = objectMapper.copyWith(new CBORFactory()).readValue(
+                    fetch(PARTICIPATIONS, MediaTypes.CBOR, "firstName,seconds"), new TypeReference<>() {
+                    });
+
+            assertEquals(List.of(Map.of("firstName", "Ivan", "seconds", 11.0f)), participations);
+        } finally {
+            participationResource.delete(participation);
+        }
+    }
+
+    private List<CompetitorDTO> json() throws IOException {
+        return objectMapper.readValue(fetch(MediaType.APPLICATION_JSON, null), COMPETITOR_LIST);
+    }
+
+    private static byte[] fetch(String mediaType, String fields) {
+        return fetch(COMPETITORS, mediaType, fields);
+    }
+
+    private static byte[] fetch(String path, String mediaType, String fields) {
+        RequestSpecification request = given().accept(mediaType);
+        if (fields != null) {
+            request.queryParam("fields", fields);
+        }
+        return request
+                .when().get(path)
+                .then()
+                .statusCode(200)
+                .contentType(mediaType)
+                .extract().asByteArray();
+    }
+}
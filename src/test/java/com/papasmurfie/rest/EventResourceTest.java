@@ -1,16 +1,24 @@
 package com.papasmurfie.rest;
 
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.papasmurfie.dto.BatchLookupDTO;
 import com.papasmurfie.dto.EditEventDTO;
 import com.papasmurfie.dto.EventDTO;
 import com.papasmurfie.resources.EventResource;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.transaction.Transactional;
+import jakarta.ws.rs.WebApplicationException;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.util.Arrays;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
 
 /**
  * Test class for the {@link com.papasmurfie.resources.EventResource} REST resource.
@@ -59,6 +67,20 @@ public class EventResourceTest {
         assert !dtos.isEmpty();
     }
 
+    /**
+     * Tests the streaming of all events from the resource.
+     * Verifies that the streamed JSON array holds as many events as the regular list.
+     */
+    @Test
+    public void testStreamAll() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        eventResource.streamAll().write(output);
+
+        EventDTO[] streamed = new ObjectMapper().findAndRegisterModules().readValue(output.toByteArray(), EventDTO[].class);
+
+        assert streamed.length == eventResource.getAll().size();
+    }
+
     /**
      * Tests the retrieval of all events from the resource by their type.
      * Verifies that the returned list is not empty.
@@ -134,4 +156,33 @@ public class EventResourceTest {
     }
 
 
+    /**
+     * Tests the retrieval of events by a list of distances.
+     * Verifies that an existing distance is found regardless of its scale, and that an unknown distance is reported
+     * as missing.
+     */
+    @Transactional
+    @Test
+    public void testGetByDistances() {
+        EventDTO dto = new EventDTO(new BigDecimal(123), "Test Event");
+        eventResource.create(dto);
+
+        BatchLookupDTO<BigDecimal, EventDTO> lookup = eventResource.getByDistances(
+                List.of(new BigDecimal("123.0"), new BigDecimal("98765.43")));
+
+        assert lookup.found().size() == 1 && lookup.found().getFirst().value().eventType().equals("Test Event");
+        assert lookup.missing().equals(List.of(new BigDecimal("98765.43")));
+
+        eventResource.delete(dto);
+    }
+
+    /**
+     * Tests that a lookup without distances, or with a missing distance, is rejected as a bad request.
+     */
+    @Test
+    public void testGetByDistancesRejectsEmptyOrNullKeys() {
+        assertThrows(WebApplicationException.class, () -> eventResource.getByDistances(List.of()));
+        assertThrows(WebApplicationException.class,
+                () -> eventResource.getByDistances(Arrays.asList(new BigDecimal(100), null)));
+    }
 }
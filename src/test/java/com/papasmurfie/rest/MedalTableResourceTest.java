@@ -0,0 +1,96 @@
+package com.papasmurfie.rest;
+
+import com.papasmurfie.dto.MedalCountDTO;
+import com.papasmurfie.dto.ParticipationDTO;
+import com.papasmurfie.resources.MedalTableResource;
+import com.papasmurfie.resources.ParticipationResource;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.ws.rs.WebApplicationException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test class for the {@link MedalTableResource} REST resource.
+ * This class contains test cases to validate the functionality of the MedalTableResource endpoints.
+ */
+@QuarkusTest
+public class MedalTableResourceTest {
+
+    private static final String COMPETITION = "Bulgarian Cup I 2022";
+    private static final LocalDate DATE = LocalDate.of(2022, 10, 10);
+
+    private final MedalTableResource medalTableResource;
+    private final ParticipationResource participationResource;
+
+    /**
+     * Constructor for the test class.
+     *
+     * @param medalTableResource the {@link MedalTableResource} to inject the resource being tested
+     * @param participationResource the {@link ParticipationResource} used to create the participations counted
+     */
+    public MedalTableResourceTest(MedalTableResource medalTableResource, ParticipationResource participationResource) {
+        this.medalTableResource = medalTableResource;
+        this.participationResource = participationResource;
+    }
+
+    /**
+     * Tests that the medal table of a competition with an invalid date is rejected.
+     */
+    @Test
+    public void testGetByCompetitionWithInvalidDate(){
+        assertThrows(WebApplicationException.class,
+                () -> medalTableResource.getByCompetition("Any", "not-a-date"));
+    }
+
+    /**
+     * Tests that the medal table of a season without competitions is rejected, instead of being cached.
+     */
+    @Test
+    public void testGetBySeasonWithoutCompetitions(){
+        assertThrows(WebApplicationException.class, () -> medalTableResource.getBySeason(1990));
+    }
+
+    /**
+     * Tests that the medals of a result are counted once it is written, in the competition and season tables
+     * cached before it.
+     */
+    @Test
+    public void testMedalsCountedAfterResultWritten(){
+        medalTableResource.getByCompetition(COMPETITION, DATE.toString());
+        medalTableResource.getBySeason(DATE.getYear());
+
+        List<ParticipationDTO> created = List.of(
+                participationResource.create(participation("Ivan", "Dimitrov", "Georgiev", "0897546003", 11.0f)),
+                participationResource.create(participation("Petar", "Petrov", "Ivanov", "0897546002", 12.0f)));
+        try {
+            MedalCountDTO competition = bulgaria(medalTableResource.getByCompetition(COMPETITION, DATE.toString()));
+            assertEquals(1, competition.golds());
+            assertEquals(1, competition.silvers());
+            assertEquals(0, competition.bronzes());
+            assertEquals(2, competition.participants());
+
+            assertEquals(competition, bulgaria(medalTableResource.getBySeason(DATE.getYear())));
+        } finally {
+            created.forEach(participationResource::delete);
+        }
+    }
+
+    private static MedalCountDTO bulgaria(List<MedalCountDTO> table) {
+        return table.stream()
+                .filter(medals -> medals.nationality().equals("Bulgaria"))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static ParticipationDTO participation(String firstName, String middleName, String lastName, String phone,
+                                                  float seconds) {
+        return new ParticipationDTO(firstName, middleName, lastName, phone, COMPETITION, DATE,
+                new BigDecimal(100), "Sprint", seconds, true, "1");
+    }
+}
@@ -3,13 +3,16 @@ package com.papasmurfie.rest;
 import com.papasmurfie.dto.EditNationalityDTO;
 import com.papasmurfie.dto.NationalityDTO;
 import com.papasmurfie.resources.NationalityResource;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import io.quarkus.test.junit.QuarkusTest;
+import jakarta.ws.rs.WebApplicationException;
 import jakarta.transaction.Transactional;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
 
 import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.hamcrest.Matchers.*;
 
 
@@ -47,7 +50,6 @@ public class NationalityResourceTest {
      * Tests the retrieval of all nationalities from the resource by their name.
      * Verifies that the returned list is not empty.
      */
-    @Transactional
     @Test
     public void testGetByName(){
         NationalityDTO dto = new NationalityDTO("Test Country");
@@ -64,7 +66,6 @@ public class NationalityResourceTest {
      * Tests the creation of a nationality from the resource.
      * Verifies the competition is successfully created and performs cleanup by deleting the created competition.
      */
-    @Transactional
     @Test
     public void testCreate(){
         NationalityDTO dto = new NationalityDTO("Test Country");
@@ -80,7 +81,6 @@ public class NationalityResourceTest {
      * Tests the deletion of a nationality via the resource.
      * Verifies the nationality is successfully deleted.
      */
-    @Transactional
     @Test
     public void testDelete(){
         NationalityDTO dto = new NationalityDTO("Test Country");
@@ -95,7 +95,6 @@ public class NationalityResourceTest {
      * Tests the update of an existing nationality via the resource.
      * Verifies the nationality is updated correctly and performs cleanup by deleting the updated competition.
      */
-    @Transactional
     @Test
     public void testUpdate(){
         NationalityDTO dto = new NationalityDTO("Test Country");
@@ -110,6 +109,23 @@ public class NationalityResourceTest {
         nationalityResource.delete(editNationalityDTO.newNationalityName());
     }
 
+    /**
+     * Tests that a nationality created in a transaction which is rolled back never reaches the registry.
+     */
+    @Test
+    public void testRolledBackCreateLeavesRegistryUnchanged(){
+        NationalityDTO dto = new NationalityDTO("Rolled Back Country");
+
+        QuarkusTransaction.begin();
+        try {
+            nationalityResource.create(dto);
+        } finally {
+            QuarkusTransaction.rollback();
+        }
+
+        assertThrows(WebApplicationException.class, () -> nationalityResource.get(dto.countryName()));
+    }
+
 
     /**
      * Tests the retrieve of all nationalities from the resource via an HTTP GET action.
@@ -0,0 +1,290 @@
+package com.papasmurfie.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.papasmurfie.dto.CompactParticipationsDTO;
+import com.papasmurfie.dto.ParticipationDTO;
+import com.papasmurfie.dto.ParticipationPageDTO;
+import com.papasmurfie.resources.ParticipationResource;
+import com.papasmurfie.utility.ErrorResponse;
+import com.papasmurfie.utility.MediaTypes;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for the {@link ParticipationResource} REST resource.
+ * This class contains test cases to validate the functionality of the ParticipationResource endpoints.
+ */
+@QuarkusTest
+public class ParticipationResourceTest {
+
+    private final ParticipationResource participationResource;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructor for the test class.
+     *
+     * @param participationResource the {@link ParticipationResource} to inject the resource being tested
+     * @param objectMapper the application {@link ObjectMapper} used to decode the compact responses
+     */
+    public ParticipationResourceTest(ParticipationResource participationResource, ObjectMapper objectMapper) {
+        this.participationResource = participationResource;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Tests that following the cursors of a search, two participations at a time, returns every participation
+     * exactly once and in the same order as the unpaged list.
+     */
+    @Test
+    public void testSearchPagesThroughAllParticipations(){
+        List<ParticipationDTO> created = seed();
+        try {
+            List<ParticipationDTO> paged = new ArrayList<>();
+            String cursor = null;
+            do {
+                ParticipationPageDTO page = participationResource.search(null, null, null, null, null, null, null,
+                        null, null, null, null, null, null, "id", "asc", 2, cursor);
+                paged.addAll(page.participations());
+                cursor = page.nextCursor();
+            } while (cursor != null);
+
+            assertEquals(3, paged.size());
+            assertEquals(participationResource.getAll(null), paged);
+        } finally {
+            created.forEach(participationResource::delete);
+        }
+    }
+
+    /**
+     * Tests that a search for the winners only returns finished participations, read from the participation view.
+     */
+    @Test
+    public void testSearchByMaxRankReturnsOnlyFinishers(){
+        List<ParticipationDTO> created = seed();
+        try {
+            ParticipationPageDTO page = participationResource.search(null, null, null, null, null, null, null, null,
+                    null, null, null, null, 1, "seconds", "asc", 50, null);
+
+            assertEquals(List.of("0897546003"),
+                    page.participations().stream().map(ParticipationDTO::mobilePhone).toList());
+            assertTrue(page.participations().stream().allMatch(ParticipationDTO::finished));
+        } finally {
+            created.forEach(participationResource::delete);
+        }
+    }
+
+    /**
+     * Tests that a search by nationality matches the name literally, so {@code %} and {@code _} are not wildcards.
+     */
+    @Test
+    public void testSearchByNationalityMatchesWildcardsLiterally(){
+        List<ParticipationDTO> created = seed();
+        try {
+            assertEquals(2, searchByNationality("Bulgaria").size());
+            assertTrue(searchByNationality("%").isEmpty());
+            assertTrue(searchByNationality("_ulgaria").isEmpty());
+        } finally {
+            created.forEach(participationResource::delete);
+        }
+    }
+
+    /**
+     * Tests that a search ordered by an unknown field is rejected.
+     */
+    @Test
+    public void testSearchWithInvalidSort(){
+        assertThrows(WebApplicationException.class, () -> participationResource.search(null, null, null, null, null,
+                null, null, null, null, null, null, null, null, "mobilePhone", null, 50, null));
+    }
+
+    /**
+     * Tests that participations of an unknown competition are rejected with a message naming the competition.
+     */
+    @Test
+    public void testGetByUnknownCompetition(){
+        WebApplicationException exception = assertThrows(WebApplicationException.class,
+                () -> participationResource.getByCompetition("No Such Cup", "2024-10-10", null));
+
+        assertEquals("No competitions with this name",
+                ((ErrorResponse) exception.getResponse().getEntity()).getDetails());
+    }
+
+    /**
+     * Tests that the compact shape lists every competitor, competition and event once, that the rows refer to them by
+     * index, and that it decodes back into the classic list.
+     */
+    @Test
+    public void testCompactShapeListsSharedValuesOnce() throws IOException {
+        List<ParticipationDTO> created = new ArrayList<>(seed());
+        created.add(participationResource.create(new ParticipationDTO("Petar", "Petrov", "Ivanov", "0897546002",
+                "Bulgarian Cup I 2022", LocalDate.of(2022, 10, 10), new BigDecimal(200), "Sprint", 25.0f, true, "1")));
+        try {
+            CompactParticipationsDTO compact = objectMapper.readValue(given().accept(MediaTypes.COMPACT_JSON)
+                    .when().get("/participation")
+                    .then()
+                    .statusCode(200)
+                    .contentType(MediaTypes.COMPACT_JSON)
+                    .extract().asByteArray(), CompactParticipationsDTO.class);
+
+            assertEquals(3, compact.competitors().size());
+            assertEquals(1, compact.competitions().size());
+            assertEquals(2, compact.events().size());
+            assertEquals(4, compact.participations().size());
+            assertEquals(2, compact.participations().stream()
+                    .filter(row -> compact.competitors().get(row.competitor()).mobilePhone().equals("0897546002"))
+                    .count());
+            assertTrue(compact.participations().stream().allMatch(row -> row.competition() == 0));
+            assertEquals(participationResource.getAll(null), compact.toParticipations());
+        } finally {
+            created.forEach(participationResource::delete);
+        }
+    }
+
+    /**
+     * Tests that a sparse fieldset is rejected in the compact shape, whose lookup tables need every field.
+     */
+    @Test
+    public void testCompactShapeRejectsSparseFieldset(){
+        List<ParticipationDTO> created = seed();
+        try {
+            given().accept(MediaTypes.COMPACT_JSON)
+                    .queryParam("fields", "firstName")
+                    .when().get("/participation")
+                    .then()
+                    .statusCode(409)
+                    .body("statusCode", equalTo(400));
+        } finally {
+            created.forEach(participationResource::delete);
+        }
+    }
+
+    /**
+     * Tests that the streamed participations are those of the lists: all of them in the order of the list, and
+     * those of a competition or of an event in the order they were created.
+     */
+    @Test
+    public void testStreamsHoldTheListedParticipations() throws IOException {
+        List<ParticipationDTO> created = new ArrayList<>(seed());
+        created.add(participationResource.create(new ParticipationDTO("Petar", "Petrov", "Ivanov", "0897546002",
+                "Bulgarian Cup I 2023", LocalDate.of(2023, 10, 10), new BigDecimal(200), "Sprint", 25.0f, true, "1")));
+        try {
+            assertEquals(participationResource.getAll(null), read(participationResource.streamAll()));
+
+            List<String> seeded = List.of("0897546002", "0897546003", "0897546132");
+            assertEquals(seeded, phones(read(participationResource.streamByCompetition("Bulgarian Cup I 2022",
+                    "2022-10-10"))));
+            assertEquals(seeded, phones(read(participationResource.streamByDistance(new BigDecimal(100)))));
+            assertEquals(List.of("0897546002"),
+                    phones(read(participationResource.streamByDistance(new BigDecimal(200)))));
+        } finally {
+            created.forEach(participationResource::delete);
+        }
+    }
+
+    /**
+     * Tests that the streams of a competition and of an event without participations are empty arrays rather than
+     * "not found" errors.
+     */
+    @Test
+    public void testStreamsWithoutParticipationsAreEmptyArrays() throws IOException {
+        assertEquals("[]", write(participationResource.streamByCompetition("Bulgarian Cup IV 2025", "2025-01-07")));
+        assertEquals("[]", write(participationResource.streamByDistance(new BigDecimal(5000))));
+    }
+
+    /**
+     * Tests that a sparse fieldset reads only the requested fields of the participations, and leaves the others at
+     * their default value.
+     */
+    @Test
+    public void testGetByCompetitionWithFields(){
+        List<ParticipationDTO> created = seed();
+        try {
+            List<ParticipationDTO> participations = participationResource.getByCompetition("Bulgarian Cup I 2022",
+                    "2022-10-10", "seconds,mobilePhone");
+
+            assertEquals(List.of("0897546002", "0897546003", "0897546132"), phones(participations));
+            assertEquals(List.of(12.0f, 11.0f, 13.0f), participations.stream().map(ParticipationDTO::seconds).toList());
+            assertTrue(participations.stream().allMatch(participation -> participation.firstName() == null
+                    && participation.distance() == null && !participation.finished()));
+        } finally {
+            created.forEach(participationResource::delete);
+        }
+    }
+
+    /**
+     * Tests that the JSON body of a sparse fieldset only holds the requested fields, and that an unknown field is
+     * rejected.
+     */
+    @Test
+    public void testSparseFieldsetTrimsJsonBody(){
+        List<ParticipationDTO> created = seed();
+        try {
+            given().queryParam("fields", "mobilePhone,seconds")
+                    .when().get("/participation")
+                    .then()
+                    .statusCode(200)
+                    .body("size()", equalTo(3))
+                    .body("every { it.keySet() == ['mobilePhone', 'seconds'] as Set }", equalTo(true));
+
+            given().queryParam("fields", "mobilePhone,rank")
+                    .when().get("/participation")
+                    .then()
+                    .statusCode(409)
+                    .body("statusCode", equalTo(400));
+        } finally {
+            created.forEach(participationResource::delete);
+        }
+    }
+
+    private List<ParticipationDTO> read(StreamingOutput stream) throws IOException {
+        return Arrays.asList(objectMapper.readValue(write(stream), ParticipationDTO[].class));
+    }
+
+    private static String write(StreamingOutput stream) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        stream.write(output);
+        return output.toString();
+    }
+
+    private static List<String> phones(List<ParticipationDTO> participations) {
+        return participations.stream().map(ParticipationDTO::mobilePhone).toList();
+    }
+
+    private List<ParticipationDTO> searchByNationality(String nationality) {
+        return participationResource.search(null, null, null, nationality, null, null, null, null,
+                null, null, null, null, null, null, null, 50, null).participations();
+    }
+
+    /**
+     * Creates two finished participations of Bulgarian competitors and an unfinished one in the 100 m of a
+     * competition.
+     */
+    private List<ParticipationDTO> seed() {
+        return List.of(
+                participationResource.create(participation("Petar", "Petrov", "Ivanov", "0897546002", 12.0f, true, "2")),
+                participationResource.create(participation("Ivan", "Dimitrov", "Georgiev", "0897546003", 11.0f, true, "1")),
+                participationResource.create(participation("John", "Mary", "Smith", "0897546132", 13.0f, false, "DNF")));
+    }
+
+    private static ParticipationDTO participation(String firstName, String middleName, String lastName, String phone,
+                                                  float seconds, boolean finished, String place) {
+        return new ParticipationDTO(firstName, middleName, lastName, phone, "Bulgarian Cup I 2022",
+                LocalDate.of(2022, 10, 10), new BigDecimal(100), "Sprint", seconds, finished, place);
+    }
+}
@@ -0,0 +1,199 @@
+package com.papasmurfie.rest;
+
+import com.papasmurfie.dto.EditParticipationDTO;
+import com.papasmurfie.dto.ParticipationDTO;
+import com.papasmurfie.dto.PersonalBestDTO;
+import com.papasmurfie.resources.ParticipationResource;
+import com.papasmurfie.resources.PersonalBestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.ws.rs.WebApplicationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for the {@link PersonalBestResource} REST resource.
+ * This class contains test cases to validate the functionality of the PersonalBestResource endpoints, and that the
+ * personal bests follow the participations as they are created, edited and deleted.
+ */
+@QuarkusTest
+public class PersonalBestResourceTest {
+
+    private static final String PHONE = "0897546003";
+
+    private final PersonalBestResource personalBestResource;
+    private final ParticipationResource participationResource;
+
+    private final List<ParticipationDTO> participations = new ArrayList<>();
+
+    /**
+     * Constructor for the test class.
+     *
+     * @param personalBestResource the {@link PersonalBestResource} to inject the resource being tested
+     * @param participationResource the {@link ParticipationResource} used to create the participations compared
+     */
+    public PersonalBestResourceTest(PersonalBestResource personalBestResource,
+                                    ParticipationResource participationResource) {
+        this.personalBestResource = personalBestResource;
+        this.participationResource = participationResource;
+    }
+
+    /**
+     * Deletes the participations created by the test.
+     */
+    @AfterEach
+    public void cleanup() {
+        participations.forEach(participationResource::delete);
+        participations.clear();
+    }
+
+    /**
+     * Tests that the personal bests of an unknown competitor are rejected.
+     */
+    @Test
+    public void testGetByUnknownCompetitor(){
+        assertThrows(WebApplicationException.class, () -> personalBestResource.getByCompetitor("0000000000"));
+    }
+
+    /**
+     * Tests that a faster result becomes the personal best, and a slower one leaves it unchanged.
+     */
+    @Test
+    public void testFasterResultBecomesPersonalBest(){
+        create("Bulgarian Cup I 2022", LocalDate.of(2022, 10, 10), 100, 12.0f);
+        assertBest(100, 12.0f, "Bulgarian Cup I 2022");
+
+        create("Bulgarian Cup I 2023", LocalDate.of(2023, 10, 10), 100, 11.0f);
+        assertBest(100, 11.0f, "Bulgarian Cup I 2023");
+
+        create("Bulgarian Cup I 2024", LocalDate.of(2024, 10, 10), 100, 11.5f);
+        assertBest(100, 11.0f, "Bulgarian Cup I 2023");
+    }
+
+    /**
+     * Tests that editing the personal best to a slower time hands it over to the next fastest result.
+     */
+    @Test
+    public void testSlowerEditHandsOverToNextResult(){
+        ParticipationDTO fastest = create("Bulgarian Cup I 2022", LocalDate.of(2022, 10, 10), 100, 11.0f);
+        create("Bulgarian Cup I 2023", LocalDate.of(2023, 10, 10), 100, 12.0f);
+
+        edit(fastest, 100, 13.0f);
+
+        assertBest(100, 12.0f, "Bulgarian Cup I 2023");
+    }
+
+    /**
+     * Tests that deleting the personal best hands it over to the next fastest result, and that deleting the last
+     * result of the event removes the personal best.
+     */
+    @Test
+    public void testDeleteHandsOverToNextResult(){
+        ParticipationDTO fastest = create("Bulgarian Cup I 2022", LocalDate.of(2022, 10, 10), 100, 11.0f);
+        ParticipationDTO next = create("Bulgarian Cup I 2023", LocalDate.of(2023, 10, 10), 100, 12.0f);
+
+        delete(fastest);
+        assertBest(100, 12.0f, "Bulgarian Cup I 2023");
+
+        delete(next);
+        assertTrue(personalBestResource.getByCompetitor(PHONE).isEmpty());
+    }
+
+    /**
+     * Tests that moving the personal best to another event removes it from the previous event and records it in
+     * the new one.
+     */
+    @Test
+    public void testEventMoveMovesPersonalBest(){
+        ParticipationDTO participation = create("Bulgarian Cup I 2022", LocalDate.of(2022, 10, 10), 100, 11.0f);
+
+        edit(participation, 200, 23.0f);
+
+        List<PersonalBestDTO> personalBests = personalBestResource.getByCompetitor(PHONE);
+        assertEquals(1, personalBests.size());
+        assertEquals(0, new BigDecimal(200).compareTo(personalBests.getFirst().distance()));
+        assertEquals(23.0f, personalBests.getFirst().seconds());
+    }
+
+    /**
+     * Tests that the first results of a competitor in an event, saved concurrently, are all saved and the fastest
+     * becomes the personal best.
+     */
+    @Test
+    public void testConcurrentFirstResultsKeepFastest() throws Exception {
+        List<ParticipationDTO> concurrent = List.of(
+                participation("Bulgarian Cup I 2022", LocalDate.of(2022, 10, 10), 100, 12.0f),
+                participation("Bulgarian Cup I 2023", LocalDate.of(2023, 10, 10), 100, 11.0f),
+                participation("Bulgarian Cup III 2022", LocalDate.of(2022, 5, 25), 100, 12.5f),
+                participation("Bulgarian Cup III 2023", LocalDate.of(2023, 5, 25), 100, 11.5f));
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(concurrent.size());
+        try {
+            List<Future<ParticipationDTO>> results = new ArrayList<>();
+            for (ParticipationDTO participation : concurrent) {
+                results.add(executor.submit(() -> {
+                    assertTrue(start.await(5, TimeUnit.SECONDS));
+                    return participationResource.create(participation);
+                }));
+            }
+            start.countDown();
+            for (Future<ParticipationDTO> result : results) {
+                participations.add(result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertBest(100, 11.0f, "Bulgarian Cup I 2023");
+    }
+
+    private void assertBest(int distance, float seconds, String competitionName) {
+        List<PersonalBestDTO> personalBests = personalBestResource.getByCompetitor(PHONE);
+        assertEquals(1, personalBests.size());
+        PersonalBestDTO personalBest = personalBests.getFirst();
+        assertEquals(0, new BigDecimal(distance).compareTo(personalBest.distance()));
+        assertEquals(seconds, personalBest.seconds());
+        assertEquals(competitionName, personalBest.competitionName());
+    }
+
+    private ParticipationDTO create(String competitionName, LocalDate competitionDate, int distance, float seconds) {
+        ParticipationDTO created = participationResource.create(
+                participation(competitionName, competitionDate, distance, seconds));
+        participations.add(created);
+        return created;
+    }
+
+    private void edit(ParticipationDTO participation, int newDistance, float newSeconds) {
+        ParticipationDTO updated = participationResource.update(new EditParticipationDTO(
+                participation.firstName(), participation.middleName(), participation.lastName(),
+                participation.mobilePhone(), participation.competitionName(), participation.competitionDate(),
+                participation.distance(), participation.eventType(), participation.seconds(),
+                participation.finished(), participation.place(),
+                new BigDecimal(newDistance), "Sprint", newSeconds, true, "1"));
+        participations.set(participations.indexOf(participation), updated);
+    }
+
+    private void delete(ParticipationDTO participation) {
+        participationResource.delete(participation);
+        participations.remove(participation);
+    }
+
+    private static ParticipationDTO participation(String competitionName, LocalDate competitionDate, int distance,
+                                                  float seconds) {
+        return new ParticipationDTO("Ivan", "Dimitrov", "Georgiev", PHONE, competitionName, competitionDate,
+                new BigDecimal(distance), "Sprint", seconds, true, "1");
+    }
+}
@@ -0,0 +1,57 @@
+package com.papasmurfie.rest;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+
+/**
+ * Test class for the {@link com.papasmurfie.graphql.PnuGraphQLApi} GraphQL API.
+ * This class contains test cases to validate nested queries and the query depth limit.
+ */
+@QuarkusTest
+public class PnuGraphQLApiTest {
+
+
+    /**
+     * Tests a query nested down to the nationalities of the competitors.
+     * Verifies that it is answered without errors.
+     */
+    @Test
+    public void testNestedQuery() {
+        given()
+                .contentType(ContentType.JSON)
+                .body(Map.of("query", "{ competitions { competitionName events { distance } "
+                        + "participations { place competitor { lastName nationalities } } } }"))
+                .when()
+                .post("/graphql")
+                .then()
+                .statusCode(200)
+                .body("errors", nullValue())
+                .body("data.competitions", notNullValue());
+    }
+
+
+    /**
+     * Tests a query nested deeper than the configured limit.
+     * Verifies that it is rejected with an error instead of being executed.
+     */
+    @Test
+    public void testQueryDepthLimit() {
+        given()
+                .contentType(ContentType.JSON)
+                .body(Map.of("query", "{ competitions { participations { competition { participations "
+                        + "{ competitor { nationalities } } } } } }"))
+                .when()
+                .post("/graphql")
+                .then()
+                .body("errors", notNullValue())
+                .body("data", nullValue());
+    }
+}
@@ -0,0 +1,214 @@
+package com.papasmurfie.rest;
+
+import com.papasmurfie.dto.ParticipationDTO;
+import com.papasmurfie.dto.PlacePredictionDTO;
+import com.papasmurfie.dto.SeasonRankingDTO;
+import com.papasmurfie.resources.ParticipationResource;
+import com.papasmurfie.resources.RankingResource;
+import com.papasmurfie.services.SeasonRankingsService;
+import com.papasmurfie.uow.IUnitOfWork;
+import com.papasmurfie.utility.BackgroundExecutor;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.ws.rs.WebApplicationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test class for the {@link RankingResource} REST resource.
+ * This class contains test cases to validate the functionality of the RankingResource endpoints, and that the
+ * rankings computed without the materialized view match the ones read from it.
+ */
+@QuarkusTest
+public class RankingResourceTest {
+
+    private static final BigDecimal DISTANCE = new BigDecimal(100);
+
+    private final RankingResource rankingResource;
+    private final ParticipationResource participationResource;
+    private final SeasonRankingsService seasonRankingsService;
+    private final IUnitOfWork unitOfWork;
+    private final BackgroundExecutor backgroundExecutor;
+
+    private final List<ParticipationDTO> participations = new ArrayList<>();
+
+    /**
+     * Constructor for the test class.
+     *
+     * @param rankingResource the {@link RankingResource} to inject the resource being tested
+     * @param participationResource the {@link ParticipationResource} used to create the participations ranked
+     * @param seasonRankingsService the {@link SeasonRankingsService} used to refresh the rankings before reading them
+     * @param unitOfWork the {@link IUnitOfWork} used by the service computing the rankings without the view
+     * @param backgroundExecutor the {@link BackgroundExecutor} of the service computing the rankings without the view
+     */
+    public RankingResourceTest(RankingResource rankingResource,
+                               ParticipationResource participationResource,
+                               SeasonRankingsService seasonRankingsService,
+                               IUnitOfWork unitOfWork,
+                               BackgroundExecutor backgroundExecutor) {
+        this.rankingResource = rankingResource;
+        this.participationResource = participationResource;
+        this.seasonRankingsService = seasonRankingsService;
+        this.unitOfWork = unitOfWork;
+        this.backgroundExecutor = backgroundExecutor;
+    }
+
+    /**
+     * Deletes the participations created by the test.
+     */
+    @AfterEach
+    public void cleanup() {
+        participations.forEach(participationResource::delete);
+        participations.clear();
+    }
+
+    /**
+     * Tests that the season ranking of an unknown event is rejected.
+     */
+    @Test
+    public void testGetBySeasonOfUnknownEvent(){
+        assertThrows(WebApplicationException.class,
+                () -> rankingResource.getBySeason(2024, new BigDecimal("-1"), null, 50));
+    }
+
+    /**
+     * Tests that predicting a place requires a competition or a season.
+     */
+    @Test
+    public void testPredictPlaceWithoutCompetitionOrSeason(){
+        assertThrows(WebApplicationException.class,
+                () -> rankingResource.predictPlace(DISTANCE, 12.0f, null, null, null));
+    }
+
+    /**
+     * Tests that the predicted place counts the faster finishers of the competition, and the percentile the share of
+     * finishers who were slower.
+     */
+    @Test
+    public void testPredictPlaceInCompetition(){
+        seedCompetition();
+
+        PlacePredictionDTO prediction =
+                rankingResource.predictPlace(DISTANCE, 11.5f, "Bulgarian Cup I 2022", "2022-10-10", null);
+
+        assertEquals(3, prediction.place());
+        assertEquals(3, prediction.finishers());
+        assertEquals(100.0 / 3, prediction.percentile(), 1e-9);
+    }
+
+    /**
+     * Tests that a time equal to a finisher's shares that finisher's place, and the finisher is not counted as slower.
+     */
+    @Test
+    public void testPredictPlaceOfTiedTime(){
+        seedCompetition();
+
+        PlacePredictionDTO prediction = rankingResource.predictPlace(DISTANCE, 11.0f, null, null, 2022);
+
+        assertEquals(2, prediction.place());
+        assertEquals(3, prediction.finishers());
+        assertEquals(100.0 / 3, prediction.percentile(), 1e-9);
+    }
+
+    /**
+     * Tests that a time in an event without finishers takes the first place, ahead of everyone.
+     */
+    @Test
+    public void testPredictPlaceInEventWithoutFinishers(){
+        seedCompetition();
+
+        PlacePredictionDTO prediction =
+                rankingResource.predictPlace(new BigDecimal(200), 25.0f, "Bulgarian Cup I 2022", "2022-10-10", null);
+
+        assertEquals(1, prediction.place());
+        assertEquals(0, prediction.finishers());
+        assertEquals(100.0, prediction.percentile());
+    }
+
+    /**
+     * Tests that a season ranking holds the best time of every competitor in the season, fastest first.
+     */
+    @Test
+    public void testRankingHoldsBestTimePerCompetitor(){
+        create("Ivan", "Dimitrov", "Georgiev", "0897546003", "Bulgarian Cup I 2022", LocalDate.of(2022, 10, 10), 12.0f);
+        create("Ivan", "Dimitrov", "Georgiev", "0897546003", "Bulgarian Cup III 2022", LocalDate.of(2022, 5, 25), 11.5f);
+        create("Petar", "Petrov", "Ivanov", "0897546002", "Bulgarian Cup I 2022", LocalDate.of(2022, 10, 10), 11.8f);
+        create("John", "Mary", "Smith", "0897546132", "Bulgarian Cup I 2023", LocalDate.of(2023, 10, 10), 10.0f);
+        seasonRankingsService.refresh();
+
+        List<SeasonRankingDTO> ranking = rankingResource.getBySeason(2022, DISTANCE, null, 50);
+
+        assertEquals(List.of("0897546003", "0897546002"), ranking.stream().map(SeasonRankingDTO::mobilePhone).toList());
+        assertEquals(List.of(1, 2), ranking.stream().map(SeasonRankingDTO::rank).toList());
+        assertEquals(11.5f, ranking.getFirst().seconds());
+        assertEquals("Bulgarian Cup III 2022", ranking.getFirst().competitionName());
+    }
+
+    /**
+     * Tests that competitors with equal times share a rank, and the next competitor's rank skips the shared places.
+     */
+    @Test
+    public void testTiedTimesShareRank(){
+        create("Ivan", "Dimitrov", "Georgiev", "0897546003", "Bulgarian Cup I 2022", LocalDate.of(2022, 10, 10), 12.0f);
+        create("Petar", "Petrov", "Ivanov", "0897546002", "Bulgarian Cup I 2022", LocalDate.of(2022, 10, 10), 12.0f);
+        create("John", "Mary", "Smith", "0897546132", "Bulgarian Cup I 2022", LocalDate.of(2022, 10, 10), 13.0f);
+        seasonRankingsService.refresh();
+
+        List<SeasonRankingDTO> ranking = rankingResource.getBySeason(2022, DISTANCE, null, 50);
+
+        assertEquals(List.of(1, 1, 3), ranking.stream().map(SeasonRankingDTO::rank).toList());
+        assertEquals("0897546132", ranking.getLast().mobilePhone());
+    }
+
+    private void seedCompetition() {
+        create("Ivan", "Dimitrov", "Georgiev", "0897546003", "Bulgarian Cup I 2022", LocalDate.of(2022, 10, 10), 10.0f);
+        create("Petar", "Petrov", "Ivanov", "0897546002", "Bulgarian Cup I 2022", LocalDate.of(2022, 10, 10), 11.0f);
+        create("John", "Mary", "Smith", "0897546132", "Bulgarian Cup I 2022", LocalDate.of(2022, 10, 10), 12.0f);
+    }
+
+    /**
+     * Tests that the rankings computed from the participations, as on databases without materialized views, match
+     * the ones read from the view, overall, by nationality and when cut by the limit. Competitors sharing a rank may
+     * be listed in any order.
+     */
+    @Test
+    public void testComputedRankingMatchesView(){
+        create("Ivan", "Dimitrov", "Georgiev", "0897546003", "Bulgarian Cup I 2022", LocalDate.of(2022, 10, 10), 12.0f);
+        create("Ivan", "Dimitrov", "Georgiev", "0897546003", "Bulgarian Cup III 2022", LocalDate.of(2022, 5, 25), 11.5f);
+        create("Petar", "Petrov", "Ivanov", "0897546002", "Bulgarian Cup I 2022", LocalDate.of(2022, 10, 10), 11.5f);
+        create("John", "Mary", "Smith", "0897546132", "Bulgarian Cup I 2022", LocalDate.of(2022, 10, 10), 13.0f);
+        create("John", "Mary", "Smith", "0897546132", "Bulgarian Cup I 2023", LocalDate.of(2023, 10, 10), 10.0f);
+        seasonRankingsService.refresh();
+        SeasonRankingsService computed = new SeasonRankingsService(unitOfWork, backgroundExecutor, "h2");
+
+        for (String nationality : new String[]{null, "Bulgaria"}) {
+            for (int limit : new int[]{1, 3, 50}) {
+                List<SeasonRankingDTO> expected = seasonRankingsService.getRanking(2022, DISTANCE, nationality, limit);
+                List<SeasonRankingDTO> actual = computed.getRanking(2022, DISTANCE, nationality, limit);
+                String ranking = nationality + ", limit " + limit;
+
+                assertEquals(expected.stream().map(SeasonRankingDTO::rank).toList(),
+                        actual.stream().map(SeasonRankingDTO::rank).toList(), ranking);
+                assertEquals(expected.stream().map(SeasonRankingDTO::seconds).toList(),
+                        actual.stream().map(SeasonRankingDTO::seconds).toList(), ranking);
+                assertEquals(Set.copyOf(expected), Set.copyOf(actual), ranking);
+            }
+        }
+        assertEquals(List.of(1, 1, 3), computed.getRanking(2022, DISTANCE, null, 50).stream()
+                .map(SeasonRankingDTO::rank).toList());
+    }
+
+    private void create(String firstName, String middleName, String lastName, String phone,
+                        String competitionName, LocalDate competitionDate, float seconds) {
+        participations.add(participationResource.create(new ParticipationDTO(firstName, middleName, lastName, phone,
+                competitionName, competitionDate, DISTANCE, "Sprint", seconds, true, "1")));
+    }
+}
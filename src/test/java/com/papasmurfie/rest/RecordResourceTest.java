@@ -0,0 +1,117 @@
+package com.papasmurfie.rest;
+
+import com.papasmurfie.dto.ParticipationDTO;
+import com.papasmurfie.dto.RecordDTO;
+import com.papasmurfie.resources.ParticipationResource;
+import com.papasmurfie.resources.RecordResource;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.ws.rs.WebApplicationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test class for the {@link RecordResource} REST resource.
+ * This class contains test cases to validate the functionality of the RecordResource endpoints.
+ */
+@QuarkusTest
+public class RecordResourceTest {
+
+    private static final BigDecimal DISTANCE = new BigDecimal(100);
+
+    private final RecordResource recordResource;
+    private final ParticipationResource participationResource;
+
+    private final List<ParticipationDTO> participations = new ArrayList<>();
+
+    /**
+     * Constructor for the test class.
+     *
+     * @param recordResource the {@link RecordResource} to inject the resource being tested
+     * @param participationResource the {@link ParticipationResource} used to create the participations compared
+     */
+    public RecordResourceTest(RecordResource recordResource, ParticipationResource participationResource) {
+        this.recordResource = recordResource;
+        this.participationResource = participationResource;
+    }
+
+    /**
+     * Deletes the participations created by the test.
+     */
+    @AfterEach
+    public void cleanup() {
+        participations.forEach(participationResource::delete);
+        participations.clear();
+    }
+
+    /**
+     * Tests that the top participations of a national scope without a nationality are rejected.
+     */
+    @Test
+    public void testGetTopOfNationalScopeWithoutNationality(){
+        assertThrows(WebApplicationException.class,
+                () -> recordResource.getTop(new BigDecimal("100"), "NATIONAL", null));
+    }
+
+    /**
+     * Tests that a faster time becomes the all-time record, and that the broken record is kept in the history.
+     */
+    @Test
+    public void testFasterTimeBecomesRecord(){
+        create("Ivan", "Dimitrov", "Georgiev", "0897546003", "Bulgarian Cup I 2022", LocalDate.of(2022, 10, 10), 12.0f);
+        assertEquals(12.0f, allTimeRecord().seconds());
+
+        create("Petar", "Petrov", "Ivanov", "0897546002", "Bulgarian Cup I 2023", LocalDate.of(2023, 10, 10), 11.0f);
+
+        RecordDTO record = allTimeRecord();
+        assertEquals(11.0f, record.seconds());
+        assertEquals("0897546002", record.participation().mobilePhone());
+
+        RecordDTO broken = recordResource.getHistory(DISTANCE).stream()
+                .filter(history -> history.scope().equals("ALL_TIME"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(11.0f, broken.seconds());
+        assertEquals(12.0f, broken.previousSeconds());
+    }
+
+    /**
+     * Tests that deleting the participation holding the record restores the previous record.
+     */
+    @Test
+    public void testDeletingRecordRestoresPreviousOne(){
+        create("Ivan", "Dimitrov", "Georgiev", "0897546003", "Bulgarian Cup I 2022", LocalDate.of(2022, 10, 10), 12.0f);
+        ParticipationDTO record = create("Petar", "Petrov", "Ivanov", "0897546002",
+                "Bulgarian Cup I 2023", LocalDate.of(2023, 10, 10), 11.0f);
+        assertEquals(11.0f, allTimeRecord().seconds());
+
+        participationResource.delete(record);
+        participations.remove(record);
+
+        RecordDTO restored = allTimeRecord();
+        assertEquals(12.0f, restored.seconds());
+        assertEquals("0897546003", restored.participation().mobilePhone());
+    }
+
+    private RecordDTO allTimeRecord() {
+        return recordResource.getByDistance(DISTANCE).stream()
+                .filter(record -> record.scope().equals("ALL_TIME"))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private ParticipationDTO create(String firstName, String middleName, String lastName, String phone,
+                                    String competitionName, LocalDate competitionDate, float seconds) {
+        ParticipationDTO created = participationResource.create(new ParticipationDTO(firstName, middleName, lastName,
+                phone, competitionName, competitionDate, DISTANCE, "Sprint", seconds, true, "1"));
+        participations.add(created);
+        return created;
+    }
+}
@@ -0,0 +1,112 @@
+package com.papasmurfie.rest;
+
+import com.papasmurfie.utility.RequestCoalescer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for the {@link RequestCoalescer}.
+ * This class contains test cases to validate that identical concurrent requests share one execution.
+ */
+public class RequestCoalescerTest {
+
+    private static final int CALLERS = 8;
+
+    /**
+     * Tests that identical concurrent calls are served by a single execution, and all receive its result.
+     */
+    @Test
+    public void testIdenticalConcurrentCallsShareOneExecution() throws Exception {
+        RequestCoalescer coalescer = new RequestCoalescer();
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> coalescer.execute(
+                        RequestCoalescer.key("test:identical", "Bulgarian Cup", 100),
+                        () -> {
+                            await(release);
+                            return executions.incrementAndGet();
+                        })));
+            }
+            while (coalescer.getStats().requests() < CALLERS) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            for (Future<Integer> result : results) {
+                assertEquals(1, result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, executions.get());
+            assertEquals(1, coalescer.getStats().executions());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Tests that concurrent calls with different parameters run separately, including parameters which would be
+     * equal once joined into a single string.
+     */
+    @Test
+    public void testDifferentParametersDoNotShareAnExecution() throws Exception {
+        RequestCoalescer coalescer = new RequestCoalescer();
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> first = executor.submit(() -> coalescer.execute(
+                    RequestCoalescer.key("test:different", "a\u001Fb", "c"),
+                    () -> {
+                        bothStarted.countDown();
+                        await(bothStarted);
+                        return "first";
+                    }));
+            Future<String> second = executor.submit(() -> coalescer.execute(
+                    RequestCoalescer.key("test:different", "a", "b\u001Fc"),
+                    () -> {
+                        bothStarted.countDown();
+                        await(bothStarted);
+                        return "second";
+                    }));
+
+            assertEquals("first", first.get(5, TimeUnit.SECONDS));
+            assertEquals("second", second.get(5, TimeUnit.SECONDS));
+            assertEquals(2, coalescer.getStats().executions());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Tests that keys are equal for equal parameters, {@code null} included, and differ otherwise.
+     */
+    @Test
+    public void testKeysCompareParametersOneByOne() {
+        assertEquals(RequestCoalescer.key("op", "a", null), RequestCoalescer.key("op", "a", null));
+        assertNotEquals(RequestCoalescer.key("op", "a", null), RequestCoalescer.key("op", "a", "null"));
+        assertNotEquals(RequestCoalescer.key("op", "a,b"), RequestCoalescer.key("op", "a", "b"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
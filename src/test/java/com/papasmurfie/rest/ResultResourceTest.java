@@ -0,0 +1,69 @@
+package com.papasmurfie.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.papasmurfie.dto.ParticipationDTO;
+import com.papasmurfie.dto.ResultDTO;
+import com.papasmurfie.resources.ParticipationResource;
+import com.papasmurfie.resources.ResultResource;
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for the {@link ResultResource} REST resource.
+ * This class contains test cases to validate the functionality of the ResultResource endpoints.
+ */
+@QuarkusTest
+public class ResultResourceTest {
+
+    private final ResultResource resultResource;
+    private final ParticipationResource participationResource;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructor for the test class.
+     *
+     * @param resultResource the {@link ResultResource} to inject the resource being tested
+     * @param participationResource the {@link ParticipationResource} used to create the results streamed
+     * @param objectMapper the application {@link ObjectMapper} used to read the streamed results
+     */
+    public ResultResourceTest(ResultResource resultResource,
+                              ParticipationResource participationResource,
+                              ObjectMapper objectMapper) {
+        this.resultResource = resultResource;
+        this.participationResource = participationResource;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Tests that the streamed results are the listed results, including the result of a new participation.
+     */
+    @Test
+    public void testStreamAll() throws IOException {
+        ParticipationDTO participation = participationResource.create(new ParticipationDTO("Ivan", "Dimitrov",
+                "Georgiev", "0897546003", "Bulgarian Cup I 2022", LocalDate.of(2022, 10, 10), new BigDecimal(100),
+                "Sprint", 11.0f, true, "1"));
+        try {
+            List<ResultDTO> streamed = List.of(objectMapper.readValue(write(), ResultDTO[].class));
+
+            assertEquals(resultResource.getAll().size(), streamed.size());
+            assertTrue(streamed.contains(new ResultDTO(11.0f, true, "1")));
+        } finally {
+            participationResource.delete(participation);
+        }
+    }
+
+    private String write() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        resultResource.streamAll().write(output);
+        return output.toString();
+    }
+}
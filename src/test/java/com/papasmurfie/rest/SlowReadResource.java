@@ -0,0 +1,63 @@
+package com.papasmurfie.rest;
+
+import com.papasmurfie.utility.RequestCoalescer;
+import com.papasmurfie.utility.StaleWhileRevalidateCache;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * REST resource used by {@link StaleWhileRevalidateCacheTest}: its first read answers at once, every later read
+ * takes longer than the latency budget, like a database under load.
+ * <p>
+ * Base path: "/test/slowRead"
+ */
+@ApplicationScoped
+@Path("/test/slowRead")
+public class SlowReadResource {
+
+    static final Duration SLOW_READ = Duration.ofSeconds(2);
+
+    private final StaleWhileRevalidateCache staleWhileRevalidateCache;
+    private final AtomicInteger reads = new AtomicInteger();
+
+    /**
+     * Constructor used for injecting dependencies.
+     *
+     * @param staleWhileRevalidateCache the cache under test, injected by the DI container
+     */
+    public SlowReadResource(StaleWhileRevalidateCache staleWhileRevalidateCache) {
+        this.staleWhileRevalidateCache = staleWhileRevalidateCache;
+    }
+
+    /**
+     * Reads the number of the read, through the cache.
+     *
+     * @return the number of the read which answered
+     */
+    @GET
+    @Produces(MediaType.TEXT_PLAIN)
+    public String read() {
+        return staleWhileRevalidateCache.get(RequestCoalescer.key("test:slowRead"), Duration.ofMinutes(1), () -> {
+            int read = reads.incrementAndGet();
+            if (read > 1) {
+                sleep(SLOW_READ);
+            }
+            return Integer.toString(read);
+        });
+    }
+
+    static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
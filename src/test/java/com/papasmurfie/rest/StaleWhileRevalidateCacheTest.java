@@ -0,0 +1,111 @@
+package com.papasmurfie.rest;
+
+import com.papasmurfie.utility.BackgroundExecutor;
+import com.papasmurfie.utility.RequestCoalescer;
+import com.papasmurfie.utility.StaleWhileRevalidateCache;
+import com.papasmurfie.utility.StalenessResponseFilter;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.ws.rs.NotFoundException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for the {@link StaleWhileRevalidateCache} and the {@link StalenessResponseFilter}.
+ * This class contains test cases to validate that slow reads are answered with the last known good response, only
+ * while it is young enough, and that such responses carry the staleness header.
+ */
+@QuarkusTest
+public class StaleWhileRevalidateCacheTest {
+
+    private static final Duration BUDGET = Duration.ofMillis(100);
+    private static final Duration SLOW = Duration.ofMillis(800);
+
+    /**
+     * Tests that a read slower than the latency budget is answered within the budget with the last known good
+     * response, and that the background refresh replaces it once it completes.
+     */
+    @Test
+    public void testSlowReadServesLastKnownGoodWithinBudget() {
+        StaleWhileRevalidateCache cache = new StaleWhileRevalidateCache(new BackgroundExecutor(), BUDGET, 16);
+        RequestCoalescer.Key key = RequestCoalescer.key("test:budget");
+        assertEquals("first", cache.get(key, Duration.ofMinutes(1), () -> "first"));
+
+        long start = System.nanoTime();
+        String answer = cache.get(key, Duration.ofMinutes(1), () -> {
+            SlowReadResource.sleep(SLOW);
+            return "second";
+        });
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertEquals("first", answer);
+        assertTrue(elapsed.compareTo(SLOW) < 0);
+
+        SlowReadResource.sleep(SLOW.multipliedBy(2));
+        assertEquals("second", cache.get(key, Duration.ofMinutes(1), () -> {
+            SlowReadResource.sleep(SLOW);
+            return "third";
+        }));
+    }
+
+    /**
+     * Tests that a last known good response older than the maximum staleness is not served, so a slow read waits
+     * for the database.
+     */
+    @Test
+    public void testResponseOlderThanMaxStalenessIsNotServed() {
+        StaleWhileRevalidateCache cache = new StaleWhileRevalidateCache(new BackgroundExecutor(), BUDGET, 16);
+        RequestCoalescer.Key key = RequestCoalescer.key("test:maxStaleness");
+        cache.get(key, Duration.ofMillis(50), () -> "old");
+        SlowReadResource.sleep(Duration.ofMillis(200));
+
+        assertEquals("fresh", cache.get(key, Duration.ofMillis(50), () -> {
+            SlowReadResource.sleep(SLOW);
+            return "fresh";
+        }));
+    }
+
+    /**
+     * Tests that a "not found" answer is propagated instead of being replaced by the last known good response.
+     */
+    @Test
+    public void testNotFoundIsNotMaskedByLastKnownGood() {
+        StaleWhileRevalidateCache cache = new StaleWhileRevalidateCache(new BackgroundExecutor(), BUDGET, 16);
+        RequestCoalescer.Key key = RequestCoalescer.key("test:notFound");
+        cache.get(key, Duration.ofMinutes(1), () -> "found");
+
+        assertThrows(NotFoundException.class, () -> cache.get(key, Duration.ofMinutes(1), () -> {
+            throw new NotFoundException();
+        }));
+    }
+
+    /**
+     * Tests that a fresh response has no staleness header, and that a last known good response served because
+     * the read was too slow carries its age in seconds.
+     */
+    @Test
+    public void testStaleResponseCarriesStalenessHeader() {
+        given().when().get("/test/slowRead")
+                .then()
+                .statusCode(200)
+                .body(equalTo("1"))
+                .header(StalenessResponseFilter.STALENESS_HEADER, nullValue());
+
+        given().when().get("/test/slowRead")
+                .then()
+                .statusCode(200)
+                .body(equalTo("1"))
+                .header(StalenessResponseFilter.STALENESS_HEADER, notNullValue())
+                .header(StalenessResponseFilter.STALENESS_HEADER, equalTo("0"));
+
+        SlowReadResource.sleep(SlowReadResource.SLOW_READ.plusMillis(500));
+    }
+}
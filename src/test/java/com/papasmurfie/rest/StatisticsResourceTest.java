@@ -0,0 +1,153 @@
+package com.papasmurfie.rest;
+
+import com.papasmurfie.dto.DistinctCompetitorsDTO;
+import com.papasmurfie.dto.ParticipationDTO;
+import com.papasmurfie.dto.TimeDistributionDTO;
+import com.papasmurfie.indexes.StatisticsIndex;
+import com.papasmurfie.resources.ParticipationResource;
+import com.papasmurfie.resources.StatisticsResource;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.ws.rs.WebApplicationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test class for the {@link StatisticsResource} REST resource.
+ * This class contains test cases to validate the functionality of the StatisticsResource endpoints.
+ */
+@QuarkusTest
+public class StatisticsResourceTest {
+
+    private static final String COMPETITION = "Bulgarian Cup III 2023";
+    private static final LocalDate DATE = LocalDate.of(2023, 5, 25);
+    private static final BigDecimal DISTANCE = new BigDecimal(100);
+
+    private final StatisticsResource statisticsResource;
+    private final ParticipationResource participationResource;
+    private final StatisticsIndex statisticsIndex;
+
+    private final List<ParticipationDTO> participations = new ArrayList<>();
+
+    /**
+     * Constructor for the test class.
+     *
+     * @param statisticsResource the {@link StatisticsResource} to inject the resource being tested
+     * @param participationResource the {@link ParticipationResource} used to create the participations counted
+     * @param statisticsIndex the {@link StatisticsIndex} rebuilt before each test and compared with its incremental updates
+     */
+    public StatisticsResourceTest(StatisticsResource statisticsResource,
+                                  ParticipationResource participationResource,
+                                  StatisticsIndex statisticsIndex) {
+        this.statisticsResource = statisticsResource;
+        this.participationResource = participationResource;
+        this.statisticsIndex = statisticsIndex;
+    }
+
+    /**
+     * Rebuilds the sketches, so that the competitors of the participations deleted by earlier tests, which the
+     * sketches keep counting until a rebuild, are left out.
+     */
+    @BeforeEach
+    public void rebuild() {
+        statisticsIndex.rebuild();
+    }
+
+    /**
+     * Deletes the participations created by the test.
+     */
+    @AfterEach
+    public void cleanup() {
+        participations.forEach(participationResource::delete);
+        participations.clear();
+    }
+
+    /**
+     * Tests that the distinct competitors without a competition or a season are rejected.
+     */
+    @Test
+    public void testGetDistinctCompetitorsWithoutScope(){
+        assertThrows(WebApplicationException.class,
+                () -> statisticsResource.getDistinctCompetitors(null, null, null));
+    }
+
+    /**
+     * Tests that the quantiles of the finishing times follow the participations as they are created and deleted,
+     * and leave out the participations which did not finish.
+     */
+    @Test
+    public void testQuantilesFollowWrites(){
+        create("Ivan", "Dimitrov", "Georgiev", "0897546003", 100, 10.0f, true);
+        create("Petar", "Petrov", "Ivanov", "0897546002", 100, 11.0f, true);
+        ParticipationDTO slowest = create("John", "Mary", "Smith", "0897546132", 100, 12.0f, true);
+        create("Dimitar", "Nikolov", "Kolev", "0897546004", 100, 9.0f, false);
+
+        TimeDistributionDTO distribution = timeDistribution();
+        assertEquals(3, distribution.finishers());
+        assertEquals(11.0f, distribution.median(), 0.25f);
+        assertEquals(12.0f, distribution.p99(), 0.25f);
+
+        participationResource.delete(slowest);
+        participations.remove(slowest);
+
+        distribution = timeDistribution();
+        assertEquals(2, distribution.finishers());
+        assertEquals(11.0f, distribution.p99(), 0.25f);
+    }
+
+    /**
+     * Tests that a competitor taking part in several events of a competition is counted once for their nationality.
+     */
+    @Test
+    public void testDistinctCompetitorsCountEachCompetitorOnce(){
+        create("Ivan", "Dimitrov", "Georgiev", "0897546003", 100, 11.0f, true);
+        create("Ivan", "Dimitrov", "Georgiev", "0897546003", 200, 23.0f, true);
+        create("Petar", "Petrov", "Ivanov", "0897546002", 100, 12.0f, true);
+
+        assertEquals(2L, bulgarians());
+    }
+
+    /**
+     * Tests that rebuilding the sketches from the participation view gives the same answers as the incremental
+     * updates.
+     */
+    @Test
+    public void testRebuildMatchesIncrementalUpdates(){
+        create("Ivan", "Dimitrov", "Georgiev", "0897546003", 100, 10.0f, true);
+        create("Petar", "Petrov", "Ivanov", "0897546002", 100, 11.0f, true);
+        TimeDistributionDTO incremental = timeDistribution();
+        long competitors = bulgarians();
+
+        statisticsIndex.rebuild();
+
+        assertEquals(incremental, timeDistribution());
+        assertEquals(competitors, bulgarians());
+    }
+
+    private TimeDistributionDTO timeDistribution() {
+        return statisticsResource.getTimeDistribution(DISTANCE, COMPETITION, DATE.toString(), null, 20);
+    }
+
+    private long bulgarians() {
+        return statisticsResource.getDistinctCompetitors(COMPETITION, DATE.toString(), null).stream()
+                .filter(competitors -> competitors.nationality().equals("bulgaria"))
+                .mapToLong(DistinctCompetitorsDTO::competitors)
+                .sum();
+    }
+
+    private ParticipationDTO create(String firstName, String middleName, String lastName, String phone,
+                                    int distance, float seconds, boolean finished) {
+        ParticipationDTO created = participationResource.create(new ParticipationDTO(firstName, middleName, lastName,
+                phone, COMPETITION, DATE, new BigDecimal(distance), "Sprint", seconds, finished, "1"));
+        participations.add(created);
+        return created;
+    }
+}
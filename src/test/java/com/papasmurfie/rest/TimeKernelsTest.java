@@ -0,0 +1,74 @@
+package com.papasmurfie.rest;
+
+import com.papasmurfie.indexes.TimeKernels;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test class for the {@link TimeKernels}.
+ * This class contains test cases to validate that the vectorized kernels agree with the scalar ones, including over
+ * lengths which are not a multiple of the vector width and ranges which do not start at the first row.
+ */
+public class TimeKernelsTest {
+
+    private static final int ROWS = 1031;
+    private static final int EVENTS = 5;
+    private static final float THRESHOLD = 1800;
+
+    /**
+     * Tests that the kernels are vectorized when the test JVM provides the Vector API, as the build makes it.
+     */
+    @Test
+    public void testVectorizedKernelsAreSelected() {
+        boolean available = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+        assertEquals(available ? "VectorTimeKernels" : "ScalarTimeKernels",
+                TimeKernels.of(true).getClass().getSimpleName());
+        assertEquals("ScalarTimeKernels", TimeKernels.of(false).getClass().getSimpleName());
+    }
+
+    /**
+     * Tests that the vectorized and the scalar kernels count and summarize the same times, for one event and for
+     * every event, over ranges of every length up to a few vector widths and at every offset.
+     */
+    @Test
+    public void testVectorizedKernelsMatchScalar() {
+        float[] seconds = new float[ROWS];
+        boolean[] finished = new boolean[ROWS];
+        int[] events = new int[ROWS];
+        Random random = new Random(7);
+        for (int row = 0; row < ROWS; row++) {
+            seconds[row] = 600 + random.nextFloat() * 3000;
+            finished[row] = random.nextInt(10) != 0;
+            events[row] = random.nextInt(EVENTS);
+        }
+        TimeKernels scalar = TimeKernels.of(false);
+        TimeKernels vectorized = TimeKernels.of(true);
+
+        for (int from = 0; from < 40; from++) {
+            for (int to = from; to <= from + 70; to++) {
+                assertMatch(scalar, vectorized, seconds, finished, events, from, to);
+            }
+        }
+        assertMatch(scalar, vectorized, seconds, finished, events, 0, ROWS);
+        assertMatch(scalar, vectorized, seconds, finished, events, 3, ROWS - 5);
+    }
+
+    private static void assertMatch(TimeKernels scalar, TimeKernels vectorized, float[] seconds, boolean[] finished,
+                                    int[] events, int from, int to) {
+        for (int event = -1; event < EVENTS; event++) {
+            String range = "rows " + from + " to " + to + ", event " + event;
+            assertEquals(scalar.countBelow(seconds, finished, events, from, to, event, THRESHOLD),
+                    vectorized.countBelow(seconds, finished, events, from, to, event, THRESHOLD), range);
+
+            TimeKernels.Summary expected = scalar.summarize(seconds, finished, events, from, to, event);
+            TimeKernels.Summary actual = vectorized.summarize(seconds, finished, events, from, to, event);
+            assertEquals(expected.finishers(), actual.finishers(), range);
+            assertEquals(expected.fastest(), actual.fastest(), range);
+            assertEquals(expected.sum(), actual.sum(), Math.max(1e-3, expected.sum() * 1e-6), range);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.papasmurfie.rest;
+
+import com.papasmurfie.dto.ParticipationDTO;
+import com.papasmurfie.grpc.CompetitionRef;
+import com.papasmurfie.grpc.SubmissionSummary;
+import com.papasmurfie.grpc.TimedParticipation;
+import com.papasmurfie.grpc.TimingService;
+import com.papasmurfie.resources.ParticipationResource;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.quarkus.grpc.GrpcService;
+import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.mutiny.Multi;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+
+/**
+ * Test class for the {@link com.papasmurfie.grpc.TimingGrpcService} gRPC service.
+ * This class contains test cases to validate that submissions reach the subscribers, and that invalid submissions
+ * are reported instead of failing the stream.
+ */
+@QuarkusTest
+public class TimingGrpcServiceTest {
+
+    private final TimingService timingService;
+    private final ParticipationResource participationResource;
+
+    /**
+     * Constructor for the test class.
+     *
+     * @param timingService the {@link TimingService} to inject the service being tested
+     * @param participationResource the {@link ParticipationResource} used to delete the submitted participations
+     */
+    public TimingGrpcServiceTest(@GrpcService TimingService timingService, ParticipationResource participationResource) {
+        this.timingService = timingService;
+        this.participationResource = participationResource;
+    }
+
+    /**
+     * Tests that a participation submitted by a timing system is saved and streamed to the subscribers of its
+     * competition.
+     */
+    @Test
+    public void testSubmittedParticipationReachesSubscribers() throws Exception {
+        CompletableFuture<TimedParticipation> received = timingService
+                .subscribeResults(CompetitionRef.newBuilder()
+                        .setCompetitionName("Bulgarian Cup I 2023")
+                        .setCompetitionDate("2023-10-10")
+                        .build())
+                .select().first()
+                .toUni()
+                .subscribeAsCompletionStage()
+                .toCompletableFuture();
+
+        SubmissionSummary summary = timingService
+                .submitParticipations(Multi.createFrom().item(participation("12.34")))
+                .await().atMost(Duration.ofSeconds(10));
+        try {
+            assertEquals(1, summary.getAccepted());
+            assertEquals(0, summary.getRejectedCount());
+
+            TimedParticipation streamed = received.get(10, TimeUnit.SECONDS);
+            assertEquals("0897546002", streamed.getMobilePhone());
+            assertEquals("2023-10-10", streamed.getCompetitionDate());
+            assertEquals(12.34f, streamed.getSeconds());
+            assertEquals("1", streamed.getPlace());
+        } finally {
+            deleteSubmitted(12.34f);
+        }
+    }
+
+    /**
+     * Tests the submission of a participation whose transaction fails in the database.
+     * Verifies that it is rejected with its position, and that the messages after it are still saved.
+     */
+    @Test
+    public void testSubmitParticipationsReportsDatabaseFailures() {
+        TimedParticipation tooLongPlace = participation("12.34").toBuilder()
+                .setPlace("1".repeat(300))
+                .build();
+
+        SubmissionSummary summary = timingService
+                .submitParticipations(Multi.createFrom().items(tooLongPlace, participation("13.57")))
+                .await().atMost(Duration.ofSeconds(10));
+        try {
+            assertEquals(1, summary.getAccepted());
+            assertEquals(1, summary.getRejectedCount());
+            assertEquals(0, summary.getRejected(0).getIndex());
+        } finally {
+            deleteSubmitted(13.57f);
+        }
+    }
+
+
+    /**
+     * Tests the submission of a stream of participations which cannot be saved.
+     * Verifies that every message is rejected with its position, and that the stream still completes.
+     */
+    @Test
+    public void testSubmitParticipationsReportsRejections() {
+        TimedParticipation unknownCompetitor = TimedParticipation.newBuilder()
+                .setMobilePhone("+000000000000")
+                .setCompetitionName("Unknown Competition")
+                .setCompetitionDate("2000-01-01")
+                .setDistance("1.00")
+                .build();
+        TimedParticipation invalidDate = unknownCompetitor.toBuilder()
+                .setCompetitionDate("01.01.2000")
+                .build();
+
+        SubmissionSummary summary = timingService
+                .submitParticipations(Multi.createFrom().items(unknownCompetitor, invalidDate))
+                .await().atMost(Duration.ofSeconds(10));
+
+        assertEquals(0, summary.getAccepted());
+        assertEquals(2, summary.getRejectedCount());
+        assertEquals(0, summary.getRejected(0).getIndex());
+        assertEquals(1, summary.getRejected(1).getIndex());
+    }
+
+
+    /**
+     * Tests the subscription to a competition with an invalid date.
+     * Verifies that the call fails with {@code INVALID_ARGUMENT}.
+     */
+    @Test
+    public void testSubscribeResultsWithInvalidDate() {
+        CompetitionRef competition = CompetitionRef.newBuilder()
+                .setCompetitionName("Any")
+                .setCompetitionDate("not a date")
+                .build();
+
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class, () -> timingService
+                .subscribeResults(competition)
+                .collect().asList()
+                .await().atMost(Duration.ofSeconds(10)));
+
+        assertEquals(Status.Code.INVALID_ARGUMENT, exception.getStatus().getCode());
+    }
+
+    private static TimedParticipation participation(String seconds) {
+        return TimedParticipation.newBuilder()
+                .setFirstName("Petar")
+                .setMiddleName("Petrov")
+                .setLastName("Ivanov")
+                .setMobilePhone("0897546002")
+                .setCompetitionName("Bulgarian Cup I 2023")
+                .setCompetitionDate("2023-10-10")
+                .setDistance("100")
+                .setEventType("Sprint")
+                .setSeconds(Float.parseFloat(seconds))
+                .setFinished(true)
+                .setPlace("1")
+                .build();
+    }
+
+    private void deleteSubmitted(float seconds) {
+        participationResource.delete(new ParticipationDTO(
+                "Petar", "Petrov", "Ivanov", "0897546002",
+                "Bulgarian Cup I 2023", LocalDate.of(2023, 10, 10),
+                new BigDecimal(100), "Sprint", seconds, true, "1"));
+    }
+}
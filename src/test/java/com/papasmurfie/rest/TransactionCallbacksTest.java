@@ -0,0 +1,88 @@
+package com.papasmurfie.rest;
+
+import com.papasmurfie.utility.TransactionCallbacks;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.narayana.jta.QuarkusTransactionException;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.transaction.SystemException;
+import jakarta.transaction.TransactionManager;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for the {@link TransactionCallbacks}.
+ * This class contains test cases to validate that an action runs once its transaction commits, and never when the
+ * transaction is rolled back.
+ */
+@QuarkusTest
+public class TransactionCallbacksTest {
+
+    private final TransactionCallbacks transactionCallbacks;
+    private final TransactionManager transactionManager;
+
+    /**
+     * Constructor for the test class.
+     *
+     * @param transactionCallbacks the {@link TransactionCallbacks} being tested
+     * @param transactionManager the {@link TransactionManager} used to mark a transaction rollback-only
+     */
+    public TransactionCallbacksTest(TransactionCallbacks transactionCallbacks, TransactionManager transactionManager) {
+        this.transactionCallbacks = transactionCallbacks;
+        this.transactionManager = transactionManager;
+    }
+
+    /**
+     * Tests that an action registered outside of a transaction runs right away.
+     */
+    @Test
+    public void testActionWithoutTransactionRunsImmediately() {
+        AtomicBoolean ran = new AtomicBoolean();
+
+        transactionCallbacks.afterCommit(() -> ran.set(true));
+
+        assertTrue(ran.get());
+    }
+
+    /**
+     * Tests that an action registered inside a transaction only runs once the transaction has committed.
+     */
+    @Test
+    public void testActionRunsAfterCommit() {
+        AtomicBoolean ran = new AtomicBoolean();
+
+        QuarkusTransaction.requiringNew().run(() -> {
+            transactionCallbacks.afterCommit(() -> ran.set(true));
+            assertFalse(ran.get());
+        });
+
+        assertTrue(ran.get());
+    }
+
+    /**
+     * Tests that the actions of a transaction marked rollback-only never run, whether they were registered before
+     * or after it was marked.
+     */
+    @Test
+    public void testActionOfRollbackOnlyTransactionNeverRuns() {
+        AtomicBoolean registeredBefore = new AtomicBoolean();
+        AtomicBoolean registeredAfter = new AtomicBoolean();
+
+        assertThrows(QuarkusTransactionException.class, () -> QuarkusTransaction.requiringNew().run(() -> {
+            transactionCallbacks.afterCommit(() -> registeredBefore.set(true));
+            try {
+                transactionManager.setRollbackOnly();
+            } catch (SystemException e) {
+                throw new IllegalStateException(e);
+            }
+            transactionCallbacks.afterCommit(() -> registeredAfter.set(true));
+        }));
+
+        assertFalse(registeredBefore.get());
+        assertFalse(registeredAfter.get());
+    }
+}